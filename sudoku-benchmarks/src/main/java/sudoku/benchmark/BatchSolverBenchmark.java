@@ -0,0 +1,99 @@
+package sudoku.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import sudoku.generator.BatchSudokuSolver;
+import sudoku.generator.Difficulty;
+import sudoku.generator.DifficultyMaskGenerator;
+import sudoku.generator.MaskGenerator;
+import sudoku.generator.SudokuGenerator;
+import sudoku.generator.SudokuSolutionGenerator;
+import sudoku.generator.SudokuSolver;
+import sudoku.generator.UniqueMaskGenerator;
+
+/**
+ * Benchmarks solving a set of puzzles one by one with a
+ * {@link SudokuSolver} and side by side with a {@link BatchSudokuSolver}.
+ * The puzzles are generated before the benchmark with a fixed seed. The
+ * time is per puzzle, so the two benchmarks compare directly.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSolverBenchmark
+{
+    private static final int NUM_OF_PUZZLES = 1024;
+    private static final long SEED = 42;
+
+    @Param({ "2", "3" })
+    private int boxSideLength;
+
+    @Param({ "UNIQUE", "EASY", "HARD" })
+    private String maskKind;
+
+    private int[][][] grids;
+    private SudokuSolver solver;
+    private BatchSudokuSolver batchSolver;
+
+    /**
+     * Creates the solvers and the puzzles to solve.
+     */
+    @Setup
+    public void setUp()
+    {
+        MaskGenerator maskGenerator = new UniqueMaskGenerator(boxSideLength);
+        if (!"UNIQUE".equals(maskKind))
+        {
+            maskGenerator = new DifficultyMaskGenerator(boxSideLength, Difficulty.valueOf(maskKind));
+        }
+
+        SudokuGenerator generator = new SudokuGenerator(new SudokuSolutionGenerator(boxSideLength), maskGenerator);
+        Random random = new Random(SEED);
+        grids = new int[NUM_OF_PUZZLES][][];
+        for (int i = 0; i < NUM_OF_PUZZLES; i++)
+        {
+            grids[i] = generator.generatePuzzle(random).getStartGameGrid();
+        }
+
+        solver = new SudokuSolver(boxSideLength);
+        batchSolver = new BatchSudokuSolver(boxSideLength);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_PUZZLES)
+    public void solveOneByOne(Blackhole blackhole)
+    {
+        for (int[][] grid : grids)
+        {
+            blackhole.consume(solver.solve(grid));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_PUZZLES)
+    public void solveSideBySide(Blackhole blackhole)
+    {
+        blackhole.consume(batchSolver.solve(grids));
+    }
+}
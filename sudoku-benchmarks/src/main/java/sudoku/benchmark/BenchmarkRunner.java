@@ -0,0 +1,60 @@
+package sudoku.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once for each number of threads, with the GC
+ * profiler to report the allocation rate. The throughput and the
+ * latency percentiles are reported by the benchmark modes. The results
+ * of each run are written to <code>jmh-result-threads-N.json</code>.
+ *
+ * <p>
+ * The first argument is a regular expression for the benchmarks to run,
+ * all benchmarks by default. The following arguments are the numbers of
+ * threads, by default one, two, four and the number of processors.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class BenchmarkRunner
+{
+    private static final String DEFAULT_INCLUDE = "sudoku\\.benchmark\\..*";
+
+    public static void main(String[] args) throws RunnerException
+    {
+        String include = DEFAULT_INCLUDE;
+        if (args.length > 0)
+        {
+            include = args[0];
+        }
+
+        int[] threadCounts = { 1, 2, 4, Runtime.getRuntime().availableProcessors() };
+        if (args.length > 1)
+        {
+            threadCounts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++)
+            {
+                threadCounts[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int threads : threadCounts)
+        {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("jmh-result-threads-" + threads + ".json")
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+}
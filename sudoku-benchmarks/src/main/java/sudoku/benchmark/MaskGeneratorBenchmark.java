@@ -0,0 +1,91 @@
+package sudoku.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sudoku.generator.Difficulty;
+import sudoku.generator.DifficultyMaskGenerator;
+import sudoku.generator.MaskGenerator;
+import sudoku.generator.PatternMaskGenerator;
+import sudoku.generator.SudokuMaskGenerator;
+import sudoku.generator.TransformSolutionGenerator;
+import sudoku.generator.UniqueMaskGenerator;
+
+/**
+ * Benchmarks the generation of a mask for a solution grid by the random
+ * mask generator, the pattern mask generator, the unique solution mask
+ * generator and the difficulty mask generator for each tier. The solutions
+ * are generated before the benchmark and drawn at random, so the time of
+ * the solution generation is not included.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MaskGeneratorBenchmark
+{
+    private static final int NUM_OF_SOLUTIONS = 256;
+
+    @Param({ "2", "3", "4" })
+    private int boxSideLength;
+
+    @Param({ "RANDOM", "PATTERN", "UNIQUE", "EASY", "MEDIUM", "HARD" })
+    private String maskKind;
+
+    private MaskGenerator maskGenerator;
+    private int[][][] solutionGrids;
+
+    /**
+     * Creates the mask generator and the solutions to mask.
+     */
+    @Setup
+    public void setUp()
+    {
+        if ("UNIQUE".equals(maskKind))
+        {
+            maskGenerator = new UniqueMaskGenerator(boxSideLength);
+        }
+        else if ("PATTERN".equals(maskKind))
+        {
+            maskGenerator = new PatternMaskGenerator(boxSideLength);
+        }
+        else if (!"RANDOM".equals(maskKind))
+        {
+            maskGenerator = new DifficultyMaskGenerator(boxSideLength, Difficulty.valueOf(maskKind));
+        }
+        else
+        {
+            maskGenerator = new SudokuMaskGenerator(boxSideLength);
+        }
+
+        TransformSolutionGenerator solutionGenerator = new TransformSolutionGenerator(boxSideLength);
+        solutionGrids = new int[NUM_OF_SOLUTIONS][][];
+        for (int i = 0; i < NUM_OF_SOLUTIONS; i++)
+        {
+            solutionGrids[i] = solutionGenerator.generateGrid();
+        }
+    }
+
+    @Benchmark
+    public int[][] generateGrid()
+    {
+        return maskGenerator.generateGrid(solutionGrids[ThreadLocalRandom.current().nextInt(NUM_OF_SOLUTIONS)]);
+    }
+}
@@ -0,0 +1,57 @@
+package sudoku.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sudoku.generator.SolutionEngine;
+import sudoku.generator.SolutionGenerator;
+
+/**
+ * Benchmarks the generation of a solution grid by each solution engine
+ * and board size. One generator is shared by all benchmark threads.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolutionGeneratorBenchmark
+{
+    @Param({ "2", "3", "4", "5" })
+    private int boxSideLength;
+
+    @Param({ "BACKTRACKING", "DANCING_LINKS", "TRANSFORM" })
+    private SolutionEngine engine;
+
+    private SolutionGenerator solutionGenerator;
+
+    /**
+     * Creates the generator for the engine and size.
+     */
+    @Setup
+    public void setUp()
+    {
+        solutionGenerator = engine.createGenerator(boxSideLength);
+    }
+
+    @Benchmark
+    public int[][] generateGrid()
+    {
+        return solutionGenerator.generateGrid();
+    }
+}
@@ -0,0 +1,67 @@
+package sudoku.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sudoku.generator.SolutionEngine;
+import sudoku.generator.SudokuGenerator;
+import sudoku.generator.SudokuPuzzle;
+import sudoku.generator.UniqueMaskGenerator;
+
+/**
+ * Benchmarks the generation of a whole puzzle with a unique solution,
+ * from solution to masked start grid, by each solution engine and board
+ * size. One generator is shared by all benchmark threads.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SudokuGeneratorBenchmark
+{
+    @Param({ "2", "3", "4" })
+    private int boxSideLength;
+
+    @Param({ "BACKTRACKING", "DANCING_LINKS", "TRANSFORM" })
+    private SolutionEngine engine;
+
+    private SudokuGenerator sudokuGenerator;
+
+    /**
+     * Creates the generator for the engine and size.
+     */
+    @Setup
+    public void setUp()
+    {
+        sudokuGenerator = new SudokuGenerator(engine.createGenerator(boxSideLength),
+                new UniqueMaskGenerator(boxSideLength));
+    }
+
+    @Benchmark
+    public int[][] generateGrid()
+    {
+        return sudokuGenerator.generateGrid();
+    }
+
+    @Benchmark
+    public SudokuPuzzle generatePuzzle()
+    {
+        return sudokuGenerator.generatePuzzle();
+    }
+}
@@ -0,0 +1,443 @@
+package sudoku.generator;
+
+import java.util.Arrays;
+
+/**
+ * Solves many grids of one size at a time by bit slicing: the candidates
+ * of up to {@value #BATCH_SIZE} grids are packed side by side, so one
+ * bitwise operation on a <code>long</code> works on all grids of a batch.
+ *
+ * <p>
+ * For each cell and number there is one <code>long</code>, where bit
+ * <code>b</code> is set if the number is still a candidate of the cell in
+ * grid <code>b</code>. A number is placed in a cell of a set of grids by
+ * clearing the other candidates of the cell and the number from the peers
+ * of the cell, with one operation per peer for all grids. The start
+ * numbers are placed first, and a start number which is no longer a
+ * candidate marks its grid as broken. Then naked singles (a cell with one
+ * candidate) and hidden singles (a number with one cell left in a row,
+ * column or box) are placed until nothing changes. The counts of one and
+ * more than one are kept as two masks, so a single is found for all grids
+ * at once. The cells and the numbers of a unit which are placed in all
+ * grids are skipped. A grid where a cell or a number in a unit has no
+ * candidate left has no solution.
+ * </p>
+ *
+ * <p>
+ * A grid which is filled by singles has exactly one solution, since each
+ * number is forced by the start numbers. The grids which are not filled
+ * are solved one by one by a {@link SudokuSolver}, which guesses. Most
+ * easy and medium grids are filled by singles, while hard grids mostly
+ * fall back to the solver. The results are the same as those of a
+ * {@link SudokuSolver}.
+ * </p>
+ *
+ * <p>
+ * The Vector API of the JDK is not used, since it is an incubator module
+ * which is not in the Java version of the project. The 64 lanes of a
+ * <code>long</code> give the same kind of parallelism on every JVM.
+ * </p>
+ *
+ * <p>
+ * The solver reuses its arrays between calls and is not thread-safe.
+ * Each thread must use its own solver.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class BatchSudokuSolver
+{
+    /**
+     * The number of grids solved side by side, one per bit of a <code>long</code>.
+     */
+    public static final int BATCH_SIZE = Long.SIZE;
+
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfCells;
+    private final int[][] peers;
+    private final int[][] units;
+    private final int[][] cellUnits;
+    private final long[] candidates;
+    private final long[] startNumbers;
+    private final long[] assigned;
+    private final long[] placedInUnit;
+    private final SudokuSolver solver;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a solver for grids with boxes of the given side length.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     */
+    public BatchSudokuSolver(int boxSideLength)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.numOfCells = gridSize * gridSize;
+        this.units = createUnits();
+        this.cellUnits = new int[numOfCells][];
+        this.peers = createPeers();
+        this.candidates = new long[numOfCells * gridSize];
+        this.startNumbers = new long[numOfCells * gridSize];
+        this.assigned = new long[numOfCells];
+        this.placedInUnit = new long[units.length * gridSize];
+        this.solver = new SudokuSolver(boxSideLength);
+    }
+
+    /**
+     * Returns the box side length of the grids the solver solves.
+     *
+     * @return the box side length.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Solves grids, {@value #BATCH_SIZE} at a time.
+     *
+     * @param grids the grids, where zero is an empty cell. The grids are not
+     *            changed.
+     *
+     * @return the result of each grid, in the same order.
+     */
+    public SolveResult[] solve(int[][][] grids)
+    {
+        SolveResult[] results = new SolveResult[grids.length];
+        for (int first = 0; first < grids.length; first += BATCH_SIZE)
+        {
+            solveBatch(grids, first, Math.min(BATCH_SIZE, grids.length - first), results);
+        }
+
+        return results;
+    }
+
+    /**
+     * Helper method to solve one batch of grids.
+     *
+     * @param grids the grids.
+     * @param first the index of the first grid of the batch.
+     * @param numOfGrids the number of grids in the batch.
+     * @param results the array to put the results in.
+     */
+    private void solveBatch(int[][][] grids, int first, int numOfGrids, SolveResult[] results)
+    {
+        long batchGrids = numOfGrids == BATCH_SIZE ? -1L : (1L << numOfGrids) - 1;
+        Arrays.fill(candidates, batchGrids);
+        Arrays.fill(assigned, 0);
+        Arrays.fill(placedInUnit, 0);
+
+        long brokenGrids = placeStartNumbers(grids, first, numOfGrids);
+        brokenGrids = placeSingles(batchGrids, brokenGrids);
+
+        long filledGrids = batchGrids & ~brokenGrids;
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            filledGrids &= assigned[cell];
+        }
+
+        for (int lane = 0; lane < numOfGrids; lane++)
+        {
+            long laneBit = 1L << lane;
+            if ((brokenGrids & laneBit) != 0)
+            {
+                results[first + lane] = new SolveResult(SolveStatus.UNSOLVABLE, null);
+            }
+            else if ((filledGrids & laneBit) != 0)
+            {
+                results[first + lane] = new SolveResult(SolveStatus.SOLVED, getSolution(lane));
+            }
+            else
+            {
+                results[first + lane] = solver.solve(grids[first + lane]);
+            }
+        }
+    }
+
+    /**
+     * Helper method to place the start numbers of the grids of a batch. The
+     * start numbers are gathered per cell and number first, so each is
+     * placed in all grids at once.
+     *
+     * @param grids the grids.
+     * @param first the index of the first grid of the batch.
+     * @param numOfGrids the number of grids in the batch.
+     *
+     * @return the grids where a start number is not a candidate.
+     */
+    private long placeStartNumbers(int[][][] grids, int first, int numOfGrids)
+    {
+        Arrays.fill(startNumbers, 0);
+        for (int lane = 0; lane < numOfGrids; lane++)
+        {
+            int[][] grid = grids[first + lane];
+            if (grid.length != gridSize)
+            {
+                throw new IllegalArgumentException("Grid must have " + gridSize + " rows: " + grid.length);
+            }
+
+            for (int row = 0; row < gridSize; row++)
+            {
+                if (grid[row].length != gridSize)
+                {
+                    throw new IllegalArgumentException("Grid must have " + gridSize + " columns: " + grid[row].length);
+                }
+
+                for (int col = 0; col < gridSize; col++)
+                {
+                    int number = grid[row][col];
+                    if (number < 0 || number > gridSize)
+                    {
+                        throw new IllegalArgumentException("Number must be between 0 and " + gridSize + ": " + number);
+                    }
+
+                    if (number != 0)
+                    {
+                        startNumbers[(row * gridSize + col) * gridSize + number - 1] |= 1L << lane;
+                    }
+                }
+            }
+        }
+
+        long brokenGrids = 0;
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            for (int number = 0; number < gridSize; number++)
+            {
+                long placedGrids = startNumbers[cell * gridSize + number];
+                if (placedGrids != 0)
+                {
+                    brokenGrids |= placedGrids & ~candidates[cell * gridSize + number];
+                    place(cell, number, placedGrids & candidates[cell * gridSize + number]);
+                }
+            }
+        }
+
+        return brokenGrids;
+    }
+
+    /**
+     * Helper method to place the naked and hidden singles of the grids of a
+     * batch until no more are found.
+     *
+     * @param batchGrids the grids of the batch.
+     * @param brokenGrids the grids with no solution so far.
+     *
+     * @return the grids with no solution.
+     */
+    private long placeSingles(long batchGrids, long brokenGrids)
+    {
+        boolean isChanged = true;
+        while (isChanged)
+        {
+            isChanged = false;
+
+            for (int cell = 0; cell < numOfCells; cell++)
+            {
+                if ((assigned[cell] | brokenGrids) == batchGrids)
+                {
+                    continue;
+                }
+
+                long once = 0;
+                long twice = 0;
+                for (int number = 0; number < gridSize; number++)
+                {
+                    long cellCandidates = candidates[cell * gridSize + number];
+                    twice |= once & cellCandidates;
+                    once |= cellCandidates;
+                }
+
+                brokenGrids |= batchGrids & ~once;
+                long singles = once & ~twice & ~assigned[cell] & ~brokenGrids;
+                if (singles != 0)
+                {
+                    for (int number = 0; number < gridSize; number++)
+                    {
+                        place(cell, number, candidates[cell * gridSize + number] & singles);
+                    }
+                    isChanged = true;
+                }
+            }
+
+            for (int unitNumber = 0; unitNumber < units.length; unitNumber++)
+            {
+                int[] unit = units[unitNumber];
+                for (int number = 0; number < gridSize; number++)
+                {
+                    if ((placedInUnit[unitNumber * gridSize + number] | brokenGrids) == batchGrids)
+                    {
+                        continue;
+                    }
+
+                    long once = 0;
+                    long twice = 0;
+                    for (int cell : unit)
+                    {
+                        long cellCandidates = candidates[cell * gridSize + number];
+                        twice |= once & cellCandidates;
+                        once |= cellCandidates;
+                    }
+
+                    brokenGrids |= batchGrids & ~once;
+                    long singles = once & ~twice & ~brokenGrids;
+                    if (singles != 0)
+                    {
+                        for (int cell : unit)
+                        {
+                            long placedGrids = candidates[cell * gridSize + number] & singles & ~assigned[cell];
+                            if (placedGrids != 0)
+                            {
+                                place(cell, number, placedGrids);
+                                isChanged = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return brokenGrids;
+    }
+
+    /**
+     * Helper method to place a number in a cell of a set of grids. The
+     * other candidates of the cell and the number in the peers of the cell
+     * are cleared in those grids.
+     *
+     * @param cell the cell.
+     * @param number the number minus one.
+     * @param placedGrids the grids to place the number in.
+     */
+    private void place(int cell, int number, long placedGrids)
+    {
+        if (placedGrids == 0)
+        {
+            return;
+        }
+
+        assigned[cell] |= placedGrids;
+        for (int otherNumber = 0; otherNumber < gridSize; otherNumber++)
+        {
+            if (otherNumber != number)
+            {
+                candidates[cell * gridSize + otherNumber] &= ~placedGrids;
+            }
+        }
+
+        for (int peer : peers[cell])
+        {
+            candidates[peer * gridSize + number] &= ~placedGrids;
+        }
+
+        for (int unit : cellUnits[cell])
+        {
+            placedInUnit[unit * gridSize + number] |= placedGrids;
+        }
+    }
+
+    /**
+     * Helper method to read the solution of a filled grid of the batch.
+     *
+     * @param lane the bit of the grid.
+     *
+     * @return the solution.
+     */
+    private int[][] getSolution(int lane)
+    {
+        int[][] solution = new int[gridSize][gridSize];
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            for (int number = 0; number < gridSize; number++)
+            {
+                if ((candidates[cell * gridSize + number] >>> lane & 1) != 0)
+                {
+                    solution[cell / gridSize][cell % gridSize] = number + 1;
+                    break;
+                }
+            }
+        }
+
+        return solution;
+    }
+
+    /**
+     * Helper method to create the cells of each row, column and box.
+     *
+     * @return the cells of the units.
+     */
+    private int[][] createUnits()
+    {
+        int[][] unitCells = new int[3 * gridSize][gridSize];
+        for (int unit = 0; unit < gridSize; unit++)
+        {
+            int firstRow = unit / boxSideLength * boxSideLength;
+            int firstCol = unit % boxSideLength * boxSideLength;
+
+            for (int i = 0; i < gridSize; i++)
+            {
+                unitCells[unit][i] = unit * gridSize + i;
+                unitCells[gridSize + unit][i] = i * gridSize + unit;
+                unitCells[2 * gridSize + unit][i] = (firstRow + i / boxSideLength) * gridSize + firstCol
+                        + i % boxSideLength;
+            }
+        }
+
+        return unitCells;
+    }
+
+    /**
+     * Helper method to create the peers of each cell, which are the other
+     * cells of its row, column and box.
+     *
+     * @return the peers of the cells.
+     */
+    private int[][] createPeers()
+    {
+        int[][] cellPeers = new int[numOfCells][];
+        boolean[] isPeer = new boolean[numOfCells];
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            Arrays.fill(isPeer, false);
+            int row = cell / gridSize;
+            int col = cell % gridSize;
+            int box = row / boxSideLength * boxSideLength + col / boxSideLength;
+
+            cellUnits[cell] = new int[] { row, gridSize + col, 2 * gridSize + box };
+            for (int unit : cellUnits[cell])
+            {
+                for (int peer : units[unit])
+                {
+                    isPeer[peer] = peer != cell;
+                }
+            }
+
+            int numOfPeers = 0;
+            cellPeers[cell] = new int[3 * gridSize - 2 * boxSideLength - 1];
+            for (int peer = 0; peer < numOfCells; peer++)
+            {
+                if (isPeer[peer])
+                {
+                    cellPeers[cell][numOfPeers++] = peer;
+                }
+            }
+        }
+
+        return cellPeers;
+    }
+}
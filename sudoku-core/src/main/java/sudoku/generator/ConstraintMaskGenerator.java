@@ -0,0 +1,140 @@
+package sudoku.generator;
+
+import java.util.Random;
+
+/**
+ * Generates a mask for a solution grid under the rules of a
+ * {@link ConstraintModel}, so the grid to start the game with has exactly
+ * one solution under the same rules.
+ *
+ * <p>
+ * The numbers are hidden in the same way as in {@link UniqueMaskGenerator},
+ * but the uniqueness is checked with a {@link ConstraintSolutionCounter}.
+ * The extra units and cages of a variant make more numbers redundant, so a
+ * variant puzzle usually starts with fewer numbers than a standard one. A
+ * killer sudoku could often hide every number.
+ * </p>
+ *
+ * <p>
+ * The generator is thread-safe. Each thread that uses the generator gets
+ * its own solution counter, and each call returns a new mask.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class ConstraintMaskGenerator implements MaskGenerator
+{
+    private final ConstraintModel model;
+    private final int gridSize;
+    private final int numOfStartDigits;
+    private final ThreadLocal<ConstraintSolutionCounter> solutionCounter;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator which hides as many numbers as possible.
+     *
+     * @param model the rules of the grids.
+     */
+    public ConstraintMaskGenerator(ConstraintModel model)
+    {
+        this(model, 0);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator which hides numbers down to the given number
+     * of start digits.
+     *
+     * @param model the rules of the grids.
+     * @param numOfStartDigits the lowest number of start digits to keep.
+     */
+    public ConstraintMaskGenerator(final ConstraintModel model, int numOfStartDigits)
+    {
+        this.model = model;
+        this.gridSize = model.getGridSize();
+
+        if (numOfStartDigits < 0 || numOfStartDigits > gridSize * gridSize)
+        {
+            throw new IllegalArgumentException("Number of start digits must be between 0 and "
+                    + gridSize * gridSize + ": " + numOfStartDigits);
+        }
+
+        this.numOfStartDigits = numOfStartDigits;
+        this.solutionCounter = new ThreadLocal<ConstraintSolutionCounter>()
+        {
+            @Override
+            protected ConstraintSolutionCounter initialValue()
+            {
+                return new ConstraintSolutionCounter(model);
+            }
+        };
+    }
+
+    /**
+     * Returns the rules of the masked grids.
+     *
+     * @return the model.
+     */
+    public ConstraintModel getModel()
+    {
+        return model;
+    }
+
+    @Override
+    public int getBoxSideLength()
+    {
+        return model.getBoxSideLength();
+    }
+
+    /**
+     * Generates a mask which hides as many numbers of the solution as possible,
+     * down to the number of start digits, while the solution stays unique.
+     *
+     * @param solutionGrid the grid with the solution to be masked.
+     * @param random the random generator used to order the cells.
+     *
+     * @return the mask.
+     */
+    @Override
+    public int[][] generateGrid(int[][] solutionGrid, Random random)
+    {
+        ConstraintSolutionCounter counter = solutionCounter.get();
+        int[][] maskGrid = new int[gridSize][gridSize];
+        int[][] startGameGrid = new int[gridSize][gridSize];
+
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int col = 0; col < gridSize; col++)
+            {
+                maskGrid[row][col] = 1;
+                startGameGrid[row][col] = solutionGrid[row][col];
+            }
+        }
+
+        int[] cells = UniqueMaskGenerator.generateCellsInRandomOrder(gridSize * gridSize, random);
+        int numOfDigits = gridSize * gridSize;
+
+        for (int i = 0; i < cells.length && numOfDigits > numOfStartDigits; i++)
+        {
+            int row = cells[i] / gridSize;
+            int col = cells[i] % gridSize;
+            int number = startGameGrid[row][col];
+
+            startGameGrid[row][col] = 0;
+            if (!counter.hasSolutionWithOtherNumber(startGameGrid, row, col, number))
+            {
+                maskGrid[row][col] = 0;
+                numOfDigits--;
+            }
+            else
+            {
+                startGameGrid[row][col] = number;
+            }
+        }
+
+        return maskGrid;
+    }
+}
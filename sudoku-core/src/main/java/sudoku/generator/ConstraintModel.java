@@ -0,0 +1,670 @@
+package sudoku.generator;
+
+import java.util.Arrays;
+
+/**
+ * The rules of a sudoku variant, given as the groups of cells whose numbers
+ * must all be different.
+ *
+ * <p>
+ * A unit is a group of exactly grid side length cells, which must hold each
+ * number once: the rows, columns and boxes of a standard sudoku, the two
+ * diagonals of a diagonal sudoku or the regions of a jigsaw sudoku. A cage
+ * is a smaller group of cells, whose numbers must be different and add up
+ * to the sum of the cage, as in a killer sudoku. A cell could be in any
+ * number of units but in at most one cage.
+ * </p>
+ *
+ * <p>
+ * The units and cages are compiled once, when the model is created, into
+ * flat tables: the cells of each unit, the units of each cell, the peers of
+ * each cell (the other cells which share a unit or a cage with it) and the
+ * cells and sum of each cage. The cells are numbered row by row. A solver
+ * that walks the tables never computes a row, column or box from a cell
+ * position, so it works the same way for every variant.
+ * </p>
+ *
+ * <p>
+ * The model is immutable and could be shared between threads.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class ConstraintModel
+{
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfCells;
+    private final int numOfUnits;
+    private final int numOfCages;
+    private final int[] unitStarts;
+    private final int[] unitCells;
+    private final int[] cellUnitStarts;
+    private final int[] cellUnits;
+    private final int[] peerStarts;
+    private final int[] peers;
+    private final int[] cageStarts;
+    private final int[] cageCells;
+    private final int[] cageSums;
+    private final int[] cellCage;
+    private final int[][] unitDefinitions;
+    private final int[][] cageDefinitions;
+
+    /**
+     * Constructor
+     *
+     * Compiles a model from its units and cages.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}. The side length of the
+     *                      grid is the square of the box side length.
+     * @param units the cells of each unit, with grid side length different cells
+     *              in each.
+     * @param cages the cells of each cage, with at most grid side length different
+     *              cells in each and no cell in two cages.
+     * @param cageSums the sum of the numbers in each cage.
+     */
+    public ConstraintModel(int boxSideLength, int[][] units, int[][] cages, int[] cageSums)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        if (cages.length != cageSums.length)
+        {
+            throw new IllegalArgumentException("Number of cage sums must be " + cages.length + ": "
+                    + cageSums.length);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.numOfCells = gridSize * gridSize;
+        this.numOfUnits = units.length;
+        this.numOfCages = cages.length;
+        this.unitDefinitions = copyOf(units);
+        this.cageDefinitions = copyOf(cages);
+
+        for (int unit = 0; unit < numOfUnits; unit++)
+        {
+            checkCells(unitDefinitions[unit], gridSize, gridSize, "Unit " + unit);
+        }
+
+        this.cellCage = new int[numOfCells];
+        Arrays.fill(cellCage, -1);
+        for (int cage = 0; cage < numOfCages; cage++)
+        {
+            int[] cells = cageDefinitions[cage];
+            checkCells(cells, 1, gridSize, "Cage " + cage);
+            checkCageSum(cells.length, cageSums[cage], cage);
+
+            for (int cell : cells)
+            {
+                if (cellCage[cell] >= 0)
+                {
+                    throw new IllegalArgumentException("Cell is in cages " + cellCage[cell] + " and " + cage
+                            + ": " + cell);
+                }
+
+                cellCage[cell] = cage;
+            }
+        }
+
+        this.unitStarts = new int[numOfUnits + 1];
+        this.unitCells = flatten(unitDefinitions, unitStarts);
+        this.cageStarts = new int[numOfCages + 1];
+        this.cageCells = flatten(cageDefinitions, cageStarts);
+        this.cageSums = cageSums.clone();
+
+        this.cellUnitStarts = new int[numOfCells + 1];
+        this.cellUnits = compileCellUnits();
+        this.peerStarts = new int[numOfCells + 1];
+        this.peers = compilePeers();
+    }
+
+    /**
+     * Creates the model of a standard sudoku, with rows, columns and boxes.
+     *
+     * @param boxSideLength the side length of a box.
+     *
+     * @return the model.
+     */
+    public static ConstraintModel standard(int boxSideLength)
+    {
+        return new ConstraintModel(boxSideLength, standardUnits(boxSideLength, true), new int[0][], new int[0]);
+    }
+
+    /**
+     * Creates the model of a diagonal sudoku, a standard sudoku where the
+     * two main diagonals must also hold each number once.
+     *
+     * @param boxSideLength the side length of a box.
+     *
+     * @return the model.
+     */
+    public static ConstraintModel diagonal(int boxSideLength)
+    {
+        int[][] standardUnits = standardUnits(boxSideLength, true);
+        int gridSize = boxSideLength * boxSideLength;
+        int[][] units = Arrays.copyOf(standardUnits, standardUnits.length + 2);
+
+        units[standardUnits.length] = new int[gridSize];
+        units[standardUnits.length + 1] = new int[gridSize];
+        for (int i = 0; i < gridSize; i++)
+        {
+            units[standardUnits.length][i] = i * gridSize + i;
+            units[standardUnits.length + 1][i] = i * gridSize + gridSize - 1 - i;
+        }
+
+        return new ConstraintModel(boxSideLength, units, new int[0][], new int[0]);
+    }
+
+    /**
+     * Creates the model of a jigsaw sudoku, where the boxes are replaced by
+     * irregular regions of grid side length cells.
+     *
+     * @param boxSideLength the side length of a box, which gives the side
+     *                      length of the grid.
+     * @param cellRegions the region of each cell, row by row, from zero to the
+     *                    grid side length minus one.
+     *
+     * @return the model.
+     */
+    public static ConstraintModel jigsaw(int boxSideLength, int[] cellRegions)
+    {
+        int[][] lineUnits = standardUnits(boxSideLength, false);
+        int gridSize = boxSideLength * boxSideLength;
+
+        if (cellRegions.length != gridSize * gridSize)
+        {
+            throw new IllegalArgumentException("Number of cell regions must be " + gridSize * gridSize + ": "
+                    + cellRegions.length);
+        }
+
+        int[] regionSizes = new int[gridSize];
+        for (int region : cellRegions)
+        {
+            if (region < 0 || region >= gridSize)
+            {
+                throw new IllegalArgumentException("Region must be between 0 and " + (gridSize - 1) + ": "
+                        + region);
+            }
+
+            regionSizes[region]++;
+        }
+
+        int[][] units = Arrays.copyOf(lineUnits, lineUnits.length + gridSize);
+        for (int region = 0; region < gridSize; region++)
+        {
+            units[lineUnits.length + region] = new int[regionSizes[region]];
+            regionSizes[region] = 0;
+        }
+
+        for (int cell = 0; cell < cellRegions.length; cell++)
+        {
+            int region = cellRegions[cell];
+            units[lineUnits.length + region][regionSizes[region]++] = cell;
+        }
+
+        return new ConstraintModel(boxSideLength, units, new int[0][], new int[0]);
+    }
+
+    /**
+     * Creates a model with the units of this model and the given cages, as
+     * in a killer sudoku. The cages of this model are replaced.
+     *
+     * @param cages the cells of each cage.
+     * @param cageSums the sum of the numbers in each cage.
+     *
+     * @return the new model.
+     */
+    public ConstraintModel withCages(int[][] cages, int[] cageSums)
+    {
+        return new ConstraintModel(boxSideLength, unitDefinitions, cages, cageSums);
+    }
+
+    /**
+     * Returns the side length of a box. The side length of the grid is the
+     * square of the box side length.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Returns the side length of the grid.
+     *
+     * @return the side length of the grid.
+     */
+    public int getGridSize()
+    {
+        return gridSize;
+    }
+
+    /**
+     * Returns the number of units.
+     *
+     * @return the number of units.
+     */
+    public int getNumOfUnits()
+    {
+        return numOfUnits;
+    }
+
+    /**
+     * Returns the number of cages.
+     *
+     * @return the number of cages.
+     */
+    public int getNumOfCages()
+    {
+        return numOfCages;
+    }
+
+    /**
+     * Returns the peers of a cell, the other cells which share a unit or a
+     * cage with it.
+     *
+     * @param cell the cell, row by row.
+     *
+     * @return a new array with the peers, in increasing order.
+     */
+    public int[] getPeers(int cell)
+    {
+        return Arrays.copyOfRange(peers, peerStarts[cell], peerStarts[cell + 1]);
+    }
+
+    /**
+     * Checks if a full grid follows all the rules of the model.
+     *
+     * @param grid the grid.
+     *
+     * @return <code>true</code> if the grid is a solution.
+     *         <code>false</code> Otherwise false.
+     */
+    public boolean isSolution(int[][] grid)
+    {
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            int number = grid[cell / gridSize][cell % gridSize];
+            if (number < 1 || number > gridSize)
+            {
+                return false;
+            }
+
+            for (int i = peerStarts[cell]; i < peerStarts[cell + 1]; i++)
+            {
+                int peer = peers[i];
+                if (grid[peer / gridSize][peer % gridSize] == number)
+                {
+                    return false;
+                }
+            }
+        }
+
+        for (int cage = 0; cage < numOfCages; cage++)
+        {
+            int sum = 0;
+            for (int i = cageStarts[cage]; i < cageStarts[cage + 1]; i++)
+            {
+                sum += grid[cageCells[i] / gridSize][cageCells[i] % gridSize];
+            }
+
+            if (sum != cageSums[cage])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the number of cells in the grid.
+     *
+     * @return the number of cells.
+     */
+    int getNumOfCells()
+    {
+        return numOfCells;
+    }
+
+    /**
+     * Returns the position of the first cell of each unit in the unit
+     * cells, and the number of unit cells last. The table is shared and
+     * must not be changed.
+     *
+     * @return the unit starts.
+     */
+    int[] unitStarts()
+    {
+        return unitStarts;
+    }
+
+    /**
+     * Returns the cells of all units, unit by unit.
+     *
+     * @return the unit cells.
+     */
+    int[] unitCells()
+    {
+        return unitCells;
+    }
+
+    /**
+     * Returns the position of the first unit of each cell in the cell
+     * units, and the number of cell units last.
+     *
+     * @return the cell unit starts.
+     */
+    int[] cellUnitStarts()
+    {
+        return cellUnitStarts;
+    }
+
+    /**
+     * Returns the units of all cells, cell by cell.
+     *
+     * @return the cell units.
+     */
+    int[] cellUnits()
+    {
+        return cellUnits;
+    }
+
+    /**
+     * Returns the position of the first peer of each cell in the peers,
+     * and the number of peers last.
+     *
+     * @return the peer starts.
+     */
+    int[] peerStarts()
+    {
+        return peerStarts;
+    }
+
+    /**
+     * Returns the peers of all cells, cell by cell.
+     *
+     * @return the peers.
+     */
+    int[] peers()
+    {
+        return peers;
+    }
+
+    /**
+     * Returns the position of the first cell of each cage in the cage
+     * cells, and the number of cage cells last.
+     *
+     * @return the cage starts.
+     */
+    int[] cageStarts()
+    {
+        return cageStarts;
+    }
+
+    /**
+     * Returns the cells of all cages, cage by cage.
+     *
+     * @return the cage cells.
+     */
+    int[] cageCells()
+    {
+        return cageCells;
+    }
+
+    /**
+     * Returns the sum of each cage.
+     *
+     * @return the cage sums.
+     */
+    int[] cageSums()
+    {
+        return cageSums;
+    }
+
+    /**
+     * Returns the cage of each cell.
+     *
+     * @return the cage of each cell, or <code>-1</code> for a cell outside
+     *         the cages.
+     */
+    int[] cellCage()
+    {
+        return cellCage;
+    }
+
+    /**
+     * Helper method to create the rows and columns, and optionally the
+     * boxes, of a grid.
+     *
+     * @param boxSideLength the side length of a box.
+     * @param hasBoxes <code>true</code> if the boxes should be created.
+     *
+     * @return the units, rows first, then columns and then boxes.
+     */
+    private static int[][] standardUnits(int boxSideLength, boolean hasBoxes)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        int gridSize = boxSideLength * boxSideLength;
+        int[][] units = new int[(hasBoxes ? 3 : 2) * gridSize][gridSize];
+
+        for (int unit = 0; unit < gridSize; unit++)
+        {
+            int firstRow = unit / boxSideLength * boxSideLength;
+            int firstCol = unit % boxSideLength * boxSideLength;
+
+            for (int i = 0; i < gridSize; i++)
+            {
+                units[unit][i] = unit * gridSize + i;
+                units[gridSize + unit][i] = i * gridSize + unit;
+                if (hasBoxes)
+                {
+                    units[2 * gridSize + unit][i] = (firstRow + i / boxSideLength) * gridSize + firstCol
+                            + i % boxSideLength;
+                }
+            }
+        }
+
+        return units;
+    }
+
+    /**
+     * Helper method to check that a group of cells has an allowed number of
+     * different cells, all inside the grid.
+     *
+     * @param cells the cells.
+     * @param minNumOfCells the lowest allowed number of cells.
+     * @param maxNumOfCells the highest allowed number of cells.
+     * @param name the name of the group, used in the error message.
+     */
+    private void checkCells(int[] cells, int minNumOfCells, int maxNumOfCells, String name)
+    {
+        if (cells.length < minNumOfCells || cells.length > maxNumOfCells)
+        {
+            String range = minNumOfCells == maxNumOfCells ? "" + minNumOfCells
+                    : "between " + minNumOfCells + " and " + maxNumOfCells;
+            throw new IllegalArgumentException(name + " must have " + range + " cells: " + cells.length);
+        }
+
+        boolean[] isUsed = new boolean[numOfCells];
+        for (int cell : cells)
+        {
+            if (cell < 0 || cell >= numOfCells)
+            {
+                throw new IllegalArgumentException(name + " has a cell outside the grid: " + cell);
+            }
+
+            if (isUsed[cell])
+            {
+                throw new IllegalArgumentException(name + " has the same cell twice: " + cell);
+            }
+
+            isUsed[cell] = true;
+        }
+    }
+
+    /**
+     * Helper method to check that different numbers in a cage could add up
+     * to the sum of the cage.
+     *
+     * @param numOfCageCells the number of cells in the cage.
+     * @param sum the sum of the cage.
+     * @param cage the cage, used in the error message.
+     */
+    private void checkCageSum(int numOfCageCells, int sum, int cage)
+    {
+        int minSum = numOfCageCells * (numOfCageCells + 1) / 2;
+        int maxSum = numOfCageCells * (2 * gridSize - numOfCageCells + 1) / 2;
+
+        if (sum < minSum || sum > maxSum)
+        {
+            throw new IllegalArgumentException("Sum of cage " + cage + " must be between " + minSum + " and "
+                    + maxSum + ": " + sum);
+        }
+    }
+
+    /**
+     * Helper method to list the units of each cell.
+     *
+     * @return the units of all cells, where the units of a cell start at its
+     *         position in the cell unit starts.
+     */
+    private int[] compileCellUnits()
+    {
+        for (int i = 0; i < unitCells.length; i++)
+        {
+            cellUnitStarts[unitCells[i] + 1]++;
+        }
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            cellUnitStarts[cell + 1] += cellUnitStarts[cell];
+        }
+
+        int[] compiled = new int[unitCells.length];
+        int[] numOfCellUnits = new int[numOfCells];
+        for (int unit = 0; unit < numOfUnits; unit++)
+        {
+            for (int i = unitStarts[unit]; i < unitStarts[unit + 1]; i++)
+            {
+                int cell = unitCells[i];
+                compiled[cellUnitStarts[cell] + numOfCellUnits[cell]++] = unit;
+            }
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Helper method to list the peers of each cell.
+     *
+     * @return the peers of all cells, where the peers of a cell start at its
+     *         position in the peer starts.
+     */
+    private int[] compilePeers()
+    {
+        int[] compiled = new int[0];
+        int numOfPeers = 0;
+        boolean[] isPeer = new boolean[numOfCells];
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            for (int i = cellUnitStarts[cell]; i < cellUnitStarts[cell + 1]; i++)
+            {
+                int unit = cellUnits[i];
+                for (int j = unitStarts[unit]; j < unitStarts[unit + 1]; j++)
+                {
+                    isPeer[unitCells[j]] = true;
+                }
+            }
+
+            int cage = cellCage[cell];
+            if (cage >= 0)
+            {
+                for (int j = cageStarts[cage]; j < cageStarts[cage + 1]; j++)
+                {
+                    isPeer[cageCells[j]] = true;
+                }
+            }
+
+            isPeer[cell] = false;
+            peerStarts[cell] = numOfPeers;
+            for (int peer = 0; peer < numOfCells; peer++)
+            {
+                if (isPeer[peer])
+                {
+                    if (numOfPeers == compiled.length)
+                    {
+                        compiled = Arrays.copyOf(compiled, Math.max(2 * compiled.length, numOfCells));
+                    }
+
+                    compiled[numOfPeers++] = peer;
+                    isPeer[peer] = false;
+                }
+            }
+        }
+
+        peerStarts[numOfCells] = numOfPeers;
+
+        return Arrays.copyOf(compiled, numOfPeers);
+    }
+
+    /**
+     * Helper method to put groups of cells after each other in one array.
+     *
+     * @param groups the cells of each group.
+     * @param starts the array to fill with the position of each group, and the
+     *               total number of cells last.
+     *
+     * @return the cells of all groups.
+     */
+    private static int[] flatten(int[][] groups, int[] starts)
+    {
+        for (int group = 0; group < groups.length; group++)
+        {
+            starts[group + 1] = starts[group] + groups[group].length;
+        }
+
+        int[] flat = new int[starts[groups.length]];
+        for (int group = 0; group < groups.length; group++)
+        {
+            System.arraycopy(groups[group], 0, flat, starts[group], groups[group].length);
+        }
+
+        return flat;
+    }
+
+    /**
+     * Helper method to copy groups of cells, so the model does not change
+     * if the caller changes its arrays.
+     *
+     * @param groups the cells of each group.
+     *
+     * @return the copy.
+     */
+    private static int[][] copyOf(int[][] groups)
+    {
+        int[][] copy = new int[groups.length][];
+        for (int group = 0; group < groups.length; group++)
+        {
+            copy[group] = groups[group].clone();
+        }
+
+        return copy;
+    }
+}
@@ -0,0 +1,740 @@
+package sudoku.generator;
+
+import java.util.Random;
+
+/**
+ * Counts and finds the solutions of a grid under the rules of a
+ * {@link ConstraintModel}, so the same search serves standard, diagonal,
+ * jigsaw and killer sudokus.
+ *
+ * <p>
+ * The search works as in {@link SudokuSolutionCounter}: naked and hidden
+ * singles are set by constraint propagation, and the empty cell with the
+ * fewest valid numbers is guessed when nothing more could be set. The
+ * numbers used in each unit and cage are kept as bitmasks, and the valid
+ * numbers of a cell are the numbers missing from the masks of the units
+ * listed for the cell in the model. Nothing is computed from the position
+ * of a cell.
+ * </p>
+ *
+ * <p>
+ * In a cage, a number is only valid if the empty cells left in the cage
+ * could still reach the sum of the cage with other unused numbers, that is
+ * if the rest of the sum is between the sums of the smallest and of the
+ * largest unused numbers. This is exact for the last empty cell of a cage,
+ * so every solution found adds up correctly.
+ * </p>
+ *
+ * <p>
+ * The counter reuses its arrays between calls and is not thread-safe.
+ * Each thread must use its own counter.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class ConstraintSolutionCounter
+{
+    private static final int SOLUTION_LIMIT = 2;
+    private static final int GUESSES_BETWEEN_CANCEL_CHECKS = 1024;
+
+    private final ConstraintModel model;
+    private final int gridSize;
+    private final int numOfCells;
+    private final int numOfUnits;
+    private final int allNumbersMask;
+    private final int[] unitStarts;
+    private final int[] unitCells;
+    private final int[] cellUnitStarts;
+    private final int[] cellUnits;
+    private final int[] cellCage;
+    private final int[] cageStarts;
+    private final int[] cageSums;
+
+    private final int[] cells;
+    private final int[] unitMasks;
+    private final int[] cageMasks;
+    private final int[] cageSumsLeft;
+    private final int[] cageNumOfEmptyCells;
+    private final int[] trail;
+    private final int[] firstSolution;
+    private int trailSize;
+    private boolean hasFirstSolution;
+    private int excludedCell;
+    private int excludedBit;
+    private Random random;
+    private long maxNumOfGuesses;
+    private long numOfGuesses;
+    private boolean hasGivenUp;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a counter for the grids of a model.
+     *
+     * @param model the rules of the grids.
+     */
+    public ConstraintSolutionCounter(ConstraintModel model)
+    {
+        this.model = model;
+        this.gridSize = model.getGridSize();
+        this.numOfCells = model.getNumOfCells();
+        this.numOfUnits = model.getNumOfUnits();
+        this.allNumbersMask = (1 << gridSize) - 1;
+        this.unitStarts = model.unitStarts();
+        this.unitCells = model.unitCells();
+        this.cellUnitStarts = model.cellUnitStarts();
+        this.cellUnits = model.cellUnits();
+        this.cellCage = model.cellCage();
+        this.cageStarts = model.cageStarts();
+        this.cageSums = model.cageSums();
+
+        cells = new int[numOfCells];
+        unitMasks = new int[numOfUnits];
+        cageMasks = new int[model.getNumOfCages()];
+        cageSumsLeft = new int[model.getNumOfCages()];
+        cageNumOfEmptyCells = new int[model.getNumOfCages()];
+        trail = new int[numOfCells];
+        firstSolution = new int[numOfCells];
+        excludedCell = -1;
+    }
+
+    /**
+     * Returns the rules of the grids.
+     *
+     * @return the model.
+     */
+    public ConstraintModel getModel()
+    {
+        return model;
+    }
+
+    /**
+     * Checks if a grid has exactly one solution.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     *
+     * @return <code>true</code> if the grid has one solution.
+     *         <code>false</code> Otherwise false.
+     */
+    public boolean hasUniqueSolution(int[][] grid)
+    {
+        return countSolutions(grid, SOLUTION_LIMIT) == 1;
+    }
+
+    /**
+     * Counts the solutions of a grid. The counting stops when the limit
+     * is reached.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     * @param limit the maximum number of solutions to count, at least one.
+     *
+     * @return the number of solutions, at most the limit. Zero if the grid
+     *         has no solution or the numbers in the grid break the rules.
+     */
+    public int countSolutions(int[][] grid, int limit)
+    {
+        if (limit < 1)
+        {
+            throw new IllegalArgumentException("Limit must be at least one: " + limit);
+        }
+
+        excludedCell = -1;
+        hasFirstSolution = false;
+        if (!loadGrid(grid))
+        {
+            return 0;
+        }
+
+        return search(limit);
+    }
+
+    /**
+     * Solves a grid, in the same way as {@link SudokuSolver#solve(int[][])}.
+     *
+     * @param grid the grid, where zero is an empty cell. The grid is not
+     *            changed.
+     *
+     * @return the status of the grid and a solution if there is one.
+     */
+    public SolveResult solve(int[][] grid)
+    {
+        int numOfSolutions = countSolutions(grid, SOLUTION_LIMIT);
+        if (numOfSolutions == 0)
+        {
+            return new SolveResult(SolveStatus.UNSOLVABLE, null);
+        }
+        else if (numOfSolutions == 1)
+        {
+            return new SolveResult(SolveStatus.SOLVED, getFirstSolution());
+        }
+        else
+        {
+            return new SolveResult(SolveStatus.MULTIPLE_SOLUTIONS, getFirstSolution());
+        }
+    }
+
+    /**
+     * Returns the first solution found by the last call to
+     * {@link #countSolutions(int[][], int)}, {@link #hasUniqueSolution(int[][])}
+     * or {@link #solve(int[][])}.
+     *
+     * @return a new grid with the solution, or <code>null</code> if no
+     *         solution was found.
+     */
+    public int[][] getFirstSolution()
+    {
+        if (!hasFirstSolution)
+        {
+            return null;
+        }
+
+        return toGrid(firstSolution);
+    }
+
+    /**
+     * Checks if an empty cell in a grid could be set to another number than
+     * the given number in a solution of the grid, see
+     * {@link SudokuSolutionCounter#hasSolutionWithOtherNumber(int[][], int, int, int)}.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     * @param row the row position of the empty cell.
+     * @param col the column position of the empty cell.
+     * @param number the number which is not allowed in the cell.
+     *
+     * @return <code>true</code> if a solution with another number in the cell
+     *         exists. <code>false</code> Otherwise false.
+     */
+    public boolean hasSolutionWithOtherNumber(int[][] grid, int row, int col, int number)
+    {
+        excludedCell = row * gridSize + col;
+        excludedBit = numberBit(number);
+        hasFirstSolution = false;
+        boolean hasSolution = loadGrid(grid) && search(1) > 0;
+        excludedCell = -1;
+
+        return hasSolution;
+    }
+
+    /**
+     * Generates a random solution of the empty grid, trying the valid
+     * numbers of each guessed cell in random order. The search gives up
+     * after a number of guesses, so a caller could start over with other
+     * random choices.
+     *
+     * @param random the random generator used to order the numbers.
+     * @param maxNumOfGuesses the number of guesses before the search gives up.
+     *
+     * @return a new grid with the solution, or <code>null</code> if the search
+     *         gave up.
+     *
+     * @throws IllegalStateException if the model has no solution.
+     * @throws GenerationCancelledException if the thread is interrupted.
+     */
+    int[][] generateSolution(Random random, long maxNumOfGuesses)
+    {
+        this.random = random;
+        this.maxNumOfGuesses = maxNumOfGuesses;
+        this.numOfGuesses = 0;
+        this.hasGivenUp = false;
+
+        try
+        {
+            int numOfSolutions = countSolutions(new int[gridSize][gridSize], 1);
+            if (numOfSolutions == 0 && !hasGivenUp)
+            {
+                throw new IllegalStateException("The rules of the model have no solution");
+            }
+
+            return numOfSolutions > 0 ? getFirstSolution() : null;
+        }
+        finally
+        {
+            this.random = null;
+        }
+    }
+
+    /**
+     * Helper method to copy a grid into the counter and set up the unit
+     * and cage masks.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     *
+     * @return <code>true</code> if the numbers in the grid follow the rules.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean loadGrid(int[][] grid)
+    {
+        if (grid.length != gridSize)
+        {
+            throw new IllegalArgumentException("Grid must have " + gridSize + " rows: " + grid.length);
+        }
+
+        for (int unit = 0; unit < numOfUnits; unit++)
+        {
+            unitMasks[unit] = 0;
+        }
+
+        for (int cage = 0; cage < cageMasks.length; cage++)
+        {
+            cageMasks[cage] = 0;
+            cageSumsLeft[cage] = cageSums[cage];
+            cageNumOfEmptyCells[cage] = cageStarts[cage + 1] - cageStarts[cage];
+        }
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            cells[cell] = 0;
+        }
+
+        trailSize = 0;
+
+        boolean isValid = true;
+        for (int cell = 0; cell < numOfCells && isValid; cell++)
+        {
+            int number = grid[cell / gridSize][cell % gridSize];
+            if (number != 0)
+            {
+                if (number < 0 || number > gridSize || (candidates(cell) & numberBit(number)) == 0)
+                {
+                    isValid = false;
+                }
+                else
+                {
+                    setNumber(cell, number);
+                }
+            }
+        }
+
+        trailSize = 0;
+
+        return isValid;
+    }
+
+    /**
+     * Recursive helper method to count the solutions from the current state.
+     * The numbers that are given by constraint propagation are set first. If
+     * the grid is not full after that, each valid number of the empty cell with
+     * the fewest valid numbers is tested in turn, in random order when a
+     * solution is generated. All numbers set by the call are erased before it
+     * returns.
+     *
+     * @param limit the maximum number of solutions to count.
+     *
+     * @return the number of solutions, at most the limit.
+     */
+    private int search(int limit)
+    {
+        int mark = trailSize;
+        int numOfSolutions = 0;
+
+        if (propagate())
+        {
+            int cell = findMostConstrainedEmptyCell();
+            if (cell < 0)
+            {
+                numOfSolutions = 1;
+                if (!hasFirstSolution)
+                {
+                    System.arraycopy(cells, 0, firstSolution, 0, numOfCells);
+                    hasFirstSolution = true;
+                }
+            }
+            else
+            {
+                int candidates = candidates(cell);
+                while (candidates != 0 && numOfSolutions < limit && !isGivenUp())
+                {
+                    int bit = random == null ? Integer.lowestOneBit(candidates) : randomBit(candidates);
+                    candidates &= ~bit;
+
+                    int guessMark = trailSize;
+                    setNumber(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                    numOfSolutions += search(limit - numOfSolutions);
+                    undo(guessMark);
+                }
+            }
+        }
+
+        undo(mark);
+
+        return numOfSolutions;
+    }
+
+    /**
+     * Helper method to count a guess when a solution is generated, and to
+     * check if the search should give up.
+     *
+     * @return <code>true</code> if the search has made too many guesses.
+     *         <code>false</code> Otherwise false, and always when solutions
+     *         are counted.
+     *
+     * @throws GenerationCancelledException if the thread is interrupted.
+     */
+    private boolean isGivenUp()
+    {
+        if (random == null)
+        {
+            return false;
+        }
+
+        if (++numOfGuesses % GUESSES_BETWEEN_CANCEL_CHECKS == 0 && Thread.currentThread().isInterrupted())
+        {
+            throw new GenerationCancelledException("Generation of the grid was interrupted");
+        }
+
+        hasGivenUp = numOfGuesses > maxNumOfGuesses;
+
+        return hasGivenUp;
+    }
+
+    /**
+     * Helper method to set all naked and hidden singles until no more
+     * numbers could be set.
+     *
+     * @return <code>false</code> if a cell has no valid number or a number has
+     *         no position left in a unit. <code>true</code> Otherwise true.
+     */
+    private boolean propagate()
+    {
+        boolean isChanged = true;
+
+        while (isChanged)
+        {
+            isChanged = false;
+
+            for (int cell = 0; cell < numOfCells; cell++)
+            {
+                if (cells[cell] == 0)
+                {
+                    int candidates = candidates(cell);
+                    if (candidates == 0)
+                    {
+                        return false;
+                    }
+
+                    if ((candidates & (candidates - 1)) == 0)
+                    {
+                        setNumber(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+                        isChanged = true;
+                    }
+                }
+            }
+
+            for (int unit = 0; unit < numOfUnits; unit++)
+            {
+                int result = setHiddenSinglesInUnit(unit);
+                if (result < 0)
+                {
+                    return false;
+                }
+
+                isChanged |= result > 0;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Helper method to set the numbers which have only one position left in
+     * a unit, see {@link SudokuSolutionCounter}.
+     *
+     * @param unit the unit.
+     *
+     * @return the number of numbers set, or <code>-1</code> if a number
+     *         missing in the unit has no position left.
+     */
+    private int setHiddenSinglesInUnit(int unit)
+    {
+        int start = unitStarts[unit];
+        int end = unitStarts[unit + 1];
+        int atLeastOnce = 0;
+        int moreThanOnce = 0;
+
+        for (int i = start; i < end; i++)
+        {
+            int cell = unitCells[i];
+            if (cells[cell] == 0)
+            {
+                int candidates = candidates(cell);
+                moreThanOnce |= atLeastOnce & candidates;
+                atLeastOnce |= candidates;
+            }
+        }
+
+        int usedNumbers = unitMasks[unit];
+        if ((atLeastOnce | usedNumbers) != allNumbersMask)
+        {
+            return -1;
+        }
+
+        int hiddenSingles = atLeastOnce & ~moreThanOnce & ~usedNumbers;
+        int numOfSet = 0;
+        while (hiddenSingles != 0)
+        {
+            int bit = Integer.lowestOneBit(hiddenSingles);
+            hiddenSingles &= ~bit;
+
+            for (int i = start; i < end; i++)
+            {
+                int cell = unitCells[i];
+                if (cells[cell] == 0 && (candidates(cell) & bit) != 0)
+                {
+                    setNumber(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                    numOfSet++;
+                    break;
+                }
+            }
+        }
+
+        return numOfSet;
+    }
+
+    /**
+     * Helper method to find the empty cell with the fewest valid numbers.
+     *
+     * @return the cell, or <code>-1</code> if the grid is full.
+     */
+    private int findMostConstrainedEmptyCell()
+    {
+        int bestCell = -1;
+        int bestNumOfCandidates = Integer.MAX_VALUE;
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            if (cells[cell] == 0)
+            {
+                int numOfCandidates = Integer.bitCount(candidates(cell));
+                if (numOfCandidates < bestNumOfCandidates)
+                {
+                    bestCell = cell;
+                    bestNumOfCandidates = numOfCandidates;
+                    if (numOfCandidates <= 2)
+                    {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return bestCell;
+    }
+
+    /**
+     * Helper method to get the valid numbers of a cell as a bitmask, from
+     * the masks of its units and its cage.
+     *
+     * @param cell the cell.
+     *
+     * @return the bitmask with the valid numbers, without the excluded number
+     *         if the cell is the excluded cell.
+     */
+    private int candidates(int cell)
+    {
+        int usedNumbers = 0;
+        for (int i = cellUnitStarts[cell]; i < cellUnitStarts[cell + 1]; i++)
+        {
+            usedNumbers |= unitMasks[cellUnits[i]];
+        }
+
+        int candidates = ~usedNumbers & allNumbersMask;
+        int cage = cellCage[cell];
+        if (cage >= 0 && candidates != 0)
+        {
+            candidates &= cageCandidates(cage);
+        }
+
+        if (cell == excludedCell)
+        {
+            candidates &= ~excludedBit;
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Helper method to get the numbers which could be set in an empty cell
+     * of a cage. A number is valid if it is unused in the cage and the rest
+     * of the sum is between the smallest and the largest sum of the other
+     * empty cells, filled with other unused numbers.
+     *
+     * @param cage the cage.
+     *
+     * @return the bitmask with the valid numbers.
+     */
+    private int cageCandidates(int cage)
+    {
+        int unusedNumbers = ~cageMasks[cage] & allNumbersMask;
+        int numOfOtherCells = cageNumOfEmptyCells[cage] - 1;
+        int sumLeft = cageSumsLeft[cage];
+
+        if (Integer.bitCount(unusedNumbers) <= numOfOtherCells)
+        {
+            return 0;
+        }
+
+        int lowSum = 0;
+        int lowLast = 0;
+        int lowNext = 0;
+        int numbers = unusedNumbers;
+        for (int i = 0; i <= numOfOtherCells; i++)
+        {
+            int number = Integer.numberOfTrailingZeros(numbers) + 1;
+            numbers &= numbers - 1;
+            if (i < numOfOtherCells)
+            {
+                lowSum += number;
+                lowLast = number;
+            }
+            else
+            {
+                lowNext = number;
+            }
+        }
+
+        int highSum = 0;
+        int highLast = gridSize + 1;
+        int highNext = 0;
+        numbers = unusedNumbers;
+        for (int i = 0; i <= numOfOtherCells; i++)
+        {
+            int number = 32 - Integer.numberOfLeadingZeros(numbers);
+            numbers &= ~numberBit(number);
+            if (i < numOfOtherCells)
+            {
+                highSum += number;
+                highLast = number;
+            }
+            else
+            {
+                highNext = number;
+            }
+        }
+
+        int candidates = 0;
+        numbers = unusedNumbers;
+        while (numbers != 0)
+        {
+            int bit = Integer.lowestOneBit(numbers);
+            numbers &= ~bit;
+
+            int number = Integer.numberOfTrailingZeros(bit) + 1;
+            int otherSum = sumLeft - number;
+            int minSum = number <= lowLast ? lowSum - number + lowNext : lowSum;
+            int maxSum = number >= highLast ? highSum - number + highNext : highSum;
+            if (otherSum >= minSum && otherSum <= maxSum)
+            {
+                candidates |= bit;
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Helper method to choose one of the numbers in a bitmask at random.
+     *
+     * @param candidates the bitmask with the numbers, not empty.
+     *
+     * @return the bit of the chosen number.
+     */
+    private int randomBit(int candidates)
+    {
+        int skip = random.nextInt(Integer.bitCount(candidates));
+        for (int i = 0; i < skip; i++)
+        {
+            candidates &= candidates - 1;
+        }
+
+        return Integer.lowestOneBit(candidates);
+    }
+
+    /**
+     * Helper method to set a number in a cell and remember the cell so it
+     * could be erased by {@link #undo(int)}.
+     *
+     * @param cell the cell.
+     * @param number the number.
+     */
+    private void setNumber(int cell, int number)
+    {
+        int bit = numberBit(number);
+
+        cells[cell] = number;
+        for (int i = cellUnitStarts[cell]; i < cellUnitStarts[cell + 1]; i++)
+        {
+            unitMasks[cellUnits[i]] |= bit;
+        }
+
+        int cage = cellCage[cell];
+        if (cage >= 0)
+        {
+            cageMasks[cage] |= bit;
+            cageSumsLeft[cage] -= number;
+            cageNumOfEmptyCells[cage]--;
+        }
+
+        trail[trailSize++] = cell;
+    }
+
+    /**
+     * Helper method to erase the numbers set after a mark in the trail.
+     *
+     * @param mark the trail size to return to.
+     */
+    private void undo(int mark)
+    {
+        while (trailSize > mark)
+        {
+            int cell = trail[--trailSize];
+            int number = cells[cell];
+            int bit = ~numberBit(number);
+
+            for (int i = cellUnitStarts[cell]; i < cellUnitStarts[cell + 1]; i++)
+            {
+                unitMasks[cellUnits[i]] &= bit;
+            }
+
+            int cage = cellCage[cell];
+            if (cage >= 0)
+            {
+                cageMasks[cage] &= bit;
+                cageSumsLeft[cage] += number;
+                cageNumOfEmptyCells[cage]++;
+            }
+
+            cells[cell] = 0;
+        }
+    }
+
+    /**
+     * Helper method to copy the cells, row by row, into a new grid.
+     *
+     * @param numbers the numbers of the cells.
+     *
+     * @return the grid.
+     */
+    private int[][] toGrid(int[] numbers)
+    {
+        int[][] grid = new int[gridSize][gridSize];
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            grid[cell / gridSize][cell % gridSize] = numbers[cell];
+        }
+
+        return grid;
+    }
+
+    /**
+     * Helper method to get the bit representing a number in the masks.
+     *
+     * @param number the number, from one to the grid side length.
+     *
+     * @return the bit for the number.
+     */
+    private static int numberBit(int number)
+    {
+        return 1 << (number - 1);
+    }
+}
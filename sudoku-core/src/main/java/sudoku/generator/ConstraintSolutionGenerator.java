@@ -0,0 +1,100 @@
+package sudoku.generator;
+
+import java.util.Random;
+
+/**
+ * Generates a grid with a solution under the rules of a
+ * {@link ConstraintModel}, for example a diagonal or jigsaw sudoku.
+ *
+ * <p>
+ * The grid is filled by a {@link ConstraintSolutionCounter} which tries
+ * the numbers of each guessed cell in random order. As in
+ * {@link SudokuSolutionGenerator}, a search that makes more guesses than a
+ * cutoff starts over with new random choices, and the cutoffs follow the
+ * Luby sequence times {@value #RESTART_UNIT} guesses. A model which has no
+ * solution at all, such as a jigsaw layout that no grid fits, is found
+ * when a search runs to the end without giving up, which could take long.
+ * </p>
+ *
+ * <p>
+ * The generator is thread-safe. Each thread that uses the generator gets
+ * its own solution counter, and each call returns a new grid.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class ConstraintSolutionGenerator implements SolutionGenerator
+{
+    private static final int RESTART_UNIT = 256;
+
+    private final ConstraintModel model;
+    private final ThreadLocal<ConstraintSolutionCounter> solutionCounter;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for the grids of a model.
+     *
+     * @param model the rules of the grids.
+     */
+    public ConstraintSolutionGenerator(final ConstraintModel model)
+    {
+        this.model = model;
+        this.solutionCounter = new ThreadLocal<ConstraintSolutionCounter>()
+        {
+            @Override
+            protected ConstraintSolutionCounter initialValue()
+            {
+                return new ConstraintSolutionCounter(model);
+            }
+        };
+    }
+
+    /**
+     * Returns the rules of the generated grids.
+     *
+     * @return the model.
+     */
+    public ConstraintModel getModel()
+    {
+        return model;
+    }
+
+    @Override
+    public int getBoxSideLength()
+    {
+        return model.getBoxSideLength();
+    }
+
+    /**
+     * Generates a new grid with a solution under the rules of the model.
+     *
+     * @param random the random generator used to choose the numbers.
+     *
+     * @return the grid with the solution.
+     *
+     * @throws IllegalStateException if the model turns out to have no solution.
+     * @throws GenerationCancelledException if the thread is interrupted.
+     */
+    @Override
+    public int[][] generateGrid(Random random)
+    {
+        ConstraintSolutionCounter counter = solutionCounter.get();
+
+        int restart = 1;
+        int[][] grid = counter.generateSolution(random, RESTART_UNIT * SudokuSolutionGenerator.luby(restart));
+        while (grid == null)
+        {
+            if (Thread.currentThread().isInterrupted())
+            {
+                throw new GenerationCancelledException("Generation of the grid was interrupted");
+            }
+
+            restart++;
+            grid = counter.generateSolution(random, RESTART_UNIT * SudokuSolutionGenerator.luby(restart));
+        }
+
+        return grid;
+    }
+}
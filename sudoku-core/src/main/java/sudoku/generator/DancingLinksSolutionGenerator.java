@@ -0,0 +1,389 @@
+package sudoku.generator;
+
+import java.util.Random;
+
+/**
+ * Generates a N x N grid with a sudoku solution using Knuth's Algorithm X
+ * with dancing links.
+ *
+ * <p>
+ * A sudoku solution is an exact cover of four kinds of constraints: every
+ * cell has one number, and every row, column and box has every number once.
+ * Each of the N x N x N possible placements of a number in a cell covers one
+ * constraint of each kind. The constraints are the columns and the placements
+ * are the rows of a sparse matrix of doubly linked nodes, where covering and
+ * uncovering a column takes constant time per node.
+ * </p>
+ *
+ * <p>
+ * The placements are linked in random order, so every call tries the
+ * placements of a constraint in a new order and generates a new random
+ * solution. Ties between columns with the fewest placements left are
+ * broken by taking the first column, which keeps the search time much
+ * more even than a random tie break on large grids.
+ * </p>
+ *
+ * <p>
+ * The generator is thread-safe. The links are large, so they are
+ * allocated once for each thread that uses the generator and relinked
+ * on every call, and each call returns a new grid.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class DancingLinksSolutionGenerator implements SolutionGenerator
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final int NUM_OF_CONSTRAINT_KINDS = 4;
+    private static final int ROOT = 0;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfColumns;
+    private final int numOfPlacements;
+    private final ThreadLocal<Links> threadLinks;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for 4 x 4 grids.
+     */
+    public DancingLinksSolutionGenerator()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     */
+    public DancingLinksSolutionGenerator(int boxSideLength)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.numOfColumns = NUM_OF_CONSTRAINT_KINDS * gridSize * gridSize;
+        this.numOfPlacements = gridSize * gridSize * gridSize;
+        this.threadLinks = new ThreadLocal<Links>()
+        {
+            @Override
+            protected Links initialValue()
+            {
+                return new Links();
+            }
+        };
+    }
+
+    @Override
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Links the placements in a new random order before searching for a
+     * exact cover, which is a sudoku solution.
+     *
+     * @param random the random generator used to order the placements.
+     *
+     * @return the grid with a sudoku solution.
+     */
+    @Override
+    public int[][] generateGrid(Random random)
+    {
+        Links links = threadLinks.get();
+        links.linkColumns();
+        links.linkPlacementsInRandomOrder(random);
+        links.search(0);
+
+        return links.createGridFromSolution();
+    }
+
+    /**
+     * The sparse matrix of doubly linked nodes for one thread. The root is
+     * node zero, followed by the column headers and the placement nodes.
+     */
+    private final class Links
+    {
+        private final int[] left;
+        private final int[] right;
+        private final int[] up;
+        private final int[] down;
+        private final int[] column;
+        private final int[] placement;
+        private final int[] columnSize;
+        private final int[] solution;
+        private int numOfNodes;
+
+        /**
+         * Constructor
+         *
+         * Instantiates the arrays for all the nodes of the matrix.
+         */
+        private Links()
+        {
+            int maxNumOfNodes = 1 + numOfColumns + NUM_OF_CONSTRAINT_KINDS * numOfPlacements;
+            left = new int[maxNumOfNodes];
+            right = new int[maxNumOfNodes];
+            up = new int[maxNumOfNodes];
+            down = new int[maxNumOfNodes];
+            column = new int[maxNumOfNodes];
+            placement = new int[maxNumOfNodes];
+            columnSize = new int[numOfColumns + 1];
+            solution = new int[gridSize * gridSize];
+        }
+
+        /**
+         * Helper method to link the root and the column headers in a circular
+         * list and make every column empty.
+         */
+        private void linkColumns()
+        {
+            for (int col = 0; col <= numOfColumns; col++)
+            {
+                left[col] = col == ROOT ? numOfColumns : col - 1;
+                right[col] = col == numOfColumns ? ROOT : col + 1;
+                up[col] = col;
+                down[col] = col;
+                column[col] = col;
+                columnSize[col] = 0;
+            }
+
+            numOfNodes = numOfColumns + 1;
+        }
+
+        /**
+         * Helper method to add all placements to the matrix in random order.
+         * Each placement is a row of four nodes, one for each constraint it covers.
+         *
+         * @param random the random generator used to order the placements.
+         */
+        private void linkPlacementsInRandomOrder(Random random)
+        {
+            int[] placements = new int[numOfPlacements];
+            for (int i = 0; i < numOfPlacements; i++)
+            {
+                placements[i] = i;
+            }
+
+            for (int i = numOfPlacements - 1; i > 0; i--)
+            {
+                int j = random.nextInt(i + 1);
+                int temp = placements[i];
+                placements[i] = placements[j];
+                placements[j] = temp;
+            }
+
+            for (int i = 0; i < numOfPlacements; i++)
+            {
+                linkPlacement(placements[i]);
+            }
+        }
+
+        /**
+         * Helper method to add the nodes of one placement to the bottom of the
+         * columns of the constraints it covers. The placement is numbered as
+         * <code>(row * N + col) * N + number - 1</code>.
+         *
+         * @param placementIndex the number of the placement.
+         */
+        private void linkPlacement(int placementIndex)
+        {
+            int cell = placementIndex / gridSize;
+            int numberIndex = placementIndex % gridSize;
+            int row = cell / gridSize;
+            int col = cell % gridSize;
+            int box = row / boxSideLength * boxSideLength + col / boxSideLength;
+            int numOfCells = gridSize * gridSize;
+
+            int firstNode = numOfNodes;
+            linkNode(1 + cell, placementIndex, firstNode);
+            linkNode(1 + numOfCells + row * gridSize + numberIndex, placementIndex, firstNode);
+            linkNode(1 + 2 * numOfCells + col * gridSize + numberIndex, placementIndex, firstNode);
+            linkNode(1 + 3 * numOfCells + box * gridSize + numberIndex, placementIndex, firstNode);
+        }
+
+        /**
+         * Helper method to add a node at the bottom of a column and at the end
+         * of the circular row of the placement it belongs to.
+         *
+         * @param col the column header of the constraint.
+         * @param placementIndex the number of the placement.
+         * @param firstNode the first node in the row of the placement.
+         */
+        private void linkNode(int col, int placementIndex, int firstNode)
+        {
+            int node = numOfNodes++;
+
+            column[node] = col;
+            placement[node] = placementIndex;
+            up[node] = up[col];
+            down[node] = col;
+            down[up[col]] = node;
+            up[col] = node;
+            columnSize[col]++;
+
+            if (node == firstNode)
+            {
+                left[node] = node;
+                right[node] = node;
+            }
+            else
+            {
+                left[node] = left[firstNode];
+                right[node] = firstNode;
+                right[left[firstNode]] = node;
+                left[firstNode] = node;
+            }
+        }
+
+        /**
+         * Recursive helper method to search for an exact cover (Algorithm X).
+         * The column with the fewest placements left is chosen and each of its
+         * placements is tried in turn by covering all columns the placement
+         * covers. If the remaining matrix can not be covered, the columns are
+         * uncovered again (backtracking).
+         *
+         * @param depth the number of placements in the partial solution.
+         *
+         * @return <code>true</code> if all columns are covered.
+         *         <code>false</code> Otherwise false.
+         */
+        private boolean search(int depth)
+        {
+            if (right[ROOT] == ROOT)
+            {
+                return true;
+            }
+
+            int col = chooseColumn();
+            if (columnSize[col] == 0)
+            {
+                return false;
+            }
+
+            cover(col);
+            for (int node = down[col]; node != col; node = down[node])
+            {
+                solution[depth] = placement[node];
+                for (int j = right[node]; j != node; j = right[j])
+                {
+                    cover(column[j]);
+                }
+
+                if (search(depth + 1))
+                {
+                    return true;
+                }
+
+                for (int j = left[node]; j != node; j = left[j])
+                {
+                    uncover(column[j]);
+                }
+            }
+            uncover(col);
+
+            return false;
+        }
+
+        /**
+         * Helper method to choose the first column with the fewest placements left.
+         *
+         * @return the column header.
+         */
+        private int chooseColumn()
+        {
+            int bestCol = ROOT;
+            int bestSize = Integer.MAX_VALUE;
+
+            for (int col = right[ROOT]; col != ROOT; col = right[col])
+            {
+                if (columnSize[col] < bestSize)
+                {
+                    bestCol = col;
+                    bestSize = columnSize[col];
+                    if (bestSize <= 1)
+                    {
+                        break;
+                    }
+                }
+            }
+
+            return bestCol;
+        }
+
+        /**
+         * Helper method to remove a column from the header list and all rows
+         * with a node in the column from the other columns.
+         *
+         * @param col the column header.
+         */
+        private void cover(int col)
+        {
+            right[left[col]] = right[col];
+            left[right[col]] = left[col];
+
+            for (int i = down[col]; i != col; i = down[i])
+            {
+                for (int j = right[i]; j != i; j = right[j])
+                {
+                    up[down[j]] = up[j];
+                    down[up[j]] = down[j];
+                    columnSize[column[j]]--;
+                }
+            }
+        }
+
+        /**
+         * Helper method to undo {@link #cover(int)} by relinking the nodes in
+         * the reverse order they were removed.
+         *
+         * @param col the column header.
+         */
+        private void uncover(int col)
+        {
+            for (int i = up[col]; i != col; i = up[i])
+            {
+                for (int j = left[i]; j != i; j = left[j])
+                {
+                    columnSize[column[j]]++;
+                    up[down[j]] = j;
+                    down[up[j]] = j;
+                }
+            }
+
+            right[left[col]] = col;
+            left[right[col]] = col;
+        }
+
+        /**
+         * Helper method to create the grid from the placements in the solution.
+         *
+         * @return the grid with the sudoku solution.
+         */
+        private int[][] createGridFromSolution()
+        {
+            int[][] grid = new int[gridSize][gridSize];
+
+            for (int i = 0; i < solution.length; i++)
+            {
+                int cell = solution[i] / gridSize;
+                grid[cell / gridSize][cell % gridSize] = solution[i] % gridSize + 1;
+            }
+
+            return grid;
+        }
+    }
+}
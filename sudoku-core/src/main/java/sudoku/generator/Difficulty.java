@@ -0,0 +1,33 @@
+package sudoku.generator;
+
+/**
+ * The difficulty tiers of a puzzle, from the easiest to the hardest. The
+ * tier of a puzzle is the tier of the hardest technique needed to solve
+ * it, see {@link SolvingTechnique} and {@link DifficultyRater}.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public enum Difficulty
+{
+    /**
+     * Solved with naked and hidden singles only.
+     */
+    EASY,
+
+    /**
+     * Needs locked candidates or naked and hidden pairs.
+     */
+    MEDIUM,
+
+    /**
+     * Needs naked and hidden triples, X-wings, swordfish or XY-wings.
+     */
+    HARD,
+
+    /**
+     * Could not be solved with the techniques of the rater, so it needs
+     * guessing.
+     */
+    EXPERT
+}
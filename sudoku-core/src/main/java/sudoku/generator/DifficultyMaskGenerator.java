@@ -0,0 +1,284 @@
+package sudoku.generator;
+
+import java.util.Random;
+
+/**
+ * Generates a mask for a solution grid, so the grid to start the game
+ * with has exactly one solution and is of a given difficulty tier.
+ *
+ * <p>
+ * The cells are visited in random order, as in {@link UniqueMaskGenerator},
+ * but a number is hidden only if the grid could still be solved with the
+ * techniques up to the tier, which is checked with a
+ * {@link DifficultyRater}. The rater stops as soon as a harder technique is
+ * needed, so a removal that makes the grid too hard is rejected early. A
+ * grid solved by the rater has one solution, so no solution counting is
+ * needed. For {@link Difficulty#EXPERT}, the numbers are hidden while the
+ * solution is unique, as the rater could not solve those grids.
+ * </p>
+ *
+ * <p>
+ * When no more numbers could be hidden, the grid is at most as hard as the
+ * tier. If it is easier, the removal is tried again in another order on the
+ * same solution, up to {@value #MAX_NUM_OF_ATTEMPTS} times. If the tier is
+ * not reached, for example since small grids rarely need hard techniques,
+ * the hardest mask found is returned.
+ * </p>
+ *
+ * <p>
+ * The generator is thread-safe. Each thread that uses the generator gets
+ * its own rater and solution counter, and each call returns a new mask.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class DifficultyMaskGenerator implements MaskGenerator
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final int MAX_NUM_OF_ATTEMPTS = 64;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final Difficulty difficulty;
+    private final ThreadLocal<DifficultyRater> difficultyRater;
+    private final ThreadLocal<SudokuSolutionCounter> solutionCounter;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for easy 4 x 4 grids.
+     */
+    public DifficultyMaskGenerator()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH, Difficulty.EASY);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length
+     * and of the given difficulty tier.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     * @param difficulty the difficulty tier of the grids.
+     */
+    public DifficultyMaskGenerator(int boxSideLength, Difficulty difficulty)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        if (difficulty == null)
+        {
+            throw new IllegalArgumentException("Difficulty must not be null");
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.difficulty = difficulty;
+        this.difficultyRater = new ThreadLocal<DifficultyRater>()
+        {
+            @Override
+            protected DifficultyRater initialValue()
+            {
+                return new DifficultyRater(DifficultyMaskGenerator.this.boxSideLength);
+            }
+        };
+        this.solutionCounter = new ThreadLocal<SudokuSolutionCounter>()
+        {
+            @Override
+            protected SudokuSolutionCounter initialValue()
+            {
+                return new SudokuSolutionCounter(DifficultyMaskGenerator.this.boxSideLength);
+            }
+        };
+    }
+
+    @Override
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Returns the difficulty tier of the grids.
+     *
+     * @return the difficulty tier.
+     */
+    public Difficulty getDifficulty()
+    {
+        return difficulty;
+    }
+
+    /**
+     * Generates a mask which hides as many numbers of the solution as possible
+     * while the grid stays at most as hard as the difficulty tier.
+     *
+     * @param solutionGrid the grid with the sudoku solution to be masked.
+     * @param random the random generator used to order the cells.
+     *
+     * @return the mask of the tier, or the hardest mask found if the tier
+     *         was not reached.
+     */
+    @Override
+    public int[][] generateGrid(int[][] solutionGrid, Random random)
+    {
+        DifficultyRater rater = difficultyRater.get();
+        int[][] maskGrid = new int[gridSize][gridSize];
+        int[][] startGameGrid = new int[gridSize][gridSize];
+        int[][] bestMaskGrid = null;
+        Difficulty bestDifficulty = null;
+
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int col = 0; col < gridSize; col++)
+            {
+                maskGrid[row][col] = 1;
+                startGameGrid[row][col] = solutionGrid[row][col];
+            }
+        }
+
+        for (int attempt = 0; attempt < MAX_NUM_OF_ATTEMPTS; attempt++)
+        {
+            if (attempt > 0)
+            {
+                showRandomHiddenNumbers(maskGrid, startGameGrid, solutionGrid, random);
+            }
+
+            hideNumbersWithinDifficulty(maskGrid, startGameGrid, random);
+
+            Difficulty maskDifficulty = rater.rate(startGameGrid);
+            if (maskDifficulty == difficulty)
+            {
+                if (GenerationMetrics.isEnabled())
+                {
+                    GenerationMetrics.recordDifficultyMask(attempt + 1, true);
+                }
+
+                return maskGrid;
+            }
+
+            if (bestDifficulty == null || maskDifficulty.compareTo(bestDifficulty) > 0)
+            {
+                bestMaskGrid = copyGrid(maskGrid);
+                bestDifficulty = maskDifficulty;
+            }
+        }
+
+        if (GenerationMetrics.isEnabled())
+        {
+            GenerationMetrics.recordDifficultyMask(MAX_NUM_OF_ATTEMPTS, false);
+        }
+
+        return bestMaskGrid;
+    }
+
+    /**
+     * Helper method to hide the numbers in the cells in random order. A number
+     * is shown again if the grid gets harder than the tier without it, or for
+     * the expert tier, if the grid gets more than one solution.
+     *
+     * @param maskGrid the mask, which is updated with the hidden cells.
+     * @param startGameGrid the solution masked by the mask.
+     * @param random the random generator used to order the cells.
+     */
+    private void hideNumbersWithinDifficulty(int[][] maskGrid, int[][] startGameGrid, Random random)
+    {
+        DifficultyRater rater = difficultyRater.get();
+        SudokuSolutionCounter counter = solutionCounter.get();
+        int[] cells = UniqueMaskGenerator.generateCellsInRandomOrder(gridSize * gridSize, random);
+
+        for (int cell : cells)
+        {
+            int row = cell / gridSize;
+            int col = cell % gridSize;
+            int number = startGameGrid[row][col];
+            if (number == 0)
+            {
+                continue;
+            }
+
+            startGameGrid[row][col] = 0;
+
+            boolean isHidden;
+            if (difficulty == Difficulty.EXPERT)
+            {
+                isHidden = !counter.hasSolutionWithOtherNumber(startGameGrid, row, col, number);
+            }
+            else
+            {
+                isHidden = rater.isSolvableWithin(startGameGrid, difficulty);
+            }
+
+            if (isHidden)
+            {
+                maskGrid[row][col] = 0;
+            }
+            else
+            {
+                startGameGrid[row][col] = number;
+            }
+        }
+    }
+
+    /**
+     * Helper method to show some of the hidden numbers again, one for each
+     * row of boxes, so the next removal could take another way.
+     *
+     * @param maskGrid the mask, which is updated with the shown cells.
+     * @param startGameGrid the solution masked by the mask.
+     * @param solutionGrid the grid with the sudoku solution.
+     * @param random the random generator used to choose the cells.
+     */
+    private void showRandomHiddenNumbers(int[][] maskGrid, int[][] startGameGrid, int[][] solutionGrid,
+            Random random)
+    {
+        int numOfHidden = 0;
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int col = 0; col < gridSize; col++)
+            {
+                numOfHidden += 1 - maskGrid[row][col];
+            }
+        }
+
+        int numToShow = Math.min(boxSideLength, numOfHidden);
+        int numOfShown = 0;
+        while (numOfShown < numToShow)
+        {
+            int row = random.nextInt(gridSize);
+            int col = random.nextInt(gridSize);
+
+            if (maskGrid[row][col] == 0)
+            {
+                maskGrid[row][col] = 1;
+                startGameGrid[row][col] = solutionGrid[row][col];
+                numOfShown++;
+            }
+        }
+    }
+
+    /**
+     * Helper method to copy a grid.
+     *
+     * @param grid the grid to copy.
+     *
+     * @return the copy.
+     */
+    private int[][] copyGrid(int[][] grid)
+    {
+        int[][] copy = new int[gridSize][];
+        for (int row = 0; row < gridSize; row++)
+        {
+            copy[row] = grid[row].clone();
+        }
+
+        return copy;
+    }
+}
@@ -0,0 +1,942 @@
+package sudoku.generator;
+
+/**
+ * Rates the difficulty of a sudoku grid by solving it the way a person
+ * would, with the techniques in {@link SolvingTechnique}. The easiest
+ * technique that makes progress is always used, so the rating is the tier
+ * of the hardest technique that could not be avoided. A grid that could not
+ * be solved with the techniques is rated {@link Difficulty#EXPERT}.
+ *
+ * <p>
+ * The valid numbers of every empty cell are kept as bitmasks, in the same
+ * way as in {@link SudokuSolutionCounter}. Unlike the counter, the rater
+ * never guesses, so every number it sets and every number it removes from
+ * a cell holds in all solutions. A grid the rater solves has therefore
+ * exactly one solution. A grid with no solution or several solutions is
+ * rated {@link Difficulty#EXPERT}.
+ * </p>
+ *
+ * <p>
+ * The rater reuses its arrays between calls and is not thread-safe. Each
+ * thread must use its own rater.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class DifficultyRater
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final int NUM_OF_UNIT_KINDS = 3;
+    private static final SolvingTechnique[] TECHNIQUES = SolvingTechnique.values();
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfCells;
+    private final int allNumbersMask;
+    private final int[] cellRow;
+    private final int[] cellCol;
+    private final int[] cellBox;
+    private final int[][] unitCells;
+
+    private int[] cells;
+    private int[] candidates;
+    private int[] numberPositions;
+    private int numOfEmptyCells;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a rater for 4 x 4 grids.
+     */
+    public DifficultyRater()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a rater for grids with boxes of the given side length.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     */
+    public DifficultyRater(int boxSideLength)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.numOfCells = gridSize * gridSize;
+        this.allNumbersMask = (1 << gridSize) - 1;
+
+        cellRow = new int[numOfCells];
+        cellCol = new int[numOfCells];
+        cellBox = new int[numOfCells];
+        unitCells = new int[NUM_OF_UNIT_KINDS * gridSize][gridSize];
+        setupUnits();
+
+        cells = new int[numOfCells];
+        candidates = new int[numOfCells];
+        numberPositions = new int[gridSize];
+    }
+
+    /**
+     * Returns the side length of a box in the grids.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Rates the difficulty of a grid.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     *
+     * @return the tier of the hardest technique needed, or
+     *         {@link Difficulty#EXPERT} if the grid could not be solved
+     *         with the techniques.
+     */
+    public Difficulty rate(int[][] grid)
+    {
+        loadGrid(grid);
+        Difficulty difficulty = solve(Difficulty.HARD);
+
+        return difficulty != null ? difficulty : Difficulty.EXPERT;
+    }
+
+    /**
+     * Rates the difficulty of the start grid of a puzzle.
+     *
+     * @param puzzle the puzzle.
+     *
+     * @return the tier of the hardest technique needed, or
+     *         {@link Difficulty#EXPERT} if the puzzle could not be solved
+     *         with the techniques.
+     */
+    public Difficulty rate(SudokuPuzzle puzzle)
+    {
+        return rate(puzzle.getStartGameGrid());
+    }
+
+    /**
+     * Checks if a grid could be solved with the techniques up to a
+     * difficulty tier. The solving stops as soon as a harder technique is
+     * needed, which is quicker than rating the grid.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     * @param maxDifficulty the hardest tier of the techniques to use.
+     *
+     * @return <code>true</code> if the grid was solved with the techniques.
+     *         <code>false</code> Otherwise false.
+     */
+    public boolean isSolvableWithin(int[][] grid, Difficulty maxDifficulty)
+    {
+        loadGrid(grid);
+
+        return solve(maxDifficulty) != null;
+    }
+
+    /**
+     * Helper method to set up the position of every cell in its row, column
+     * and box, and the cells in every unit. The rows are the first units,
+     * then the columns and then the boxes. The cells of a row are in column
+     * order and the cells of a column in row order.
+     */
+    private void setupUnits()
+    {
+        int[] numOfCellsInUnit = new int[NUM_OF_UNIT_KINDS * gridSize];
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            int row = cell / gridSize;
+            int col = cell % gridSize;
+            int box = row / boxSideLength * boxSideLength + col / boxSideLength;
+
+            cellRow[cell] = row;
+            cellCol[cell] = col;
+            cellBox[cell] = box;
+
+            int[] units = { row, gridSize + col, 2 * gridSize + box };
+            for (int unit : units)
+            {
+                unitCells[unit][numOfCellsInUnit[unit]++] = cell;
+            }
+        }
+    }
+
+    /**
+     * Helper method to copy a grid into the rater and set up the valid
+     * numbers of the empty cells.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     */
+    private void loadGrid(int[][] grid)
+    {
+        if (grid.length != gridSize)
+        {
+            throw new IllegalArgumentException("Grid must have " + gridSize + " rows: " + grid.length);
+        }
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            cells[cell] = 0;
+            candidates[cell] = allNumbersMask;
+        }
+        numOfEmptyCells = numOfCells;
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            int number = grid[cellRow[cell]][cellCol[cell]];
+            if (number != 0)
+            {
+                if (number < 0 || number > gridSize || (candidates[cell] & numberBit(number)) == 0)
+                {
+                    throw new IllegalArgumentException("Numbers in the grid break the rules at row "
+                            + cellRow[cell] + ", column " + cellCol[cell]);
+                }
+
+                setNumber(cell, number);
+            }
+        }
+    }
+
+    /**
+     * Helper method to solve the loaded grid. The easiest technique that
+     * makes progress is used in every step.
+     *
+     * @param maxDifficulty the hardest tier of the techniques to use.
+     *
+     * @return the tier of the hardest technique used, or <code>null</code>
+     *         if the grid could not be solved with the techniques.
+     */
+    private Difficulty solve(Difficulty maxDifficulty)
+    {
+        Difficulty hardest = Difficulty.EASY;
+
+        while (numOfEmptyCells > 0)
+        {
+            SolvingTechnique technique = applyEasiestTechnique(maxDifficulty);
+            if (technique == null)
+            {
+                return null;
+            }
+
+            if (technique.getDifficulty().compareTo(hardest) > 0)
+            {
+                hardest = technique.getDifficulty();
+            }
+        }
+
+        return hardest;
+    }
+
+    /**
+     * Helper method to apply the easiest technique which makes progress.
+     *
+     * @param maxDifficulty the hardest tier of the techniques to try.
+     *
+     * @return the technique applied, or <code>null</code> if no technique
+     *         up to the tier made progress.
+     */
+    private SolvingTechnique applyEasiestTechnique(Difficulty maxDifficulty)
+    {
+        for (SolvingTechnique technique : TECHNIQUES)
+        {
+            if (technique.getDifficulty().compareTo(maxDifficulty) > 0)
+            {
+                break;
+            }
+
+            if (applyTechnique(technique))
+            {
+                return technique;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Helper method to apply a technique to the whole grid.
+     *
+     * @param technique the technique.
+     *
+     * @return <code>true</code> if a number was set or removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean applyTechnique(SolvingTechnique technique)
+    {
+        switch (technique)
+        {
+        case HIDDEN_SINGLE:
+            return setHiddenSingles();
+        case NAKED_SINGLE:
+            return setNakedSingles();
+        case LOCKED_CANDIDATES:
+            return eliminateLockedCandidates();
+        case NAKED_PAIR:
+            return eliminateNakedSubsets(2);
+        case HIDDEN_PAIR:
+            return eliminateHiddenSubsets(2);
+        case NAKED_TRIPLE:
+            return eliminateNakedSubsets(3);
+        case HIDDEN_TRIPLE:
+            return eliminateHiddenSubsets(3);
+        case X_WING:
+            return eliminateFish(2);
+        case SWORDFISH:
+            return eliminateFish(3);
+        case XY_WING:
+            return eliminateXYWings();
+        default:
+            throw new IllegalStateException("Unknown technique: " + technique);
+        }
+    }
+
+    /**
+     * Helper method to set the numbers which have only one position left in
+     * a unit. The numbers that occur once and more than once among the valid
+     * numbers of the empty cells are collected as bitmasks in one pass.
+     *
+     * @return <code>true</code> if a number was set.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean setHiddenSingles()
+    {
+        boolean isChanged = false;
+
+        for (int[] unit : unitCells)
+        {
+            int atLeastOnce = 0;
+            int moreThanOnce = 0;
+            for (int cell : unit)
+            {
+                moreThanOnce |= atLeastOnce & candidates[cell];
+                atLeastOnce |= candidates[cell];
+            }
+
+            int hiddenSingles = atLeastOnce & ~moreThanOnce;
+            while (hiddenSingles != 0)
+            {
+                int bit = Integer.lowestOneBit(hiddenSingles);
+                hiddenSingles &= ~bit;
+
+                for (int cell : unit)
+                {
+                    if ((candidates[cell] & bit) != 0)
+                    {
+                        setNumber(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                        isChanged = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Helper method to set the numbers in the cells with only one valid
+     * number left.
+     *
+     * @return <code>true</code> if a number was set.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean setNakedSingles()
+    {
+        boolean isChanged = false;
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            int cellCandidates = candidates[cell];
+            if (cellCandidates != 0 && (cellCandidates & (cellCandidates - 1)) == 0)
+            {
+                setNumber(cell, Integer.numberOfTrailingZeros(cellCandidates) + 1);
+                isChanged = true;
+            }
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Helper method to remove numbers by locked candidates. If the positions
+     * of a number in a box are in one row or column, the number could not be
+     * anywhere else in that row or column. If the positions of a number in a
+     * row or column are in one box, the number could not be anywhere else in
+     * that box.
+     *
+     * @return <code>true</code> if a number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean eliminateLockedCandidates()
+    {
+        boolean isChanged = false;
+
+        for (int unit = 0; unit < unitCells.length; unit++)
+        {
+            for (int number = 0; number < gridSize; number++)
+            {
+                int bit = 1 << number;
+                int numOfPositions = 0;
+                int row = -1;
+                int col = -1;
+                int box = -1;
+                boolean isSameRow = true;
+                boolean isSameCol = true;
+                boolean isSameBox = true;
+
+                for (int cell : unitCells[unit])
+                {
+                    if ((candidates[cell] & bit) != 0)
+                    {
+                        if (numOfPositions == 0)
+                        {
+                            row = cellRow[cell];
+                            col = cellCol[cell];
+                            box = cellBox[cell];
+                        }
+                        else
+                        {
+                            isSameRow &= cellRow[cell] == row;
+                            isSameCol &= cellCol[cell] == col;
+                            isSameBox &= cellBox[cell] == box;
+                        }
+                        numOfPositions++;
+                    }
+                }
+
+                if (numOfPositions < 2)
+                {
+                    continue;
+                }
+
+                if (unit >= 2 * gridSize)
+                {
+                    if (isSameRow)
+                    {
+                        isChanged |= eliminateOutsideUnit(row, unit, bit);
+                    }
+                    if (isSameCol)
+                    {
+                        isChanged |= eliminateOutsideUnit(gridSize + col, unit, bit);
+                    }
+                }
+                else if (isSameBox)
+                {
+                    isChanged |= eliminateOutsideUnit(2 * gridSize + box, unit, bit);
+                }
+            }
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Helper method to remove a number from the cells of a unit which are
+     * not in another unit.
+     *
+     * @param targetUnit the unit to remove the number from.
+     * @param sourceUnit the unit whose cells keep the number.
+     * @param bit the bit of the number.
+     *
+     * @return <code>true</code> if the number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean eliminateOutsideUnit(int targetUnit, int sourceUnit, int bit)
+    {
+        boolean isChanged = false;
+
+        for (int cell : unitCells[targetUnit])
+        {
+            if ((candidates[cell] & bit) != 0 && !isCellInUnit(cell, sourceUnit))
+            {
+                candidates[cell] &= ~bit;
+                isChanged = true;
+            }
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Helper method to check if a cell is in a unit.
+     *
+     * @param cell the cell.
+     * @param unit the unit.
+     *
+     * @return <code>true</code> if the cell is in the unit.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean isCellInUnit(int cell, int unit)
+    {
+        if (unit < gridSize)
+        {
+            return cellRow[cell] == unit;
+        }
+        else if (unit < 2 * gridSize)
+        {
+            return cellCol[cell] == unit - gridSize;
+        }
+        else
+        {
+            return cellBox[cell] == unit - 2 * gridSize;
+        }
+    }
+
+    /**
+     * Helper method to remove numbers by naked subsets. If a number of cells
+     * in a unit have as many valid numbers together, the numbers could not
+     * be in the other cells of the unit.
+     *
+     * @param subsetSize the number of cells in the subset.
+     *
+     * @return <code>true</code> if a number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean eliminateNakedSubsets(int subsetSize)
+    {
+        boolean isChanged = false;
+
+        for (int[] unit : unitCells)
+        {
+            isChanged |= findNakedSubset(unit, subsetSize, 0, 0, 0, 0);
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Recursive helper method to find a naked subset in a unit which removes
+     * a number from another cell. Cells are added to the subset only while
+     * their valid numbers together are no more than the subset size.
+     *
+     * @param unit the cells in the unit.
+     * @param subsetSize the number of cells in the subset.
+     * @param start the first position in the unit to add to the subset.
+     * @param numOfChosen the number of cells in the subset so far.
+     * @param chosenPositions the positions in the unit of the cells in the
+     *                        subset, as a bitmask.
+     * @param union the valid numbers of the cells in the subset.
+     *
+     * @return <code>true</code> if a number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean findNakedSubset(int[] unit, int subsetSize, int start, int numOfChosen, int chosenPositions,
+            int union)
+    {
+        if (numOfChosen == subsetSize)
+        {
+            if (Integer.bitCount(union) != subsetSize)
+            {
+                return false;
+            }
+
+            boolean isChanged = false;
+            for (int position = 0; position < unit.length; position++)
+            {
+                int cell = unit[position];
+                if ((chosenPositions & (1 << position)) == 0 && (candidates[cell] & union) != 0)
+                {
+                    candidates[cell] &= ~union;
+                    isChanged = true;
+                }
+            }
+
+            return isChanged;
+        }
+
+        for (int position = start; position < unit.length; position++)
+        {
+            int cell = unit[position];
+            if (cells[cell] == 0)
+            {
+                int newUnion = union | candidates[cell];
+                if (Integer.bitCount(newUnion) <= subsetSize
+                        && findNakedSubset(unit, subsetSize, position + 1, numOfChosen + 1,
+                                chosenPositions | (1 << position), newUnion))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Helper method to remove numbers by hidden subsets. If a number of
+     * numbers have as many positions left together in a unit, the other
+     * numbers could not be in those cells.
+     *
+     * @param subsetSize the number of numbers in the subset.
+     *
+     * @return <code>true</code> if a number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean eliminateHiddenSubsets(int subsetSize)
+    {
+        boolean isChanged = false;
+
+        for (int[] unit : unitCells)
+        {
+            for (int number = 0; number < gridSize; number++)
+            {
+                numberPositions[number] = positionsInUnit(unit, 1 << number);
+            }
+
+            isChanged |= findHiddenSubset(unit, subsetSize, 0, 0, 0, 0);
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Recursive helper method to find a hidden subset in a unit which removes
+     * a number from a cell. Numbers are added to the subset only while their
+     * positions together are no more than the subset size.
+     *
+     * @param unit the cells in the unit.
+     * @param subsetSize the number of numbers in the subset.
+     * @param start the first number, from zero, to add to the subset.
+     * @param numOfChosen the number of numbers in the subset so far.
+     * @param chosenNumbers the numbers in the subset, as a bitmask.
+     * @param union the positions in the unit of the numbers in the subset.
+     *
+     * @return <code>true</code> if a number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean findHiddenSubset(int[] unit, int subsetSize, int start, int numOfChosen, int chosenNumbers,
+            int union)
+    {
+        if (numOfChosen == subsetSize)
+        {
+            if (Integer.bitCount(union) != subsetSize)
+            {
+                return false;
+            }
+
+            boolean isChanged = false;
+            for (int position = 0; position < unit.length; position++)
+            {
+                int cell = unit[position];
+                if ((union & (1 << position)) != 0 && (candidates[cell] & ~chosenNumbers) != 0)
+                {
+                    candidates[cell] &= chosenNumbers;
+                    isChanged = true;
+                }
+            }
+
+            return isChanged;
+        }
+
+        for (int number = start; number < gridSize; number++)
+        {
+            if (numberPositions[number] != 0)
+            {
+                int newUnion = union | numberPositions[number];
+                if (Integer.bitCount(newUnion) <= subsetSize
+                        && findHiddenSubset(unit, subsetSize, number + 1, numOfChosen + 1,
+                                chosenNumbers | (1 << number), newUnion))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Helper method to remove numbers by fish, X-wings for two lines and
+     * swordfish for three. If a number has its positions left in a number of
+     * base lines in as many cross lines together, the number could not be
+     * anywhere else in the cross lines. The base lines are the rows and the
+     * cross lines the columns, and the other way around.
+     *
+     * @param fishSize the number of base lines.
+     *
+     * @return <code>true</code> if a number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean eliminateFish(int fishSize)
+    {
+        return eliminateFish(fishSize, 0, gridSize) | eliminateFish(fishSize, gridSize, 0);
+    }
+
+    /**
+     * Helper method to remove numbers by fish with the given base lines. The
+     * position of a cell in a row is its column and the position of a cell in
+     * a column is its row.
+     *
+     * @param fishSize the number of base lines.
+     * @param baseUnitOffset the first unit of the base lines.
+     * @param crossUnitOffset the first unit of the cross lines.
+     *
+     * @return <code>true</code> if a number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean eliminateFish(int fishSize, int baseUnitOffset, int crossUnitOffset)
+    {
+        boolean isChanged = false;
+
+        for (int number = 0; number < gridSize; number++)
+        {
+            int bit = 1 << number;
+            for (int line = 0; line < gridSize; line++)
+            {
+                numberPositions[line] = positionsInUnit(unitCells[baseUnitOffset + line], bit);
+            }
+
+            isChanged |= findFish(fishSize, crossUnitOffset, bit, 0, 0, 0, 0);
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Recursive helper method to find a fish which removes a number from a
+     * cell. Base lines are added to the fish only while their positions
+     * together are no more than the fish size.
+     *
+     * @param fishSize the number of base lines.
+     * @param crossUnitOffset the first unit of the cross lines.
+     * @param bit the bit of the number.
+     * @param start the first base line to add to the fish.
+     * @param numOfChosen the number of base lines in the fish so far.
+     * @param chosenLines the base lines in the fish, as a bitmask.
+     * @param union the positions of the number in the base lines.
+     *
+     * @return <code>true</code> if the number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean findFish(int fishSize, int crossUnitOffset, int bit, int start, int numOfChosen,
+            int chosenLines, int union)
+    {
+        if (numOfChosen == fishSize)
+        {
+            return Integer.bitCount(union) == fishSize
+                    && eliminateFromCrossLines(union, crossUnitOffset, chosenLines, bit);
+        }
+
+        for (int line = start; line < gridSize; line++)
+        {
+            if (numberPositions[line] != 0)
+            {
+                int newUnion = union | numberPositions[line];
+                if (Integer.bitCount(newUnion) <= fishSize
+                        && findFish(fishSize, crossUnitOffset, bit, line + 1, numOfChosen + 1,
+                                chosenLines | (1 << line), newUnion))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Helper method to remove a number from the cross lines of a fish,
+     * except in the base lines.
+     *
+     * @param crossLines the cross lines, as a bitmask.
+     * @param crossUnitOffset the first unit of the cross lines.
+     * @param baseLines the base lines, as a bitmask.
+     * @param bit the bit of the number.
+     *
+     * @return <code>true</code> if the number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean eliminateFromCrossLines(int crossLines, int crossUnitOffset, int baseLines, int bit)
+    {
+        boolean isChanged = false;
+
+        while (crossLines != 0)
+        {
+            int crossLine = Integer.numberOfTrailingZeros(crossLines);
+            crossLines &= crossLines - 1;
+
+            int[] unit = unitCells[crossUnitOffset + crossLine];
+            for (int position = 0; position < unit.length; position++)
+            {
+                int cell = unit[position];
+                if ((baseLines & (1 << position)) == 0 && (candidates[cell] & bit) != 0)
+                {
+                    candidates[cell] &= ~bit;
+                    isChanged = true;
+                }
+            }
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Helper method to remove numbers by XY-wings. The pivot is a cell with
+     * two valid numbers XY. If it sees a pincer with XZ and a pincer with YZ,
+     * one of the pincers is Z, so Z could not be in a cell which sees both.
+     *
+     * @return <code>true</code> if a number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean eliminateXYWings()
+    {
+        for (int pivot = 0; pivot < numOfCells; pivot++)
+        {
+            int pivotCandidates = candidates[pivot];
+            if (Integer.bitCount(pivotCandidates) != 2)
+            {
+                continue;
+            }
+
+            for (int firstPincer = 0; firstPincer < numOfCells; firstPincer++)
+            {
+                int firstCandidates = candidates[firstPincer];
+                int shared = firstCandidates & pivotCandidates;
+                if (Integer.bitCount(firstCandidates) != 2 || Integer.bitCount(shared) != 1
+                        || !isPeer(pivot, firstPincer))
+                {
+                    continue;
+                }
+
+                int zBit = firstCandidates & ~shared;
+                int secondCandidates = (pivotCandidates & ~shared) | zBit;
+                for (int secondPincer = firstPincer + 1; secondPincer < numOfCells; secondPincer++)
+                {
+                    if (candidates[secondPincer] == secondCandidates && isPeer(pivot, secondPincer)
+                            && eliminateFromCommonPeers(firstPincer, secondPincer, zBit))
+                    {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Helper method to remove a number from the cells which see two cells.
+     *
+     * @param firstCell the first cell.
+     * @param secondCell the second cell.
+     * @param bit the bit of the number.
+     *
+     * @return <code>true</code> if the number was removed from a cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean eliminateFromCommonPeers(int firstCell, int secondCell, int bit)
+    {
+        boolean isChanged = false;
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            if ((candidates[cell] & bit) != 0 && cell != firstCell && cell != secondCell
+                    && isPeer(cell, firstCell) && isPeer(cell, secondCell))
+            {
+                candidates[cell] &= ~bit;
+                isChanged = true;
+            }
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * Helper method to check if two cells are in the same row, column or box.
+     *
+     * @param firstCell the first cell.
+     * @param secondCell the second cell.
+     *
+     * @return <code>true</code> if the cells see each other.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean isPeer(int firstCell, int secondCell)
+    {
+        return cellRow[firstCell] == cellRow[secondCell] || cellCol[firstCell] == cellCol[secondCell]
+                || cellBox[firstCell] == cellBox[secondCell];
+    }
+
+    /**
+     * Helper method to get the positions in a unit where a number is valid.
+     *
+     * @param unit the cells in the unit.
+     * @param bit the bit of the number.
+     *
+     * @return the positions, as a bitmask.
+     */
+    private int positionsInUnit(int[] unit, int bit)
+    {
+        int positions = 0;
+
+        for (int position = 0; position < unit.length; position++)
+        {
+            if ((candidates[unit[position]] & bit) != 0)
+            {
+                positions |= 1 << position;
+            }
+        }
+
+        return positions;
+    }
+
+    /**
+     * Helper method to set a number in a cell and remove it from the valid
+     * numbers of the other cells in the row, column and box.
+     *
+     * @param cell the cell.
+     * @param number the number.
+     */
+    private void setNumber(int cell, int number)
+    {
+        int bit = numberBit(number);
+
+        cells[cell] = number;
+        candidates[cell] = 0;
+        numOfEmptyCells--;
+
+        removeFromUnit(unitCells[cellRow[cell]], bit);
+        removeFromUnit(unitCells[gridSize + cellCol[cell]], bit);
+        removeFromUnit(unitCells[2 * gridSize + cellBox[cell]], bit);
+    }
+
+    /**
+     * Helper method to remove a number from the valid numbers of all cells
+     * in a unit.
+     *
+     * @param unit the cells in the unit.
+     * @param bit the bit of the number.
+     */
+    private void removeFromUnit(int[] unit, int bit)
+    {
+        for (int cell : unit)
+        {
+            candidates[cell] &= ~bit;
+        }
+    }
+
+    /**
+     * Helper method to get the bit representing a number in the masks.
+     *
+     * @param number the number, from one to the grid side length.
+     *
+     * @return the bit for the number.
+     */
+    private static int numberBit(int number)
+    {
+        return 1 << (number - 1);
+    }
+}
@@ -0,0 +1,65 @@
+package sudoku.generator;
+
+/**
+ * Filters out puzzles whose start grid is the same, up to the symmetries
+ * of sudoku, as the start grid of a puzzle seen before, see
+ * {@link PuzzleCanonicalizer}.
+ *
+ * <p>
+ * The fingerprints of the canonical forms are kept in an
+ * {@link OffHeapLongHashSet}, eight bytes per seen puzzle outside the
+ * heap, so batches of many millions of puzzles could be filtered. Two
+ * different 9 x 9 canonical forms have the same fingerprint with a
+ * probability of about 2^-64, so a new puzzle is dropped by mistake with
+ * about that probability times the number of seen puzzles.
+ * </p>
+ *
+ * <p>
+ * The filter is not thread-safe.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class DistinctPuzzleFilter
+{
+    private final PuzzleCanonicalizer canonicalizer;
+    private final OffHeapLongHashSet seenFingerprints;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a filter for puzzles with boxes of the given side length.
+     *
+     * @param boxSideLength the side length of a box, 2 or 3.
+     * @param expectedNumOfPuzzles the expected number of distinct puzzles.
+     */
+    public DistinctPuzzleFilter(int boxSideLength, long expectedNumOfPuzzles)
+    {
+        this.canonicalizer = new PuzzleCanonicalizer(boxSideLength);
+        this.seenFingerprints = new OffHeapLongHashSet(expectedNumOfPuzzles);
+    }
+
+    /**
+     * Adds a puzzle to the seen puzzles.
+     *
+     * @param puzzle the puzzle.
+     *
+     * @return <code>true</code> if no puzzle with the same canonical start
+     *         grid has been seen. <code>false</code> Otherwise false.
+     */
+    public boolean add(SudokuPuzzle puzzle)
+    {
+        return seenFingerprints.add(canonicalizer.canonicalFingerprint(puzzle));
+    }
+
+    /**
+     * Returns the number of distinct puzzles seen.
+     *
+     * @return the number of puzzles.
+     */
+    public long size()
+    {
+        return seenFingerprints.size();
+    }
+}
@@ -0,0 +1,24 @@
+package sudoku.generator;
+
+/**
+ * Thrown when the generation of a grid is stopped before it is done,
+ * since the thread was interrupted or the time budget ran out. The
+ * interrupt status of the thread is kept.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class GenerationCancelledException extends RuntimeException
+{
+    private static final long serialVersionUID = 4632170856310725519L;
+
+    /**
+     * Constructor
+     *
+     * @param message the reason the generation was stopped.
+     */
+    public GenerationCancelledException(String message)
+    {
+        super(message);
+    }
+}
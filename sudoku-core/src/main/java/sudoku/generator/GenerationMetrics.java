@@ -0,0 +1,384 @@
+package sudoku.generator;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters and latency histograms of the generation of puzzles, shared by
+ * all generators in the process.
+ *
+ * <p>
+ * The generators record:
+ * </p>
+ * <ul>
+ * <li>the backtracks, restarts and deepest dead end of the searches of the
+ * {@link SudokuSolutionGenerator},</li>
+ * <li>the full boxes skipped by the {@link SudokuMaskGenerator} and the
+ * attempts of the {@link DifficultyMaskGenerator},</li>
+ * <li>the time of each puzzle generated by a {@link SudokuGenerator}, per size.</li>
+ * </ul>
+ *
+ * <p>
+ * The counters are {@link LongAdder}s, so recording is lock-free and does
+ * not contend between threads. The metrics are off by default, or on if the
+ * system property <code>sudoku.metrics</code> is <code>true</code>, and could
+ * be turned on and off at any time. When they are off, a generator only
+ * reads one volatile flag per call. The searches count in local variables
+ * and record once per grid, so the inner loops have no cost either way.
+ * </p>
+ *
+ * <p>
+ * The metrics could be read by {@link #snapshot()}, or over JMX after
+ * {@link #registerMBean()}.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class GenerationMetrics
+{
+    /**
+     * The name of the MBean of the metrics.
+     */
+    public static final String OBJECT_NAME = "sudoku:type=GenerationMetrics";
+
+    private static final String ENABLED_PROPERTY = "sudoku.metrics";
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final double NANOS_PER_MILLI = 1000000.0;
+    private static final double MEDIAN = 50;
+    private static final double P99 = 99;
+
+    private static volatile boolean isEnabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final LongAdder numOfSolutions = new LongAdder();
+    private static final LongAdder numOfBacktracks = new LongAdder();
+    private static final LongAdder numOfRestarts = new LongAdder();
+    private static final LongAccumulator maxDeadEndDepth = new LongAccumulator(new LongBinaryOperator()
+    {
+        @Override
+        public long applyAsLong(long left, long right)
+        {
+            return Math.max(left, right);
+        }
+    }, 0);
+    private static final LongAdder numOfMasks = new LongAdder();
+    private static final LongAdder numOfSkippedFullBoxes = new LongAdder();
+    private static final LongAdder numOfDifficultyMasks = new LongAdder();
+    private static final LongAdder numOfDifficultyMaskAttempts = new LongAdder();
+    private static final LongAdder numOfMissedDifficulties = new LongAdder();
+    private static final LatencyHistogram[] puzzleLatencies = new LatencyHistogram[MAX_BOX_SIDE_LENGTH + 1];
+
+    static
+    {
+        for (int boxSideLength = 0; boxSideLength < puzzleLatencies.length; boxSideLength++)
+        {
+            puzzleLatencies[boxSideLength] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * Not used, the class only has static methods.
+     */
+    private GenerationMetrics()
+    {
+    }
+
+    /**
+     * Checks if the metrics are recorded.
+     *
+     * @return <code>true</code> if the metrics are recorded.
+     *         <code>false</code> Otherwise false.
+     */
+    public static boolean isEnabled()
+    {
+        return isEnabled;
+    }
+
+    /**
+     * Turns the recording of the metrics on or off. The values recorded so
+     * far are kept.
+     *
+     * @param enabled <code>true</code> to record the metrics.
+     */
+    public static void setEnabled(boolean enabled)
+    {
+        isEnabled = enabled;
+    }
+
+    /**
+     * Records a solution grid generated by backtracking.
+     *
+     * @param backtracks the number of backtracks of all searches for the grid.
+     * @param restarts the number of searches that were restarted.
+     * @param deadEndDepth the deepest position on the stack of a dead end.
+     */
+    static void recordSolution(long backtracks, long restarts, int deadEndDepth)
+    {
+        numOfSolutions.increment();
+        numOfBacktracks.add(backtracks);
+        numOfRestarts.add(restarts);
+        maxDeadEndDepth.accumulate(deadEndDepth);
+    }
+
+    /**
+     * Records a random mask.
+     *
+     * @param skippedFullBoxes the number of full boxes skipped when the
+     *            boxes of the start digits were chosen.
+     */
+    static void recordMask(long skippedFullBoxes)
+    {
+        numOfMasks.increment();
+        numOfSkippedFullBoxes.add(skippedFullBoxes);
+    }
+
+    /**
+     * Records a difficulty mask.
+     *
+     * @param attempts the number of attempts to reach the tier.
+     * @param hasReachedDifficulty <code>true</code> if the tier was reached.
+     */
+    static void recordDifficultyMask(int attempts, boolean hasReachedDifficulty)
+    {
+        numOfDifficultyMasks.increment();
+        numOfDifficultyMaskAttempts.add(attempts);
+        if (!hasReachedDifficulty)
+        {
+            numOfMissedDifficulties.increment();
+        }
+    }
+
+    /**
+     * Records the time to generate a puzzle.
+     *
+     * @param boxSideLength the box side length of the puzzle.
+     * @param nanos the time in nanoseconds.
+     */
+    static void recordPuzzle(int boxSideLength, long nanos)
+    {
+        puzzleLatencies[boxSideLength].record(nanos);
+    }
+
+    /**
+     * Returns the current values of the metrics.
+     *
+     * @return the snapshot.
+     */
+    public static GenerationMetricsSnapshot snapshot()
+    {
+        long[][] latencyBucketCounts = new long[puzzleLatencies.length][];
+        long[] totalLatencyNanos = new long[puzzleLatencies.length];
+        long[] maxLatencyNanos = new long[puzzleLatencies.length];
+        for (int boxSideLength = 0; boxSideLength < puzzleLatencies.length; boxSideLength++)
+        {
+            latencyBucketCounts[boxSideLength] = puzzleLatencies[boxSideLength].getBucketCounts();
+            totalLatencyNanos[boxSideLength] = puzzleLatencies[boxSideLength].getTotalNanos();
+            maxLatencyNanos[boxSideLength] = puzzleLatencies[boxSideLength].getMaxNanos();
+        }
+
+        return new GenerationMetricsSnapshot(isEnabled, numOfSolutions.sum(), numOfBacktracks.sum(),
+                numOfRestarts.sum(), (int) maxDeadEndDepth.get(), numOfMasks.sum(), numOfSkippedFullBoxes.sum(),
+                numOfDifficultyMasks.sum(), numOfDifficultyMaskAttempts.sum(), numOfMissedDifficulties.sum(),
+                latencyBucketCounts, totalLatencyNanos, maxLatencyNanos);
+    }
+
+    /**
+     * Sets all counters and histograms to zero.
+     */
+    public static void reset()
+    {
+        numOfSolutions.reset();
+        numOfBacktracks.reset();
+        numOfRestarts.reset();
+        maxDeadEndDepth.reset();
+        numOfMasks.reset();
+        numOfSkippedFullBoxes.reset();
+        numOfDifficultyMasks.reset();
+        numOfDifficultyMaskAttempts.reset();
+        numOfMissedDifficulties.reset();
+        for (LatencyHistogram histogram : puzzleLatencies)
+        {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Registers the MBean of the metrics in the platform MBean server, as
+     * {@value #OBJECT_NAME}. Nothing is done if it is already registered.
+     */
+    public static void registerMBean()
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try
+        {
+            server.registerMBean(new MBean(), new ObjectName(OBJECT_NAME));
+        }
+        catch (InstanceAlreadyExistsException e)
+        {
+            return;
+        }
+        catch (JMException e)
+        {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * The MBean of the metrics, which reads a snapshot for each attribute.
+     */
+    private static final class MBean implements GenerationMetricsMXBean
+    {
+        @Override
+        public boolean isEnabled()
+        {
+            return GenerationMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean isEnabled)
+        {
+            GenerationMetrics.setEnabled(isEnabled);
+        }
+
+        @Override
+        public long getNumOfSolutions()
+        {
+            return snapshot().getNumOfSolutions();
+        }
+
+        @Override
+        public long getNumOfBacktracks()
+        {
+            return snapshot().getNumOfBacktracks();
+        }
+
+        @Override
+        public long getNumOfRestarts()
+        {
+            return snapshot().getNumOfRestarts();
+        }
+
+        @Override
+        public int getMaxDeadEndDepth()
+        {
+            return snapshot().getMaxDeadEndDepth();
+        }
+
+        @Override
+        public long getNumOfMasks()
+        {
+            return snapshot().getNumOfMasks();
+        }
+
+        @Override
+        public long getNumOfSkippedFullBoxes()
+        {
+            return snapshot().getNumOfSkippedFullBoxes();
+        }
+
+        @Override
+        public long getNumOfDifficultyMasks()
+        {
+            return snapshot().getNumOfDifficultyMasks();
+        }
+
+        @Override
+        public long getNumOfDifficultyMaskAttempts()
+        {
+            return snapshot().getNumOfDifficultyMaskAttempts();
+        }
+
+        @Override
+        public long getNumOfMissedDifficulties()
+        {
+            return snapshot().getNumOfMissedDifficulties();
+        }
+
+        @Override
+        public long[] getNumOfPuzzles()
+        {
+            GenerationMetricsSnapshot snapshot = snapshot();
+            long[] numOfPuzzles = new long[MAX_BOX_SIDE_LENGTH - MIN_BOX_SIDE_LENGTH + 1];
+            for (int i = 0; i < numOfPuzzles.length; i++)
+            {
+                numOfPuzzles[i] = snapshot.getNumOfPuzzles(MIN_BOX_SIDE_LENGTH + i);
+            }
+
+            return numOfPuzzles;
+        }
+
+        @Override
+        public double[] getMeanLatencyMillis()
+        {
+            GenerationMetricsSnapshot snapshot = snapshot();
+            double[] latencies = new double[MAX_BOX_SIDE_LENGTH - MIN_BOX_SIDE_LENGTH + 1];
+            for (int i = 0; i < latencies.length; i++)
+            {
+                latencies[i] = snapshot.getMeanLatencyNanos(MIN_BOX_SIDE_LENGTH + i) / NANOS_PER_MILLI;
+            }
+
+            return latencies;
+        }
+
+        @Override
+        public double[] getMedianLatencyMillis()
+        {
+            return getLatencyPercentileMillis(MEDIAN);
+        }
+
+        @Override
+        public double[] getP99LatencyMillis()
+        {
+            return getLatencyPercentileMillis(P99);
+        }
+
+        @Override
+        public double[] getMaxLatencyMillis()
+        {
+            GenerationMetricsSnapshot snapshot = snapshot();
+            double[] latencies = new double[MAX_BOX_SIDE_LENGTH - MIN_BOX_SIDE_LENGTH + 1];
+            for (int i = 0; i < latencies.length; i++)
+            {
+                latencies[i] = snapshot.getMaxLatencyNanos(MIN_BOX_SIDE_LENGTH + i) / NANOS_PER_MILLI;
+            }
+
+            return latencies;
+        }
+
+        @Override
+        public void reset()
+        {
+            GenerationMetrics.reset();
+        }
+
+        /**
+         * Helper method to get a percentile of the latencies of each size.
+         *
+         * @param percentile the percentile, from zero to 100.
+         *
+         * @return the percentile in milliseconds per box side length.
+         */
+        private double[] getLatencyPercentileMillis(double percentile)
+        {
+            GenerationMetricsSnapshot snapshot = snapshot();
+            double[] latencies = new double[MAX_BOX_SIDE_LENGTH - MIN_BOX_SIDE_LENGTH + 1];
+            for (int i = 0; i < latencies.length; i++)
+            {
+                latencies[i] = snapshot.getLatencyPercentileNanos(MIN_BOX_SIDE_LENGTH + i, percentile)
+                        / NANOS_PER_MILLI;
+            }
+
+            return latencies;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package sudoku.generator;
+
+/**
+ * The management interface of the generation metrics, registered as
+ * {@value GenerationMetrics#OBJECT_NAME}. The counters are described in
+ * {@link GenerationMetricsSnapshot}. The latency arrays have one element
+ * per box side length, from two to five.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public interface GenerationMetricsMXBean
+{
+    /**
+     * Checks if the metrics are recorded.
+     *
+     * @return <code>true</code> if the metrics are recorded.
+     *         <code>false</code> Otherwise false.
+     */
+    boolean isEnabled();
+
+    /**
+     * Turns the recording of the metrics on or off.
+     *
+     * @param isEnabled <code>true</code> to record the metrics.
+     */
+    void setEnabled(boolean isEnabled);
+
+    /**
+     * Returns the number of solution grids generated by backtracking.
+     *
+     * @return the number of solution grids.
+     */
+    long getNumOfSolutions();
+
+    /**
+     * Returns the number of backtracks in the searches for solution grids.
+     *
+     * @return the number of backtracks.
+     */
+    long getNumOfBacktracks();
+
+    /**
+     * Returns the number of searches for solution grids that were restarted.
+     *
+     * @return the number of restarts.
+     */
+    long getNumOfRestarts();
+
+    /**
+     * Returns the deepest position on the search stack where a dead end was found.
+     *
+     * @return the depth.
+     */
+    int getMaxDeadEndDepth();
+
+    /**
+     * Returns the number of random masks generated.
+     *
+     * @return the number of masks.
+     */
+    long getNumOfMasks();
+
+    /**
+     * Returns the number of full boxes skipped when choosing a box for a start digit.
+     *
+     * @return the number of skipped boxes.
+     */
+    long getNumOfSkippedFullBoxes();
+
+    /**
+     * Returns the number of difficulty masks generated.
+     *
+     * @return the number of masks.
+     */
+    long getNumOfDifficultyMasks();
+
+    /**
+     * Returns the number of attempts of the difficulty masks.
+     *
+     * @return the number of attempts.
+     */
+    long getNumOfDifficultyMaskAttempts();
+
+    /**
+     * Returns the number of difficulty masks which did not reach their tier.
+     *
+     * @return the number of missed tiers.
+     */
+    long getNumOfMissedDifficulties();
+
+    /**
+     * Returns the number of puzzles generated of each size.
+     *
+     * @return the number of puzzles per box side length.
+     */
+    long[] getNumOfPuzzles();
+
+    /**
+     * Returns the mean time to generate a puzzle of each size.
+     *
+     * @return the mean time in milliseconds per box side length.
+     */
+    double[] getMeanLatencyMillis();
+
+    /**
+     * Returns the median time to generate a puzzle of each size.
+     *
+     * @return the median time in milliseconds per box side length.
+     */
+    double[] getMedianLatencyMillis();
+
+    /**
+     * Returns the 99th percentile of the time to generate a puzzle of each size.
+     *
+     * @return the percentile in milliseconds per box side length.
+     */
+    double[] getP99LatencyMillis();
+
+    /**
+     * Returns the longest time to generate a puzzle of each size.
+     *
+     * @return the longest time in milliseconds per box side length.
+     */
+    double[] getMaxLatencyMillis();
+
+    /**
+     * Sets all counters and histograms to zero.
+     */
+    void reset();
+}
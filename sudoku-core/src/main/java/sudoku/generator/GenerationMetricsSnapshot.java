@@ -0,0 +1,247 @@
+package sudoku.generator;
+
+/**
+ * The values of the generation metrics at one point in time, see
+ * {@link GenerationMetrics#snapshot()}. The snapshot is immutable.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class GenerationMetricsSnapshot
+{
+    private final boolean isEnabled;
+    private final long numOfSolutions;
+    private final long numOfBacktracks;
+    private final long numOfRestarts;
+    private final int maxDeadEndDepth;
+    private final long numOfMasks;
+    private final long numOfSkippedFullBoxes;
+    private final long numOfDifficultyMasks;
+    private final long numOfDifficultyMaskAttempts;
+    private final long numOfMissedDifficulties;
+    private final long[][] latencyBucketCounts;
+    private final long[] totalLatencyNanos;
+    private final long[] maxLatencyNanos;
+
+    /**
+     * Constructor
+     *
+     * @param isEnabled <code>true</code> if the metrics are recorded.
+     * @param numOfSolutions the number of solution grids generated by backtracking.
+     * @param numOfBacktracks the number of backtracks in the searches.
+     * @param numOfRestarts the number of searches restarted from an empty grid.
+     * @param maxDeadEndDepth the deepest position on the search stack where a
+     *            dead end was found.
+     * @param numOfMasks the number of random masks generated.
+     * @param numOfSkippedFullBoxes the number of full boxes skipped when
+     *            choosing a box for a start digit.
+     * @param numOfDifficultyMasks the number of difficulty masks generated.
+     * @param numOfDifficultyMaskAttempts the number of attempts of the
+     *            difficulty masks.
+     * @param numOfMissedDifficulties the number of difficulty masks which
+     *            did not reach their tier.
+     * @param latencyBucketCounts the bucket counts of the puzzle latencies,
+     *            per box side length, see {@link LatencyHistogram}.
+     * @param totalLatencyNanos the sum of the puzzle latencies, per box side length.
+     * @param maxLatencyNanos the largest puzzle latency, per box side length.
+     */
+    GenerationMetricsSnapshot(boolean isEnabled, long numOfSolutions, long numOfBacktracks, long numOfRestarts,
+            int maxDeadEndDepth, long numOfMasks, long numOfSkippedFullBoxes, long numOfDifficultyMasks,
+            long numOfDifficultyMaskAttempts, long numOfMissedDifficulties, long[][] latencyBucketCounts,
+            long[] totalLatencyNanos, long[] maxLatencyNanos)
+    {
+        this.isEnabled = isEnabled;
+        this.numOfSolutions = numOfSolutions;
+        this.numOfBacktracks = numOfBacktracks;
+        this.numOfRestarts = numOfRestarts;
+        this.maxDeadEndDepth = maxDeadEndDepth;
+        this.numOfMasks = numOfMasks;
+        this.numOfSkippedFullBoxes = numOfSkippedFullBoxes;
+        this.numOfDifficultyMasks = numOfDifficultyMasks;
+        this.numOfDifficultyMaskAttempts = numOfDifficultyMaskAttempts;
+        this.numOfMissedDifficulties = numOfMissedDifficulties;
+        this.latencyBucketCounts = latencyBucketCounts;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    /**
+     * Checks if the metrics were recorded when the snapshot was taken.
+     *
+     * @return <code>true</code> if the metrics were recorded.
+     *         <code>false</code> Otherwise false.
+     */
+    public boolean isEnabled()
+    {
+        return isEnabled;
+    }
+
+    /**
+     * Returns the number of solution grids generated by backtracking.
+     *
+     * @return the number of solution grids.
+     */
+    public long getNumOfSolutions()
+    {
+        return numOfSolutions;
+    }
+
+    /**
+     * Returns the number of backtracks in the searches for solution grids,
+     * including the searches that were restarted.
+     *
+     * @return the number of backtracks.
+     */
+    public long getNumOfBacktracks()
+    {
+        return numOfBacktracks;
+    }
+
+    /**
+     * Returns the number of searches for solution grids that were cut off
+     * and restarted from an empty grid.
+     *
+     * @return the number of restarts.
+     */
+    public long getNumOfRestarts()
+    {
+        return numOfRestarts;
+    }
+
+    /**
+     * Returns the deepest position on the search stack where a search for a
+     * solution grid found a dead end. The stack of a search that succeeds
+     * always gets as deep as the number of cells, so this is how deep a
+     * search got before it had to backtrack.
+     *
+     * @return the depth, zero if no search has backtracked.
+     */
+    public int getMaxDeadEndDepth()
+    {
+        return maxDeadEndDepth;
+    }
+
+    /**
+     * Returns the number of random masks generated.
+     *
+     * @return the number of masks.
+     */
+    public long getNumOfMasks()
+    {
+        return numOfMasks;
+    }
+
+    /**
+     * Returns the number of full boxes skipped when a box was chosen for a
+     * start digit of a random mask.
+     *
+     * @return the number of skipped boxes.
+     */
+    public long getNumOfSkippedFullBoxes()
+    {
+        return numOfSkippedFullBoxes;
+    }
+
+    /**
+     * Returns the number of difficulty masks generated.
+     *
+     * @return the number of masks.
+     */
+    public long getNumOfDifficultyMasks()
+    {
+        return numOfDifficultyMasks;
+    }
+
+    /**
+     * Returns the number of attempts of the difficulty masks. An attempt
+     * after the first is a retry.
+     *
+     * @return the number of attempts.
+     */
+    public long getNumOfDifficultyMaskAttempts()
+    {
+        return numOfDifficultyMaskAttempts;
+    }
+
+    /**
+     * Returns the number of difficulty masks which did not reach their tier.
+     *
+     * @return the number of missed tiers.
+     */
+    public long getNumOfMissedDifficulties()
+    {
+        return numOfMissedDifficulties;
+    }
+
+    /**
+     * Returns the number of puzzles generated of a size.
+     *
+     * @param boxSideLength the box side length of the puzzles.
+     *
+     * @return the number of puzzles.
+     */
+    public long getNumOfPuzzles(int boxSideLength)
+    {
+        long count = 0;
+        for (long bucketCount : latencyBucketCounts[boxSideLength])
+        {
+            count += bucketCount;
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the mean time to generate a puzzle of a size.
+     *
+     * @param boxSideLength the box side length of the puzzles.
+     *
+     * @return the mean time in nanoseconds, zero if no puzzle is generated.
+     */
+    public long getMeanLatencyNanos(int boxSideLength)
+    {
+        long count = getNumOfPuzzles(boxSideLength);
+
+        return count == 0 ? 0 : totalLatencyNanos[boxSideLength] / count;
+    }
+
+    /**
+     * Returns the longest time to generate a puzzle of a size.
+     *
+     * @param boxSideLength the box side length of the puzzles.
+     *
+     * @return the longest time in nanoseconds, zero if no puzzle is generated.
+     */
+    public long getMaxLatencyNanos(int boxSideLength)
+    {
+        return maxLatencyNanos[boxSideLength];
+    }
+
+    /**
+     * Returns a percentile of the time to generate a puzzle of a size. The
+     * value is the upper bound of the bucket of the percentile, so it is at
+     * most twice the true value.
+     *
+     * @param boxSideLength the box side length of the puzzles.
+     * @param percentile the percentile, from zero to 100.
+     *
+     * @return the percentile in nanoseconds, zero if no puzzle is generated.
+     */
+    public long getLatencyPercentileNanos(int boxSideLength, double percentile)
+    {
+        return LatencyHistogram.percentileNanos(latencyBucketCounts[boxSideLength], percentile);
+    }
+
+    /**
+     * Returns the bucket counts of the time to generate a puzzle of a size,
+     * see {@link LatencyHistogram}.
+     *
+     * @param boxSideLength the box side length of the puzzles.
+     *
+     * @return a copy of the bucket counts.
+     */
+    public long[] getLatencyBucketCounts(int boxSideLength)
+    {
+        return latencyBucketCounts[boxSideLength].clone();
+    }
+}
@@ -0,0 +1,451 @@
+package sudoku.generator;
+
+import java.util.Arrays;
+
+/**
+ * An immutable sudoku grid, where zero is an empty cell. The cells are
+ * numbered row by row.
+ *
+ * <p>
+ * A 4 x 4 grid is packed in one <code>long</code>, with four bits per cell
+ * and cell <code>i</code> in bits <code>4i</code> to <code>4i + 3</code>.
+ * Hashing and equality are then on one value and masking is a few bitwise
+ * operations. A larger grid is kept in a flat array with one byte per
+ * cell, since the numbers of 16 x 16 and 25 x 25 grids need more than four
+ * bits.
+ * </p>
+ *
+ * <p>
+ * The cells are never exposed, so a grid could be shared between threads
+ * and read without copying, for example by the UI through
+ * {@link #get(int, int)}. The hash code is computed once.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class Grid
+{
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final int PACKED_BOX_SIDE_LENGTH = 2;
+    private static final int BITS_PER_PACKED_CELL = 4;
+    private static final long PACKED_CELL_BITS = 0xF;
+    private static final long LOW_BIT_OF_EACH_PACKED_CELL = 0x1111111111111111L;
+    private static final int NUM_OF_DIGITS = 9;
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final Grid[] EMPTY_GRIDS = new Grid[MAX_BOX_SIDE_LENGTH + 1];
+
+    static
+    {
+        for (int boxSideLength = MIN_BOX_SIDE_LENGTH; boxSideLength <= MAX_BOX_SIDE_LENGTH; boxSideLength++)
+        {
+            int gridSize = boxSideLength * boxSideLength;
+            byte[] cells = boxSideLength == PACKED_BOX_SIDE_LENGTH ? null : new byte[gridSize * gridSize];
+            EMPTY_GRIDS[boxSideLength] = new Grid(boxSideLength, 0, cells);
+        }
+    }
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final long packedCells;
+    private final byte[] cells;
+    private final int hash;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a grid from its cells, which must not be changed after.
+     *
+     * @param boxSideLength the side length of a box.
+     * @param packedCells the packed cells of a 4 x 4 grid, zero otherwise.
+     * @param cells the cells of a larger grid, <code>null</code> for a 4 x 4 grid.
+     */
+    private Grid(int boxSideLength, long packedCells, byte[] cells)
+    {
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.packedCells = packedCells;
+        this.cells = cells;
+        this.hash = cells == null ? Long.hashCode(packedCells) : 31 * boxSideLength + Arrays.hashCode(cells);
+    }
+
+    /**
+     * Returns the empty grid of a size. The same grid is returned for
+     * every call.
+     *
+     * @param boxSideLength the side length of a box.
+     *
+     * @return the empty grid.
+     */
+    public static Grid empty(int boxSideLength)
+    {
+        checkBoxSideLength(boxSideLength);
+
+        return EMPTY_GRIDS[boxSideLength];
+    }
+
+    /**
+     * Returns the grid with the numbers of an array.
+     *
+     * @param grid the array, where zero is an empty cell. The array is
+     *            copied.
+     *
+     * @return the grid.
+     *
+     * @throws IllegalArgumentException if the array is not a square of a
+     *             supported size, or a number is out of range.
+     */
+    public static Grid of(int[][] grid)
+    {
+        int boxSideLength = (int) Math.round(Math.sqrt(grid.length));
+        checkBoxSideLength(boxSideLength);
+
+        int gridSize = boxSideLength * boxSideLength;
+        if (grid.length != gridSize)
+        {
+            throw new IllegalArgumentException("Grid must have a square number of rows: " + grid.length);
+        }
+
+        long packedCells = 0;
+        byte[] cells = boxSideLength == PACKED_BOX_SIDE_LENGTH ? null : new byte[gridSize * gridSize];
+        for (int row = 0; row < gridSize; row++)
+        {
+            if (grid[row].length != gridSize)
+            {
+                throw new IllegalArgumentException("Grid must have " + gridSize + " columns: " + grid[row].length);
+            }
+
+            for (int col = 0; col < gridSize; col++)
+            {
+                int number = grid[row][col];
+                if (number < 0 || number > gridSize)
+                {
+                    throw new IllegalArgumentException("Number must be between 0 and " + gridSize + ": " + number);
+                }
+
+                int cell = row * gridSize + col;
+                if (cells == null)
+                {
+                    packedCells |= (long) number << (cell * BITS_PER_PACKED_CELL);
+                }
+                else
+                {
+                    cells[cell] = (byte) number;
+                }
+            }
+        }
+
+        return new Grid(boxSideLength, packedCells, cells);
+    }
+
+    /**
+     * Returns the grid with the numbers of a flat array of cells, row by
+     * row. The numbers are not checked.
+     *
+     * @param boxSideLength the side length of a box.
+     * @param cells the numbers of the cells, where zero is an empty cell.
+     *
+     * @return the grid.
+     */
+    static Grid ofCells(int boxSideLength, int[] cells)
+    {
+        if (boxSideLength == PACKED_BOX_SIDE_LENGTH)
+        {
+            long packedCells = 0;
+            for (int cell = 0; cell < cells.length; cell++)
+            {
+                packedCells |= (long) cells[cell] << (cell * BITS_PER_PACKED_CELL);
+            }
+
+            return new Grid(boxSideLength, packedCells, null);
+        }
+
+        byte[] byteCells = new byte[cells.length];
+        for (int cell = 0; cell < cells.length; cell++)
+        {
+            byteCells[cell] = (byte) cells[cell];
+        }
+
+        return new Grid(boxSideLength, 0, byteCells);
+    }
+
+    /**
+     * Returns the side length of a box in the grid.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Returns the side length of the grid.
+     *
+     * @return the number of rows and columns.
+     */
+    public int getGridSize()
+    {
+        return gridSize;
+    }
+
+    /**
+     * Returns the number in a cell.
+     *
+     * @param row the row position in the grid.
+     * @param col the column position in the grid.
+     *
+     * @return the number, or zero if the cell is empty.
+     */
+    public int get(int row, int col)
+    {
+        if (row < 0 || row >= gridSize || col < 0 || col >= gridSize)
+        {
+            throw new IndexOutOfBoundsException("Row " + row + ", column " + col);
+        }
+
+        return get(row * gridSize + col);
+    }
+
+    /**
+     * Returns the number in a cell.
+     *
+     * @param cell the index of the cell, row by row.
+     *
+     * @return the number, or zero if the cell is empty.
+     */
+    public int get(int cell)
+    {
+        if (cells == null)
+        {
+            if (cell < 0 || cell >= gridSize * gridSize)
+            {
+                throw new IndexOutOfBoundsException("Cell " + cell);
+            }
+
+            return (int) (packedCells >>> (cell * BITS_PER_PACKED_CELL) & PACKED_CELL_BITS);
+        }
+
+        return cells[cell];
+    }
+
+    /**
+     * Counts the cells which are not empty.
+     *
+     * @return the number of filled cells.
+     */
+    public int countFilledCells()
+    {
+        if (cells == null)
+        {
+            return Long.bitCount(filledPackedCells(packedCells));
+        }
+
+        int numOfFilled = 0;
+        for (byte number : cells)
+        {
+            if (number != 0)
+            {
+                numOfFilled++;
+            }
+        }
+
+        return numOfFilled;
+    }
+
+    /**
+     * Returns the grid with the numbers of this grid in the cells where
+     * a mask is not empty, and empty cells elsewhere.
+     *
+     * @param maskGrid the mask, of the same size.
+     *
+     * @return the masked grid.
+     */
+    public Grid mask(Grid maskGrid)
+    {
+        if (maskGrid.boxSideLength != boxSideLength)
+        {
+            throw new IllegalArgumentException("Mask must have box side length " + boxSideLength + ": "
+                    + maskGrid.boxSideLength);
+        }
+
+        if (cells == null)
+        {
+            return new Grid(boxSideLength, packedCells & filledPackedCells(maskGrid.packedCells) * PACKED_CELL_BITS,
+                    null);
+        }
+
+        byte[] maskedCells = new byte[cells.length];
+        for (int cell = 0; cell < cells.length; cell++)
+        {
+            if (maskGrid.cells[cell] != 0)
+            {
+                maskedCells[cell] = cells[cell];
+            }
+        }
+
+        return new Grid(boxSideLength, 0, maskedCells);
+    }
+
+    /**
+     * Returns the grid with one cell changed.
+     *
+     * @param row the row position in the grid.
+     * @param col the column position in the grid.
+     * @param number the number of the cell, or zero to empty it.
+     *
+     * @return the new grid.
+     */
+    public Grid with(int row, int col, int number)
+    {
+        if (number < 0 || number > gridSize)
+        {
+            throw new IllegalArgumentException("Number must be between 0 and " + gridSize + ": " + number);
+        }
+
+        if (row < 0 || row >= gridSize || col < 0 || col >= gridSize)
+        {
+            throw new IndexOutOfBoundsException("Row " + row + ", column " + col);
+        }
+
+        int cell = row * gridSize + col;
+        if (cells == null)
+        {
+            int shift = cell * BITS_PER_PACKED_CELL;
+
+            return new Grid(boxSideLength, packedCells & ~(PACKED_CELL_BITS << shift) | (long) number << shift, null);
+        }
+
+        byte[] changedCells = cells.clone();
+        changedCells[cell] = (byte) number;
+
+        return new Grid(boxSideLength, 0, changedCells);
+    }
+
+    /**
+     * Returns the numbers of the grid as a new array.
+     *
+     * @return the array, where zero is an empty cell.
+     */
+    public int[][] toArray()
+    {
+        int[][] grid = new int[gridSize][gridSize];
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int col = 0; col < gridSize; col++)
+            {
+                grid[row][col] = get(row * gridSize + col);
+            }
+        }
+
+        return grid;
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of the grid. The fingerprint of a 4 x 4
+     * grid is its packed cells, so different grids have different
+     * fingerprints. The fingerprint of a larger grid is a 64-bit FNV-1a hash
+     * of its cells, where different grids have the same fingerprint with a
+     * probability of about 2^-64.
+     *
+     * @return the fingerprint.
+     */
+    public long fingerprint()
+    {
+        if (cells == null)
+        {
+            return packedCells;
+        }
+
+        long fingerprint = FNV_OFFSET_BASIS ^ boxSideLength;
+        for (byte number : cells)
+        {
+            fingerprint = (fingerprint ^ number) * FNV_PRIME;
+        }
+
+        return fingerprint;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+
+        if (!(obj instanceof Grid))
+        {
+            return false;
+        }
+
+        Grid other = (Grid) obj;
+
+        return hash == other.hash && boxSideLength == other.boxSideLength && packedCells == other.packedCells
+                && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hash;
+    }
+
+    /**
+     * Returns the grid row by row, with a dot for an empty cell, the digits
+     * for the numbers one to nine and the letters from A for larger numbers.
+     *
+     * @return the text of the grid.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder(gridSize * gridSize);
+        for (int cell = 0; cell < gridSize * gridSize; cell++)
+        {
+            int number = get(cell);
+            if (number == 0)
+            {
+                sb.append('.');
+            }
+            else if (number <= NUM_OF_DIGITS)
+            {
+                sb.append((char) ('0' + number));
+            }
+            else
+            {
+                sb.append((char) ('A' + number - NUM_OF_DIGITS - 1));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Helper method to get the low bit of each packed cell which is not empty.
+     *
+     * @param packedCells the packed cells.
+     *
+     * @return the packed cells with the low bit set for each filled cell.
+     */
+    private static long filledPackedCells(long packedCells)
+    {
+        return (packedCells | packedCells >>> 1 | packedCells >>> 2 | packedCells >>> 3) & LOW_BIT_OF_EACH_PACKED_CELL;
+    }
+
+    /**
+     * Helper method to check that a box side length is supported.
+     *
+     * @param boxSideLength the box side length.
+     */
+    private static void checkBoxSideLength(int boxSideLength)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+    }
+}
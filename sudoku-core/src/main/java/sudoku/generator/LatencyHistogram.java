@@ -0,0 +1,153 @@
+package sudoku.generator;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A histogram of latencies in nanoseconds, with one bucket per power of
+ * two. A latency of <code>t</code> nanoseconds is counted in bucket
+ * <code>64 - numberOfLeadingZeros(t)</code>, so bucket <code>b</code> holds
+ * the latencies below <code>2^b</code> nanoseconds and at least half of it.
+ *
+ * <p>
+ * The histogram is lock-free. The buckets are {@link LongAdder}s, so
+ * threads that record at the same time do not contend on one counter. A
+ * snapshot of a histogram that is recorded to at the same time may be off
+ * by the latencies recorded during the snapshot.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class LatencyHistogram
+{
+    /**
+     * The number of buckets, one for zero and one per bit of a latency.
+     */
+    public static final int NUM_OF_BUCKETS = Long.SIZE + 1;
+
+    private final LongAdder[] buckets = new LongAdder[NUM_OF_BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(new LongBinaryOperator()
+    {
+        @Override
+        public long applyAsLong(long left, long right)
+        {
+            return Math.max(left, right);
+        }
+    }, 0);
+
+    /**
+     * Constructor
+     *
+     * Instantiates an empty histogram.
+     */
+    public LatencyHistogram()
+    {
+        for (int bucket = 0; bucket < NUM_OF_BUCKETS; bucket++)
+        {
+            buckets[bucket] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency. A negative latency is recorded as zero.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    public void record(long nanos)
+    {
+        long latency = Math.max(nanos, 0);
+
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(latency)].increment();
+        totalNanos.add(latency);
+        maxNanos.accumulate(latency);
+    }
+
+    /**
+     * Returns the number of latencies in each bucket.
+     *
+     * @return a new array with the count of each bucket.
+     */
+    public long[] getBucketCounts()
+    {
+        long[] counts = new long[NUM_OF_BUCKETS];
+        for (int bucket = 0; bucket < NUM_OF_BUCKETS; bucket++)
+        {
+            counts[bucket] = buckets[bucket].sum();
+        }
+
+        return counts;
+    }
+
+    /**
+     * Returns the sum of all latencies.
+     *
+     * @return the sum in nanoseconds.
+     */
+    public long getTotalNanos()
+    {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Returns the largest latency.
+     *
+     * @return the largest latency in nanoseconds, zero if none is recorded.
+     */
+    public long getMaxNanos()
+    {
+        return maxNanos.get();
+    }
+
+    /**
+     * Empties the histogram.
+     */
+    public void reset()
+    {
+        for (LongAdder bucket : buckets)
+        {
+            bucket.reset();
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /**
+     * Returns the upper bound of the bucket with the given percentile of the
+     * latencies in bucket counts, see {@link #getBucketCounts()}.
+     *
+     * @param bucketCounts the count of each bucket.
+     * @param percentile the percentile, from zero to 100.
+     *
+     * @return the upper bound of the bucket in nanoseconds, or zero if the
+     *         counts are empty.
+     */
+    public static long percentileNanos(long[] bucketCounts, double percentile)
+    {
+        if (percentile < 0 || percentile > 100)
+        {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+
+        long count = 0;
+        for (long bucketCount : bucketCounts)
+        {
+            count += bucketCount;
+        }
+
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++)
+        {
+            seen += bucketCounts[bucket];
+            if (seen > 0 && seen >= rank)
+            {
+                return bucket == Long.SIZE ? Long.MAX_VALUE : (1L << bucket) - 1;
+            }
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,51 @@
+package sudoku.generator;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A generator of masks, which hides numbers from a sudoku solution to
+ * create the grid to start the game with. A mask is a grid of the same
+ * size as the solution, where one keeps the number and zero hides it.
+ *
+ * <p>
+ * Implementations must be thread-safe and return a new mask from every
+ * call, which the caller is free to keep or change.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public interface MaskGenerator
+{
+    /**
+     * Returns the side length of a box in the generated masks.
+     *
+     * @return the side length of a box.
+     */
+    int getBoxSideLength();
+
+    /**
+     * Generates a mask for a solution grid, using the random generator of
+     * the current thread.
+     *
+     * @param solutionGrid the grid with the sudoku solution to be masked.
+     *
+     * @return the mask.
+     */
+    default int[][] generateGrid(int[][] solutionGrid)
+    {
+        return generateGrid(solutionGrid, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generates a mask for a solution grid. The random generator is only
+     * used by the calling thread during the call.
+     *
+     * @param solutionGrid the grid with the sudoku solution to be masked.
+     * @param random the random generator used to choose the cells to hide.
+     *
+     * @return the mask.
+     */
+    int[][] generateGrid(int[][] solutionGrid, Random random);
+}
@@ -0,0 +1,97 @@
+package sudoku.generator;
+
+/**
+ * The symmetries a mask could have. A symmetric mask shows a cell if and
+ * only if it shows the cell the symmetry maps it to, so the shown cells
+ * form the same pattern after the board is turned or mirrored.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public enum MaskSymmetry
+{
+    /**
+     * No symmetry.
+     */
+    NONE
+    {
+        @Override
+        public int mapCell(int row, int col, int gridSize)
+        {
+            return row * gridSize + col;
+        }
+    },
+
+    /**
+     * The same pattern after a half turn of the board.
+     */
+    HALF_TURN
+    {
+        @Override
+        public int mapCell(int row, int col, int gridSize)
+        {
+            return (gridSize - 1 - row) * gridSize + (gridSize - 1 - col);
+        }
+    },
+
+    /**
+     * The same pattern after a quarter turn of the board.
+     */
+    QUARTER_TURN
+    {
+        @Override
+        public int mapCell(int row, int col, int gridSize)
+        {
+            return col * gridSize + (gridSize - 1 - row);
+        }
+    },
+
+    /**
+     * The same pattern mirrored left to right.
+     */
+    HORIZONTAL_MIRROR
+    {
+        @Override
+        public int mapCell(int row, int col, int gridSize)
+        {
+            return row * gridSize + (gridSize - 1 - col);
+        }
+    },
+
+    /**
+     * The same pattern mirrored top to bottom.
+     */
+    VERTICAL_MIRROR
+    {
+        @Override
+        public int mapCell(int row, int col, int gridSize)
+        {
+            return (gridSize - 1 - row) * gridSize + col;
+        }
+    },
+
+    /**
+     * The same pattern mirrored in the main diagonal.
+     */
+    DIAGONAL_MIRROR
+    {
+        @Override
+        public int mapCell(int row, int col, int gridSize)
+        {
+            return col * gridSize + row;
+        }
+    };
+
+    /**
+     * Maps a cell to the cell it is turned or mirrored to. Mapping a cell
+     * again and again returns to the cell, and the cells passed on the way
+     * must all be shown or all be hidden.
+     *
+     * @param row the row position of the cell.
+     * @param col the column position of the cell.
+     * @param gridSize the side length of the grid.
+     *
+     * @return the position of the mapped cell, as <code>row * grid side length + column</code>.
+     */
+    public abstract int mapCell(int row, int col, int gridSize);
+}
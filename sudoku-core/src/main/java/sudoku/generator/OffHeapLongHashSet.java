@@ -0,0 +1,251 @@
+package sudoku.generator;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A set of <code>long</code> keys kept outside the Java heap, in direct
+ * buffers, so a set of many millions of keys does not grow the heap or
+ * slow down the garbage collector.
+ *
+ * <p>
+ * The keys are kept in a table with open addressing and linear probing.
+ * The slot of a key is given by the high bits of the key times the 64-bit
+ * golden ratio, which spreads keys that differ only in a few bits. Zero
+ * marks an empty slot, so the key zero is kept in a flag. The table is
+ * doubled when it is half full, up to {@value #MAX_CAPACITY} slots, which
+ * is two gigabytes. A direct buffer holds less than two gigabytes, so a
+ * large table is split into segments of {@value #SEGMENT_CAPACITY} slots.
+ * The memory of a table is released when its buffers are collected.
+ * </p>
+ *
+ * <p>
+ * The set is not thread-safe.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class OffHeapLongHashSet
+{
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 28;
+    private static final int SEGMENT_CAPACITY = 1 << 24;
+    private static final int SEGMENT_SHIFT = Integer.numberOfTrailingZeros(SEGMENT_CAPACITY * Long.BYTES);
+    private static final int BYTES_PER_KEY = Long.BYTES;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final long EMPTY_SLOT = 0;
+
+    private ByteBuffer[] segments;
+    private int capacity;
+    private int shift;
+    private long numOfKeysInTable;
+    private boolean containsZero;
+
+    /**
+     * Constructor
+     *
+     * Instantiates an empty set with room for the expected number of keys
+     * before the table is doubled.
+     *
+     * @param expectedNumOfKeys the expected number of keys.
+     */
+    public OffHeapLongHashSet(long expectedNumOfKeys)
+    {
+        if (expectedNumOfKeys < 0)
+        {
+            throw new IllegalArgumentException("Expected number of keys must not be negative: " + expectedNumOfKeys);
+        }
+
+        int initialCapacity = MIN_CAPACITY;
+        while (initialCapacity < MAX_CAPACITY && initialCapacity / 2 < expectedNumOfKeys)
+        {
+            initialCapacity *= 2;
+        }
+
+        allocateTable(initialCapacity);
+    }
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key the key.
+     *
+     * @return <code>true</code> if the key was not in the set.
+     *         <code>false</code> Otherwise false.
+     *
+     * @throws IllegalStateException if the set is full, in which case the
+     *             key is not added.
+     */
+    public boolean add(long key)
+    {
+        if (key == EMPTY_SLOT)
+        {
+            boolean isAdded = !containsZero;
+            containsZero = true;
+            return isAdded;
+        }
+
+        int slot = findSlot(key);
+        if (getKey(slot) == key)
+        {
+            return false;
+        }
+
+        if ((numOfKeysInTable + 1) * 2 > capacity)
+        {
+            grow();
+            slot = findSlot(key);
+        }
+
+        putKey(slot, key);
+        numOfKeysInTable++;
+
+        return true;
+    }
+
+    /**
+     * Checks if a key is in the set.
+     *
+     * @param key the key.
+     *
+     * @return <code>true</code> if the key is in the set.
+     *         <code>false</code> Otherwise false.
+     */
+    public boolean contains(long key)
+    {
+        if (key == EMPTY_SLOT)
+        {
+            return containsZero;
+        }
+
+        return getKey(findSlot(key)) == key;
+    }
+
+    /**
+     * Returns the number of keys in the set.
+     *
+     * @return the number of keys.
+     */
+    public long size()
+    {
+        return numOfKeysInTable + (containsZero ? 1 : 0);
+    }
+
+    /**
+     * Returns the memory used by the table outside the heap.
+     *
+     * @return the number of bytes.
+     */
+    public long getOffHeapBytes()
+    {
+        return (long) capacity * BYTES_PER_KEY;
+    }
+
+    /**
+     * Helper method to find the slot of a key, which is the slot with the
+     * key or the first empty slot from its home slot.
+     *
+     * @param key the key, not zero.
+     *
+     * @return the slot.
+     */
+    private int findSlot(long key)
+    {
+        int mask = capacity - 1;
+        int slot = (int) (key * GOLDEN_RATIO >>> shift);
+
+        while (true)
+        {
+            long slotKey = getKey(slot);
+            if (slotKey == key || slotKey == EMPTY_SLOT)
+            {
+                return slot;
+            }
+
+            slot = slot + 1 & mask;
+        }
+    }
+
+    /**
+     * Helper method to double the table and add the keys to the new table.
+     */
+    private void grow()
+    {
+        if (capacity == MAX_CAPACITY)
+        {
+            throw new IllegalStateException("Set is full with " + size() + " keys");
+        }
+
+        ByteBuffer[] oldSegments = segments;
+        int oldCapacity = capacity;
+        allocateTable(capacity * 2);
+
+        for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++)
+        {
+            long offset = (long) oldSlot * BYTES_PER_KEY;
+            long key = oldSegments[(int) (offset >>> SEGMENT_SHIFT)].getLong(getIndex(offset));
+            if (key != EMPTY_SLOT)
+            {
+                putKey(findSlot(key), key);
+            }
+        }
+    }
+
+    /**
+     * Helper method to read the key in a slot.
+     *
+     * @param slot the slot.
+     *
+     * @return the key, or zero if the slot is empty.
+     */
+    private long getKey(int slot)
+    {
+        long offset = (long) slot * BYTES_PER_KEY;
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong(getIndex(offset));
+    }
+
+    /**
+     * Helper method to write a key in a slot.
+     *
+     * @param slot the slot.
+     * @param key the key.
+     */
+    private void putKey(int slot, long key)
+    {
+        long offset = (long) slot * BYTES_PER_KEY;
+        segments[(int) (offset >>> SEGMENT_SHIFT)].putLong(getIndex(offset), key);
+    }
+
+    /**
+     * Helper method to find the position of a byte offset of the table
+     * within its segment.
+     *
+     * @param offset the byte offset in the table.
+     *
+     * @return the position in the segment.
+     */
+    private static int getIndex(long offset)
+    {
+        return (int) (offset & (1L << SEGMENT_SHIFT) - 1);
+    }
+
+    /**
+     * Helper method to allocate an empty table, split into segments when it
+     * is larger than a segment. A new direct buffer is filled with zeros.
+     *
+     * @param newCapacity the number of slots, a power of two.
+     */
+    private void allocateTable(int newCapacity)
+    {
+        int segmentCapacity = Math.min(newCapacity, SEGMENT_CAPACITY);
+        segments = new ByteBuffer[newCapacity / segmentCapacity];
+        for (int segment = 0; segment < segments.length; segment++)
+        {
+            segments[segment] = ByteBuffer.allocateDirect(segmentCapacity * BYTES_PER_KEY)
+                    .order(ByteOrder.nativeOrder());
+        }
+        capacity = newCapacity;
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(newCapacity);
+    }
+}
@@ -0,0 +1,555 @@
+package sudoku.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a mask for a solution grid by drawing one of a table of
+ * valid mask patterns, which is built when the generator is created. A
+ * mask is drawn in constant time, without any retries.
+ *
+ * <p>
+ * A pattern is valid, as in {@link SudokuMaskGenerator}, if it shows the
+ * given number of cells, at least one in every box and no more than the
+ * number of cells divided by the grid side length, rounded up, in any row.
+ * A pattern may also be required to have a {@link MaskSymmetry}.
+ * </p>
+ *
+ * <p>
+ * The patterns are bitsets, where bit <code>cell % 64</code> of word
+ * <code>cell / 64</code> is set if the cell, numbered as
+ * <code>row * grid side length + column</code>, is shown. For 4 x 4 grids,
+ * the table holds all valid patterns, which are found by going through all
+ * sets of cells of the right size. Larger grids have too many patterns, so
+ * the table holds a number of patterns built from the cells in random order,
+ * with a fixed seed so the table is the same every time. The cells are
+ * added by their orbits under the symmetry, so the patterns are symmetric.
+ * </p>
+ *
+ * <p>
+ * The mask does not depend on the solution, so the generated grid may
+ * have more than one solution. The generator is thread-safe, since the
+ * table is not changed after it is built, and each call returns a new grid.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PatternMaskGenerator implements MaskGenerator
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final int DEFAULT_NUM_OF_PATTERNS = 4096;
+    private static final int MAX_NUM_OF_CELLS_FOR_ALL_PATTERNS = 16;
+    private static final int MAX_NUM_OF_FAILED_PATTERNS = 1024;
+    private static final long PATTERN_SEED = 0x5344_4B4D_4153_4B53L;
+    private static final int BITS_PER_WORD = 64;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfCells;
+    private final int numOfStartDigits;
+    private final int maxNumDigitsInRow;
+    private final MaskSymmetry symmetry;
+    private final int wordsPerPattern;
+    private final long[] patterns;
+    private final int numOfPatterns;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for 4 x 4 grids with six start digits and
+     * no symmetry.
+     */
+    public PatternMaskGenerator()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length,
+     * the default number of start digits for the size and no symmetry.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     */
+    public PatternMaskGenerator(int boxSideLength)
+    {
+        this(boxSideLength, SudokuMaskGenerator.defaultNumOfStartDigits(boxSideLength), MaskSymmetry.NONE);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length,
+     * the given number of start digits and symmetry.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     * @param numOfStartDigits the number of cells to show, at least one for each
+     *                         box and at most all the cells in the grid.
+     * @param symmetry the symmetry of the masks.
+     */
+    public PatternMaskGenerator(int boxSideLength, int numOfStartDigits, MaskSymmetry symmetry)
+    {
+        this(boxSideLength, numOfStartDigits, symmetry, DEFAULT_NUM_OF_PATTERNS);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length,
+     * the given number of start digits and symmetry, and the number of patterns
+     * to build for grids larger than 4 x 4.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     * @param numOfStartDigits the number of cells to show, at least one for each
+     *                         box and at most all the cells in the grid.
+     * @param symmetry the symmetry of the masks.
+     * @param maxNumOfPatterns the number of patterns to build, at least one.
+     *
+     * @throws IllegalArgumentException if no valid pattern with the number of
+     *         start digits and the symmetry was found.
+     */
+    public PatternMaskGenerator(int boxSideLength, int numOfStartDigits, MaskSymmetry symmetry,
+            int maxNumOfPatterns)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        int gridSize = boxSideLength * boxSideLength;
+        if (numOfStartDigits < gridSize || numOfStartDigits > gridSize * gridSize)
+        {
+            throw new IllegalArgumentException("Number of start digits must be between " + gridSize
+                    + " and " + gridSize * gridSize + ": " + numOfStartDigits);
+        }
+
+        if (maxNumOfPatterns < 1)
+        {
+            throw new IllegalArgumentException("Number of patterns must be at least one: " + maxNumOfPatterns);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = gridSize;
+        this.numOfCells = gridSize * gridSize;
+        this.numOfStartDigits = numOfStartDigits;
+        this.maxNumDigitsInRow = (numOfStartDigits + gridSize - 1) / gridSize;
+        this.symmetry = symmetry;
+        this.wordsPerPattern = (numOfCells + BITS_PER_WORD - 1) / BITS_PER_WORD;
+
+        if (numOfCells <= MAX_NUM_OF_CELLS_FOR_ALL_PATTERNS)
+        {
+            this.patterns = findAllPatterns();
+        }
+        else
+        {
+            this.patterns = buildRandomPatterns(maxNumOfPatterns);
+        }
+
+        this.numOfPatterns = patterns.length / wordsPerPattern;
+        if (numOfPatterns == 0)
+        {
+            throw new IllegalArgumentException("No valid mask with " + numOfStartDigits + " start digits and "
+                    + symmetry + " symmetry");
+        }
+    }
+
+    @Override
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Returns the number of patterns in the table.
+     *
+     * @return the number of patterns.
+     */
+    public int getNumOfPatterns()
+    {
+        return numOfPatterns;
+    }
+
+    /**
+     * Generates a mask by drawing a pattern from the table, without looking
+     * at the solution grid.
+     *
+     * @param solutionGrid the grid with the sudoku solution, not used.
+     * @param random the random generator used to draw the pattern.
+     *
+     * @return the grid.
+     */
+    @Override
+    public int[][] generateGrid(int[][] solutionGrid, Random random)
+    {
+        int offset = random.nextInt(numOfPatterns) * wordsPerPattern;
+        int[][] grid = new int[gridSize][gridSize];
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            if ((patterns[offset + cell / BITS_PER_WORD] & (1L << cell)) != 0)
+            {
+                grid[cell / gridSize][cell % gridSize] = 1;
+            }
+        }
+
+        return grid;
+    }
+
+    /**
+     * Helper method to find all valid patterns of a grid with at most
+     * {@value #MAX_NUM_OF_CELLS_FOR_ALL_PATTERNS} cells. The sets of cells
+     * of the right size are visited in increasing order as bitmasks
+     * (Gosper's hack).
+     *
+     * @return the patterns, one word each.
+     */
+    private long[] findAllPatterns()
+    {
+        long[] found = new long[16];
+        int numOfFound = 0;
+        long lastPattern = (1L << numOfCells) - 1;
+        long pattern = (1L << numOfStartDigits) - 1;
+
+        while (pattern <= lastPattern)
+        {
+            if (isValidPattern(pattern))
+            {
+                if (numOfFound == found.length)
+                {
+                    found = Arrays.copyOf(found, found.length * 2);
+                }
+                found[numOfFound++] = pattern;
+            }
+
+            long lowestBit = pattern & -pattern;
+            long ripple = pattern + lowestBit;
+            pattern = (((ripple ^ pattern) >>> 2) / lowestBit) | ripple;
+        }
+
+        return Arrays.copyOf(found, numOfFound);
+    }
+
+    /**
+     * Helper method to check if a pattern of a grid with one word per pattern has
+     * a shown cell in every box, no row with too many shown cells and the
+     * symmetry.
+     *
+     * @param pattern the pattern.
+     *
+     * @return <code>true</code> if the pattern is valid.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean isValidPattern(long pattern)
+    {
+        int[] numOfDigitsInRow = new int[gridSize];
+        int coveredBoxes = 0;
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            if ((pattern & (1L << cell)) != 0)
+            {
+                int row = cell / gridSize;
+                int col = cell % gridSize;
+
+                if (++numOfDigitsInRow[row] > maxNumDigitsInRow
+                        || (pattern & (1L << symmetry.mapCell(row, col, gridSize))) == 0)
+                {
+                    return false;
+                }
+
+                coveredBoxes |= 1 << boxIndex(row, col);
+            }
+        }
+
+        return coveredBoxes == (1 << gridSize) - 1;
+    }
+
+    /**
+     * Helper method to build patterns from the cells in random order. The
+     * cells are grouped in orbits, the cells a cell is mapped to by the
+     * symmetry, and a pattern is built from whole orbits. A pattern that
+     * could not be completed is skipped. The building stops when the table
+     * is full or when too many patterns in a row were skipped.
+     *
+     * @param maxNumOfPatterns the number of patterns to build.
+     *
+     * @return the patterns, one after the other.
+     */
+    private long[] buildRandomPatterns(int maxNumOfPatterns)
+    {
+        int[][] orbits = findOrbits();
+        int[] cellOrbit = new int[numOfCells];
+        for (int orbit = 0; orbit < orbits.length; orbit++)
+        {
+            for (int cell : orbits[orbit])
+            {
+                cellOrbit[cell] = orbit;
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(PATTERN_SEED);
+        long[] found = new long[maxNumOfPatterns * wordsPerPattern];
+        int numOfFound = 0;
+        int numOfFailed = 0;
+
+        while (numOfFound < maxNumOfPatterns && numOfFailed < MAX_NUM_OF_FAILED_PATTERNS)
+        {
+            if (buildRandomPattern(orbits, cellOrbit, random, found, numOfFound * wordsPerPattern))
+            {
+                numOfFound++;
+                numOfFailed = 0;
+            }
+            else
+            {
+                Arrays.fill(found, numOfFound * wordsPerPattern, (numOfFound + 1) * wordsPerPattern, 0);
+                numOfFailed++;
+            }
+        }
+
+        return Arrays.copyOf(found, numOfFound * wordsPerPattern);
+    }
+
+    /**
+     * Helper method to build one pattern. First every box without a shown
+     * cell gets an orbit through one of its cells, and then orbits are added
+     * in random order until the pattern has the number of start digits.
+     *
+     * @param orbits the cells of each orbit.
+     * @param cellOrbit the orbit of each cell.
+     * @param random the random generator used to order the boxes, cells and orbits.
+     * @param patterns the table to write the pattern to.
+     * @param offset the position of the pattern in the table.
+     *
+     * @return <code>true</code> if the pattern is valid.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean buildRandomPattern(int[][] orbits, int[] cellOrbit, SplittableRandom random, long[] patterns,
+            int offset)
+    {
+        int[] numOfDigitsInRow = new int[gridSize];
+        boolean[] isUsed = new boolean[orbits.length];
+        int numOfDigits = 0;
+
+        for (int box : shuffledRange(gridSize, random))
+        {
+            if (isBoxCovered(patterns, offset, box))
+            {
+                continue;
+            }
+
+            boolean isCovered = false;
+            for (int cellInBox : shuffledRange(gridSize, random))
+            {
+                int row = box / boxSideLength * boxSideLength + cellInBox / boxSideLength;
+                int col = box % boxSideLength * boxSideLength + cellInBox % boxSideLength;
+                int orbit = cellOrbit[row * gridSize + col];
+
+                if (!isUsed[orbit] && fitsPattern(orbits[orbit], numOfDigits, numOfDigitsInRow))
+                {
+                    numOfDigits += addOrbit(orbits[orbit], patterns, offset, numOfDigitsInRow);
+                    isUsed[orbit] = true;
+                    isCovered = true;
+                    break;
+                }
+            }
+
+            if (!isCovered)
+            {
+                return false;
+            }
+        }
+
+        for (int orbit : shuffledRange(orbits.length, random))
+        {
+            if (numOfDigits == numOfStartDigits)
+            {
+                break;
+            }
+
+            if (!isUsed[orbit] && fitsPattern(orbits[orbit], numOfDigits, numOfDigitsInRow))
+            {
+                numOfDigits += addOrbit(orbits[orbit], patterns, offset, numOfDigitsInRow);
+                isUsed[orbit] = true;
+            }
+        }
+
+        return numOfDigits == numOfStartDigits;
+    }
+
+    /**
+     * Helper method to group the cells in orbits under the symmetry. The
+     * orbit of a cell is the cell and the cells it is mapped to, until the
+     * mapping returns to the cell.
+     *
+     * @return the cells of each orbit.
+     */
+    private int[][] findOrbits()
+    {
+        int[][] orbits = new int[numOfCells][];
+        boolean[] isInOrbit = new boolean[numOfCells];
+        int[] orbitCells = new int[numOfCells];
+        int numOfOrbits = 0;
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            if (isInOrbit[cell])
+            {
+                continue;
+            }
+
+            int size = 0;
+            int orbitCell = cell;
+            do
+            {
+                isInOrbit[orbitCell] = true;
+                orbitCells[size++] = orbitCell;
+                orbitCell = symmetry.mapCell(orbitCell / gridSize, orbitCell % gridSize, gridSize);
+            }
+            while (orbitCell != cell);
+
+            orbits[numOfOrbits++] = Arrays.copyOf(orbitCells, size);
+        }
+
+        return Arrays.copyOf(orbits, numOfOrbits);
+    }
+
+    /**
+     * Helper method to check if an orbit could be added to a pattern without
+     * too many shown cells in total or in a row.
+     *
+     * @param orbit the cells of the orbit.
+     * @param numOfDigits the number of shown cells in the pattern.
+     * @param numOfDigitsInRow the number of shown cells in each row.
+     *
+     * @return <code>true</code> if the orbit fits.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean fitsPattern(int[] orbit, int numOfDigits, int[] numOfDigitsInRow)
+    {
+        if (numOfDigits + orbit.length > numOfStartDigits)
+        {
+            return false;
+        }
+
+        for (int cell : orbit)
+        {
+            int numOfDigitsInOrbitRow = 0;
+            for (int other : orbit)
+            {
+                if (other / gridSize == cell / gridSize)
+                {
+                    numOfDigitsInOrbitRow++;
+                }
+            }
+
+            if (numOfDigitsInRow[cell / gridSize] + numOfDigitsInOrbitRow > maxNumDigitsInRow)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Helper method to show the cells of an orbit in a pattern.
+     *
+     * @param orbit the cells of the orbit.
+     * @param patterns the table with the pattern.
+     * @param offset the position of the pattern in the table.
+     * @param numOfDigitsInRow the number of shown cells in each row, which is updated.
+     *
+     * @return the number of cells shown.
+     */
+    private int addOrbit(int[] orbit, long[] patterns, int offset, int[] numOfDigitsInRow)
+    {
+        for (int cell : orbit)
+        {
+            patterns[offset + cell / BITS_PER_WORD] |= 1L << cell;
+            numOfDigitsInRow[cell / gridSize]++;
+        }
+
+        return orbit.length;
+    }
+
+    /**
+     * Helper method to check if a box has a shown cell in a pattern.
+     *
+     * @param patterns the table with the pattern.
+     * @param offset the position of the pattern in the table.
+     * @param box the index of the box.
+     *
+     * @return <code>true</code> if the box has a shown cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean isBoxCovered(long[] patterns, int offset, int box)
+    {
+        int startRow = box / boxSideLength * boxSideLength;
+        int startCol = box % boxSideLength * boxSideLength;
+
+        for (int row = startRow; row < startRow + boxSideLength; row++)
+        {
+            for (int col = startCol; col < startCol + boxSideLength; col++)
+            {
+                int cell = row * gridSize + col;
+                if ((patterns[offset + cell / BITS_PER_WORD] & (1L << cell)) != 0)
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Helper method to create the numbers from zero up to a limit in
+     * random order.
+     *
+     * @param length the limit, not included.
+     * @param random the random generator used to shuffle the numbers.
+     *
+     * @return the numbers in random order.
+     */
+    private static int[] shuffledRange(int length, SplittableRandom random)
+    {
+        int[] numbers = new int[length];
+        for (int i = 0; i < length; i++)
+        {
+            numbers[i] = i;
+        }
+
+        for (int i = length - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+            int temp = numbers[i];
+            numbers[i] = numbers[j];
+            numbers[j] = temp;
+        }
+
+        return numbers;
+    }
+
+    /**
+     * Helper method to get the index of the box a cell belongs to. The boxes
+     * are numbered from upper left to down right.
+     *
+     * @param row the row position in the grid.
+     * @param col the column position in the grid.
+     *
+     * @return the index of the box.
+     */
+    private int boxIndex(int row, int col)
+    {
+        return row / boxSideLength * boxSideLength + col / boxSideLength;
+    }
+}
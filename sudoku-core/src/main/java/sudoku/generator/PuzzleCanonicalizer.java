@@ -0,0 +1,356 @@
+package sudoku.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reduces a grid to its canonical form, the smallest grid it could be
+ * turned into by the symmetries of sudoku. Two grids have the same
+ * canonical form if and only if one could be turned into the other by a
+ * {@link SudokuTransform}: a permutation of the bands and of the rows
+ * within each band, the same for the stacks and the columns, a
+ * transposition and a relabeling of the numbers.
+ *
+ * <p>
+ * The grids are compared first by the pattern of their filled cells and
+ * then by their numbers, both cell by cell, row by row, with empty cells
+ * as the smallest. For each arrangement of the cells, the smallest
+ * relabeling numbers the numbers in the order they are first met, so only
+ * the arrangements are enumerated: two transpositions times the line
+ * permutations of the rows times those of the columns, 128 for a 4 x 4
+ * grid and about 3.4 million for a 9 x 9 grid. The pattern of each row
+ * for each column permutation is created once per grid, so most
+ * arrangements are dropped by comparing the pattern of the first row or
+ * two with the smallest grid so far, and a row permutation is dropped
+ * whole if its first row could not be as small. Only the arrangements
+ * with the same pattern as the smallest grid so far are relabeled.
+ * Larger grids have too many arrangements to enumerate and are not
+ * supported.
+ * </p>
+ *
+ * <p>
+ * The canonicalizer is thread-safe. The line permutations are created
+ * once and each call has its own work arrays.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzleCanonicalizer
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 3;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int[][] linePermutations;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a canonicalizer for 4 x 4 grids.
+     */
+    public PuzzleCanonicalizer()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a canonicalizer for grids with boxes of the given side length.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     */
+    public PuzzleCanonicalizer(int boxSideLength)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.linePermutations = createLinePermutations();
+    }
+
+    /**
+     * Returns the side length of a box in the grids.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Returns the canonical form of a grid.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     *
+     * @return the canonical form.
+     */
+    public Grid canonicalize(Grid grid)
+    {
+        if (grid.getBoxSideLength() != boxSideLength)
+        {
+            throw new IllegalArgumentException("Grid must have box side length " + boxSideLength + ": "
+                    + grid.getBoxSideLength());
+        }
+
+        int numOfCells = gridSize * gridSize;
+        int[] cells = new int[numOfCells];
+        int[] transposedCells = new int[numOfCells];
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            cells[cell] = grid.get(cell);
+            transposedCells[cell % gridSize * gridSize + cell / gridSize] = cells[cell];
+        }
+
+        int[][][] rowPatterns = new int[][][] { createRowPatterns(cells), createRowPatterns(transposedCells) };
+        int[][] smallestRowPatterns = new int[rowPatterns.length][gridSize];
+        for (int source = 0; source < rowPatterns.length; source++)
+        {
+            for (int row = 0; row < gridSize; row++)
+            {
+                smallestRowPatterns[source][row] = Integer.MAX_VALUE;
+                for (int pattern : rowPatterns[source][row])
+                {
+                    smallestRowPatterns[source][row] = Math.min(smallestRowPatterns[source][row], pattern);
+                }
+            }
+        }
+
+        int[] smallestPattern = new int[gridSize];
+        int[] smallest = new int[numOfCells];
+        int[] candidate = new int[numOfCells];
+        int[] labels = new int[gridSize + 1];
+        boolean hasSmallest = false;
+
+        for (int source = 0; source < rowPatterns.length; source++)
+        {
+            int[] sourceCells = source == 0 ? cells : transposedCells;
+            for (int[] rowSources : linePermutations)
+            {
+                if (hasSmallest && smallestRowPatterns[source][rowSources[0]] > smallestPattern[0])
+                {
+                    continue;
+                }
+
+                for (int colPermutation = 0; colPermutation < linePermutations.length; colPermutation++)
+                {
+                    int comparison = hasSmallest ? 0 : -1;
+                    for (int row = 0; row < gridSize && comparison == 0; row++)
+                    {
+                        comparison = Integer.compare(rowPatterns[source][rowSources[row]][colPermutation],
+                                smallestPattern[row]);
+                    }
+
+                    if (comparison > 0)
+                    {
+                        continue;
+                    }
+
+                    int[] colSources = linePermutations[colPermutation];
+                    if (arrange(sourceCells, rowSources, colSources, comparison < 0 ? null : smallest, candidate,
+                            labels))
+                    {
+                        int[] temp = smallest;
+                        smallest = candidate;
+                        candidate = temp;
+                        hasSmallest = true;
+
+                        for (int row = 0; row < gridSize; row++)
+                        {
+                            smallestPattern[row] = rowPatterns[source][rowSources[row]][colPermutation];
+                        }
+                    }
+                }
+            }
+        }
+
+        return Grid.ofCells(boxSideLength, smallest);
+    }
+
+    /**
+     * Returns the fingerprint of the canonical form of the start grid of a
+     * puzzle, see {@link Grid#fingerprint()}. Puzzles with the same start
+     * grid up to the symmetries of sudoku have the same fingerprint.
+     *
+     * @param puzzle the puzzle.
+     *
+     * @return the fingerprint.
+     */
+    public long canonicalFingerprint(SudokuPuzzle puzzle)
+    {
+        return canonicalize(puzzle.getStart()).fingerprint();
+    }
+
+    /**
+     * Helper method to arrange the cells of a grid by a row and a column
+     * permutation, relabel the numbers in the order they are first met and
+     * compare the result with the smallest grid so far.
+     *
+     * @param source the cells of the grid, row by row.
+     * @param rowSources the row of the grid to take each row from.
+     * @param colSources the column of the grid to take each column from.
+     * @param smallest the smallest grid so far, or <code>null</code> if none.
+     * @param candidate the array to arrange the cells in.
+     * @param labels the work array of the new number of each number.
+     *
+     * @return <code>true</code> if the arranged grid is smaller than the
+     *         smallest grid so far. <code>false</code> Otherwise false.
+     */
+    private boolean arrange(int[] source, int[] rowSources, int[] colSources, int[] smallest, int[] candidate,
+            int[] labels)
+    {
+        for (int number = 1; number <= gridSize; number++)
+        {
+            labels[number] = 0;
+        }
+
+        int nextLabel = 1;
+        boolean isSmaller = smallest == null;
+        int cell = 0;
+
+        for (int row = 0; row < gridSize; row++)
+        {
+            int sourceRowStart = rowSources[row] * gridSize;
+            for (int col = 0; col < gridSize; col++, cell++)
+            {
+                int number = source[sourceRowStart + colSources[col]];
+                if (number != 0)
+                {
+                    if (labels[number] == 0)
+                    {
+                        labels[number] = nextLabel++;
+                    }
+                    number = labels[number];
+                }
+
+                if (!isSmaller)
+                {
+                    if (number > smallest[cell])
+                    {
+                        return false;
+                    }
+                    isSmaller = number < smallest[cell];
+                }
+
+                candidate[cell] = number;
+            }
+        }
+
+        return isSmaller;
+    }
+
+    /**
+     * Helper method to create the pattern of the filled cells of each row
+     * for each column permutation. The first column is the highest bit, so
+     * patterns compare as the rows would cell by cell with the empty cells
+     * as the smallest.
+     *
+     * @param source the cells of the grid, row by row.
+     *
+     * @return the pattern of each row for each column permutation.
+     */
+    private int[][] createRowPatterns(int[] source)
+    {
+        int[][] rowPatterns = new int[gridSize][linePermutations.length];
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int colPermutation = 0; colPermutation < linePermutations.length; colPermutation++)
+            {
+                int[] colSources = linePermutations[colPermutation];
+                int pattern = 0;
+                for (int col = 0; col < gridSize; col++)
+                {
+                    pattern = pattern << 1 | (source[row * gridSize + colSources[col]] != 0 ? 1 : 0);
+                }
+                rowPatterns[row][colPermutation] = pattern;
+            }
+        }
+
+        return rowPatterns;
+    }
+
+    /**
+     * Helper method to create all permutations of the rows or columns which
+     * keep the lines of a band or stack together.
+     *
+     * @return the permutations, each as the source line of each line.
+     */
+    private int[][] createLinePermutations()
+    {
+        List<int[]> permutations = new ArrayList<int[]>();
+        List<int[]> boxPermutations = new ArrayList<int[]>();
+        permute(new int[boxSideLength], 0, 0, boxPermutations);
+
+        for (int[] bands : boxPermutations)
+        {
+            addLinePermutations(bands, 0, new int[gridSize], boxPermutations, permutations);
+        }
+
+        return permutations.toArray(new int[permutations.size()][]);
+    }
+
+    /**
+     * Recursive helper method to add the line permutations for a band
+     * permutation, with every permutation of the lines within each band.
+     *
+     * @param bands the source band of each band.
+     * @param band the band to choose the line permutation of.
+     * @param lines the source line of each line, for the bands before the band.
+     * @param boxPermutations the permutations of the lines within a band.
+     * @param permutations the list to add the line permutations to.
+     */
+    private void addLinePermutations(int[] bands, int band, int[] lines, List<int[]> boxPermutations,
+            List<int[]> permutations)
+    {
+        if (band == boxSideLength)
+        {
+            permutations.add(lines.clone());
+            return;
+        }
+
+        for (int[] linesInBand : boxPermutations)
+        {
+            for (int line = 0; line < boxSideLength; line++)
+            {
+                lines[band * boxSideLength + line] = bands[band] * boxSideLength + linesInBand[line];
+            }
+            addLinePermutations(bands, band + 1, lines, boxPermutations, permutations);
+        }
+    }
+
+    /**
+     * Recursive helper method to add all permutations of the numbers from
+     * zero to one less than the box side length.
+     *
+     * @param permutation the permutation, filled up to the position.
+     * @param position the position to fill.
+     * @param usedNumbers the bitmask of the numbers used before the position.
+     * @param permutations the list to add the permutations to.
+     */
+    private void permute(int[] permutation, int position, int usedNumbers, List<int[]> permutations)
+    {
+        if (position == permutation.length)
+        {
+            permutations.add(permutation.clone());
+            return;
+        }
+
+        for (int number = 0; number < permutation.length; number++)
+        {
+            if ((usedNumbers & 1 << number) == 0)
+            {
+                permutation[position] = number;
+                permute(permutation, position + 1, usedNumbers | 1 << number, permutations);
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package sudoku.generator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps puzzles to 64-bit IDs and back, so a puzzle could be kept as one
+ * <code>long</code> and rebuilt when it is needed.
+ *
+ * <p>
+ * The two highest bits of an ID are the box side length minus two. The
+ * rest of the ID depends on the size:
+ * </p>
+ * <ul>
+ * <li>A 4 x 4 puzzle is ranked. The ID is the index of the solution in the
+ * {@link SolutionCatalog} times 2^16, plus the mask with one bit per cell,
+ * row by row, set if the number of the cell is shown. Every 4 x 4 puzzle has
+ * an ID and every ID below 288 * 2^16 is a puzzle, so {@link #rank(SudokuPuzzle)}
+ * and {@link #unrank(long)} are inverses.</li>
+ * <li>A larger puzzle is given by the parameters and the seed of its
+ * generation. Bits 59 to 61 are the mask: zero for a mask with the default
+ * number of start digits and a unique solution, see {@link UniqueMaskGenerator},
+ * or one more than the ordinal of a {@link Difficulty}, see
+ * {@link DifficultyMaskGenerator}. The 59 lowest bits are the seed. The
+ * solution is generated by backtracking, see {@link SudokuSolutionGenerator},
+ * which gives the same grid for the same seed.</li>
+ * </ul>
+ * <p>
+ * A larger puzzle which was not generated from a seed is given a content
+ * ID by {@link #getId(SudokuPuzzle)}, with all mask bits set and the 59
+ * lowest bits of the fingerprint of its start grid. The same puzzle always
+ * gets the same content ID, but the puzzle could not be rebuilt from it.
+ * </p>
+ *
+ * <p>
+ * A 4 x 4 puzzle is rebuilt by a lookup, and a larger puzzle by generating
+ * it again, which takes as long as the first time. The class is thread-safe.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class PuzzleIds
+{
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final int SIZE_SHIFT = 62;
+    private static final int MASK_KIND_SHIFT = 59;
+    private static final long MASK_KIND_BITS = 0x7;
+    private static final long SEED_BITS = (1L << MASK_KIND_SHIFT) - 1;
+    private static final int NUM_OF_MASK_BITS = 16;
+    private static final long MASK_BITS = (1L << NUM_OF_MASK_BITS) - 1;
+    private static final int UNIQUE_MASK_KIND = 0;
+    private static final int CONTENT_MASK_KIND = 7;
+
+    private static final ConcurrentMap<Integer, SudokuGenerator> generators = new ConcurrentHashMap<Integer, SudokuGenerator>();
+
+    /**
+     * Constructor
+     *
+     * Not used, the class only has static methods.
+     */
+    private PuzzleIds()
+    {
+    }
+
+    /**
+     * Generates the ID of a new puzzle from a seed. A 4 x 4 puzzle is
+     * generated and ranked, and for a larger puzzle the ID is made of the
+     * parameters and the seed, of which the 59 lowest bits are used.
+     *
+     * @param boxSideLength the side length of a box in the puzzle.
+     * @param difficulty the difficulty tier of the puzzle, or <code>null</code>
+     *            for the default number of start digits.
+     * @param seed the seed.
+     *
+     * @return the ID.
+     */
+    public static long generateId(int boxSideLength, Difficulty difficulty, long seed)
+    {
+        checkBoxSideLength(boxSideLength);
+
+        int maskKind = difficulty == null ? UNIQUE_MASK_KIND : difficulty.ordinal() + 1;
+        if (boxSideLength == SolutionCatalog.BOX_SIDE_LENGTH)
+        {
+            return rank(generatePuzzle(boxSideLength, maskKind, seed));
+        }
+
+        return (long) (boxSideLength - MIN_BOX_SIDE_LENGTH) << SIZE_SHIFT | (long) maskKind << MASK_KIND_SHIFT
+                | seed & SEED_BITS;
+    }
+
+    /**
+     * Returns the ID of a puzzle from its numbers. A 4 x 4 puzzle is ranked,
+     * and a larger puzzle gets a content ID from the fingerprint of its start
+     * grid, see {@link Grid#fingerprint()}.
+     *
+     * @param puzzle the puzzle.
+     *
+     * @return the ID.
+     */
+    public static long getId(SudokuPuzzle puzzle)
+    {
+        int boxSideLength = puzzle.getBoxSideLength();
+        checkBoxSideLength(boxSideLength);
+
+        if (boxSideLength == SolutionCatalog.BOX_SIDE_LENGTH)
+        {
+            return rank(puzzle);
+        }
+
+        return (long) (boxSideLength - MIN_BOX_SIDE_LENGTH) << SIZE_SHIFT
+                | (long) CONTENT_MASK_KIND << MASK_KIND_SHIFT | puzzle.getStart().fingerprint() & SEED_BITS;
+    }
+
+    /**
+     * Returns the ID of a 4 x 4 puzzle.
+     *
+     * @param puzzle the puzzle.
+     *
+     * @return the ID, below 288 * 2^16.
+     *
+     * @throws IllegalArgumentException if the puzzle is not a 4 x 4 puzzle
+     *             whose start numbers are from its solution.
+     */
+    public static long rank(SudokuPuzzle puzzle)
+    {
+        if (puzzle.getBoxSideLength() != SolutionCatalog.BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Only 4 x 4 puzzles could be ranked: " + puzzle.getGridSize() + " x "
+                    + puzzle.getGridSize());
+        }
+
+        int solutionIndex = SolutionCatalog.getInstance().indexOf(puzzle.getSolutionGrid());
+        if (solutionIndex < 0)
+        {
+            throw new IllegalArgumentException("Solution is not a valid sudoku");
+        }
+
+        int gridSize = puzzle.getGridSize();
+        long mask = 0;
+        for (int cell = 0; cell < gridSize * gridSize; cell++)
+        {
+            int number = puzzle.getStartNumber(cell / gridSize, cell % gridSize);
+            if (number != 0)
+            {
+                if (number != puzzle.getSolutionNumber(cell / gridSize, cell % gridSize))
+                {
+                    throw new IllegalArgumentException("Start number is not the solution number in cell " + cell);
+                }
+
+                mask |= 1L << cell;
+            }
+        }
+
+        return (long) solutionIndex << NUM_OF_MASK_BITS | mask;
+    }
+
+    /**
+     * Rebuilds the puzzle of an ID.
+     *
+     * @param id the ID.
+     *
+     * @return the puzzle.
+     *
+     * @throws IllegalArgumentException if the ID is not the ID of a puzzle.
+     */
+    public static SudokuPuzzle unrank(long id)
+    {
+        int boxSideLength = (int) (id >>> SIZE_SHIFT) + MIN_BOX_SIDE_LENGTH;
+        if (boxSideLength == SolutionCatalog.BOX_SIDE_LENGTH)
+        {
+            return unrankSmallPuzzle(id);
+        }
+
+        int maskKind = (int) (id >>> MASK_KIND_SHIFT & MASK_KIND_BITS);
+        if (maskKind > Difficulty.values().length)
+        {
+            throw new IllegalArgumentException("Not a puzzle ID: " + Long.toHexString(id));
+        }
+
+        return generatePuzzle(boxSideLength, maskKind, id & SEED_BITS);
+    }
+
+    /**
+     * Returns the box side length of the puzzle of an ID.
+     *
+     * @param id the ID.
+     *
+     * @return the box side length.
+     */
+    public static int getBoxSideLength(long id)
+    {
+        return (int) (id >>> SIZE_SHIFT) + MIN_BOX_SIDE_LENGTH;
+    }
+
+    /**
+     * Helper method to rebuild a 4 x 4 puzzle from its rank.
+     *
+     * @param id the ID, which is the rank.
+     *
+     * @return the puzzle.
+     */
+    private static SudokuPuzzle unrankSmallPuzzle(long id)
+    {
+        SolutionCatalog catalog = SolutionCatalog.getInstance();
+        long solutionIndex = id >>> NUM_OF_MASK_BITS;
+        if (solutionIndex >= catalog.size())
+        {
+            throw new IllegalArgumentException("Not a puzzle ID: " + Long.toHexString(id));
+        }
+
+        int[][] solutionGrid = catalog.getSolution((int) solutionIndex);
+        int gridSize = solutionGrid.length;
+        int[][] startGameGrid = new int[gridSize][gridSize];
+        for (int cell = 0; cell < gridSize * gridSize; cell++)
+        {
+            if ((id & MASK_BITS & 1L << cell) != 0)
+            {
+                startGameGrid[cell / gridSize][cell % gridSize] = solutionGrid[cell / gridSize][cell % gridSize];
+            }
+        }
+
+        return new SudokuPuzzle(SolutionCatalog.BOX_SIDE_LENGTH, startGameGrid, solutionGrid);
+    }
+
+    /**
+     * Helper method to generate a puzzle from its parameters and seed.
+     *
+     * @param boxSideLength the side length of a box in the puzzle.
+     * @param maskKind the kind of mask, zero for a unique mask or one more
+     *            than the ordinal of a difficulty tier.
+     * @param seed the seed.
+     *
+     * @return the puzzle.
+     */
+    private static SudokuPuzzle generatePuzzle(int boxSideLength, int maskKind, long seed)
+    {
+        Integer key = boxSideLength * (Difficulty.values().length + 1) + maskKind;
+        SudokuGenerator generator = generators.get(key);
+
+        if (generator == null)
+        {
+            MaskGenerator maskGenerator = new UniqueMaskGenerator(boxSideLength);
+            if (maskKind != UNIQUE_MASK_KIND)
+            {
+                maskGenerator = new DifficultyMaskGenerator(boxSideLength, Difficulty.values()[maskKind - 1]);
+            }
+
+            generator = new SudokuGenerator(new SudokuSolutionGenerator(boxSideLength), maskGenerator);
+            SudokuGenerator existingGenerator = generators.putIfAbsent(key, generator);
+            if (existingGenerator != null)
+            {
+                generator = existingGenerator;
+            }
+        }
+
+        return generator.generatePuzzle(new SplittableRandomAdapter(new SplittableRandom(seed)));
+    }
+
+    /**
+     * Helper method to check that a box side length is supported.
+     *
+     * @param boxSideLength the box side length.
+     */
+    private static void checkBoxSideLength(int boxSideLength)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package sudoku.generator;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded pool of pre-generated puzzles, which is refilled in the
+ * background, so a puzzle is handed out without waiting for generation.
+ *
+ * <p>
+ * The pool is filled up to its capacity by refill threads when it is
+ * created. Taking a puzzle is a dequeue from the pool. When the number of
+ * puzzles drops to the low watermark, the refill threads are woken and fill
+ * the pool up to its capacity again. Between the watermark and the capacity
+ * the refill threads sleep, so they do not compete with the users of the
+ * pool for every puzzle taken.
+ * </p>
+ *
+ * <p>
+ * If the pool is empty, {@link #take()} generates a puzzle in the calling
+ * thread, so a caller never waits longer than one generation. The pool is
+ * thread-safe. The refill threads are daemon threads and are stopped by
+ * {@link #close()}.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzlePool implements AutoCloseable
+{
+    private static final String REFILL_THREAD_NAME = "puzzle-pool-refill-";
+
+    private final SudokuGenerator sudokuGenerator;
+    private final BlockingQueue<SudokuPuzzle> puzzles;
+    private final int lowWatermark;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private final Condition isBelowWatermark = refillLock.newCondition();
+    private final Thread[] refillThreads;
+    private volatile boolean isClosed;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a pool and starts the refill threads, which begin to
+     * fill the pool at once.
+     *
+     * @param sudokuGenerator the generator of the puzzles.
+     * @param capacity the maximum number of puzzles in the pool, at least one.
+     * @param lowWatermark the number of puzzles left when the pool is refilled,
+     *                     from zero to less than the capacity.
+     * @param numOfRefillThreads the number of refill threads, at least one.
+     */
+    public PuzzlePool(SudokuGenerator sudokuGenerator, int capacity, int lowWatermark, int numOfRefillThreads)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Capacity must be at least one: " + capacity);
+        }
+
+        if (lowWatermark < 0 || lowWatermark >= capacity)
+        {
+            throw new IllegalArgumentException("Low watermark must be between 0 and " + (capacity - 1) + ": "
+                    + lowWatermark);
+        }
+
+        if (numOfRefillThreads < 1)
+        {
+            throw new IllegalArgumentException("Number of refill threads must be at least one: "
+                    + numOfRefillThreads);
+        }
+
+        this.sudokuGenerator = sudokuGenerator;
+        this.puzzles = new ArrayBlockingQueue<SudokuPuzzle>(capacity);
+        this.lowWatermark = lowWatermark;
+        this.refillThreads = new Thread[numOfRefillThreads];
+
+        for (int i = 0; i < numOfRefillThreads; i++)
+        {
+            refillThreads[i] = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    refill();
+                }
+            }, REFILL_THREAD_NAME + i);
+            refillThreads[i].setDaemon(true);
+            refillThreads[i].start();
+        }
+    }
+
+    /**
+     * Returns the side length of a box in the puzzles.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return sudokuGenerator.getBoxSideLength();
+    }
+
+    /**
+     * Returns the number of puzzles in the pool.
+     *
+     * @return the number of puzzles.
+     */
+    public int size()
+    {
+        return puzzles.size();
+    }
+
+    /**
+     * Takes a puzzle from the pool. If the pool is empty, the puzzle is
+     * generated in the calling thread.
+     *
+     * @return the puzzle.
+     */
+    public SudokuPuzzle take()
+    {
+        SudokuPuzzle puzzle = poll();
+        if (puzzle == null)
+        {
+            puzzle = sudokuGenerator.generatePuzzle();
+        }
+
+        return puzzle;
+    }
+
+    /**
+     * Takes a puzzle from the pool, if there is one.
+     *
+     * @return the puzzle, or <code>null</code> if the pool is empty.
+     */
+    public SudokuPuzzle poll()
+    {
+        SudokuPuzzle puzzle = puzzles.poll();
+        if (puzzles.size() <= lowWatermark)
+        {
+            wakeRefillThreads();
+        }
+
+        return puzzle;
+    }
+
+    /**
+     * Stops the refill threads. The puzzles left in the pool could still
+     * be taken, and when the pool is empty the puzzles are generated in the
+     * calling thread.
+     */
+    @Override
+    public void close()
+    {
+        isClosed = true;
+        for (Thread refillThread : refillThreads)
+        {
+            refillThread.interrupt();
+        }
+    }
+
+    /**
+     * Helper method to wake the refill threads.
+     */
+    private void wakeRefillThreads()
+    {
+        refillLock.lock();
+        try
+        {
+            isBelowWatermark.signalAll();
+        }
+        finally
+        {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * Helper method run by the refill threads. A refill thread fills the pool
+     * up to its capacity and then sleeps until the pool drops to the low
+     * watermark, until the pool is closed. If several threads refill at the
+     * same time, a puzzle which no longer fits is dropped. A generation that
+     * is cancelled when the pool is closed ends the thread, and one that runs
+     * out of time is dropped.
+     */
+    private void refill()
+    {
+        try
+        {
+            while (!isClosed)
+            {
+                while (!isClosed && puzzles.remainingCapacity() > 0)
+                {
+                    try
+                    {
+                        puzzles.offer(sudokuGenerator.generatePuzzle());
+                    }
+                    catch (GenerationCancelledException e)
+                    {
+                        if (isClosed || Thread.currentThread().isInterrupted())
+                        {
+                            return;
+                        }
+                    }
+                }
+
+                awaitLowWatermark();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Helper method to wait until the pool drops to the low watermark.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private void awaitLowWatermark() throws InterruptedException
+    {
+        refillLock.lock();
+        try
+        {
+            while (!isClosed && puzzles.size() > lowWatermark)
+            {
+                isBelowWatermark.await();
+            }
+        }
+        finally
+        {
+            refillLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package sudoku.generator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The puzzle pools for each size and difficulty tier, see
+ * {@link PuzzlePool}. A pool is created the first time a puzzle of its
+ * size and tier is asked for, and all pools use the same solution engine,
+ * capacity, low watermark and number of refill threads.
+ *
+ * <p>
+ * The pools are thread-safe. {@link #close()} stops the refill threads of
+ * all pools.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzlePools implements AutoCloseable
+{
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int DEFAULT_LOW_WATERMARK = 16;
+    private static final int DEFAULT_NUM_OF_REFILL_THREADS = 1;
+
+    private final SolutionEngine solutionEngine;
+    private final int capacity;
+    private final int lowWatermark;
+    private final int numOfRefillThreads;
+    private final ConcurrentMap<Integer, PuzzlePool> pools = new ConcurrentHashMap<Integer, PuzzlePool>();
+
+    /**
+     * Constructor
+     *
+     * Instantiates pools with the backtracking solution engine and the
+     * default capacity, low watermark and number of refill threads.
+     */
+    public PuzzlePools()
+    {
+        this(SolutionEngine.BACKTRACKING, DEFAULT_CAPACITY, DEFAULT_LOW_WATERMARK, DEFAULT_NUM_OF_REFILL_THREADS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param solutionEngine the engine of the solutions of the puzzles.
+     * @param capacity the maximum number of puzzles in each pool.
+     * @param lowWatermark the number of puzzles left when a pool is refilled.
+     * @param numOfRefillThreads the number of refill threads of each pool.
+     */
+    public PuzzlePools(SolutionEngine solutionEngine, int capacity, int lowWatermark, int numOfRefillThreads)
+    {
+        this.solutionEngine = solutionEngine;
+        this.capacity = capacity;
+        this.lowWatermark = lowWatermark;
+        this.numOfRefillThreads = numOfRefillThreads;
+    }
+
+    /**
+     * Takes a puzzle of a size and difficulty tier, see {@link PuzzlePool#take()}.
+     *
+     * @param boxSideLength the side length of a box in the puzzle.
+     * @param difficulty the difficulty tier of the puzzle.
+     *
+     * @return the puzzle.
+     */
+    public SudokuPuzzle take(int boxSideLength, Difficulty difficulty)
+    {
+        return getPool(boxSideLength, difficulty).take();
+    }
+
+    /**
+     * Returns the pool of a size and difficulty tier, which is created and
+     * starts to fill if it does not exist.
+     *
+     * @param boxSideLength the side length of a box in the puzzles.
+     * @param difficulty the difficulty tier of the puzzles.
+     *
+     * @return the pool.
+     */
+    public PuzzlePool getPool(int boxSideLength, Difficulty difficulty)
+    {
+        Integer key = boxSideLength * Difficulty.values().length + difficulty.ordinal();
+        PuzzlePool pool = pools.get(key);
+
+        if (pool == null)
+        {
+            SudokuGenerator sudokuGenerator = new SudokuGenerator(solutionEngine.createGenerator(boxSideLength),
+                    new DifficultyMaskGenerator(boxSideLength, difficulty));
+            PuzzlePool newPool = new PuzzlePool(sudokuGenerator, capacity, lowWatermark, numOfRefillThreads);
+
+            pool = pools.putIfAbsent(key, newPool);
+            if (pool == null)
+            {
+                pool = newPool;
+            }
+            else
+            {
+                newPool.close();
+            }
+        }
+
+        return pool;
+    }
+
+    /**
+     * Stops the refill threads of all pools.
+     */
+    @Override
+    public void close()
+    {
+        for (PuzzlePool pool : pools.values())
+        {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package sudoku.generator;
+
+/**
+ * The catalog of all 288 valid 4 x 4 sudoku solutions.
+ *
+ * <p>
+ * The solutions are enumerated once, the first time the catalog is used,
+ * in lexicographic order of the cells read row by row.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class SolutionCatalog
+{
+    /**
+     * The side length of a box in the solutions of the catalog.
+     */
+    public static final int BOX_SIDE_LENGTH = 2;
+
+    private static final int GRID_SIZE = BOX_SIDE_LENGTH * BOX_SIDE_LENGTH;
+    private static final int NUM_OF_CELLS = GRID_SIZE * GRID_SIZE;
+    private static final int NUM_OF_SOLUTIONS = 288;
+
+    private final int[][][] solutions;
+
+    /**
+     * Constructor
+     *
+     * Enumerates all solutions.
+     */
+    private SolutionCatalog()
+    {
+        solutions = new int[NUM_OF_SOLUTIONS][][];
+        int numOfFound = enumerateSolutions(new int[GRID_SIZE][GRID_SIZE], 0, 0);
+
+        if (numOfFound != NUM_OF_SOLUTIONS)
+        {
+            throw new IllegalStateException("Found " + numOfFound + " solutions, expected " + NUM_OF_SOLUTIONS);
+        }
+    }
+
+    /**
+     * Returns the catalog.
+     *
+     * @return the catalog.
+     */
+    public static SolutionCatalog getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the number of solutions in the catalog.
+     *
+     * @return the number of solutions, 288.
+     */
+    public int size()
+    {
+        return solutions.length;
+    }
+
+    /**
+     * Returns a copy of a solution.
+     *
+     * @param index the index of the solution, from zero to one less than the size.
+     *
+     * @return the solution grid.
+     */
+    public int[][] getSolution(int index)
+    {
+        int[][] solution = new int[GRID_SIZE][];
+        for (int row = 0; row < GRID_SIZE; row++)
+        {
+            solution[row] = solutions[index][row].clone();
+        }
+
+        return solution;
+    }
+
+    /**
+     * Returns the index of a solution. The solutions are in lexicographic
+     * order, so the index is found by binary search.
+     *
+     * @param solutionGrid the solution grid.
+     *
+     * @return the index of the solution, or -1 if the grid is not a solution
+     *         in the catalog.
+     */
+    public int indexOf(int[][] solutionGrid)
+    {
+        int low = 0;
+        int high = solutions.length - 1;
+
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int comparison = compareGrids(solutions[middle], solutionGrid);
+            if (comparison < 0)
+            {
+                low = middle + 1;
+            }
+            else if (comparison > 0)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Helper method to compare two grids in lexicographic order of the cells
+     * read row by row.
+     *
+     * @param grid the first grid.
+     * @param otherGrid the second grid.
+     *
+     * @return a negative number, zero or a positive number if the first grid
+     *         is before, equal to or after the second grid.
+     */
+    private static int compareGrids(int[][] grid, int[][] otherGrid)
+    {
+        for (int row = 0; row < GRID_SIZE; row++)
+        {
+            for (int col = 0; col < GRID_SIZE; col++)
+            {
+                if (grid[row][col] != otherGrid[row][col])
+                {
+                    return Integer.compare(grid[row][col], otherGrid[row][col]);
+                }
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Recursive helper method to enumerate all solutions by trying the
+     * numbers in increasing order in every cell, row by row.
+     *
+     * @param grid the grid with the cells before the current cell set.
+     * @param cell the current cell.
+     * @param numOfFound the number of solutions found so far.
+     *
+     * @return the number of solutions found, including the ones found by this call.
+     */
+    private int enumerateSolutions(int[][] grid, int cell, int numOfFound)
+    {
+        if (cell == NUM_OF_CELLS)
+        {
+            if (numOfFound < NUM_OF_SOLUTIONS)
+            {
+                solutions[numOfFound] = new int[GRID_SIZE][];
+                for (int row = 0; row < GRID_SIZE; row++)
+                {
+                    solutions[numOfFound][row] = grid[row].clone();
+                }
+            }
+
+            return numOfFound + 1;
+        }
+
+        int row = cell / GRID_SIZE;
+        int col = cell % GRID_SIZE;
+        for (int number = 1; number <= GRID_SIZE; number++)
+        {
+            if (isNumberValid(grid, row, col, number))
+            {
+                grid[row][col] = number;
+                numOfFound = enumerateSolutions(grid, cell + 1, numOfFound);
+                grid[row][col] = 0;
+            }
+        }
+
+        return numOfFound;
+    }
+
+    /**
+     * Helper method to check if a number is not already used in the row,
+     * column or box of a cell, among the cells before it.
+     *
+     * @param grid the grid.
+     * @param row the row position of the cell.
+     * @param col the column position of the cell.
+     * @param number the number to test.
+     *
+     * @return <code>true</code> if the number could be set in the cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private static boolean isNumberValid(int[][] grid, int row, int col, int number)
+    {
+        int startRow = row / BOX_SIDE_LENGTH * BOX_SIDE_LENGTH;
+        int startCol = col / BOX_SIDE_LENGTH * BOX_SIDE_LENGTH;
+
+        for (int i = 0; i < GRID_SIZE; i++)
+        {
+            if (grid[row][i] == number || grid[i][col] == number
+                    || grid[startRow + i / BOX_SIDE_LENGTH][startCol + i % BOX_SIDE_LENGTH] == number)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Holder of the catalog, so it is created the first time it is used.
+     */
+    private static final class Holder
+    {
+        private static final SolutionCatalog INSTANCE = new SolutionCatalog();
+    }
+}
@@ -0,0 +1,55 @@
+package sudoku.generator;
+
+/**
+ * The engines which could be used to generate a sudoku solution.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public enum SolutionEngine
+{
+    /**
+     * Recursive backtracking, see {@link SudokuSolutionGenerator}.
+     */
+    BACKTRACKING
+    {
+        @Override
+        public SolutionGenerator createGenerator(int boxSideLength)
+        {
+            return new SudokuSolutionGenerator(boxSideLength);
+        }
+    },
+
+    /**
+     * Algorithm X with dancing links, see {@link DancingLinksSolutionGenerator}.
+     */
+    DANCING_LINKS
+    {
+        @Override
+        public SolutionGenerator createGenerator(int boxSideLength)
+        {
+            return new DancingLinksSolutionGenerator(boxSideLength);
+        }
+    },
+
+    /**
+     * Random transforms of a seed grid, see {@link TransformSolutionGenerator}.
+     */
+    TRANSFORM
+    {
+        @Override
+        public SolutionGenerator createGenerator(int boxSideLength)
+        {
+            return new TransformSolutionGenerator(boxSideLength);
+        }
+    };
+
+    /**
+     * Creates a solution generator using this engine.
+     *
+     * @param boxSideLength the side length of a box in the generated grids.
+     *
+     * @return the solution generator.
+     */
+    public abstract SolutionGenerator createGenerator(int boxSideLength);
+}
@@ -0,0 +1,47 @@
+package sudoku.generator;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A generator of grids with a sudoku solution.
+ *
+ * <p>
+ * Implementations must be thread-safe and return a new grid from every
+ * call, which the caller is free to keep or change.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public interface SolutionGenerator
+{
+    /**
+     * Returns the side length of a box in the generated grids. The side
+     * length of a grid is the square of the box side length.
+     *
+     * @return the side length of a box.
+     */
+    int getBoxSideLength();
+
+    /**
+     * Generates a grid with a random sudoku solution, using the random
+     * generator of the current thread.
+     *
+     * @return the grid with a sudoku solution.
+     */
+    default int[][] generateGrid()
+    {
+        return generateGrid(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generates a grid with a random sudoku solution. The random generator
+     * is only used by the calling thread during the call.
+     *
+     * @param random the random generator used to choose the numbers.
+     *
+     * @return the grid with a sudoku solution.
+     */
+    int[][] generateGrid(Random random);
+}
@@ -0,0 +1,87 @@
+package sudoku.generator;
+
+/**
+ * The result of solving a grid, which is the status and the solution if
+ * there is one. The result is immutable.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class SolveResult
+{
+    private final SolveStatus status;
+    private final int[][] solutionGrid;
+
+    /**
+     * Constructor
+     *
+     * @param status the status of the grid.
+     * @param solutionGrid a solution of the grid, or <code>null</code> if
+     *            the grid has no solution.
+     */
+    public SolveResult(SolveStatus status, int[][] solutionGrid)
+    {
+        if (status == null)
+        {
+            throw new IllegalArgumentException("Status must not be null");
+        }
+
+        this.status = status;
+        this.solutionGrid = copyGrid(solutionGrid);
+    }
+
+    /**
+     * Returns the status of the grid.
+     *
+     * @return the status.
+     */
+    public SolveStatus getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * Checks if the grid has exactly one solution.
+     *
+     * @return <code>true</code> if the grid is solved. Otherwise false.
+     */
+    public boolean isSolved()
+    {
+        return status == SolveStatus.SOLVED;
+    }
+
+    /**
+     * Returns a solution of the grid. If the status is
+     * {@link SolveStatus#MULTIPLE_SOLUTIONS} it is one of the solutions.
+     *
+     * @return a copy of the solution, or <code>null</code> if the grid has
+     *         no solution.
+     */
+    public int[][] getSolution()
+    {
+        return copyGrid(solutionGrid);
+    }
+
+    /**
+     * Helper method to copy a grid.
+     *
+     * @param grid the grid to copy, or <code>null</code>.
+     *
+     * @return the copy, or <code>null</code> if the grid is null.
+     */
+    private static int[][] copyGrid(int[][] grid)
+    {
+        if (grid == null)
+        {
+            return null;
+        }
+
+        int[][] copy = new int[grid.length][];
+        for (int row = 0; row < grid.length; row++)
+        {
+            copy[row] = grid[row].clone();
+        }
+
+        return copy;
+    }
+}
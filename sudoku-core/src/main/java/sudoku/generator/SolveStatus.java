@@ -0,0 +1,31 @@
+package sudoku.generator;
+
+/**
+ * The outcome of solving a grid, see {@link SudokuSolver}.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public enum SolveStatus
+{
+    /**
+     * The grid has exactly one solution.
+     */
+    SOLVED,
+
+    /**
+     * The grid has no solution.
+     */
+    UNSOLVABLE,
+
+    /**
+     * The grid has more than one solution.
+     */
+    MULTIPLE_SOLUTIONS,
+
+    /**
+     * The grid could not be read, for example a number out of range or a
+     * line of the wrong length.
+     */
+    INVALID
+}
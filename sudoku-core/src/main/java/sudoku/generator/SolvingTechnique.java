@@ -0,0 +1,87 @@
+package sudoku.generator;
+
+/**
+ * The techniques used by the {@link DifficultyRater}, in the order they
+ * are tried. Each technique belongs to a difficulty tier.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public enum SolvingTechnique
+{
+    /**
+     * A number with only one position left in a row, column or box.
+     */
+    HIDDEN_SINGLE(Difficulty.EASY),
+
+    /**
+     * A cell with only one valid number left.
+     */
+    NAKED_SINGLE(Difficulty.EASY),
+
+    /**
+     * A number whose positions in a box are in one row or column, or whose
+     * positions in a row or column are in one box (pointing and claiming).
+     */
+    LOCKED_CANDIDATES(Difficulty.MEDIUM),
+
+    /**
+     * Two cells in a unit with the same two valid numbers.
+     */
+    NAKED_PAIR(Difficulty.MEDIUM),
+
+    /**
+     * Two numbers with the same two positions left in a unit.
+     */
+    HIDDEN_PAIR(Difficulty.MEDIUM),
+
+    /**
+     * Three cells in a unit with three valid numbers together.
+     */
+    NAKED_TRIPLE(Difficulty.HARD),
+
+    /**
+     * Three numbers with three positions left together in a unit.
+     */
+    HIDDEN_TRIPLE(Difficulty.HARD),
+
+    /**
+     * A number with two positions left in each of two rows, in the same
+     * two columns, or the other way around.
+     */
+    X_WING(Difficulty.HARD),
+
+    /**
+     * A number with two or three positions left in each of three rows,
+     * in the same three columns together, or the other way around.
+     */
+    SWORDFISH(Difficulty.HARD),
+
+    /**
+     * A cell with two valid numbers XY, which sees a cell with XZ and a
+     * cell with YZ. Z could not be in a cell which sees both of them.
+     */
+    XY_WING(Difficulty.HARD);
+
+    private final Difficulty difficulty;
+
+    /**
+     * Constructor
+     *
+     * @param difficulty the difficulty tier of the technique.
+     */
+    private SolvingTechnique(Difficulty difficulty)
+    {
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Returns the difficulty tier of the technique.
+     *
+     * @return the difficulty tier.
+     */
+    public Difficulty getDifficulty()
+    {
+        return difficulty;
+    }
+}
@@ -0,0 +1,58 @@
+package sudoku.generator;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * A {@link Random} which takes its bits from a {@link SplittableRandom},
+ * so the generators, which take a <code>Random</code>, could be driven by
+ * a splittable random stream.
+ *
+ * <p>
+ * The adapter is not thread-safe and should be used by one thread at a
+ * time.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class SplittableRandomAdapter extends Random
+{
+    private static final long serialVersionUID = 4386262740946518543L;
+
+    private final SplittableRandom splittableRandom;
+
+    /**
+     * Constructor
+     *
+     * @param splittableRandom the random stream to take the bits from.
+     */
+    public SplittableRandomAdapter(SplittableRandom splittableRandom)
+    {
+        this.splittableRandom = splittableRandom;
+    }
+
+    @Override
+    protected int next(int bits)
+    {
+        return (int) (splittableRandom.nextLong() >>> (Long.SIZE - bits));
+    }
+
+    @Override
+    public int nextInt(int bound)
+    {
+        return splittableRandom.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong()
+    {
+        return splittableRandom.nextLong();
+    }
+
+    @Override
+    public synchronized void setSeed(long seed)
+    {
+        // The seed is given by the splittable random stream
+    }
+}
@@ -0,0 +1,155 @@
+package sudoku.generator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Generates batches of puzzles in parallel in a fork-join pool.
+ *
+ * <p>
+ * A batch is given by a master seed and the number of puzzles. The range
+ * of puzzles is split in halves until the parts are small, and the random
+ * stream of the master seed is split with the range, so every puzzle gets
+ * its own random stream. The splits depend only on the number of puzzles,
+ * which makes the same master seed generate the same batch whatever the
+ * parallelism of the pool is.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class SudokuBatchGenerator
+{
+    private static final int MAX_NUM_OF_PUZZLES_IN_TASK = 16;
+
+    private final SudokuGenerator sudokuGenerator;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a batch generator which uses the common fork-join pool.
+     *
+     * @param sudokuGenerator the generator of each puzzle.
+     */
+    public SudokuBatchGenerator(SudokuGenerator sudokuGenerator)
+    {
+        this(sudokuGenerator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a batch generator which uses the given fork-join pool.
+     *
+     * @param sudokuGenerator the generator of each puzzle.
+     * @param pool the pool to generate the puzzles in.
+     */
+    public SudokuBatchGenerator(SudokuGenerator sudokuGenerator, ForkJoinPool pool)
+    {
+        this.sudokuGenerator = sudokuGenerator;
+        this.pool = pool;
+    }
+
+    /**
+     * Generates a batch of puzzles.
+     *
+     * @param masterSeed the seed of the batch.
+     * @param numOfPuzzles the number of puzzles in the batch.
+     *
+     * @return the puzzles, in the same order for the same seed.
+     */
+    public SudokuPuzzle[] generateBatch(long masterSeed, int numOfPuzzles)
+    {
+        final SudokuPuzzle[] puzzles = new SudokuPuzzle[numOfPuzzles];
+
+        generateBatch(masterSeed, numOfPuzzles, new ObjLongConsumer<SudokuPuzzle>()
+        {
+            @Override
+            public void accept(SudokuPuzzle puzzle, long index)
+            {
+                puzzles[(int) index] = puzzle;
+            }
+        });
+
+        return puzzles;
+    }
+
+    /**
+     * Generates a batch of puzzles and hands each puzzle to a consumer as
+     * soon as it is generated, so large batches do not have to be kept in
+     * memory. The consumer is called from the threads of the pool, in any
+     * order, and must be thread-safe. The call returns when all puzzles
+     * are consumed.
+     *
+     * @param masterSeed the seed of the batch.
+     * @param numOfPuzzles the number of puzzles in the batch.
+     * @param consumer the consumer of each puzzle and its index in the batch.
+     */
+    public void generateBatch(long masterSeed, long numOfPuzzles, ObjLongConsumer<SudokuPuzzle> consumer)
+    {
+        if (numOfPuzzles < 0)
+        {
+            throw new IllegalArgumentException("Number of puzzles must not be negative: " + numOfPuzzles);
+        }
+
+        pool.invoke(new GenerateTask(new SplittableRandom(masterSeed), 0, numOfPuzzles, consumer));
+    }
+
+    /**
+     * The task to generate the puzzles in a range of the batch.
+     */
+    private final class GenerateTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = -2158310542911487123L;
+
+        private final SplittableRandom random;
+        private final long fromIndex;
+        private final long toIndex;
+        private final ObjLongConsumer<SudokuPuzzle> consumer;
+
+        /**
+         * Constructor
+         *
+         * @param random the random stream of the range.
+         * @param fromIndex the index of the first puzzle in the range.
+         * @param toIndex the index after the last puzzle in the range.
+         * @param consumer the consumer of each puzzle.
+         */
+        private GenerateTask(SplittableRandom random, long fromIndex, long toIndex,
+                ObjLongConsumer<SudokuPuzzle> consumer)
+        {
+            this.random = random;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.consumer = consumer;
+        }
+
+        /**
+         * Generates the puzzles if the range is small, or splits the range
+         * and the random stream in two halves.
+         */
+        @Override
+        protected void compute()
+        {
+            if (toIndex - fromIndex <= MAX_NUM_OF_PUZZLES_IN_TASK)
+            {
+                for (long index = fromIndex; index < toIndex; index++)
+                {
+                    SplittableRandomAdapter puzzleRandom = new SplittableRandomAdapter(random.split());
+                    consumer.accept(sudokuGenerator.generatePuzzle(puzzleRandom), index);
+                }
+            }
+            else
+            {
+                long middleIndex = fromIndex + (toIndex - fromIndex) / 2;
+                GenerateTask upperHalf = new GenerateTask(random.split(), middleIndex, toIndex, consumer);
+                GenerateTask lowerHalf = new GenerateTask(random, fromIndex, middleIndex, consumer);
+
+                invokeAll(lowerHalf, upperHalf);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package sudoku.generator;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates a sudoku grid with numbers from one to the grid
+ * side length to start the sudoku game and a solution for the
+ * game. The size of the grid is given by the solution and mask
+ * generators, which must agree on the box side length.
+ *
+ * <p>
+ * The generator is thread-safe and could be shared between threads.
+ * {@link #generatePuzzle()} returns the start grid and the solution
+ * together as an immutable {@link SudokuPuzzle}, whose start grid is the
+ * solution masked by {@link Grid#mask(Grid)}. The time to generate
+ * each puzzle is recorded in the {@link GenerationMetrics} when they are
+ * enabled.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class SudokuGenerator
+{
+    private final int boxSideLength;
+
+    private final SolutionGenerator solutionGenerator;
+    private final MaskGenerator maskGenerator;
+    private volatile SudokuPuzzle lastPuzzle;
+
+    /**
+     * Constructor
+     * Creates the logic to generate a grid to start the game from
+     * the solution grid and the grid mask.
+     *
+     * @param solutionGenerator the generator that generates the grid with the solution.
+     * @param maskGenerator the generator that generates the mask to hide numbers from the solution.
+     */
+    public SudokuGenerator(SolutionGenerator solutionGenerator, MaskGenerator maskGenerator)
+    {
+        if (solutionGenerator.getBoxSideLength() != maskGenerator.getBoxSideLength())
+        {
+            throw new IllegalArgumentException("Solution and mask generators have different box side lengths: "
+                    + solutionGenerator.getBoxSideLength() + " and " + maskGenerator.getBoxSideLength());
+        }
+
+        this.boxSideLength = solutionGenerator.getBoxSideLength();
+        this.solutionGenerator = solutionGenerator;
+        this.maskGenerator = maskGenerator;
+    }
+
+    /**
+     * Returns the side length of a box in the generated grids.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Generates a new puzzle, using the random generator of the
+     * current thread.
+     *
+     * @return the puzzle with the start grid and the solution.
+     */
+    public SudokuPuzzle generatePuzzle()
+    {
+        return generatePuzzle(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generates a new puzzle. The random generator is only used by
+     * the calling thread during the call.
+     *
+     * @param random the random generator for the solution and the mask.
+     *
+     * @return the puzzle with the start grid and the solution.
+     */
+    public SudokuPuzzle generatePuzzle(Random random)
+    {
+        boolean isRecorded = GenerationMetrics.isEnabled();
+        long startNanos = isRecorded ? System.nanoTime() : 0;
+
+        int[][] solutionGrid = solutionGenerator.generateGrid(random);
+        int[][] maskGrid = maskGenerator.generateGrid(solutionGrid, random);
+        Grid solution = Grid.of(solutionGrid);
+        SudokuPuzzle puzzle = new SudokuPuzzle(solution.mask(Grid.of(maskGrid)), solution);
+
+        if (isRecorded)
+        {
+            GenerationMetrics.recordPuzzle(boxSideLength, System.nanoTime() - startNanos);
+        }
+
+        return puzzle;
+    }
+
+    /**
+     * Generates a grid to start the game. The puzzle is remembered, so
+     * its solution could be returned by {@link #getSolutionGrid()}.
+     *
+     * <p>
+     * When the generator is shared between threads, the solution belongs
+     * to the last puzzle generated by any thread. Use {@link #generatePuzzle()}
+     * to get the start grid and the solution together.
+     * </p>
+     *
+     * @return the starting game grid.
+     */
+    public int[][] generateGrid()
+    {
+        SudokuPuzzle puzzle = generatePuzzle();
+        lastPuzzle = puzzle;
+
+        return puzzle.getStartGameGrid();
+    }
+
+    /**
+     * Returns a copy of the grid which contains the solution of the last
+     * grid generated by {@link #generateGrid()}. If no grid is generated,
+     * an empty grid is returned.
+     *
+     * @return  the grid with the solution of the sudoku. If game is not started, an empty
+     *          grid is returned.
+     */
+    public int[][] getSolutionGrid()
+    {
+        return getSolution().toArray();
+    }
+
+    /**
+     * Returns the solution of the last grid generated by {@link #generateGrid()},
+     * without copying. If no grid is generated, the shared empty grid of
+     * the size is returned, see {@link Grid#empty(int)}.
+     *
+     * @return the grid with the solution of the sudoku, or the empty grid.
+     */
+    public Grid getSolution()
+    {
+        SudokuPuzzle puzzle = lastPuzzle;
+        if (puzzle == null)
+        {
+            return Grid.empty(boxSideLength);
+        }
+        else
+        {
+            return puzzle.getSolution();
+        }
+    }
+}
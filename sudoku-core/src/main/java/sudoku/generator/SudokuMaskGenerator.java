@@ -0,0 +1,361 @@
+package sudoku.generator;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates a N x N grid, divided in N boxes, with a number of ones
+ * and the rest of the grid zeros. Every box has at least one element
+ * set to one and the other ones are set in randomly chosen boxes.
+ *
+ * <p>
+ * The default grid is a 4 x 4 grid, divided in four 2 x 2 boxes, with
+ * six ones.
+ * </p>
+ *
+ * <p>
+ * The mask does not depend on the solution, so the generated grid may
+ * have more than one solution. See {@link UniqueMaskGenerator} for masks
+ * that keep the solution unique, and {@link PatternMaskGenerator} for masks
+ * drawn from a table of patterns, optionally symmetric.
+ * </p>
+ *
+ * <p>
+ * The generator is thread-safe and each call returns a new grid. The full
+ * boxes skipped when the boxes of the start digits are chosen are recorded
+ * in the {@link GenerationMetrics} when they are enabled.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class SudokuMaskGenerator implements MaskGenerator
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfStartDigits;
+    private final int maxNumDigitsInRow;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for 4 x 4 grids with six start digits.
+     */
+    public SudokuMaskGenerator()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length
+     * and the default number of start digits for the size, three eighths of the
+     * cells in the grid.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     */
+    public SudokuMaskGenerator(int boxSideLength)
+    {
+        this(boxSideLength, defaultNumOfStartDigits(boxSideLength));
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length
+     * and the given number of start digits.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     * @param numOfStartDigits the number of elements to set to one, at least one for
+     *                         each box and at most all the cells in the grid.
+     */
+    public SudokuMaskGenerator(int boxSideLength, int numOfStartDigits)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        int gridSize = boxSideLength * boxSideLength;
+        if (numOfStartDigits < gridSize || numOfStartDigits > gridSize * gridSize)
+        {
+            throw new IllegalArgumentException("Number of start digits must be between " + gridSize
+                    + " and " + gridSize * gridSize + ": " + numOfStartDigits);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = gridSize;
+        this.numOfStartDigits = numOfStartDigits;
+        this.maxNumDigitsInRow = (numOfStartDigits + gridSize - 1) / gridSize;
+    }
+
+    /**
+     * Returns the default number of start digits for a grid with boxes of
+     * the given side length, which is six for a 4 x 4 grid.
+     *
+     * @param boxSideLength the side length of a box.
+     *
+     * @return the default number of start digits.
+     */
+    public static int defaultNumOfStartDigits(int boxSideLength)
+    {
+        int gridSize = boxSideLength * boxSideLength;
+
+        return gridSize * gridSize * 3 / 8;
+    }
+
+    @Override
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Generates a mask without looking at the solution grid.
+     *
+     * @param solutionGrid the grid with the sudoku solution, not used.
+     * @param random the random generator used to choose the positions.
+     *
+     * @return the grid.
+     */
+    @Override
+    public int[][] generateGrid(int[][] solutionGrid, Random random)
+    {
+        int[][] grid = new int[gridSize][gridSize];
+        generateMask(grid, random);
+
+        return grid;
+    }
+
+    /**
+     * Creates a new grid, using the random generator of the current thread.
+     *
+     * @return the grid.
+     */
+    public int[][] generateGrid()
+    {
+        return generateGrid(null, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Helper method to generate the grid. Sets a element to one in each
+     * box. Other elements are set in random boxes.
+     *
+     * @param grid the empty grid.
+     * @param random the random generator used to choose the positions.
+     */
+    private void generateMask(int[][] grid, Random random)
+    {
+        setOneElementRandomlyInEachBox(grid, random);
+        long numOfSkippedFullBoxes = setNumOfElementsInRandomBoxes(grid, numOfStartDigits - gridSize, random);
+
+        if (GenerationMetrics.isEnabled())
+        {
+            GenerationMetrics.recordMask(numOfSkippedFullBoxes);
+        }
+    }
+
+    /**
+     * Helper method to set a element to one in each box in the grid.
+     *
+     * @param grid the grid.
+     * @param random the random generator used to choose the positions.
+     */
+    private void setOneElementRandomlyInEachBox(int[][] grid, Random random)
+    {
+        for (int row = 0; row < gridSize; row += boxSideLength)
+        {
+            for (int col = 0; col < gridSize; col += boxSideLength)
+            {
+                if (!setOneElementRandomlyInOneBox(grid, row, col, random))
+                {
+                    throw new IllegalStateException("No position left in the box at row " + row
+                            + ", column " + col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method to set a element to one in a random position in the box
+     * among the positions which are available (set to zero) in rows that
+     * have room for one more element set to one.
+     *
+     * @param grid the grid.
+     * @param row a row position in the box.
+     * @param col a column position in the box.
+     * @param random the random generator used to choose the position.
+     *
+     * @return <code>true</code> if a element was set.
+     *         <code>false</code> Otherwise false, if the box has no available position.
+     */
+    private boolean setOneElementRandomlyInOneBox(int[][] grid, int row, int col, Random random)
+    {
+        int numOfAvailable = countAvailablePositionsInBox(grid, row, col);
+        if (numOfAvailable == 0)
+        {
+            return false;
+        }
+
+        int startRow = row / boxSideLength * boxSideLength;
+        int startCol = col / boxSideLength * boxSideLength;
+        int position = random.nextInt(numOfAvailable);
+
+        for (int boxRow = startRow; boxRow < startRow + boxSideLength; boxRow++)
+        {
+            if (isRowAvailable(grid, boxRow))
+            {
+                for (int boxCol = startCol; boxCol < startCol + boxSideLength; boxCol++)
+                {
+                    if (grid[boxRow][boxCol] == 0 && position-- == 0)
+                    {
+                        grid[boxRow][boxCol] = 1;
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Helper method to check if a row has less elements set to one
+     * than the maximum number of elements allowed in a row.
+     *
+     * @param grid the grid.
+     * @param row the row position in the grid.
+     *
+     * @return <code>true</code> if one more element can be set in the row.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean isRowAvailable(int[][] grid, int row)
+    {
+        boolean isRowAvailable = false;
+        int numOfDigits = 0;
+
+        for (int col = 0; col < gridSize; col++)
+        {
+            if (grid[row][col] == 1)
+            {
+                numOfDigits++;
+            }
+        }
+
+        if (numOfDigits < maxNumDigitsInRow)
+        {
+            isRowAvailable = true;
+        }
+
+        return isRowAvailable;
+    }
+
+    /**
+     * Helper method to count the positions in a box which are available
+     * to be set to one.
+     *
+     * @param grid the grid.
+     * @param row a row position in the box.
+     * @param col a column position in the box.
+     *
+     * @return the number of available positions in the box.
+     */
+    private int countAvailablePositionsInBox(int[][] grid, int row, int col)
+    {
+        int startRow = row / boxSideLength * boxSideLength;
+        int startCol = col / boxSideLength * boxSideLength;
+        int numOfAvailable = 0;
+
+        for (int boxRow = startRow; boxRow < startRow + boxSideLength; boxRow++)
+        {
+            if (isRowAvailable(grid, boxRow))
+            {
+                for (int boxCol = startCol; boxCol < startCol + boxSideLength; boxCol++)
+                {
+                    if (grid[boxRow][boxCol] == 0)
+                    {
+                        numOfAvailable++;
+                    }
+                }
+            }
+        }
+
+        return numOfAvailable;
+    }
+
+    /**
+     * Helper method to set elements in random boxes in the grid. Each element
+     * is set in a box chosen at random among the boxes with an available
+     * position.
+     *
+     * @param grid the grid.
+     * @param numberOfBits  the number of elements to set to one in random
+     *                      boxes in the grid.
+     * @param random the random generator used to choose the boxes.
+     *
+     * @return the number of full boxes which were skipped when the boxes
+     *         were chosen.
+     */
+    private long setNumOfElementsInRandomBoxes(int[][] grid, int numberOfBits, Random random)
+    {
+        int[] availableBoxes = new int[gridSize];
+        long numOfSkippedFullBoxes = 0;
+
+        for (int i = 0; i < numberOfBits; i++)
+        {
+            int numOfAvailableBoxes = 0;
+            for (int box = 0; box < gridSize; box++)
+            {
+                if (countAvailablePositionsInBox(grid, boxStartRow(box), boxStartCol(box)) > 0)
+                {
+                    availableBoxes[numOfAvailableBoxes++] = box;
+                }
+            }
+
+            if (numOfAvailableBoxes == 0)
+            {
+                throw new IllegalStateException("No position left for start digit " + (gridSize + i + 1));
+            }
+
+            numOfSkippedFullBoxes += gridSize - numOfAvailableBoxes;
+            int box = availableBoxes[random.nextInt(numOfAvailableBoxes)];
+            setOneElementRandomlyInOneBox(grid, boxStartRow(box), boxStartCol(box), random);
+        }
+
+        return numOfSkippedFullBoxes;
+    }
+
+    /**
+     * Helper method to get the first row of a box. The boxes are numbered
+     * from upper left to down right.
+     *
+     * @param box the index of the box.
+     *
+     * @return the first row of the box.
+     */
+    private int boxStartRow(int box)
+    {
+        return box / boxSideLength * boxSideLength;
+    }
+
+    /**
+     * Helper method to get the first column of a box. The boxes are numbered
+     * from upper left to down right.
+     *
+     * @param box the index of the box.
+     *
+     * @return the first column of the box.
+     */
+    private int boxStartCol(int box)
+    {
+        return box % boxSideLength * boxSideLength;
+    }
+}
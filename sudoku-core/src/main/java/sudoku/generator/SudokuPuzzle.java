@@ -0,0 +1,187 @@
+package sudoku.generator;
+
+/**
+ * An immutable sudoku puzzle: the grid to start the game with and the
+ * solution of the game.
+ *
+ * <p>
+ * The grids are kept as immutable {@link Grid}s, which could be read
+ * without copying through {@link #getStart()} and {@link #getSolution()}.
+ * The arrays of {@link #getStartGameGrid()} and {@link #getSolutionGrid()}
+ * are new copies, so a puzzle could be shared between threads and kept by
+ * callers without being changed by later generations.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class SudokuPuzzle
+{
+    private final int boxSideLength;
+    private final Grid startGrid;
+    private final Grid solutionGrid;
+
+    /**
+     * Constructor
+     *
+     * Creates a puzzle from copies of the grids.
+     *
+     * @param boxSideLength the side length of a box in the grids.
+     * @param startGameGrid the grid to start the game with, where zero is an empty cell.
+     * @param solutionGrid the grid with the solution of the game.
+     */
+    public SudokuPuzzle(int boxSideLength, int[][] startGameGrid, int[][] solutionGrid)
+    {
+        this(checkBoxSideLength(Grid.of(startGameGrid), boxSideLength), Grid.of(solutionGrid));
+    }
+
+    /**
+     * Constructor
+     *
+     * Creates a puzzle from two grids of the same size.
+     *
+     * @param startGrid the grid to start the game with, where zero is an empty cell.
+     * @param solutionGrid the grid with the solution of the game.
+     */
+    public SudokuPuzzle(Grid startGrid, Grid solutionGrid)
+    {
+        if (startGrid.getBoxSideLength() != solutionGrid.getBoxSideLength())
+        {
+            throw new IllegalArgumentException("Start and solution grids have different box side lengths: "
+                    + startGrid.getBoxSideLength() + " and " + solutionGrid.getBoxSideLength());
+        }
+
+        this.boxSideLength = startGrid.getBoxSideLength();
+        this.startGrid = startGrid;
+        this.solutionGrid = solutionGrid;
+    }
+
+    /**
+     * Returns the side length of a box in the grids.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Returns the side length of the grids.
+     *
+     * @return the number of rows and columns in the grids.
+     */
+    public int getGridSize()
+    {
+        return startGrid.getGridSize();
+    }
+
+    /**
+     * Returns the number in a cell of the grid to start the game with.
+     *
+     * @param row the row position in the grid.
+     * @param col the column position in the grid.
+     *
+     * @return the number, or zero if the cell is empty.
+     */
+    public int getStartNumber(int row, int col)
+    {
+        return startGrid.get(row, col);
+    }
+
+    /**
+     * Returns the number in a cell of the solution.
+     *
+     * @param row the row position in the grid.
+     * @param col the column position in the grid.
+     *
+     * @return the number.
+     */
+    public int getSolutionNumber(int row, int col)
+    {
+        return solutionGrid.get(row, col);
+    }
+
+    /**
+     * Returns the grid to start the game with, without copying.
+     *
+     * @return the grid, where zero is an empty cell.
+     */
+    public Grid getStart()
+    {
+        return startGrid;
+    }
+
+    /**
+     * Returns the grid with the solution of the game, without copying.
+     *
+     * @return the grid with the solution.
+     */
+    public Grid getSolution()
+    {
+        return solutionGrid;
+    }
+
+    /**
+     * Returns a copy of the grid to start the game with.
+     *
+     * @return the grid, where zero is an empty cell.
+     */
+    public int[][] getStartGameGrid()
+    {
+        return startGrid.toArray();
+    }
+
+    /**
+     * Returns a copy of the grid with the solution of the game.
+     *
+     * @return the grid with the solution.
+     */
+    public int[][] getSolutionGrid()
+    {
+        return solutionGrid.toArray();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+
+        if (!(obj instanceof SudokuPuzzle))
+        {
+            return false;
+        }
+
+        SudokuPuzzle other = (SudokuPuzzle) obj;
+
+        return startGrid.equals(other.startGrid) && solutionGrid.equals(other.solutionGrid);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * startGrid.hashCode() + solutionGrid.hashCode();
+    }
+
+    /**
+     * Helper method to check that a grid has the given box side length.
+     *
+     * @param grid the grid.
+     * @param boxSideLength the expected box side length.
+     *
+     * @return the grid.
+     */
+    private static Grid checkBoxSideLength(Grid grid, int boxSideLength)
+    {
+        if (grid.getBoxSideLength() != boxSideLength)
+        {
+            int gridSize = boxSideLength * boxSideLength;
+            throw new IllegalArgumentException("Grid must have " + gridSize + " rows: " + grid.getGridSize());
+        }
+
+        return grid;
+    }
+}
@@ -0,0 +1,542 @@
+package sudoku.generator;
+
+/**
+ * Counts the solutions of a sudoku grid, up to a limit. A grid is a
+ * proper sudoku if it has exactly one solution, which is checked by
+ * counting to two and stopping as soon as a second solution is found.
+ *
+ * <p>
+ * The counter fills the empty cells by constraint propagation before
+ * guessing. A cell with one valid number left (naked single) and a number
+ * with one position left in a row, column or box (hidden single) are set
+ * directly. When nothing more could be set, the empty cell with the fewest
+ * valid numbers is tried with each of them (minimum remaining values).
+ * </p>
+ *
+ * <p>
+ * The valid numbers are kept as bitmasks in the same way as in
+ * {@link SudokuSolutionGenerator}.
+ * </p>
+ *
+ * <p>
+ * The first solution found by a count is kept, see {@link #getFirstSolution()}.
+ * </p>
+ *
+ * <p>
+ * The counter reuses its arrays between calls and is not thread-safe.
+ * Each thread must use its own counter.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class SudokuSolutionCounter
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final int NUM_OF_UNIT_KINDS = 3;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfCells;
+    private final int allNumbersMask;
+    private final int[] cellRow;
+    private final int[] cellCol;
+    private final int[] cellBox;
+    private final int[][] unitCells;
+
+    private int[] cells;
+    private int[] rowMasks;
+    private int[] colMasks;
+    private int[] boxMasks;
+    private int[] trail;
+    private int trailSize;
+    private int[] firstSolution;
+    private boolean hasFirstSolution;
+    private int excludedCell;
+    private int excludedBit;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a counter for 4 x 4 grids.
+     */
+    public SudokuSolutionCounter()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a counter for grids with boxes of the given side length.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     */
+    public SudokuSolutionCounter(int boxSideLength)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.numOfCells = gridSize * gridSize;
+        this.allNumbersMask = (1 << gridSize) - 1;
+
+        cellRow = new int[numOfCells];
+        cellCol = new int[numOfCells];
+        cellBox = new int[numOfCells];
+        unitCells = new int[NUM_OF_UNIT_KINDS * gridSize][gridSize];
+        setupUnits();
+
+        cells = new int[numOfCells];
+        rowMasks = new int[gridSize];
+        colMasks = new int[gridSize];
+        boxMasks = new int[gridSize];
+        trail = new int[numOfCells];
+        firstSolution = new int[numOfCells];
+    }
+
+    /**
+     * Returns the side length of a box in the grids.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Checks if a grid has exactly one solution.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     *
+     * @return <code>true</code> if the grid has one solution.
+     *         <code>false</code> Otherwise false.
+     */
+    public boolean hasUniqueSolution(int[][] grid)
+    {
+        return countSolutions(grid, 2) == 1;
+    }
+
+    /**
+     * Counts the solutions of a grid. The counting stops when the limit
+     * is reached.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     * @param limit the maximum number of solutions to count, at least one.
+     *
+     * @return the number of solutions, at most the limit. Zero if the grid
+     *         has no solution or the numbers in the grid break the rules.
+     */
+    public int countSolutions(int[][] grid, int limit)
+    {
+        if (limit < 1)
+        {
+            throw new IllegalArgumentException("Limit must be at least one: " + limit);
+        }
+
+        excludedCell = -1;
+        hasFirstSolution = false;
+        if (!loadGrid(grid))
+        {
+            return 0;
+        }
+
+        return search(limit);
+    }
+
+    /**
+     * Returns the first solution found by the last call to
+     * {@link #countSolutions(int[][], int)} or {@link #hasUniqueSolution(int[][])}.
+     *
+     * @return a new grid with the solution, or <code>null</code> if no
+     *         solution was found.
+     */
+    public int[][] getFirstSolution()
+    {
+        if (!hasFirstSolution)
+        {
+            return null;
+        }
+
+        int[][] solutionGrid = new int[gridSize][gridSize];
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            solutionGrid[cellRow[cell]][cellCol[cell]] = firstSolution[cell];
+        }
+
+        return solutionGrid;
+    }
+
+    /**
+     * Checks if an empty cell in a grid could be set to another number than
+     * the given number in a solution of the grid.
+     *
+     * <p>
+     * If a grid has a solution with the given number in the cell, the grid
+     * has exactly one solution if and only if this method returns false.
+     * This is quicker than counting to two, since the search never visits
+     * the known solution.
+     * </p>
+     *
+     * @param grid the grid, where zero is an empty cell.
+     * @param row the row position of the empty cell.
+     * @param col the column position of the empty cell.
+     * @param number the number which is not allowed in the cell.
+     *
+     * @return <code>true</code> if a solution with another number in the cell
+     *         exists. <code>false</code> Otherwise false.
+     */
+    public boolean hasSolutionWithOtherNumber(int[][] grid, int row, int col, int number)
+    {
+        excludedCell = row * gridSize + col;
+        excludedBit = numberBit(number);
+        hasFirstSolution = false;
+        boolean hasSolution = loadGrid(grid) && search(1) > 0;
+        excludedCell = -1;
+
+        return hasSolution;
+    }
+
+    /**
+     * Helper method to set up the position of every cell in its row, column
+     * and box, and the cells in every unit. The rows are the first units,
+     * then the columns and then the boxes.
+     */
+    private void setupUnits()
+    {
+        int[] numOfCellsInUnit = new int[NUM_OF_UNIT_KINDS * gridSize];
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            int row = cell / gridSize;
+            int col = cell % gridSize;
+            int box = row / boxSideLength * boxSideLength + col / boxSideLength;
+
+            cellRow[cell] = row;
+            cellCol[cell] = col;
+            cellBox[cell] = box;
+
+            int[] units = { row, gridSize + col, 2 * gridSize + box };
+            for (int unit : units)
+            {
+                unitCells[unit][numOfCellsInUnit[unit]++] = cell;
+            }
+        }
+    }
+
+    /**
+     * Helper method to copy a grid into the counter and set up the row,
+     * column and box masks.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     *
+     * @return <code>true</code> if the numbers in the grid follow the rules.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean loadGrid(int[][] grid)
+    {
+        if (grid.length != gridSize)
+        {
+            throw new IllegalArgumentException("Grid must have " + gridSize + " rows: " + grid.length);
+        }
+
+        for (int[] row : grid)
+        {
+            if (row.length != gridSize)
+            {
+                throw new IllegalArgumentException("Grid must have " + gridSize + " columns: " + row.length);
+            }
+        }
+
+        for (int unit = 0; unit < gridSize; unit++)
+        {
+            rowMasks[unit] = 0;
+            colMasks[unit] = 0;
+            boxMasks[unit] = 0;
+        }
+        trailSize = 0;
+
+        boolean isValid = true;
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            int number = grid[cellRow[cell]][cellCol[cell]];
+            cells[cell] = 0;
+
+            if (number != 0)
+            {
+                if (number < 0 || number > gridSize || (candidates(cell) & numberBit(number)) == 0)
+                {
+                    isValid = false;
+                }
+                else
+                {
+                    setNumber(cell, number);
+                }
+            }
+        }
+
+        trailSize = 0;
+
+        return isValid;
+    }
+
+    /**
+     * Recursive helper method to count the solutions from the current state.
+     * The numbers that are given by constraint propagation are set first. If
+     * the grid is not full after that, each valid number of the empty cell with
+     * the fewest valid numbers is tested in turn. All numbers set by the call
+     * are erased before it returns.
+     *
+     * @param limit the maximum number of solutions to count.
+     *
+     * @return the number of solutions, at most the limit.
+     */
+    private int search(int limit)
+    {
+        int mark = trailSize;
+        int numOfSolutions = 0;
+
+        if (propagate())
+        {
+            int cell = findMostConstrainedEmptyCell();
+            if (cell < 0)
+            {
+                numOfSolutions = 1;
+                if (!hasFirstSolution)
+                {
+                    System.arraycopy(cells, 0, firstSolution, 0, numOfCells);
+                    hasFirstSolution = true;
+                }
+            }
+            else
+            {
+                int candidates = candidates(cell);
+                while (candidates != 0 && numOfSolutions < limit)
+                {
+                    int bit = Integer.lowestOneBit(candidates);
+                    candidates &= ~bit;
+
+                    int guessMark = trailSize;
+                    setNumber(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                    numOfSolutions += search(limit - numOfSolutions);
+                    undo(guessMark);
+                }
+            }
+        }
+
+        undo(mark);
+
+        return numOfSolutions;
+    }
+
+    /**
+     * Helper method to set all naked and hidden singles until no more
+     * numbers could be set.
+     *
+     * @return <code>false</code> if a cell has no valid number or a number has
+     *         no position left in a unit. <code>true</code> Otherwise true.
+     */
+    private boolean propagate()
+    {
+        boolean isChanged = true;
+
+        while (isChanged)
+        {
+            isChanged = false;
+
+            for (int cell = 0; cell < numOfCells; cell++)
+            {
+                if (cells[cell] == 0)
+                {
+                    int candidates = candidates(cell);
+                    if (candidates == 0)
+                    {
+                        return false;
+                    }
+
+                    if ((candidates & (candidates - 1)) == 0)
+                    {
+                        setNumber(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+                        isChanged = true;
+                    }
+                }
+            }
+
+            for (int unit = 0; unit < unitCells.length; unit++)
+            {
+                int result = setHiddenSinglesInUnit(unitCells[unit]);
+                if (result < 0)
+                {
+                    return false;
+                }
+
+                isChanged |= result > 0;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Helper method to set the numbers which have only one position left in
+     * a unit. The numbers that occur once and more than once among the valid
+     * numbers of the empty cells are collected as bitmasks in one pass.
+     *
+     * @param unit the cells in the unit.
+     *
+     * @return the number of numbers set, or <code>-1</code> if a number
+     *         missing in the unit has no position left.
+     */
+    private int setHiddenSinglesInUnit(int[] unit)
+    {
+        int usedNumbers = 0;
+        int atLeastOnce = 0;
+        int moreThanOnce = 0;
+
+        for (int cell : unit)
+        {
+            if (cells[cell] != 0)
+            {
+                usedNumbers |= numberBit(cells[cell]);
+            }
+            else
+            {
+                int candidates = candidates(cell);
+                moreThanOnce |= atLeastOnce & candidates;
+                atLeastOnce |= candidates;
+            }
+        }
+
+        if ((atLeastOnce | usedNumbers) != allNumbersMask)
+        {
+            return -1;
+        }
+
+        int hiddenSingles = atLeastOnce & ~moreThanOnce & ~usedNumbers;
+        int numOfSet = 0;
+        while (hiddenSingles != 0)
+        {
+            int bit = Integer.lowestOneBit(hiddenSingles);
+            hiddenSingles &= ~bit;
+
+            for (int cell : unit)
+            {
+                if (cells[cell] == 0 && (candidates(cell) & bit) != 0)
+                {
+                    setNumber(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                    numOfSet++;
+                    break;
+                }
+            }
+        }
+
+        return numOfSet;
+    }
+
+    /**
+     * Helper method to find the empty cell with the fewest valid numbers.
+     *
+     * @return the cell, or <code>-1</code> if the grid is full.
+     */
+    private int findMostConstrainedEmptyCell()
+    {
+        int bestCell = -1;
+        int bestNumOfCandidates = Integer.MAX_VALUE;
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            if (cells[cell] == 0)
+            {
+                int numOfCandidates = Integer.bitCount(candidates(cell));
+                if (numOfCandidates < bestNumOfCandidates)
+                {
+                    bestCell = cell;
+                    bestNumOfCandidates = numOfCandidates;
+                    if (numOfCandidates <= 2)
+                    {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return bestCell;
+    }
+
+    /**
+     * Helper method to get the valid numbers of a cell as a bitmask.
+     *
+     * @param cell the cell.
+     *
+     * @return the bitmask with the valid numbers, without the excluded number
+     *         if the cell is the excluded cell.
+     */
+    private int candidates(int cell)
+    {
+        int candidates = ~(rowMasks[cellRow[cell]] | colMasks[cellCol[cell]] | boxMasks[cellBox[cell]])
+                & allNumbersMask;
+        if (cell == excludedCell)
+        {
+            candidates &= ~excludedBit;
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Helper method to set a number in a cell and remember the cell so it
+     * could be erased by {@link #undo(int)}.
+     *
+     * @param cell the cell.
+     * @param number the number.
+     */
+    private void setNumber(int cell, int number)
+    {
+        int bit = numberBit(number);
+
+        cells[cell] = number;
+        rowMasks[cellRow[cell]] |= bit;
+        colMasks[cellCol[cell]] |= bit;
+        boxMasks[cellBox[cell]] |= bit;
+        trail[trailSize++] = cell;
+    }
+
+    /**
+     * Helper method to erase the numbers set after a mark in the trail.
+     *
+     * @param mark the trail size to return to.
+     */
+    private void undo(int mark)
+    {
+        while (trailSize > mark)
+        {
+            int cell = trail[--trailSize];
+            int bit = ~numberBit(cells[cell]);
+
+            rowMasks[cellRow[cell]] &= bit;
+            colMasks[cellCol[cell]] &= bit;
+            boxMasks[cellBox[cell]] &= bit;
+            cells[cell] = 0;
+        }
+    }
+
+    /**
+     * Helper method to get the bit representing a number in the masks.
+     *
+     * @param number the number, from one to the grid side length.
+     *
+     * @return the bit for the number.
+     */
+    private static int numberBit(int number)
+    {
+        return 1 << (number - 1);
+    }
+}
@@ -0,0 +1,556 @@
+package sudoku.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates a N x N grid with a sudoku solution, where N is the square
+ * of the box side length (4 x 4, 9 x 9, 16 x 16 or 25 x 25).
+ *
+ * <p>
+ * The numbers used in each row, column and box are kept as bitmasks, where
+ * bit <code>number - 1</code> is set if the number is used in the unit. A
+ * number is valid in a cell if its bit is not set in the union of the masks
+ * for the cell's row, column and box.
+ * </p>
+ *
+ * <p>
+ * The search keeps its own stack of the cells set so far, so the depth of
+ * the search is not limited by the thread stack. If a search backtracks
+ * more than a cutoff, it starts over from an empty grid with new random
+ * choices. The cutoffs follow the Luby sequence (1, 1, 2, 1, 1, 2, 4, ...)
+ * times {@value #RESTART_UNIT} backtracks, which cuts off the rare searches
+ * that get lost deep in the tree without giving up on hard ones. The search
+ * stops with a {@link GenerationCancelledException} if the thread is
+ * interrupted or the time budget runs out.
+ * </p>
+ *
+ * <p>
+ * The backtracks, restarts and deepest dead end of each grid are recorded
+ * in the {@link GenerationMetrics} when they are enabled.
+ * </p>
+ *
+ * <p>
+ * The generator is thread-safe. The grid and the masks belong to the
+ * search of one call, and each call returns a new grid.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class SudokuSolutionGenerator implements SolutionGenerator
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final int RESTART_UNIT = 256;
+    private static final int STEPS_BETWEEN_CANCEL_CHECKS = 1024;
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final long timeBudgetMillis;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for 4 x 4 grids.
+     */
+    public SudokuSolutionGenerator()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length.
+     * The side length of the grid is the square of the box side length.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     */
+    public SudokuSolutionGenerator(int boxSideLength)
+    {
+        this(boxSideLength, 0);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length,
+     * which gives up on a grid when the time budget has run out.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     * @param timeBudgetMillis the time budget for one grid in milliseconds, or zero
+     *                         for no time budget.
+     */
+    public SudokuSolutionGenerator(int boxSideLength, long timeBudgetMillis)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        if (timeBudgetMillis < 0)
+        {
+            throw new IllegalArgumentException("Time budget must not be negative: " + timeBudgetMillis);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    @Override
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Generates a new grid with a sudoku solution, within the time budget
+     * of the generator.
+     *
+     * @param random the random generator used to choose the numbers.
+     *
+     * @return the grid with a sudoku solution.
+     *
+     * @throws GenerationCancelledException if the thread is interrupted or
+     *         the time budget runs out.
+     */
+    @Override
+    public int[][] generateGrid(Random random)
+    {
+        if (timeBudgetMillis == 0)
+        {
+            return generateGrid(random, false, 0);
+        }
+
+        return generateGrid(random, true, System.nanoTime() + timeBudgetMillis * NANOS_PER_MILLI);
+    }
+
+    /**
+     * Generates a new grid with a sudoku solution before a deadline.
+     *
+     * @param random the random generator used to choose the numbers.
+     * @param deadlineNanos the deadline, as a value of {@link System#nanoTime()}.
+     *
+     * @return the grid with a sudoku solution.
+     *
+     * @throws GenerationCancelledException if the thread is interrupted or
+     *         the deadline has passed.
+     */
+    public int[][] generateGrid(Random random, long deadlineNanos)
+    {
+        return generateGrid(random, true, deadlineNanos);
+    }
+
+    /**
+     * Helper method to generate a grid, restarting the search each time it
+     * backtracks more than the next cutoff in the Luby sequence.
+     *
+     * @param random the random generator used to choose the numbers.
+     * @param hasDeadline <code>true</code> if the deadline should be checked.
+     * @param deadlineNanos the deadline, as a value of {@link System#nanoTime()}.
+     *
+     * @return the grid with a sudoku solution.
+     */
+    private int[][] generateGrid(Random random, boolean hasDeadline, long deadlineNanos)
+    {
+        Search search = new Search(random, hasDeadline, deadlineNanos);
+
+        int restart = 1;
+        while (!search.generateSolution((long) RESTART_UNIT * luby(restart)))
+        {
+            search.clear();
+            restart++;
+        }
+
+        if (GenerationMetrics.isEnabled())
+        {
+            GenerationMetrics.recordSolution(search.totalNumOfBacktracks, restart - 1, search.maxDeadEndDepth);
+        }
+
+        return search.grid;
+    }
+
+    /**
+     * Helper method to get a term of the Luby sequence, 1, 1, 2, 1, 1, 2, 4,
+     * 1, 1, 2, 1, 1, 2, 4, 8, ... If the index is <code>2^k - 1</code> the term
+     * is <code>2^(k-1)</code>, otherwise the sequence repeats from the start
+     * after the last such index.
+     *
+     * @param index the index of the term, from one.
+     *
+     * @return the term.
+     */
+    static long luby(int index)
+    {
+        int k = 1;
+        while ((1L << k) - 1 < index)
+        {
+            k++;
+        }
+
+        while (index != (1L << k) - 1)
+        {
+            index -= (1 << (k - 1)) - 1;
+            k = 1;
+            while ((1L << k) - 1 < index)
+            {
+                k++;
+            }
+        }
+
+        return 1L << (k - 1);
+    }
+
+    /**
+     * Helper method to get the index of the box a cell belongs to. The boxes
+     * are numbered from upper left to down right.
+     *
+     * @param row the row position in the grid.
+     * @param col the column position in the grid.
+     *
+     * @return the index of the box.
+     */
+    private int boxIndex(int row, int col)
+    {
+        return row / boxSideLength * boxSideLength + col / boxSideLength;
+    }
+
+    /**
+     * Helper method to get the bit representing a number in the row, column
+     * and box masks.
+     *
+     * @param number the number, from one to the grid side length.
+     *
+     * @return the bit for the number.
+     */
+    private static int numberBit(int number)
+    {
+        return 1 << (number - 1);
+    }
+
+    /**
+     * Helper method to get the mask with the bits set for all the numbers
+     * from one to the grid side length.
+     *
+     * @return the mask with all numbers set.
+     */
+    private int allNumbersMask()
+    {
+        return (1 << gridSize) - 1;
+    }
+
+    /**
+     * The state of the search for one solution: the grid being filled, the
+     * row, column and box masks of the grid, the stack of the cells set and
+     * their numbers left to test, and the random generator.
+     */
+    private final class Search
+    {
+        private final int[][] grid;
+        private final int[] rowMasks;
+        private final int[] colMasks;
+        private final int[] boxMasks;
+        private final int[] rowCandidates;
+        private final int[] colCandidates;
+        private final int[] boxCandidates;
+        private final int[] stackCells;
+        private final int[] stackCandidates;
+        private final Random random;
+        private final boolean hasDeadline;
+        private final long deadlineNanos;
+        private int numOfSteps;
+        private long totalNumOfBacktracks;
+        private int maxDeadEndDepth;
+
+        /**
+         * Constructor
+         *
+         * Instantiates an empty grid, empty masks and an empty stack.
+         *
+         * @param random the random generator used to choose the numbers.
+         * @param hasDeadline <code>true</code> if the deadline should be checked.
+         * @param deadlineNanos the deadline, as a value of {@link System#nanoTime()}.
+         */
+        private Search(Random random, boolean hasDeadline, long deadlineNanos)
+        {
+            this.grid = new int[gridSize][gridSize];
+            this.rowMasks = new int[gridSize];
+            this.colMasks = new int[gridSize];
+            this.boxMasks = new int[gridSize];
+            this.rowCandidates = new int[gridSize];
+            this.colCandidates = new int[gridSize];
+            this.boxCandidates = new int[gridSize];
+            this.stackCells = new int[gridSize * gridSize];
+            this.stackCandidates = new int[gridSize * gridSize];
+            this.random = random;
+            this.hasDeadline = hasDeadline;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Helper method to generate a sudoku solution using the sudoku
+         * backtracking algorithm. According to the sudoku rules, a number can only
+         * exist once in a box, in a row and in a column.
+         *
+         * <p>
+         * The next position to set is the empty cell with the fewest valid numbers
+         * left, so a dead end is found as early as possible. The position and its
+         * valid numbers are pushed on the stack, and the numbers are tested in random
+         * order. If none of the numbers leads to a solution, the position is popped
+         * and the number in the previous position is erased, so a new number can be
+         * tested there (backtracking). The algorithm continues until all numbers are
+         * set, or until it has backtracked more than the cutoff.
+         * </p>
+         *
+         * @param maxNumOfBacktracks the cutoff for the number of backtracks.
+         *
+         * @return <code>true</code> if all numbers are set.
+         *         <code>false</code> Otherwise false, and the grid must be cleared
+         *         before the next search.
+         */
+        private boolean generateSolution(long maxNumOfBacktracks)
+        {
+            throwIfCancelled();
+
+            int numOfCells = gridSize * gridSize;
+            long numOfBacktracks = 0;
+            int depth = 0;
+            boolean isDeadEnd = !pushMostConstrainedEmptyCell(depth);
+
+            while (true)
+            {
+                checkCancelled();
+
+                if (isDeadEnd)
+                {
+                    numOfBacktracks++;
+                    maxDeadEndDepth = Math.max(maxDeadEndDepth, depth);
+                    depth--;
+                    if (numOfBacktracks > maxNumOfBacktracks || depth < 0)
+                    {
+                        totalNumOfBacktracks += numOfBacktracks;
+                        return false;
+                    }
+
+                    eraseNumber(stackCells[depth]);
+                }
+
+                int candidates = stackCandidates[depth];
+                if (candidates == 0)
+                {
+                    isDeadEnd = true;
+                    continue;
+                }
+
+                int bit = randomBit(candidates);
+                stackCandidates[depth] = candidates & ~bit;
+                setNumber(stackCells[depth], bit);
+
+                depth++;
+                if (depth == numOfCells)
+                {
+                    totalNumOfBacktracks += numOfBacktracks;
+                    return true;
+                }
+
+                isDeadEnd = !pushMostConstrainedEmptyCell(depth);
+            }
+        }
+
+        /**
+         * Helper method to empty the grid and the masks before a new search.
+         */
+        private void clear()
+        {
+            for (int unit = 0; unit < gridSize; unit++)
+            {
+                Arrays.fill(grid[unit], 0);
+                rowMasks[unit] = 0;
+                colMasks[unit] = 0;
+                boxMasks[unit] = 0;
+            }
+        }
+
+        /**
+         * Helper method to stop the search if the thread is interrupted or the
+         * deadline has passed. The check is only done every
+         * {@value SudokuSolutionGenerator#STEPS_BETWEEN_CANCEL_CHECKS} steps.
+         */
+        private void checkCancelled()
+        {
+            if (++numOfSteps >= STEPS_BETWEEN_CANCEL_CHECKS)
+            {
+                numOfSteps = 0;
+                throwIfCancelled();
+            }
+        }
+
+        /**
+         * Helper method to stop the search if the thread is interrupted or the
+         * deadline has passed.
+         */
+        private void throwIfCancelled()
+        {
+            if (Thread.currentThread().isInterrupted())
+            {
+                throw new GenerationCancelledException("Generation of the grid was interrupted");
+            }
+
+            if (hasDeadline && System.nanoTime() - deadlineNanos > 0)
+            {
+                throw new GenerationCancelledException("Generation of the grid ran out of time");
+            }
+        }
+
+        /**
+         * Helper method to push the empty cell with the fewest valid numbers on
+         * the stack, together with its valid numbers.
+         *
+         * @param depth the position on the stack.
+         *
+         * @return <code>true</code> if a cell was pushed.
+         *         <code>false</code> Otherwise false, if the grid can not be solved.
+         */
+        private boolean pushMostConstrainedEmptyCell(int depth)
+        {
+            int cell = findMostConstrainedEmptyCell();
+            if (cell < 0)
+            {
+                return false;
+            }
+
+            int row = cell / gridSize;
+            int col = cell % gridSize;
+            stackCells[depth] = cell;
+            stackCandidates[depth] = ~(rowMasks[row] | colMasks[col] | boxMasks[boxIndex(row, col)])
+                    & allNumbersMask();
+
+            return true;
+        }
+
+        /**
+         * Helper method to find the empty cell with the fewest valid numbers.
+         *
+         * <p>
+         * The valid numbers of the empty cells in each row, column and box are
+         * collected at the same time. If a cell has no valid number, or a number
+         * missing in a row, column or box has no empty cell left to be set in,
+         * the grid can not be solved from here and no cell is returned.
+         * </p>
+         *
+         * @return the position of the cell, as <code>row * grid side length + column</code>,
+         *         or <code>-1</code> if the grid can not be solved.
+         */
+        private int findMostConstrainedEmptyCell()
+        {
+            int bestCell = -1;
+            int bestNumOfCandidates = Integer.MAX_VALUE;
+
+            for (int unit = 0; unit < gridSize; unit++)
+            {
+                rowCandidates[unit] = 0;
+                colCandidates[unit] = 0;
+                boxCandidates[unit] = 0;
+            }
+
+            for (int row = 0; row < gridSize; row++)
+            {
+                for (int col = 0; col < gridSize; col++)
+                {
+                    if (grid[row][col] == 0)
+                    {
+                        int box = boxIndex(row, col);
+                        int candidates = ~(rowMasks[row] | colMasks[col] | boxMasks[box]) & allNumbersMask();
+                        int numOfCandidates = Integer.bitCount(candidates);
+                        if (numOfCandidates == 0)
+                        {
+                            return -1;
+                        }
+
+                        rowCandidates[row] |= candidates;
+                        colCandidates[col] |= candidates;
+                        boxCandidates[box] |= candidates;
+
+                        if (numOfCandidates < bestNumOfCandidates)
+                        {
+                            bestCell = row * gridSize + col;
+                            bestNumOfCandidates = numOfCandidates;
+                        }
+                    }
+                }
+            }
+
+            for (int unit = 0; unit < gridSize; unit++)
+            {
+                if ((rowCandidates[unit] | rowMasks[unit]) != allNumbersMask()
+                        || (colCandidates[unit] | colMasks[unit]) != allNumbersMask()
+                        || (boxCandidates[unit] | boxMasks[unit]) != allNumbersMask())
+                {
+                    return -1;
+                }
+            }
+
+            return bestCell;
+        }
+
+        /**
+         * Helper method to choose one of the numbers in a bitmask at random.
+         *
+         * @param candidates the bitmask with the numbers, not empty.
+         *
+         * @return the bit of the chosen number.
+         */
+        private int randomBit(int candidates)
+        {
+            int skip = random.nextInt(Integer.bitCount(candidates));
+            for (int i = 0; i < skip; i++)
+            {
+                candidates &= candidates - 1;
+            }
+
+            return Integer.lowestOneBit(candidates);
+        }
+
+        /**
+         * Helper method to set a number in a cell in the grid and in the masks.
+         *
+         * @param cell the position of the cell, as <code>row * grid side length + column</code>.
+         * @param bit the bit of the number to be set.
+         */
+        private void setNumber(int cell, int bit)
+        {
+            int row = cell / gridSize;
+            int col = cell % gridSize;
+
+            grid[row][col] = Integer.numberOfTrailingZeros(bit) + 1;
+            rowMasks[row] |= bit;
+            colMasks[col] |= bit;
+            boxMasks[boxIndex(row, col)] |= bit;
+        }
+
+        /**
+         * Helper method to erase the number in a cell in the grid and in the
+         * masks (backtracking), so the cell can be tested with another number.
+         *
+         * @param cell the position of the cell, as <code>row * grid side length + column</code>.
+         */
+        private void eraseNumber(int cell)
+        {
+            int row = cell / gridSize;
+            int col = cell % gridSize;
+            int bit = ~numberBit(grid[row][col]);
+
+            grid[row][col] = 0;
+            rowMasks[row] &= bit;
+            colMasks[col] &= bit;
+            boxMasks[boxIndex(row, col)] &= bit;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package sudoku.generator;
+
+/**
+ * Solves a partially filled grid and tells if the grid has one, none or
+ * several solutions.
+ *
+ * <p>
+ * The solver counts the solutions to two with a
+ * {@link SudokuSolutionCounter} and keeps the first solution found. A grid
+ * which breaks the rules of the game, for example the same number twice in
+ * a row, has no solution.
+ * </p>
+ *
+ * <p>
+ * The solver is not thread-safe. Each thread must use its own solver.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class SudokuSolver
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int SOLUTION_LIMIT = 2;
+
+    private final SudokuSolutionCounter solutionCounter;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a solver for grids with the default box side length.
+     */
+    public SudokuSolver()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a solver for grids with the given box side length.
+     *
+     * @param boxSideLength the side length of a box.
+     */
+    public SudokuSolver(int boxSideLength)
+    {
+        solutionCounter = new SudokuSolutionCounter(boxSideLength);
+    }
+
+    /**
+     * Returns the box side length of the grids the solver solves.
+     *
+     * @return the box side length.
+     */
+    public int getBoxSideLength()
+    {
+        return solutionCounter.getBoxSideLength();
+    }
+
+    /**
+     * Solves a grid.
+     *
+     * @param grid the grid, where zero is an empty cell. The grid is not
+     *            changed.
+     *
+     * @return the status of the grid and a solution if there is one.
+     *
+     * @throws IllegalArgumentException if the grid does not have the size of
+     *             the solver in every row and column.
+     */
+    public SolveResult solve(int[][] grid)
+    {
+        int numOfSolutions = solutionCounter.countSolutions(grid, SOLUTION_LIMIT);
+        if (numOfSolutions == 0)
+        {
+            return new SolveResult(SolveStatus.UNSOLVABLE, null);
+        }
+        else if (numOfSolutions == 1)
+        {
+            return new SolveResult(SolveStatus.SOLVED, solutionCounter.getFirstSolution());
+        }
+        else
+        {
+            return new SolveResult(SolveStatus.MULTIPLE_SOLUTIONS, solutionCounter.getFirstSolution());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package sudoku.generator;
+
+import java.util.Random;
+
+/**
+ * A transform of a sudoku grid which keeps a valid grid valid: a
+ * relabeling of the numbers, a permutation of the rows which swaps
+ * bands and rows within a band, a permutation of the columns which
+ * swaps stacks and columns within a stack, and a transposition.
+ *
+ * <p>
+ * The transform is applied as transposition first, then the row and
+ * column permutations and last the relabeling of the numbers. Zero
+ * is always kept as zero, so a transform could be applied to a start
+ * grid with empty cells as well as to a solution.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class SudokuTransform
+{
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int[] numberMap;
+    private final int[] rowSources;
+    private final int[] colSources;
+    private final boolean isTransposed;
+
+    /**
+     * Constructor
+     *
+     * Creates a transform from copies of the maps.
+     *
+     * @param boxSideLength the side length of a box.
+     * @param numberMap the new number of each number, indexed from zero, where zero maps to zero.
+     * @param rowSources the row of the source grid to take each row from.
+     * @param colSources the column of the source grid to take each column from.
+     * @param isTransposed <code>true</code> if the source grid is transposed first.
+     */
+    public SudokuTransform(int boxSideLength, int[] numberMap, int[] rowSources, int[] colSources,
+            boolean isTransposed)
+    {
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.numberMap = numberMap.clone();
+        this.rowSources = rowSources.clone();
+        this.colSources = colSources.clone();
+        this.isTransposed = isTransposed;
+
+        if (this.numberMap.length != gridSize + 1 || this.numberMap[0] != 0
+                || this.rowSources.length != gridSize || this.colSources.length != gridSize)
+        {
+            throw new IllegalArgumentException("Maps do not match box side length " + boxSideLength);
+        }
+    }
+
+    /**
+     * Creates a random transform, where every relabeling, band and stack
+     * permutation, row and column permutation within the bands and stacks
+     * and transposition is equally likely.
+     *
+     * @param boxSideLength the side length of a box.
+     * @param random the random generator.
+     *
+     * @return the transform.
+     */
+    public static SudokuTransform random(int boxSideLength, Random random)
+    {
+        int gridSize = boxSideLength * boxSideLength;
+
+        int[] numberMap = new int[gridSize + 1];
+        int[] numbers = randomPermutation(gridSize, random);
+        for (int number = 1; number <= gridSize; number++)
+        {
+            numberMap[number] = numbers[number - 1] + 1;
+        }
+
+        return new SudokuTransform(boxSideLength, numberMap, randomLinePermutation(boxSideLength, random),
+                randomLinePermutation(boxSideLength, random), random.nextBoolean());
+    }
+
+    /**
+     * Returns the side length of a box.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Applies the transform to a grid.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     *
+     * @return a new transformed grid.
+     */
+    public int[][] apply(int[][] grid)
+    {
+        int[][] transformedGrid = new int[gridSize][gridSize];
+
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int col = 0; col < gridSize; col++)
+            {
+                int sourceRow = rowSources[row];
+                int sourceCol = colSources[col];
+                int number = isTransposed ? grid[sourceCol][sourceRow] : grid[sourceRow][sourceCol];
+
+                transformedGrid[row][col] = numberMap[number];
+            }
+        }
+
+        return transformedGrid;
+    }
+
+    /**
+     * Applies the transform to a puzzle, both the start grid and the solution.
+     *
+     * @param puzzle the puzzle.
+     *
+     * @return the transformed puzzle.
+     */
+    public SudokuPuzzle apply(SudokuPuzzle puzzle)
+    {
+        return new SudokuPuzzle(boxSideLength, apply(puzzle.getStartGameGrid()), apply(puzzle.getSolutionGrid()));
+    }
+
+    /**
+     * Helper method to create a random permutation of the rows or columns
+     * which keeps the lines of a band or stack together: the bands are
+     * permuted, and the lines within each band.
+     *
+     * @param boxSideLength the side length of a box.
+     * @param random the random generator.
+     *
+     * @return the source line of each line.
+     */
+    private static int[] randomLinePermutation(int boxSideLength, Random random)
+    {
+        int[] lines = new int[boxSideLength * boxSideLength];
+        int[] bands = randomPermutation(boxSideLength, random);
+
+        for (int band = 0; band < boxSideLength; band++)
+        {
+            int[] linesInBand = randomPermutation(boxSideLength, random);
+            for (int line = 0; line < boxSideLength; line++)
+            {
+                lines[band * boxSideLength + line] = bands[band] * boxSideLength + linesInBand[line];
+            }
+        }
+
+        return lines;
+    }
+
+    /**
+     * Helper method to create a random permutation of the numbers from zero
+     * to one less than the length.
+     *
+     * @param length the number of elements.
+     * @param random the random generator.
+     *
+     * @return the permutation.
+     */
+    private static int[] randomPermutation(int length, Random random)
+    {
+        int[] permutation = new int[length];
+        for (int i = 0; i < length; i++)
+        {
+            permutation[i] = i;
+        }
+
+        for (int i = length - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+            int temp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = temp;
+        }
+
+        return permutation;
+    }
+}
@@ -0,0 +1,124 @@
+package sudoku.generator;
+
+import java.util.Random;
+
+/**
+ * Generates a N x N grid with a sudoku solution by applying a random
+ * {@link SudokuTransform} to a seed grid, without any search.
+ *
+ * <p>
+ * For 4 x 4 grids the seed grid is drawn from the {@link SolutionCatalog}
+ * of all solutions, so every solution is equally likely. For larger grids
+ * the seed grid is the canonical pattern grid, where row <code>r</code>
+ * is the first row shifted by <code>B * (r mod B) + r / B</code> cells
+ * and <code>B</code> is the box side length. The transforms of one seed
+ * grid do not reach every solution of a large grid, but they give a new
+ * valid solution in a time proportional to the number of cells.
+ * </p>
+ *
+ * <p>
+ * The generator is thread-safe and each call returns a new grid.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class TransformSolutionGenerator implements SolutionGenerator
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int[][] patternGrid;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for 4 x 4 grids.
+     */
+    public TransformSolutionGenerator()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length.
+     * The catalog of 4 x 4 solutions is created if it does not exist.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     */
+    public TransformSolutionGenerator(int boxSideLength)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+
+        if (boxSideLength == SolutionCatalog.BOX_SIDE_LENGTH)
+        {
+            this.patternGrid = null;
+            SolutionCatalog.getInstance();
+        }
+        else
+        {
+            this.patternGrid = createPatternGrid();
+        }
+    }
+
+    @Override
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Generates a new grid with a sudoku solution by transforming a seed grid.
+     *
+     * @param random the random generator used to choose the seed grid and the transform.
+     *
+     * @return the grid with a sudoku solution.
+     */
+    @Override
+    public int[][] generateGrid(Random random)
+    {
+        int[][] seedGrid = patternGrid;
+        if (seedGrid == null)
+        {
+            SolutionCatalog catalog = SolutionCatalog.getInstance();
+            seedGrid = catalog.getSolution(random.nextInt(catalog.size()));
+        }
+
+        return SudokuTransform.random(boxSideLength, random).apply(seedGrid);
+    }
+
+    /**
+     * Helper method to create the canonical pattern grid, a valid solution
+     * where every row is a shift of the first row.
+     *
+     * @return the pattern grid.
+     */
+    private int[][] createPatternGrid()
+    {
+        int[][] grid = new int[gridSize][gridSize];
+
+        for (int row = 0; row < gridSize; row++)
+        {
+            int shift = boxSideLength * (row % boxSideLength) + row / boxSideLength;
+            for (int col = 0; col < gridSize; col++)
+            {
+                grid[row][col] = (shift + col) % gridSize + 1;
+            }
+        }
+
+        return grid;
+    }
+}
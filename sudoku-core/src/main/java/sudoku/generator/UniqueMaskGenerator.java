@@ -0,0 +1,197 @@
+package sudoku.generator;
+
+import java.util.Random;
+
+/**
+ * Generates a mask for a solution grid, so the grid to start the game
+ * with has exactly one solution.
+ *
+ * <p>
+ * The mask starts with all numbers of the solution shown. The cells are
+ * visited in random order and the number in a cell is hidden only if the
+ * grid still has one solution, which is checked with a
+ * {@link SudokuSolutionCounter}. Since the grid always has the known
+ * solution, it is enough to check that no solution has another number in
+ * the hidden cell. The removal stops when the number of
+ * start digits is reached, or when no more numbers could be hidden.
+ * </p>
+ *
+ * <p>
+ * The generator is thread-safe. Each thread that uses the generator gets
+ * its own solution counter, and each call returns a new mask.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class UniqueMaskGenerator implements MaskGenerator
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfStartDigits;
+    private final ThreadLocal<SudokuSolutionCounter> solutionCounter;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for 4 x 4 grids with six start digits.
+     */
+    public UniqueMaskGenerator()
+    {
+        this(DEFAULT_BOX_SIDE_LENGTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length,
+     * which hides numbers down to the default number of start digits for the
+     * size, see {@link SudokuMaskGenerator#defaultNumOfStartDigits(int)}.
+     *
+     * @param boxSideLength the side length of a box.
+     */
+    public UniqueMaskGenerator(int boxSideLength)
+    {
+        this(boxSideLength, SudokuMaskGenerator.defaultNumOfStartDigits(boxSideLength));
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a generator for grids with boxes of the given side length,
+     * which hides numbers down to the given number of start digits. A number
+     * of start digits of zero hides as many numbers as possible, which gives a
+     * minimal sudoku.
+     *
+     * @param boxSideLength the side length of a box, from {@value #MIN_BOX_SIDE_LENGTH}
+     *                      to {@value #MAX_BOX_SIDE_LENGTH}.
+     * @param numOfStartDigits the lowest number of start digits to keep.
+     */
+    public UniqueMaskGenerator(int boxSideLength, int numOfStartDigits)
+    {
+        if (boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Box side length must be between " + MIN_BOX_SIDE_LENGTH
+                    + " and " + MAX_BOX_SIDE_LENGTH + ": " + boxSideLength);
+        }
+
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+
+        if (numOfStartDigits < 0 || numOfStartDigits > gridSize * gridSize)
+        {
+            throw new IllegalArgumentException("Number of start digits must be between 0 and "
+                    + gridSize * gridSize + ": " + numOfStartDigits);
+        }
+
+        this.numOfStartDigits = numOfStartDigits;
+        this.solutionCounter = new ThreadLocal<SudokuSolutionCounter>()
+        {
+            @Override
+            protected SudokuSolutionCounter initialValue()
+            {
+                return new SudokuSolutionCounter(UniqueMaskGenerator.this.boxSideLength);
+            }
+        };
+    }
+
+    @Override
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Generates a mask which hides as many numbers of the solution as possible,
+     * down to the number of start digits, while the solution stays unique.
+     *
+     * @param solutionGrid the grid with the sudoku solution to be masked.
+     * @param random the random generator used to order the cells.
+     *
+     * @return the mask.
+     */
+    @Override
+    public int[][] generateGrid(int[][] solutionGrid, Random random)
+    {
+        int[][] maskGrid = new int[gridSize][gridSize];
+        int[][] startGameGrid = new int[gridSize][gridSize];
+
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int col = 0; col < gridSize; col++)
+            {
+                maskGrid[row][col] = 1;
+                startGameGrid[row][col] = solutionGrid[row][col];
+            }
+        }
+
+        hideNumbersWhileUnique(maskGrid, startGameGrid, random);
+
+        return maskGrid;
+    }
+
+    /**
+     * Helper method to hide the numbers in the cells in random order. A number
+     * is shown again if the grid gets more than one solution without it.
+     *
+     * @param maskGrid the mask, which is updated with the hidden cells.
+     * @param startGameGrid the solution masked by the mask.
+     * @param random the random generator used to order the cells.
+     */
+    private void hideNumbersWhileUnique(int[][] maskGrid, int[][] startGameGrid, Random random)
+    {
+        SudokuSolutionCounter counter = solutionCounter.get();
+        int[] cells = generateCellsInRandomOrder(gridSize * gridSize, random);
+        int numOfDigits = gridSize * gridSize;
+
+        for (int i = 0; i < cells.length && numOfDigits > numOfStartDigits; i++)
+        {
+            int row = cells[i] / gridSize;
+            int col = cells[i] % gridSize;
+            int number = startGameGrid[row][col];
+
+            startGameGrid[row][col] = 0;
+            if (!counter.hasSolutionWithOtherNumber(startGameGrid, row, col, number))
+            {
+                maskGrid[row][col] = 0;
+                numOfDigits--;
+            }
+            else
+            {
+                startGameGrid[row][col] = number;
+            }
+        }
+    }
+
+    /**
+     * Helper method to create the positions of all cells, numbered as
+     * <code>row * grid side length + column</code>, in random order.
+     *
+     * @param numOfCells the number of cells in the grid.
+     * @param random the random generator used to shuffle the positions.
+     *
+     * @return the array with the cell positions in random order.
+     */
+    static int[] generateCellsInRandomOrder(int numOfCells, Random random)
+    {
+        int[] cells = new int[numOfCells];
+        for (int i = 0; i < cells.length; i++)
+        {
+            cells[i] = i;
+        }
+
+        for (int i = cells.length - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+            int temp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = temp;
+        }
+
+        return cells;
+    }
+}
@@ -0,0 +1,82 @@
+package sudoku.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import sudoku.generator.SudokuPuzzle;
+
+/**
+ * Writes puzzles of one size to a binary file.
+ *
+ * <p>
+ * The file starts with an eight byte header: the magic number
+ * {@value #MAGIC} as four bytes, the format version, the box side length
+ * and the record length as two bytes. The header is followed by one
+ * record for each puzzle, packed by a {@link PuzzleCodec}.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class BinaryPuzzleWriter extends ChannelPuzzleWriter
+{
+    /**
+     * The magic number at the start of a binary puzzle file, "SDKB".
+     */
+    public static final int MAGIC = 0x53444B42;
+
+    /**
+     * The version of the binary format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The number of bytes in the header of a binary puzzle file.
+     */
+    public static final int HEADER_LENGTH = 8;
+
+    private final PuzzleCodec codec;
+
+    /**
+     * Constructor
+     *
+     * Creates the file and writes the header.
+     *
+     * @param path the path of the file.
+     * @param boxSideLength the side length of a box in the puzzles.
+     *
+     * @throws IOException if the file could not be created.
+     */
+    public BinaryPuzzleWriter(Path path, int boxSideLength) throws IOException
+    {
+        this(path, new PuzzleCodec(boxSideLength));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param path the path of the file.
+     * @param codec the codec for the size of the puzzles.
+     *
+     * @throws IOException if the file could not be created.
+     */
+    private BinaryPuzzleWriter(Path path, PuzzleCodec codec) throws IOException
+    {
+        super(path, codec.getRecordLength());
+        this.codec = codec;
+
+        writeBytes(ByteBuffer.allocate(HEADER_LENGTH)
+                .putInt(MAGIC)
+                .put((byte) VERSION)
+                .put((byte) codec.getBoxSideLength())
+                .putShort((short) codec.getRecordLength())
+                .array());
+    }
+
+    @Override
+    protected void encode(SudokuPuzzle puzzle, ByteBuffer buffer)
+    {
+        codec.encode(puzzle, buffer);
+    }
+}
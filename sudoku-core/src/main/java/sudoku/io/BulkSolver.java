@@ -0,0 +1,503 @@
+package sudoku.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import sudoku.generator.BatchSudokuSolver;
+import sudoku.generator.SolveResult;
+import sudoku.generator.SolveStatus;
+import sudoku.generator.SudokuSolver;
+
+/**
+ * Headless entry point, which solves a file of puzzles in parallel and
+ * writes the results in the same order as the puzzles.
+ *
+ * <p>
+ * Each line of the input is a grid in the text format of {@link PuzzleText},
+ * row by row. The size of the grid is given by the length of the line. Only
+ * the first word of a line is read, so a file written by a
+ * {@link TextPuzzleWriter} could be solved as well.
+ * </p>
+ *
+ * <p>
+ * Each line of the output is the status of the puzzle on the same line,
+ * see {@link SolveStatus}. A solved puzzle is followed by a space and the
+ * solution. A line which is not a grid gives {@link SolveStatus#INVALID}.
+ * </p>
+ *
+ * <p>
+ * The lines are read in chunks, which are solved by a pool of worker
+ * threads. The chunks are written in order as they are done, and at most
+ * a few chunks per thread are read ahead, so a large file is streamed
+ * without being kept in memory. The arguments are:
+ * </p>
+ * <ul>
+ * <li><code>--input file</code> the file to read, required.</li>
+ * <li><code>--output file</code> the file to write, required.</li>
+ * <li><code>--threads n</code> the number of worker threads, the number of
+ * processors by default.</li>
+ * <li><code>--batch true|false</code> solve the puzzles of a chunk side by
+ * side with a {@link BatchSudokuSolver}, false by default. The results are
+ * the same.</li>
+ * </ul>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class BulkSolver
+{
+    private static final int CHUNK_SIZE = 1024;
+    private static final int NUM_OF_CHUNKS_PER_THREAD = 4;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+
+    private int numOfThreads;
+    private boolean isBatch;
+    private final ThreadLocal<SudokuSolver[]> solvers = new ThreadLocal<SudokuSolver[]>()
+    {
+        @Override
+        protected SudokuSolver[] initialValue()
+        {
+            return new SudokuSolver[MAX_BOX_SIDE_LENGTH + 1];
+        }
+    };
+    private final ThreadLocal<BatchSudokuSolver[]> batchSolvers = new ThreadLocal<BatchSudokuSolver[]>()
+    {
+        @Override
+        protected BatchSudokuSolver[] initialValue()
+        {
+            return new BatchSudokuSolver[MAX_BOX_SIDE_LENGTH + 1];
+        }
+    };
+
+    private Path inputPath;
+    private Path outputPath;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a bulk solver with one worker thread per processor.
+     */
+    public BulkSolver()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor
+     *
+     * Instantiates a bulk solver with the given number of worker threads.
+     *
+     * @param numOfThreads the number of worker threads, at least one.
+     */
+    public BulkSolver(int numOfThreads)
+    {
+        if (numOfThreads < 1)
+        {
+            throw new IllegalArgumentException("Number of threads must be at least one: " + numOfThreads);
+        }
+
+        this.numOfThreads = numOfThreads;
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        BulkSolver solver = new BulkSolver();
+        solver.parseArguments(args);
+
+        try (BufferedReader reader = Files.newBufferedReader(solver.inputPath, StandardCharsets.US_ASCII);
+                BufferedWriter writer = Files.newBufferedWriter(solver.outputPath, StandardCharsets.US_ASCII))
+        {
+            solver.solve(reader, writer);
+        }
+    }
+
+    /**
+     * Solves the puzzles of a reader, one per line, and writes the result
+     * of each puzzle to a writer in the same order. The reader and the
+     * writer are not closed.
+     *
+     * @param reader the reader of the puzzles.
+     * @param writer the writer of the results.
+     *
+     * @return the number of puzzles.
+     *
+     * @throws IOException if the puzzles could not be read or the results
+     *             could not be written.
+     */
+    public long solve(BufferedReader reader, Writer writer) throws IOException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(numOfThreads, new WorkerThreadFactory());
+        ArrayDeque<Future<String>> chunksInProgress = new ArrayDeque<>();
+        int maxNumOfChunksInProgress = NUM_OF_CHUNKS_PER_THREAD * numOfThreads;
+        long numOfPuzzles = 0;
+
+        try
+        {
+            List<String> lines = readChunk(reader);
+            while (!lines.isEmpty())
+            {
+                numOfPuzzles += lines.size();
+                chunksInProgress.addLast(executor.submit(new SolveTask(lines)));
+
+                if (chunksInProgress.size() >= maxNumOfChunksInProgress)
+                {
+                    writeChunk(chunksInProgress.removeFirst(), writer);
+                }
+
+                lines = readChunk(reader);
+            }
+
+            while (!chunksInProgress.isEmpty())
+            {
+                writeChunk(chunksInProgress.removeFirst(), writer);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        writer.flush();
+
+        return numOfPuzzles;
+    }
+
+    /**
+     * Solves the puzzle of one line.
+     *
+     * @param line the line, where the first word is the grid.
+     *
+     * @return the result line, which is the status and the solution if the
+     *         puzzle is solved.
+     */
+    public String solveLine(String line)
+    {
+        int[][] grid = parseGrid(line);
+        if (grid == null)
+        {
+            return SolveStatus.INVALID.name();
+        }
+
+        return toResultLine(getSolver(boxSideLengthOf(grid.length)).solve(grid));
+    }
+
+    /**
+     * Solves the puzzles of several lines side by side, see
+     * {@link BatchSudokuSolver}. The lines may have puzzles of different
+     * sizes, which are solved in one batch per size.
+     *
+     * @param lines the lines, where the first word of each line is the grid.
+     *
+     * @return the result lines, in the same order as the lines.
+     */
+    public String[] solveLines(List<String> lines)
+    {
+        String[] resultLines = new String[lines.size()];
+        int[][][] grids = new int[lines.size()][][];
+        for (int i = 0; i < grids.length; i++)
+        {
+            grids[i] = parseGrid(lines.get(i));
+            if (grids[i] == null)
+            {
+                resultLines[i] = SolveStatus.INVALID.name();
+            }
+        }
+
+        for (int boxSideLength = 1; boxSideLength <= MAX_BOX_SIDE_LENGTH; boxSideLength++)
+        {
+            List<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < grids.length; i++)
+            {
+                if (grids[i] != null && boxSideLengthOf(grids[i].length) == boxSideLength)
+                {
+                    indices.add(i);
+                }
+            }
+
+            if (indices.isEmpty())
+            {
+                continue;
+            }
+
+            int[][][] sizeGrids = new int[indices.size()][][];
+            for (int i = 0; i < sizeGrids.length; i++)
+            {
+                sizeGrids[i] = grids[indices.get(i)];
+            }
+
+            SolveResult[] results = getBatchSolver(boxSideLength).solve(sizeGrids);
+            for (int i = 0; i < results.length; i++)
+            {
+                resultLines[indices.get(i)] = toResultLine(results[i]);
+            }
+        }
+
+        return resultLines;
+    }
+
+    /**
+     * Helper method to format the result of a puzzle.
+     *
+     * @param result the result.
+     *
+     * @return the result line, which is the status and the solution if the
+     *         puzzle is solved.
+     */
+    private static String toResultLine(SolveResult result)
+    {
+        if (!result.isSolved())
+        {
+            return result.getStatus().name();
+        }
+
+        return SolveStatus.SOLVED.name() + ' ' + PuzzleText.toText(result.getSolution());
+    }
+
+    /**
+     * Helper method to read the grid of a line.
+     *
+     * @param line the line, where the first word is the grid.
+     *
+     * @return the grid, or <code>null</code> if the line is not a grid.
+     */
+    private static int[][] parseGrid(String line)
+    {
+        String text = line.trim();
+        int end = 0;
+        while (end < text.length() && !Character.isWhitespace(text.charAt(end)))
+        {
+            end++;
+        }
+
+        try
+        {
+            return PuzzleText.toGrid(text.subSequence(0, end));
+        }
+        catch (IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Helper method to get the box side length of a grid size.
+     *
+     * @param gridSize the number of rows in the grid.
+     *
+     * @return the box side length, rounded to the nearest integer.
+     */
+    private static int boxSideLengthOf(int gridSize)
+    {
+        return (int) Math.round(Math.sqrt(gridSize));
+    }
+
+    /**
+     * Helper method to get the solver of the current thread for a box side
+     * length. The solver is created the first time it is used.
+     *
+     * @param boxSideLength the box side length.
+     *
+     * @return the solver.
+     */
+    private SudokuSolver getSolver(int boxSideLength)
+    {
+        SudokuSolver[] threadSolvers = solvers.get();
+        if (threadSolvers[boxSideLength] == null)
+        {
+            threadSolvers[boxSideLength] = new SudokuSolver(boxSideLength);
+        }
+
+        return threadSolvers[boxSideLength];
+    }
+
+    /**
+     * Helper method to get the batch solver of the current thread for a box
+     * side length. The solver is created the first time it is used.
+     *
+     * @param boxSideLength the box side length.
+     *
+     * @return the batch solver.
+     */
+    private BatchSudokuSolver getBatchSolver(int boxSideLength)
+    {
+        BatchSudokuSolver[] threadSolvers = batchSolvers.get();
+        if (threadSolvers[boxSideLength] == null)
+        {
+            threadSolvers[boxSideLength] = new BatchSudokuSolver(boxSideLength);
+        }
+
+        return threadSolvers[boxSideLength];
+    }
+
+    /**
+     * Helper method to read the next chunk of lines.
+     *
+     * @param reader the reader of the puzzles.
+     *
+     * @return the lines, empty if there are no more lines.
+     *
+     * @throws IOException if the lines could not be read.
+     */
+    private static List<String> readChunk(BufferedReader reader) throws IOException
+    {
+        List<String> lines = new ArrayList<>(CHUNK_SIZE);
+        String line;
+        while (lines.size() < CHUNK_SIZE && (line = reader.readLine()) != null)
+        {
+            lines.add(line);
+        }
+
+        return lines;
+    }
+
+    /**
+     * Helper method to wait for a chunk and write its result lines.
+     *
+     * @param chunk the chunk in progress.
+     * @param writer the writer of the results.
+     *
+     * @throws IOException if the results could not be written.
+     */
+    private static void writeChunk(Future<String> chunk, Writer writer) throws IOException
+    {
+        try
+        {
+            writer.write(chunk.get());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while solving", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException("Could not solve a chunk", e.getCause());
+        }
+    }
+
+    /**
+     * Helper method to read the options from the arguments.
+     *
+     * @param args the arguments, as pairs of option and value.
+     */
+    private void parseArguments(String[] args)
+    {
+        for (int i = 0; i < args.length; i += 2)
+        {
+            if (i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+
+            String value = args[i + 1];
+            switch (args[i])
+            {
+            case "--input":
+                inputPath = Paths.get(value);
+                break;
+            case "--output":
+                outputPath = Paths.get(value);
+                break;
+            case "--threads":
+                numOfThreads = Integer.parseInt(value);
+                break;
+            case "--batch":
+                isBatch = Boolean.parseBoolean(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (inputPath == null)
+        {
+            throw new IllegalArgumentException("Missing option --input");
+        }
+        if (outputPath == null)
+        {
+            throw new IllegalArgumentException("Missing option --output");
+        }
+        if (numOfThreads < 1)
+        {
+            throw new IllegalArgumentException("Number of threads must be at least one: " + numOfThreads);
+        }
+    }
+
+    /**
+     * The task to solve the puzzles of a chunk.
+     */
+    private final class SolveTask implements Callable<String>
+    {
+        private final List<String> lines;
+
+        /**
+         * Constructor
+         *
+         * @param lines the lines of the chunk.
+         */
+        private SolveTask(List<String> lines)
+        {
+            this.lines = lines;
+        }
+
+        /**
+         * Solves the puzzles of the chunk.
+         *
+         * @return the result lines of the chunk, each ended by a line break.
+         */
+        @Override
+        public String call()
+        {
+            StringBuilder sb = new StringBuilder();
+            if (isBatch)
+            {
+                for (String resultLine : solveLines(lines))
+                {
+                    sb.append(resultLine).append('\n');
+                }
+            }
+            else
+            {
+                for (String line : lines)
+                {
+                    sb.append(solveLine(line)).append('\n');
+                }
+            }
+
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Creates the daemon worker threads of the solver.
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "bulk-solver-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package sudoku.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import sudoku.generator.SudokuPuzzle;
+
+/**
+ * Base class of the writers which collect puzzles in a direct buffer and
+ * write the buffer to a file channel when it is full, so a file is written
+ * in large batches.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+abstract class ChannelPuzzleWriter implements PuzzleWriter
+{
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int maxRecordLength;
+
+    /**
+     * Constructor
+     *
+     * Creates the file, or truncates it if it exists.
+     *
+     * @param path the path of the file.
+     * @param maxRecordLength the maximum number of bytes of one puzzle.
+     *
+     * @throws IOException if the file could not be created.
+     */
+    ChannelPuzzleWriter(Path path, int maxRecordLength) throws IOException
+    {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, maxRecordLength));
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    @Override
+    public void write(SudokuPuzzle puzzle) throws IOException
+    {
+        if (buffer.remaining() < maxRecordLength)
+        {
+            flushBuffer();
+        }
+
+        encode(puzzle, buffer);
+    }
+
+    /**
+     * Writes the buffered puzzles and closes the file.
+     *
+     * @throws IOException if the puzzles could not be written.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            flushBuffer();
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes bytes which are not part of a puzzle, such as a file header.
+     *
+     * @param bytes the bytes.
+     *
+     * @throws IOException if the bytes could not be written.
+     */
+    protected void writeBytes(byte[] bytes) throws IOException
+    {
+        if (buffer.remaining() < bytes.length)
+        {
+            flushBuffer();
+        }
+
+        buffer.put(bytes);
+    }
+
+    /**
+     * Encodes a puzzle at the position of the buffer.
+     *
+     * @param puzzle the puzzle.
+     * @param buffer the buffer, with at least the maximum record length remaining.
+     */
+    protected abstract void encode(SudokuPuzzle puzzle, ByteBuffer buffer);
+
+    /**
+     * Helper method to write the buffer to the channel and clear it.
+     *
+     * @throws IOException if the buffer could not be written.
+     */
+    private void flushBuffer() throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
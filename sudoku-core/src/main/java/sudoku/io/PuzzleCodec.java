@@ -0,0 +1,229 @@
+package sudoku.io;
+
+import java.nio.ByteBuffer;
+
+import sudoku.generator.SudokuPuzzle;
+
+/**
+ * Packs puzzles of one size into fixed length binary records.
+ *
+ * <p>
+ * A record holds the solution followed by the mask of the start grid. Each
+ * number of the solution is stored as <code>number - 1</code> in as few
+ * bits as the grid size needs: two bits for a 4 x 4 grid, four bits for
+ * 9 x 9 and 16 x 16 grids and five bits for a 25 x 25 grid. The mask has
+ * one bit for each cell, which is set if the cell is shown in the start
+ * grid. The bits are written from the most significant bit of the first
+ * byte and the record is padded to whole bytes, so a 4 x 4 puzzle takes
+ * six bytes (32 bits of solution and 16 bits of mask) and a 9 x 9 puzzle
+ * takes 51 bytes.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzleCodec
+{
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfCells;
+    private final int bitsPerNumber;
+    private final int recordLength;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a codec for puzzles with boxes of the given side length.
+     *
+     * @param boxSideLength the side length of a box in the puzzles.
+     */
+    public PuzzleCodec(int boxSideLength)
+    {
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.numOfCells = gridSize * gridSize;
+        this.bitsPerNumber = Integer.SIZE - Integer.numberOfLeadingZeros(gridSize - 1);
+        this.recordLength = (numOfCells * (bitsPerNumber + 1) + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    /**
+     * Returns the side length of a box in the puzzles.
+     *
+     * @return the side length of a box.
+     */
+    public int getBoxSideLength()
+    {
+        return boxSideLength;
+    }
+
+    /**
+     * Returns the number of bytes in a record.
+     *
+     * @return the length of a record.
+     */
+    public int getRecordLength()
+    {
+        return recordLength;
+    }
+
+    /**
+     * Writes a puzzle as a record at the position of a buffer. The position
+     * is moved past the record.
+     *
+     * @param puzzle the puzzle, with the size of the codec.
+     * @param buffer the buffer, with at least a record length remaining.
+     */
+    public void encode(SudokuPuzzle puzzle, ByteBuffer buffer)
+    {
+        if (puzzle.getBoxSideLength() != boxSideLength)
+        {
+            throw new IllegalArgumentException("Puzzle must have box side length " + boxSideLength + ": "
+                    + puzzle.getBoxSideLength());
+        }
+
+        BitWriter bits = new BitWriter(buffer);
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            bits.write(puzzle.getSolutionNumber(cell / gridSize, cell % gridSize) - 1, bitsPerNumber);
+        }
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            bits.write(puzzle.getStartNumber(cell / gridSize, cell % gridSize) != 0 ? 1 : 0, 1);
+        }
+
+        bits.flush();
+    }
+
+    /**
+     * Reads a puzzle from a record at the position of a buffer. The position
+     * is moved past the record.
+     *
+     * @param buffer the buffer, with at least a record length remaining.
+     *
+     * @return the puzzle.
+     */
+    public SudokuPuzzle decode(ByteBuffer buffer)
+    {
+        int[][] solutionGrid = new int[gridSize][gridSize];
+        int[][] startGameGrid = new int[gridSize][gridSize];
+
+        BitReader bits = new BitReader(buffer);
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            solutionGrid[cell / gridSize][cell % gridSize] = bits.read(bitsPerNumber) + 1;
+        }
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            if (bits.read(1) != 0)
+            {
+                startGameGrid[cell / gridSize][cell % gridSize] = solutionGrid[cell / gridSize][cell % gridSize];
+            }
+        }
+
+        bits.skipPadding();
+
+        return new SudokuPuzzle(boxSideLength, startGameGrid, solutionGrid);
+    }
+
+    /**
+     * Writes values of a few bits at a time to a buffer, starting with the
+     * most significant bit.
+     */
+    private static final class BitWriter
+    {
+        private final ByteBuffer buffer;
+        private int pendingBits;
+        private int numOfPendingBits;
+
+        /**
+         * Constructor
+         *
+         * @param buffer the buffer to write to.
+         */
+        private BitWriter(ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Writes the lowest bits of a value.
+         *
+         * @param value the value.
+         * @param numOfBits the number of bits to write, at most 24.
+         */
+        private void write(int value, int numOfBits)
+        {
+            pendingBits = (pendingBits << numOfBits) | (value & ((1 << numOfBits) - 1));
+            numOfPendingBits += numOfBits;
+
+            while (numOfPendingBits >= Byte.SIZE)
+            {
+                numOfPendingBits -= Byte.SIZE;
+                buffer.put((byte) (pendingBits >>> numOfPendingBits));
+            }
+        }
+
+        /**
+         * Writes the pending bits, padded with zeros to a whole byte.
+         */
+        private void flush()
+        {
+            if (numOfPendingBits > 0)
+            {
+                buffer.put((byte) (pendingBits << (Byte.SIZE - numOfPendingBits)));
+                numOfPendingBits = 0;
+            }
+        }
+    }
+
+    /**
+     * Reads values of a few bits at a time from a buffer, starting with the
+     * most significant bit.
+     */
+    private static final class BitReader
+    {
+        private final ByteBuffer buffer;
+        private int pendingBits;
+        private int numOfPendingBits;
+
+        /**
+         * Constructor
+         *
+         * @param buffer the buffer to read from.
+         */
+        private BitReader(ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Reads a value.
+         *
+         * @param numOfBits the number of bits to read, at most 24.
+         *
+         * @return the value.
+         */
+        private int read(int numOfBits)
+        {
+            while (numOfPendingBits < numOfBits)
+            {
+                pendingBits = (pendingBits << Byte.SIZE) | (buffer.get() & 0xFF);
+                numOfPendingBits += Byte.SIZE;
+            }
+
+            numOfPendingBits -= numOfBits;
+
+            return (pendingBits >>> numOfPendingBits) & ((1 << numOfBits) - 1);
+        }
+
+        /**
+         * Skips the padding bits to the next whole byte.
+         */
+        private void skipPadding()
+        {
+            numOfPendingBits = 0;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package sudoku.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+import sudoku.generator.Difficulty;
+import sudoku.generator.DifficultyMaskGenerator;
+import sudoku.generator.DistinctPuzzleFilter;
+import sudoku.generator.MaskGenerator;
+import sudoku.generator.SolutionEngine;
+import sudoku.generator.SudokuBatchGenerator;
+import sudoku.generator.SudokuGenerator;
+import sudoku.generator.SudokuPuzzle;
+import sudoku.generator.UniqueMaskGenerator;
+
+/**
+ * Headless entry point, which generates puzzles and streams them to a
+ * file without starting the GUI.
+ *
+ * <p>
+ * The puzzles are generated in parallel in chunks by a
+ * {@link SudokuBatchGenerator} and written in order, so the same seed
+ * gives the same file. The arguments are:
+ * </p>
+ * <ul>
+ * <li><code>--output file</code> the file to write, required.</li>
+ * <li><code>--format binary|text|store</code> the format, see {@link BinaryPuzzleWriter},
+ * {@link TextPuzzleWriter} and {@link StorePuzzleWriter}. Binary by default.
+ * The puzzles are appended to a store, but replace the other files. The
+ * puzzles already in the store are skipped, and their number is printed.</li>
+ * <li><code>--count n</code> the number of puzzles, {@value #DEFAULT_NUM_OF_PUZZLES} by default.</li>
+ * <li><code>--size n</code> the box side length, {@value #DEFAULT_BOX_SIDE_LENGTH} by default.</li>
+ * <li><code>--engine name</code> the solution engine, BACKTRACKING by default.</li>
+ * <li><code>--seed n</code> the master seed, random by default.</li>
+ * <li><code>--difficulty tier</code> the difficulty tier of the puzzles, see
+ * {@link DifficultyMaskGenerator}. By default the puzzles have the default
+ * number of start digits for the size.</li>
+ * <li><code>--distinct true|false</code> skip the puzzles whose start grid
+ * is the same as one written before up to the symmetries of sudoku, see
+ * {@link DistinctPuzzleFilter}. Only for 4 x 4 and 9 x 9 puzzles, false by
+ * default.</li>
+ * <li><code>--pipeline n,n,n,n,n,n</code> generate the puzzles in a
+ * {@link PuzzlePipeline} instead, with the given number of threads for each
+ * stage, in the order of {@link PuzzlePipeline.Stage}. The puzzles are then
+ * checked for one solution and rated, a difficulty tier drops the puzzles of
+ * other tiers, and the order of the file changes from run to run. The
+ * metrics of the stages are printed when the puzzles are written.</li>
+ * </ul>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzleExporter
+{
+    private static final int DEFAULT_NUM_OF_PUZZLES = 1000;
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int CHUNK_SIZE = 4096;
+    private static final String FORMAT_BINARY = "binary";
+    private static final String FORMAT_TEXT = "text";
+    private static final String FORMAT_STORE = "store";
+
+    private Path outputPath;
+    private String format = FORMAT_BINARY;
+    private long numOfPuzzles = DEFAULT_NUM_OF_PUZZLES;
+    private int boxSideLength = DEFAULT_BOX_SIDE_LENGTH;
+    private SolutionEngine solutionEngine = SolutionEngine.BACKTRACKING;
+    private long seed = System.nanoTime();
+    private Difficulty difficulty;
+    private boolean isDistinct;
+    private int[] pipelineNumOfThreads;
+
+    public static void main(String[] args) throws IOException
+    {
+        PuzzleExporter exporter = new PuzzleExporter();
+        exporter.parseArguments(args);
+        exporter.export();
+    }
+
+    /**
+     * Helper method to read the options from the arguments.
+     *
+     * @param args the arguments, as pairs of option and value.
+     */
+    private void parseArguments(String[] args)
+    {
+        for (int i = 0; i < args.length; i += 2)
+        {
+            if (i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+
+            String value = args[i + 1];
+            switch (args[i])
+            {
+            case "--output":
+                outputPath = Paths.get(value);
+                break;
+            case "--format":
+                format = value;
+                break;
+            case "--count":
+                numOfPuzzles = Long.parseLong(value);
+                break;
+            case "--size":
+                boxSideLength = Integer.parseInt(value);
+                break;
+            case "--engine":
+                solutionEngine = SolutionEngine.valueOf(value);
+                break;
+            case "--seed":
+                seed = Long.parseLong(value);
+                break;
+            case "--difficulty":
+                difficulty = Difficulty.valueOf(value);
+                break;
+            case "--distinct":
+                isDistinct = Boolean.parseBoolean(value);
+                break;
+            case "--pipeline":
+                pipelineNumOfThreads = parseNumOfThreads(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (outputPath == null)
+        {
+            throw new IllegalArgumentException("Missing option --output");
+        }
+    }
+
+    /**
+     * Helper method to generate the puzzles chunk by chunk and write each
+     * chunk in order. Every chunk has its own seed from the master seed.
+     * With the distinct option, the puzzles seen before are skipped and
+     * chunks are generated until there are enough puzzles, or until a
+     * chunk size of puzzles in a row are skipped. With the pipeline option,
+     * the puzzles are generated in a pipeline instead.
+     *
+     * @throws IOException if the file could not be written.
+     */
+    private void export() throws IOException
+    {
+        MaskGenerator maskGenerator = new UniqueMaskGenerator(boxSideLength);
+        if (difficulty != null)
+        {
+            maskGenerator = new DifficultyMaskGenerator(boxSideLength, difficulty);
+        }
+
+        if (pipelineNumOfThreads != null)
+        {
+            exportWithPipeline(maskGenerator);
+            return;
+        }
+
+        SudokuGenerator sudokuGenerator = new SudokuGenerator(solutionEngine.createGenerator(boxSideLength),
+                maskGenerator);
+        SudokuBatchGenerator batchGenerator = new SudokuBatchGenerator(sudokuGenerator);
+        SplittableRandom chunkSeeds = new SplittableRandom(seed);
+
+        DistinctPuzzleFilter filter = isDistinct ? new DistinctPuzzleFilter(boxSideLength, numOfPuzzles) : null;
+
+        try (PuzzleWriter writer = createWriter())
+        {
+            long written = 0;
+            int numOfSkippedInRow = 0;
+            while (written < numOfPuzzles)
+            {
+                int chunkSize = (int) Math.min(CHUNK_SIZE, numOfPuzzles - written);
+                SudokuPuzzle[] puzzles = batchGenerator.generateBatch(chunkSeeds.nextLong(), chunkSize);
+
+                for (SudokuPuzzle puzzle : puzzles)
+                {
+                    if (filter == null || filter.add(puzzle))
+                    {
+                        writer.write(puzzle);
+                        written++;
+                        numOfSkippedInRow = 0;
+                    }
+                    else if (++numOfSkippedInRow == CHUNK_SIZE)
+                    {
+                        throw new IllegalStateException("Only " + written + " distinct puzzles found");
+                    }
+                }
+            }
+
+            printNumOfSkipped(writer);
+        }
+    }
+
+    /**
+     * Helper method to generate and write the puzzles in a pipeline, and
+     * print the metrics of its stages.
+     *
+     * @param maskGenerator the generator of the masks.
+     *
+     * @throws IOException if the file could not be written, or if the
+     *         thread is interrupted.
+     */
+    private void exportWithPipeline(MaskGenerator maskGenerator) throws IOException
+    {
+        try (PuzzleWriter writer = createWriter())
+        {
+            PuzzlePipeline pipeline = new PuzzlePipeline(solutionEngine.createGenerator(boxSideLength),
+                    maskGenerator, writer);
+            for (PuzzlePipeline.Stage stage : PuzzlePipeline.Stage.values())
+            {
+                pipeline.setNumOfThreads(stage, pipelineNumOfThreads[stage.ordinal()]);
+            }
+
+            pipeline.setDifficulty(difficulty);
+            pipeline.setDistinct(isDistinct);
+            long written;
+            try
+            {
+                written = pipeline.run(seed, numOfPuzzles);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while exporting", e);
+            }
+
+            for (PuzzlePipeline.Stage stage : PuzzlePipeline.Stage.values())
+            {
+                System.out.println(pipeline.getMetrics(stage));
+            }
+
+            printNumOfSkipped(writer);
+
+            if (written < numOfPuzzles)
+            {
+                throw new IllegalStateException("Only " + written + " puzzles passed the pipeline");
+            }
+        }
+    }
+
+    /**
+     * Helper method to read the number of threads of each pipeline stage.
+     *
+     * @param value the numbers, separated by commas.
+     *
+     * @return the number of threads of each stage.
+     */
+    private static int[] parseNumOfThreads(String value)
+    {
+        String[] parts = value.split(",");
+        int numOfStages = PuzzlePipeline.Stage.values().length;
+        if (parts.length != numOfStages)
+        {
+            throw new IllegalArgumentException("Pipeline must have " + numOfStages + " thread counts: " + value);
+        }
+
+        int[] numOfThreads = new int[numOfStages];
+        for (int stage = 0; stage < numOfStages; stage++)
+        {
+            numOfThreads[stage] = Integer.parseInt(parts[stage].trim());
+        }
+
+        return numOfThreads;
+    }
+
+    /**
+     * Helper method to create the writer for the format.
+     *
+     * @return the writer.
+     *
+     * @throws IOException if the file could not be created.
+     */
+    private PuzzleWriter createWriter() throws IOException
+    {
+        if (FORMAT_BINARY.equals(format))
+        {
+            return new BinaryPuzzleWriter(outputPath, boxSideLength);
+        }
+        else if (FORMAT_TEXT.equals(format))
+        {
+            return new TextPuzzleWriter(outputPath);
+        }
+        else if (FORMAT_STORE.equals(format))
+        {
+            return new StorePuzzleWriter(outputPath, boxSideLength, difficulty);
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+    }
+
+    /**
+     * Helper method to print the number of puzzles a store writer skipped
+     * since they were already in the store.
+     *
+     * @param writer the writer.
+     */
+    private static void printNumOfSkipped(PuzzleWriter writer)
+    {
+        if (writer instanceof StorePuzzleWriter && ((StorePuzzleWriter) writer).getNumOfSkipped() > 0)
+        {
+            System.out.println(((StorePuzzleWriter) writer).getNumOfSkipped()
+                    + " puzzles were already in the store and were skipped");
+        }
+    }
+}
@@ -0,0 +1,887 @@
+package sudoku.io;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import sudoku.generator.Difficulty;
+import sudoku.generator.DifficultyRater;
+import sudoku.generator.Grid;
+import sudoku.generator.MaskGenerator;
+import sudoku.generator.OffHeapLongHashSet;
+import sudoku.generator.PuzzleCanonicalizer;
+import sudoku.generator.SolutionGenerator;
+import sudoku.generator.SplittableRandomAdapter;
+import sudoku.generator.SudokuPuzzle;
+import sudoku.generator.SudokuSolutionCounter;
+
+/**
+ * Generates puzzles and writes them in a pipeline of stages, where each
+ * stage has its own pool of worker threads and a bounded queue of puzzles
+ * waiting for it.
+ *
+ * <p>
+ * The stages are, in order, see {@link Stage}: generation of the solution,
+ * masking, verification that the start grid has one solution, rating,
+ * removal of puzzles seen before and writing. A worker takes a puzzle from
+ * the queue of its stage, does the work of the stage and puts the puzzle
+ * in the queue of the next stage. A stage could drop a puzzle, for example
+ * if it is not of the difficulty asked for. When the queue of the next
+ * stage is full, the worker waits until there is room, so a slow stage
+ * holds back the stages before it instead of letting puzzles pile up in
+ * memory (backpressure). The number of workers of each stage could be set,
+ * so the stage which takes the most time could be given the most threads.
+ * </p>
+ *
+ * <p>
+ * Puzzles are fed to the pipeline until the number of puzzles asked for is
+ * written, or until {@value #MAX_NUM_OF_DROPPED_IN_ROW} puzzles in a row are
+ * dropped. A puzzle is only fed while the puzzles in the pipeline, less
+ * those that will be dropped, could be needed, give or take one puzzle per
+ * worker, so few puzzles are generated in vain at the end of the run. Each
+ * puzzle gets its own random stream, split from the master
+ * seed in the order the puzzles are fed, so the puzzles are the same as
+ * those of a {@link sudoku.generator.SudokuGenerator} with the same
+ * streams. The stages run in parallel, so the order of the written puzzles
+ * and which of two equal puzzles is kept could change from run to run.
+ * </p>
+ *
+ * <p>
+ * For each stage, the number of puzzles processed and dropped, the time
+ * the workers were busy and the length of the queue are counted, see
+ * {@link #getMetrics(Stage)}. The stage with the highest utilization is the
+ * bottleneck. The metrics could be read from another thread while the
+ * pipeline runs. A pipeline runs once.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzlePipeline
+{
+    private static final int DEFAULT_NUM_OF_THREADS = 1;
+    private static final int DEFAULT_QUEUE_CAPACITY = 256;
+    private static final int MAX_NUM_OF_DROPPED_IN_ROW = 4096;
+    private static final long FEED_POLL_MILLIS = 10;
+    private static final String THREAD_NAME = "puzzle-pipeline-";
+    private static final Job END_OF_PUZZLES = new Job(null);
+
+    /**
+     * The stages of the pipeline, in the order a puzzle passes them.
+     */
+    public enum Stage
+    {
+        /**
+         * Generates the solution grid.
+         */
+        SOLUTION,
+
+        /**
+         * Masks the solution into the start grid.
+         */
+        MASK,
+
+        /**
+         * Drops the puzzles whose start grid has more than one solution.
+         */
+        VERIFY,
+
+        /**
+         * Rates the puzzles, and drops those which are not of the difficulty
+         * asked for, if any.
+         */
+        RATE,
+
+        /**
+         * Drops the puzzles seen before up to the symmetries of sudoku, if
+         * asked for.
+         */
+        DEDUPE,
+
+        /**
+         * Writes the puzzles, and drops those still in the pipeline when
+         * enough puzzles are written.
+         */
+        WRITE
+    }
+
+    /**
+     * The metrics of a stage at one point in time.
+     */
+    public static final class StageMetrics
+    {
+        private final Stage stage;
+        private final int numOfThreads;
+        private final long numOfProcessed;
+        private final long numOfDropped;
+        private final long busyNanos;
+        private final long elapsedNanos;
+        private final int queueLength;
+        private final int maxQueueLength;
+        private final int queueCapacity;
+
+        /**
+         * Constructor
+         *
+         * @param stage the stage.
+         * @param numOfThreads the number of workers.
+         * @param numOfProcessed the number of puzzles processed.
+         * @param numOfDropped the number of puzzles dropped.
+         * @param busyNanos the total time the workers were busy.
+         * @param elapsedNanos the time the pipeline has run.
+         * @param queueLength the number of puzzles in the queue.
+         * @param maxQueueLength the highest number of puzzles in the queue.
+         * @param queueCapacity the capacity of the queue.
+         */
+        private StageMetrics(Stage stage, int numOfThreads, long numOfProcessed, long numOfDropped,
+                long busyNanos, long elapsedNanos, int queueLength, int maxQueueLength, int queueCapacity)
+        {
+            this.stage = stage;
+            this.numOfThreads = numOfThreads;
+            this.numOfProcessed = numOfProcessed;
+            this.numOfDropped = numOfDropped;
+            this.busyNanos = busyNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.queueLength = queueLength;
+            this.maxQueueLength = maxQueueLength;
+            this.queueCapacity = queueCapacity;
+        }
+
+        /**
+         * Returns the stage.
+         *
+         * @return the stage.
+         */
+        public Stage getStage()
+        {
+            return stage;
+        }
+
+        /**
+         * Returns the number of workers of the stage.
+         *
+         * @return the number of workers.
+         */
+        public int getNumOfThreads()
+        {
+            return numOfThreads;
+        }
+
+        /**
+         * Returns the number of puzzles processed by the stage, including
+         * the dropped ones.
+         *
+         * @return the number of puzzles.
+         */
+        public long getNumOfProcessed()
+        {
+            return numOfProcessed;
+        }
+
+        /**
+         * Returns the number of puzzles dropped by the stage.
+         *
+         * @return the number of puzzles.
+         */
+        public long getNumOfDropped()
+        {
+            return numOfDropped;
+        }
+
+        /**
+         * Returns the number of puzzles processed per second since the
+         * pipeline started.
+         *
+         * @return the throughput.
+         */
+        public double getThroughputPerSecond()
+        {
+            return elapsedNanos > 0 ? numOfProcessed * 1e9 / elapsedNanos : 0;
+        }
+
+        /**
+         * Returns the mean time the stage spent on a puzzle.
+         *
+         * @return the time in milliseconds.
+         */
+        public double getMeanMillis()
+        {
+            return numOfProcessed > 0 ? busyNanos / 1e6 / numOfProcessed : 0;
+        }
+
+        /**
+         * Returns the part of the time since the pipeline started that the
+         * workers of the stage were busy, from zero to one. A stage close to
+         * one is a bottleneck.
+         *
+         * @return the utilization.
+         */
+        public double getUtilization()
+        {
+            return elapsedNanos > 0 ? (double) busyNanos / elapsedNanos / numOfThreads : 0;
+        }
+
+        /**
+         * Returns the number of puzzles waiting in the queue of the stage.
+         *
+         * @return the number of puzzles.
+         */
+        public int getQueueLength()
+        {
+            return queueLength;
+        }
+
+        /**
+         * Returns the highest number of puzzles which have waited in the
+         * queue of the stage at the same time.
+         *
+         * @return the number of puzzles.
+         */
+        public int getMaxQueueLength()
+        {
+            return maxQueueLength;
+        }
+
+        /**
+         * Returns the capacity of the queue of the stage.
+         *
+         * @return the capacity.
+         */
+        public int getQueueCapacity()
+        {
+            return queueCapacity;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%-8s threads %2d  processed %9d  dropped %9d  %10.1f/s  mean %8.3f ms"
+                    + "  utilization %5.1f%%  queue %d/%d max %d", stage, numOfThreads, numOfProcessed,
+                    numOfDropped, getThroughputPerSecond(), getMeanMillis(), 100 * getUtilization(),
+                    queueLength, queueCapacity, maxQueueLength);
+        }
+    }
+
+    /**
+     * A puzzle on its way through the pipeline.
+     */
+    private static final class Job
+    {
+        private final SplittableRandomAdapter random;
+        private int[][] solutionGrid;
+        private SudokuPuzzle puzzle;
+
+        /**
+         * Constructor
+         *
+         * @param random the random stream of the puzzle.
+         */
+        private Job(SplittableRandomAdapter random)
+        {
+            this.random = random;
+        }
+    }
+
+    /**
+     * The work of one stage, done by one worker. A task is only used by
+     * the thread of its worker.
+     */
+    private interface StageTask
+    {
+        /**
+         * Does the work of the stage on a puzzle.
+         *
+         * @param job the puzzle.
+         *
+         * @return <code>true</code> if the puzzle goes on to the next stage.
+         *         <code>false</code> Otherwise false, if it is dropped.
+         *
+         * @throws IOException if the puzzle could not be written.
+         */
+        boolean process(Job job) throws IOException;
+    }
+
+    private final SolutionGenerator solutionGenerator;
+    private final MaskGenerator maskGenerator;
+    private final PuzzleWriter writer;
+    private final int boxSideLength;
+    private final int numOfStages;
+    private final int[] numOfThreads;
+    private final int[] queueCapacities;
+    private final AtomicLong[] numOfProcessed;
+    private final AtomicLong[] numOfDropped;
+    private final AtomicLong[] busyNanos;
+    private final AtomicInteger[] maxQueueLengths;
+    private final AtomicLongArray numOfRated;
+    private final AtomicLong numOfWritten = new AtomicLong();
+    private final AtomicLong numOfDroppedInRow = new AtomicLong();
+    private Difficulty difficulty;
+    private boolean isDistinct;
+    private Semaphore numOfPuzzlesToFeed;
+    private PuzzleCanonicalizer canonicalizer;
+    private OffHeapLongHashSet seenFingerprints;
+    private long numOfPuzzles;
+    private BlockingQueue<Job>[] queues;
+    private AtomicInteger[] numOfRunningWorkers;
+    private ExecutorService[] pools;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile Throwable failure;
+    private volatile Thread feedThread;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a pipeline with one worker and a queue of
+     * {@value #DEFAULT_QUEUE_CAPACITY} puzzles for each stage.
+     *
+     * @param solutionGenerator the generator of the solutions.
+     * @param maskGenerator the generator of the masks.
+     * @param writer the writer of the puzzles. It is not closed by the pipeline.
+     */
+    public PuzzlePipeline(SolutionGenerator solutionGenerator, MaskGenerator maskGenerator, PuzzleWriter writer)
+    {
+        if (solutionGenerator.getBoxSideLength() != maskGenerator.getBoxSideLength())
+        {
+            throw new IllegalArgumentException("Solution and mask generators have different box side lengths: "
+                    + solutionGenerator.getBoxSideLength() + " and " + maskGenerator.getBoxSideLength());
+        }
+
+        this.solutionGenerator = solutionGenerator;
+        this.maskGenerator = maskGenerator;
+        this.writer = writer;
+        this.boxSideLength = solutionGenerator.getBoxSideLength();
+        this.numOfStages = Stage.values().length;
+        this.numOfThreads = new int[numOfStages];
+        this.queueCapacities = new int[numOfStages];
+        this.numOfProcessed = new AtomicLong[numOfStages];
+        this.numOfDropped = new AtomicLong[numOfStages];
+        this.busyNanos = new AtomicLong[numOfStages];
+        this.maxQueueLengths = new AtomicInteger[numOfStages];
+        this.numOfRated = new AtomicLongArray(Difficulty.values().length);
+
+        for (int stage = 0; stage < numOfStages; stage++)
+        {
+            numOfThreads[stage] = DEFAULT_NUM_OF_THREADS;
+            queueCapacities[stage] = DEFAULT_QUEUE_CAPACITY;
+            numOfProcessed[stage] = new AtomicLong();
+            numOfDropped[stage] = new AtomicLong();
+            busyNanos[stage] = new AtomicLong();
+            maxQueueLengths[stage] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Sets the number of workers of a stage.
+     *
+     * @param stage the stage.
+     * @param numOfThreads the number of workers, at least one.
+     */
+    public void setNumOfThreads(Stage stage, int numOfThreads)
+    {
+        if (numOfThreads < 1)
+        {
+            throw new IllegalArgumentException("Number of threads must be at least one: " + numOfThreads);
+        }
+
+        checkNotStarted();
+        this.numOfThreads[stage.ordinal()] = numOfThreads;
+    }
+
+    /**
+     * Sets the capacity of the queue in front of a stage.
+     *
+     * @param stage the stage.
+     * @param queueCapacity the maximum number of puzzles waiting for the stage,
+     *                      at least one.
+     */
+    public void setQueueCapacity(Stage stage, int queueCapacity)
+    {
+        if (queueCapacity < 1)
+        {
+            throw new IllegalArgumentException("Queue capacity must be at least one: " + queueCapacity);
+        }
+
+        checkNotStarted();
+        this.queueCapacities[stage.ordinal()] = queueCapacity;
+    }
+
+    /**
+     * Sets the difficulty tier of the puzzles to write. The puzzles of other
+     * tiers are dropped by the rating stage.
+     *
+     * @param difficulty the difficulty tier, or <code>null</code> to write
+     *                   puzzles of all tiers.
+     */
+    public void setDifficulty(Difficulty difficulty)
+    {
+        checkNotStarted();
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Sets if the puzzles whose start grid is the same as one seen before,
+     * up to the symmetries of sudoku, should be dropped. Only for 4 x 4 and
+     * 9 x 9 puzzles, see {@link PuzzleCanonicalizer}.
+     *
+     * @param isDistinct <code>true</code> if the puzzles should be distinct.
+     */
+    public void setDistinct(boolean isDistinct)
+    {
+        checkNotStarted();
+        this.isDistinct = isDistinct;
+    }
+
+    /**
+     * Generates and writes puzzles until the number of puzzles is written,
+     * or until too many puzzles in a row are dropped. The call returns when
+     * all workers have stopped.
+     *
+     * @param masterSeed the seed the random streams of the puzzles are split from.
+     * @param numOfPuzzles the number of puzzles to write.
+     *
+     * @return the number of puzzles written.
+     *
+     * @throws IOException if a puzzle could not be written.
+     * @throws InterruptedException if the calling thread is interrupted, which
+     *         stops the workers.
+     */
+    public long run(long masterSeed, long numOfPuzzles) throws IOException, InterruptedException
+    {
+        if (numOfPuzzles < 0)
+        {
+            throw new IllegalArgumentException("Number of puzzles must not be negative: " + numOfPuzzles);
+        }
+
+        checkNotStarted();
+        this.numOfPuzzles = numOfPuzzles;
+        this.startNanos = System.nanoTime();
+        this.feedThread = Thread.currentThread();
+
+        long numOfWorkers = 0;
+        for (int stage = 0; stage < numOfStages; stage++)
+        {
+            numOfWorkers += numOfThreads[stage];
+        }
+        numOfPuzzlesToFeed = new Semaphore((int) Math.min(Integer.MAX_VALUE, numOfPuzzles + numOfWorkers));
+
+        if (isDistinct)
+        {
+            canonicalizer = new PuzzleCanonicalizer(boxSideLength);
+            seenFingerprints = new OffHeapLongHashSet(numOfPuzzles);
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        BlockingQueue<Job>[] stageQueues = new BlockingQueue[numOfStages];
+        queues = stageQueues;
+        numOfRunningWorkers = new AtomicInteger[numOfStages];
+        pools = new ExecutorService[numOfStages];
+        for (int stage = 0; stage < numOfStages; stage++)
+        {
+            queues[stage] = new ArrayBlockingQueue<Job>(queueCapacities[stage]);
+            numOfRunningWorkers[stage] = new AtomicInteger(numOfThreads[stage]);
+        }
+
+        for (int stage = 0; stage < numOfStages; stage++)
+        {
+            pools[stage] = Executors.newFixedThreadPool(numOfThreads[stage], createThreadFactory(stage));
+            for (int worker = 0; worker < numOfThreads[stage]; worker++)
+            {
+                final int workerStage = stage;
+                final StageTask task = createTask(Stage.values()[stage]);
+                pools[stage].execute(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        work(workerStage, task);
+                    }
+                });
+            }
+
+            pools[stage].shutdown();
+        }
+
+        try
+        {
+            feed(masterSeed);
+            for (ExecutorService pool : pools)
+            {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            if (failure == null)
+            {
+                fail(e);
+            }
+        }
+        finally
+        {
+            endNanos = System.nanoTime();
+            feedThread = null;
+        }
+
+        throwFailure();
+
+        return numOfWritten.get();
+    }
+
+    /**
+     * Returns the metrics of a stage, as of now.
+     *
+     * @param stage the stage.
+     *
+     * @return the metrics.
+     */
+    public StageMetrics getMetrics(Stage stage)
+    {
+        int index = stage.ordinal();
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        long elapsedNanos = startNanos != 0 ? end - startNanos : 0;
+        int queueLength = queues != null ? queues[index].size() : 0;
+
+        return new StageMetrics(stage, numOfThreads[index], numOfProcessed[index].get(),
+                numOfDropped[index].get(), busyNanos[index].get(), elapsedNanos, queueLength,
+                maxQueueLengths[index].get(), queueCapacities[index]);
+    }
+
+    /**
+     * Returns the number of puzzles rated to a difficulty tier by the rating
+     * stage, including those dropped for being of another tier.
+     *
+     * @param difficulty the difficulty tier.
+     *
+     * @return the number of puzzles.
+     */
+    public long getNumOfRated(Difficulty difficulty)
+    {
+        return numOfRated.get(difficulty.ordinal());
+    }
+
+    /**
+     * Helper method to feed puzzles to the first stage until enough puzzles
+     * are written or dropped in a row, and then tell the workers of the
+     * first stage that no more puzzles will come. Feeding waits while the
+     * queue of the first stage is full, and while enough puzzles are in the
+     * pipeline to be written, until one of them is dropped.
+     *
+     * @param masterSeed the seed the random streams of the puzzles are split from.
+     *
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    private void feed(long masterSeed) throws InterruptedException
+    {
+        SplittableRandom seeds = new SplittableRandom(masterSeed);
+
+        while (failure == null && numOfWritten.get() < numOfPuzzles
+                && numOfDroppedInRow.get() < MAX_NUM_OF_DROPPED_IN_ROW)
+        {
+            if (numOfPuzzlesToFeed.tryAcquire(FEED_POLL_MILLIS, TimeUnit.MILLISECONDS))
+            {
+                put(0, new Job(new SplittableRandomAdapter(seeds.split())));
+            }
+        }
+
+        for (int worker = 0; worker < numOfThreads[0]; worker++)
+        {
+            queues[0].put(END_OF_PUZZLES);
+        }
+    }
+
+    /**
+     * Helper method run by each worker. The worker processes puzzles from
+     * the queue of its stage until it is told that no more puzzles will
+     * come. The last worker of a stage to stop tells the workers of the next
+     * stage.
+     *
+     * @param stage the stage of the worker.
+     * @param task the work of the stage.
+     */
+    private void work(int stage, StageTask task)
+    {
+        try
+        {
+            while (true)
+            {
+                Job job = queues[stage].take();
+                if (job == END_OF_PUZZLES)
+                {
+                    break;
+                }
+
+                long jobStartNanos = System.nanoTime();
+                boolean isPassed = task.process(job);
+                busyNanos[stage].addAndGet(System.nanoTime() - jobStartNanos);
+                numOfProcessed[stage].incrementAndGet();
+
+                if (!isPassed)
+                {
+                    numOfDropped[stage].incrementAndGet();
+                    numOfDroppedInRow.incrementAndGet();
+                    numOfPuzzlesToFeed.release();
+                }
+                else if (stage + 1 < numOfStages)
+                {
+                    put(stage + 1, job);
+                }
+            }
+
+            if (numOfRunningWorkers[stage].decrementAndGet() == 0 && stage + 1 < numOfStages)
+            {
+                for (int worker = 0; worker < numOfThreads[stage + 1]; worker++)
+                {
+                    queues[stage + 1].put(END_OF_PUZZLES);
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            if (failure == null)
+            {
+                fail(e);
+            }
+        }
+        catch (IOException | RuntimeException | Error e)
+        {
+            fail(e);
+        }
+    }
+
+    /**
+     * Helper method to put a puzzle in the queue of a stage, waiting while
+     * the queue is full, and to record the length of the queue.
+     *
+     * @param stage the stage.
+     * @param job the puzzle.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private void put(int stage, Job job) throws InterruptedException
+    {
+        queues[stage].put(job);
+
+        int queueLength = queues[stage].size();
+        AtomicInteger maxQueueLength = maxQueueLengths[stage];
+        int max = maxQueueLength.get();
+        while (queueLength > max && !maxQueueLength.compareAndSet(max, queueLength))
+        {
+            max = maxQueueLength.get();
+        }
+    }
+
+    /**
+     * Helper method to create the work of a stage for one worker. The
+     * solution counters and raters belong to the worker, while the
+     * canonicalizer, the seen puzzles and the writer are shared.
+     *
+     * @param stage the stage.
+     *
+     * @return the task.
+     */
+    private StageTask createTask(Stage stage)
+    {
+        switch (stage)
+        {
+        case SOLUTION:
+            return new StageTask()
+            {
+                @Override
+                public boolean process(Job job)
+                {
+                    job.solutionGrid = solutionGenerator.generateGrid(job.random);
+
+                    return true;
+                }
+            };
+        case MASK:
+            return new StageTask()
+            {
+                @Override
+                public boolean process(Job job)
+                {
+                    int[][] maskGrid = maskGenerator.generateGrid(job.solutionGrid, job.random);
+                    Grid solution = Grid.of(job.solutionGrid);
+                    job.puzzle = new SudokuPuzzle(solution.mask(Grid.of(maskGrid)), solution);
+                    job.solutionGrid = null;
+
+                    return true;
+                }
+            };
+        case VERIFY:
+            return new StageTask()
+            {
+                private final SudokuSolutionCounter counter = new SudokuSolutionCounter(boxSideLength);
+
+                @Override
+                public boolean process(Job job)
+                {
+                    return counter.hasUniqueSolution(job.puzzle.getStartGameGrid());
+                }
+            };
+        case RATE:
+            return new StageTask()
+            {
+                private final DifficultyRater rater = new DifficultyRater(boxSideLength);
+
+                @Override
+                public boolean process(Job job)
+                {
+                    Difficulty puzzleDifficulty = rater.rate(job.puzzle);
+                    numOfRated.incrementAndGet(puzzleDifficulty.ordinal());
+
+                    return difficulty == null || difficulty == puzzleDifficulty;
+                }
+            };
+        case DEDUPE:
+            return new StageTask()
+            {
+                @Override
+                public boolean process(Job job)
+                {
+                    if (!isDistinct)
+                    {
+                        return true;
+                    }
+
+                    long fingerprint = canonicalizer.canonicalFingerprint(job.puzzle);
+                    synchronized (seenFingerprints)
+                    {
+                        return seenFingerprints.add(fingerprint);
+                    }
+                }
+            };
+        case WRITE:
+            return new StageTask()
+            {
+                @Override
+                public boolean process(Job job) throws IOException
+                {
+                    synchronized (writer)
+                    {
+                        if (numOfWritten.get() >= numOfPuzzles)
+                        {
+                            return false;
+                        }
+
+                        writer.write(job.puzzle);
+                        numOfWritten.incrementAndGet();
+                        numOfDroppedInRow.set(0);
+                    }
+
+                    return true;
+                }
+            };
+        default:
+            throw new IllegalArgumentException("Unknown stage: " + stage);
+        }
+    }
+
+    /**
+     * Helper method to create the factory of the worker threads of a stage,
+     * which are daemon threads named after the stage.
+     *
+     * @param stage the stage.
+     *
+     * @return the thread factory.
+     */
+    private static ThreadFactory createThreadFactory(final int stage)
+    {
+        return new ThreadFactory()
+        {
+            private final AtomicInteger numOfThreads = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, THREAD_NAME + Stage.values()[stage].name().toLowerCase()
+                        + "-" + numOfThreads.getAndIncrement());
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Helper method to stop the pipeline after a failure. The first failure
+     * is kept, and all workers and the feeding thread are interrupted.
+     *
+     * @param cause the failure.
+     */
+    private synchronized void fail(Throwable cause)
+    {
+        if (failure != null)
+        {
+            return;
+        }
+
+        failure = cause;
+        for (ExecutorService pool : pools)
+        {
+            if (pool != null)
+            {
+                pool.shutdownNow();
+            }
+        }
+
+        Thread thread = feedThread;
+        if (thread != null && thread != Thread.currentThread())
+        {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Helper method to throw the failure which stopped the pipeline, if any.
+     *
+     * @throws IOException if a puzzle could not be written.
+     * @throws InterruptedException if the pipeline was interrupted.
+     */
+    private void throwFailure() throws IOException, InterruptedException
+    {
+        Throwable cause = failure;
+        if (cause == null)
+        {
+            return;
+        }
+
+        if (cause instanceof IOException)
+        {
+            throw (IOException) cause;
+        }
+        else if (cause instanceof InterruptedException)
+        {
+            throw (InterruptedException) cause;
+        }
+        else if (cause instanceof RuntimeException)
+        {
+            throw (RuntimeException) cause;
+        }
+        else
+        {
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * Helper method to check that the pipeline has not been run.
+     */
+    private void checkNotStarted()
+    {
+        if (startNanos != 0)
+        {
+            throw new IllegalStateException("The pipeline has already been run");
+        }
+    }
+}
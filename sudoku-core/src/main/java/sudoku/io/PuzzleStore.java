@@ -0,0 +1,913 @@
+package sudoku.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import sudoku.generator.Difficulty;
+import sudoku.generator.SudokuPuzzle;
+
+/**
+ * An append-only store of puzzles of one size on disk, with an index for
+ * looking up a puzzle by its ID or by its difficulty and number of clues.
+ *
+ * <p>
+ * The data file starts with an eight byte header like the one of a
+ * {@link BinaryPuzzleWriter}, with the magic number {@value #MAGIC}. It is
+ * followed by one fixed length entry per puzzle: the ID as eight bytes, the
+ * difficulty as one byte (zero if unrated, otherwise one more than the
+ * ordinal), the number of clues as two bytes, the record of a
+ * {@link PuzzleCodec} and a CRC-32 of the entry. A puzzle is numbered by the
+ * order it was appended in, and its entry is found from the number.
+ * </p>
+ *
+ * <p>
+ * The index file, with the suffix {@value #INDEX_SUFFIX}, is mapped into
+ * memory. It holds the number of puzzles of each difficulty and number of
+ * clues, and two hash tables with open addressing and linear probing, from
+ * an ID to a puzzle number and from a difficulty, number of clues and rank
+ * within them to a puzzle number. The tables are doubled when they are half
+ * full, by building a new index from the data file.
+ * </p>
+ *
+ * <p>
+ * The index is derived from the data file. It is marked dirty on disk
+ * before the first append after it was synced, and clean again by
+ * {@link #sync()} and {@link #close()}, after the data file is forced to
+ * disk. If the index is missing, dirty or does not match the data file when
+ * the store is opened, for example after a crash in the middle of an
+ * append, the CRC of each entry is checked, the data file is truncated
+ * before the first torn entry and the index is built again.
+ * </p>
+ *
+ * <p>
+ * The data file is mapped into memory in segments of at most
+ * {@value #SEGMENT_SIZE} bytes. The segments are mapped when the store is
+ * opened. The first read of a puzzle appended since then maps the last
+ * segment again, under a lock, and publishes the segments as a new array,
+ * so the other reads never change the store. The lookups and
+ * {@link #readRecord(long, ByteBuffer)} read the mapped files without
+ * allocating, so many threads could read a store as long as nothing is
+ * appended. Appends and {@link #close()} must not run at the same time as
+ * any other call.
+ * </p>
+ *
+ * <p>
+ * A file could not be truncated or replaced on Windows while it is mapped,
+ * so the data file is checked and truncated before it is mapped, and a new
+ * index is written, forced and unmapped before it replaces the old one,
+ * which is unmapped first. The buffers are unmapped through the cleaner of
+ * the JDK, and are left to the garbage collector on a JDK without one. A
+ * segment which a read maps again is also left to the garbage collector,
+ * since another thread could still be reading it.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzleStore implements Closeable
+{
+    /**
+     * The magic number at the start of a puzzle store data file, "SDKS".
+     */
+    public static final int MAGIC = 0x53444B53;
+
+    /**
+     * The magic number at the start of a puzzle store index file, "SDKI".
+     */
+    public static final int INDEX_MAGIC = 0x53444B49;
+
+    /**
+     * The version of the store format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The suffix added to the path of the data file for the index file.
+     */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private static final int HEADER_LENGTH = 8;
+    private static final int KIND_OFFSET = 8;
+    private static final int CLUES_OFFSET = 9;
+    private static final int RECORD_OFFSET = 11;
+    private static final int CRC_LENGTH = 4;
+    private static final int UNRATED_KIND = 0;
+
+    private static final int INDEX_HEADER_LENGTH = 32;
+    private static final int INDEX_VERSION_OFFSET = 4;
+    private static final int INDEX_DIRTY_OFFSET = 5;
+    private static final int INDEX_BOX_OFFSET = 6;
+    private static final int INDEX_CAPACITY_OFFSET = 8;
+    private static final int INDEX_NUM_OF_GROUPS_OFFSET = 12;
+    private static final int INDEX_NUM_OF_PUZZLES_OFFSET = 16;
+    private static final int TABLE_ENTRY_LENGTH = 16;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 25;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final int SEGMENT_SIZE = 1 << 30;
+    private static final int ENTRIES_PER_CHECK = 4096;
+
+    private final Path indexPath;
+    private final PuzzleCodec codec;
+    private final int numOfCells;
+    private final int entryLength;
+    private final int recordsPerSegment;
+    private final int numOfGroups;
+    private final int tablesOffset;
+    private final FileChannel dataChannel;
+    private final ByteBuffer entryBuffer;
+    private final CRC32 crc = new CRC32();
+    private final Object segmentLock = new Object();
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private long numOfPuzzles;
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int shift;
+
+    /**
+     * Constructor
+     *
+     * Opens the store at a path, or creates it if the data file does not
+     * exist. The index is built again if it is missing or not clean.
+     *
+     * @param path the path of the data file.
+     * @param boxSideLength the side length of a box in the puzzles.
+     *
+     * @throws IOException if the files could not be opened, or the data file
+     *             is not a store of puzzles of the size.
+     */
+    public PuzzleStore(Path path, int boxSideLength) throws IOException
+    {
+        this.indexPath = path.resolveSibling(path.getFileName() + INDEX_SUFFIX);
+        this.codec = new PuzzleCodec(boxSideLength);
+        this.numOfCells = boxSideLength * boxSideLength * boxSideLength * boxSideLength;
+        this.entryLength = RECORD_OFFSET + codec.getRecordLength() + CRC_LENGTH;
+        this.recordsPerSegment = SEGMENT_SIZE / entryLength;
+        this.numOfGroups = (Difficulty.values().length + 1) * (numOfCells + 1);
+        this.tablesOffset = (INDEX_HEADER_LENGTH + numOfGroups * Integer.BYTES + Long.BYTES - 1) & -Long.BYTES;
+        this.entryBuffer = ByteBuffer.allocateDirect(entryLength);
+        this.dataChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        try
+        {
+            openData();
+            openIndex();
+            mapSegments();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            closeChannels();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a puzzle to the store.
+     *
+     * @param id the ID of the puzzle, which must not be in the store.
+     * @param puzzle the puzzle, with the size of the store.
+     * @param difficulty the difficulty of the puzzle, or <code>null</code> if
+     *            it is not rated.
+     *
+     * @return the number of the puzzle in the store.
+     *
+     * @throws IOException if the puzzle could not be written.
+     */
+    public long append(long id, SudokuPuzzle puzzle, Difficulty difficulty) throws IOException
+    {
+        if (findById(id) >= 0)
+        {
+            throw new IllegalArgumentException("Puzzle ID is already in the store: " + id);
+        }
+
+        if ((numOfPuzzles + 1) * 2 > MAX_CAPACITY)
+        {
+            throw new IllegalStateException("Store is full with " + numOfPuzzles + " puzzles");
+        }
+
+        int kind = difficulty == null ? UNRATED_KIND : difficulty.ordinal() + 1;
+        int numOfClues = puzzle.getStart().countFilledCells();
+
+        entryBuffer.clear();
+        entryBuffer.putLong(id).put((byte) kind).putShort((short) numOfClues);
+        codec.encode(puzzle, entryBuffer);
+        entryBuffer.flip();
+        crc.reset();
+        crc.update(entryBuffer);
+        entryBuffer.limit(entryLength);
+        entryBuffer.putInt((int) crc.getValue());
+        entryBuffer.flip();
+
+        markIndexDirty();
+
+        long position = HEADER_LENGTH + numOfPuzzles * entryLength;
+        while (entryBuffer.hasRemaining())
+        {
+            position += dataChannel.write(entryBuffer, position);
+        }
+
+        long puzzleNumber = numOfPuzzles++;
+        if (numOfPuzzles * 2 > capacity)
+        {
+            buildIndex(capacity * 2, false);
+        }
+        else
+        {
+            addToIndex(puzzleNumber, id, getGroup(kind, numOfClues));
+            index.putLong(INDEX_NUM_OF_PUZZLES_OFFSET, numOfPuzzles);
+        }
+
+        return puzzleNumber;
+    }
+
+    /**
+     * Returns the number of puzzles in the store.
+     *
+     * @return the number of puzzles.
+     */
+    public long size()
+    {
+        return numOfPuzzles;
+    }
+
+    /**
+     * Finds the puzzle with an ID.
+     *
+     * @param id the ID.
+     *
+     * @return the number of the puzzle, or -1 if there is no puzzle with the ID.
+     */
+    public long findById(long id)
+    {
+        return lookUp(tablesOffset, id);
+    }
+
+    /**
+     * Returns the number of puzzles with a difficulty and a number of clues.
+     *
+     * @param difficulty the difficulty, or <code>null</code> for the unrated puzzles.
+     * @param numOfClues the number of clues.
+     *
+     * @return the number of puzzles.
+     */
+    public int count(Difficulty difficulty, int numOfClues)
+    {
+        if (numOfClues < 0 || numOfClues > numOfCells)
+        {
+            return 0;
+        }
+
+        return index.getInt(INDEX_HEADER_LENGTH + getGroup(difficulty, numOfClues) * Integer.BYTES);
+    }
+
+    /**
+     * Finds a puzzle with a difficulty and a number of clues.
+     *
+     * @param difficulty the difficulty, or <code>null</code> for the unrated puzzles.
+     * @param numOfClues the number of clues.
+     * @param rank the rank of the puzzle among the puzzles with the
+     *            difficulty and number of clues, in the order they were
+     *            appended, below {@link #count(Difficulty, int)}.
+     *
+     * @return the number of the puzzle, or -1 if there is no such puzzle.
+     */
+    public long findByDifficulty(Difficulty difficulty, int numOfClues, int rank)
+    {
+        if (rank < 0 || rank >= count(difficulty, numOfClues))
+        {
+            return -1;
+        }
+
+        return lookUp(tablesOffset + capacity * TABLE_ENTRY_LENGTH,
+                getGroupKey(getGroup(difficulty, numOfClues), rank));
+    }
+
+    /**
+     * Returns the ID of a puzzle.
+     *
+     * @param puzzleNumber the number of the puzzle.
+     *
+     * @return the ID.
+     */
+    public long getId(long puzzleNumber)
+    {
+        return getSegment(puzzleNumber).getLong(getEntryOffset(puzzleNumber));
+    }
+
+    /**
+     * Returns the difficulty of a puzzle.
+     *
+     * @param puzzleNumber the number of the puzzle.
+     *
+     * @return the difficulty, or <code>null</code> if the puzzle is not rated.
+     */
+    public Difficulty getDifficulty(long puzzleNumber)
+    {
+        int kind = getSegment(puzzleNumber).get(getEntryOffset(puzzleNumber) + KIND_OFFSET);
+
+        return kind == UNRATED_KIND ? null : Difficulty.values()[kind - 1];
+    }
+
+    /**
+     * Copies the packed record of a puzzle, see {@link PuzzleCodec}, to the
+     * position of a buffer. The position is moved past the record.
+     *
+     * @param puzzleNumber the number of the puzzle.
+     * @param buffer the buffer, with at least a record length remaining.
+     */
+    public void readRecord(long puzzleNumber, ByteBuffer buffer)
+    {
+        MappedByteBuffer segment = getSegment(puzzleNumber);
+        int recordOffset = getEntryOffset(puzzleNumber) + RECORD_OFFSET;
+
+        for (int i = 0; i < codec.getRecordLength(); i++)
+        {
+            buffer.put(segment.get(recordOffset + i));
+        }
+    }
+
+    /**
+     * Reads a puzzle.
+     *
+     * @param puzzleNumber the number of the puzzle.
+     *
+     * @return the puzzle.
+     */
+    public SudokuPuzzle getPuzzle(long puzzleNumber)
+    {
+        ByteBuffer record = getSegment(puzzleNumber).duplicate();
+        record.position(getEntryOffset(puzzleNumber) + RECORD_OFFSET);
+
+        return codec.decode(record);
+    }
+
+    /**
+     * Forces the data file to disk and then marks the index clean and
+     * forces it to disk.
+     *
+     * @throws IOException if the files could not be forced.
+     */
+    public void sync() throws IOException
+    {
+        dataChannel.force(false);
+        index.putLong(INDEX_NUM_OF_PUZZLES_OFFSET, numOfPuzzles);
+        index.put(INDEX_DIRTY_OFFSET, (byte) 0);
+        index.force();
+    }
+
+    /**
+     * Syncs and closes the store.
+     *
+     * @throws IOException if the files could not be synced or closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            sync();
+        }
+        finally
+        {
+            closeChannels();
+        }
+    }
+
+    /**
+     * Helper method to write the header of a new data file, or to check
+     * the header of an existing data file and count its whole entries.
+     *
+     * @throws IOException if the file could not be read or is not a store of
+     *             puzzles of the size.
+     */
+    private void openData() throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        if (dataChannel.size() == 0)
+        {
+            header.putInt(MAGIC)
+                    .put((byte) VERSION)
+                    .put((byte) codec.getBoxSideLength())
+                    .putShort((short) codec.getRecordLength())
+                    .flip();
+            while (header.hasRemaining())
+            {
+                dataChannel.write(header, header.position());
+            }
+            return;
+        }
+
+        while (header.hasRemaining())
+        {
+            if (dataChannel.read(header, header.position()) < 0)
+            {
+                break;
+            }
+        }
+
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.get(4) != VERSION
+                || header.get(5) != codec.getBoxSideLength() || header.getShort(6) != codec.getRecordLength())
+        {
+            throw new IOException("Not a puzzle store of box side length " + codec.getBoxSideLength());
+        }
+
+        numOfPuzzles = (dataChannel.size() - HEADER_LENGTH) / entryLength;
+    }
+
+    /**
+     * Helper method to map the index file, if it is clean and matches the
+     * data file, or otherwise to build it again after checking the entries.
+     *
+     * @throws IOException if the index could not be read or built.
+     */
+    private void openIndex() throws IOException
+    {
+        if (Files.exists(indexPath))
+        {
+            indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long indexSize = indexChannel.size();
+
+            if (indexSize >= INDEX_HEADER_LENGTH)
+            {
+                index = indexChannel.map(MapMode.READ_WRITE, 0, indexSize);
+                capacity = index.getInt(INDEX_CAPACITY_OFFSET);
+
+                if (index.getInt(0) == INDEX_MAGIC && index.get(INDEX_VERSION_OFFSET) == VERSION
+                        && index.get(INDEX_DIRTY_OFFSET) == 0
+                        && index.get(INDEX_BOX_OFFSET) == codec.getBoxSideLength()
+                        && index.getInt(INDEX_NUM_OF_GROUPS_OFFSET) == numOfGroups
+                        && index.getLong(INDEX_NUM_OF_PUZZLES_OFFSET) == numOfPuzzles
+                        && dataChannel.size() == HEADER_LENGTH + numOfPuzzles * entryLength
+                        && capacity >= MIN_CAPACITY && capacity <= MAX_CAPACITY && Integer.bitCount(capacity) == 1
+                        && indexSize == getIndexSize(capacity))
+                {
+                    shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+                    return;
+                }
+            }
+        }
+
+        int newCapacity = MIN_CAPACITY;
+        while (newCapacity < MAX_CAPACITY && numOfPuzzles * 2 > newCapacity)
+        {
+            newCapacity *= 2;
+        }
+
+        buildIndex(newCapacity, true);
+    }
+
+    /**
+     * Helper method to build the index from the data file, in a new file
+     * which then replaces the index file.
+     *
+     * @param newCapacity the number of slots of each hash table.
+     * @param isChecked <code>true</code> if the CRC of each entry is checked
+     *            and the data file is truncated before the first torn entry.
+     *
+     * @throws IOException if the index could not be built.
+     */
+    private void buildIndex(int newCapacity, boolean isChecked) throws IOException
+    {
+        if (isChecked)
+        {
+            numOfPuzzles = countIntactPuzzles();
+        }
+
+        unmapSegments();
+        if (dataChannel.size() > HEADER_LENGTH + numOfPuzzles * entryLength)
+        {
+            dataChannel.truncate(HEADER_LENGTH + numOfPuzzles * entryLength);
+        }
+        dataChannel.force(false);
+
+        closeIndex();
+
+        Path newIndexPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (FileChannel newIndexChannel = FileChannel.open(newIndexPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            index = newIndexChannel.map(MapMode.READ_WRITE, 0, getIndexSize(newCapacity));
+        }
+        capacity = newCapacity;
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(newCapacity);
+
+        index.putInt(0, INDEX_MAGIC);
+        index.put(INDEX_VERSION_OFFSET, (byte) VERSION);
+        index.put(INDEX_DIRTY_OFFSET, (byte) 1);
+        index.put(INDEX_BOX_OFFSET, (byte) codec.getBoxSideLength());
+        index.putInt(INDEX_CAPACITY_OFFSET, newCapacity);
+        index.putInt(INDEX_NUM_OF_GROUPS_OFFSET, numOfGroups);
+
+        mapSegments();
+        for (long puzzleNumber = 0; puzzleNumber < numOfPuzzles; puzzleNumber++)
+        {
+            MappedByteBuffer segment = getSegment(puzzleNumber);
+            int entryOffset = getEntryOffset(puzzleNumber);
+            int group = getGroup(segment.get(entryOffset + KIND_OFFSET), segment.getShort(entryOffset + CLUES_OFFSET));
+            addToIndex(puzzleNumber, segment.getLong(entryOffset), group);
+        }
+
+        index.putLong(INDEX_NUM_OF_PUZZLES_OFFSET, numOfPuzzles);
+        index.put(INDEX_DIRTY_OFFSET, (byte) 0);
+        index.force();
+        closeIndex();
+
+        Files.move(newIndexPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = indexChannel.map(MapMode.READ_WRITE, 0, indexChannel.size());
+    }
+
+    /**
+     * Helper method to count the whole entries of the data file before the
+     * first torn entry, by reading the file without mapping it.
+     *
+     * @return the number of intact entries.
+     *
+     * @throws IOException if the file could not be read.
+     */
+    private long countIntactPuzzles() throws IOException
+    {
+        ByteBuffer entries = ByteBuffer.allocate(ENTRIES_PER_CHECK * entryLength);
+        long numOfIntactPuzzles = 0;
+
+        while (numOfIntactPuzzles < numOfPuzzles)
+        {
+            int numOfEntries = (int) Math.min(ENTRIES_PER_CHECK, numOfPuzzles - numOfIntactPuzzles);
+            long position = HEADER_LENGTH + numOfIntactPuzzles * entryLength;
+            entries.clear().limit(numOfEntries * entryLength);
+            while (entries.hasRemaining())
+            {
+                if (dataChannel.read(entries, position + entries.position()) < 0)
+                {
+                    throw new IOException("Data file ended before " + numOfPuzzles + " puzzles");
+                }
+            }
+
+            for (int entry = 0; entry < numOfEntries; entry++)
+            {
+                if (!isEntryIntact(entries, entry * entryLength))
+                {
+                    return numOfIntactPuzzles;
+                }
+
+                numOfIntactPuzzles++;
+            }
+        }
+
+        return numOfIntactPuzzles;
+    }
+
+    /**
+     * Helper method to add a puzzle to the hash tables and the count of its
+     * group.
+     *
+     * @param puzzleNumber the number of the puzzle.
+     * @param id the ID of the puzzle.
+     * @param group the group of the difficulty and number of clues of the puzzle.
+     */
+    private void addToIndex(long puzzleNumber, long id, int group)
+    {
+        int countOffset = INDEX_HEADER_LENGTH + group * Integer.BYTES;
+        int rank = index.getInt(countOffset);
+        index.putInt(countOffset, rank + 1);
+
+        insert(tablesOffset, id, puzzleNumber);
+        insert(tablesOffset + capacity * TABLE_ENTRY_LENGTH, getGroupKey(group, rank), puzzleNumber);
+    }
+
+    /**
+     * Helper method to look up a key in a hash table.
+     *
+     * @param tableOffset the offset of the table in the index.
+     * @param key the key.
+     *
+     * @return the puzzle number of the key, or -1 if the key is not in the table.
+     */
+    private long lookUp(int tableOffset, long key)
+    {
+        int mask = capacity - 1;
+        int slot = (int) (key * GOLDEN_RATIO >>> shift);
+
+        while (true)
+        {
+            int entryOffset = tableOffset + slot * TABLE_ENTRY_LENGTH;
+            long value = index.getLong(entryOffset + Long.BYTES);
+            if (value == 0)
+            {
+                return -1;
+            }
+
+            if (index.getLong(entryOffset) == key)
+            {
+                return value - 1;
+            }
+
+            slot = slot + 1 & mask;
+        }
+    }
+
+    /**
+     * Helper method to insert a key in a hash table. The value is stored as
+     * the puzzle number plus one, so zero marks an empty slot.
+     *
+     * @param tableOffset the offset of the table in the index.
+     * @param key the key, which is not in the table.
+     * @param puzzleNumber the puzzle number of the key.
+     */
+    private void insert(int tableOffset, long key, long puzzleNumber)
+    {
+        int mask = capacity - 1;
+        int slot = (int) (key * GOLDEN_RATIO >>> shift);
+
+        while (index.getLong(tableOffset + slot * TABLE_ENTRY_LENGTH + Long.BYTES) != 0)
+        {
+            slot = slot + 1 & mask;
+        }
+
+        index.putLong(tableOffset + slot * TABLE_ENTRY_LENGTH, key);
+        index.putLong(tableOffset + slot * TABLE_ENTRY_LENGTH + Long.BYTES, puzzleNumber + 1);
+    }
+
+    /**
+     * Helper method to mark the index dirty on disk, if it is clean.
+     */
+    private void markIndexDirty()
+    {
+        if (index.get(INDEX_DIRTY_OFFSET) == 0)
+        {
+            index.put(INDEX_DIRTY_OFFSET, (byte) 1);
+            index.force();
+        }
+    }
+
+    /**
+     * Helper method to check the CRC of an entry.
+     *
+     * @param entries the buffer with the entry.
+     * @param entryOffset the offset of the entry in the buffer.
+     *
+     * @return <code>true</code> if the CRC matches. <code>false</code> Otherwise false.
+     */
+    private boolean isEntryIntact(ByteBuffer entries, int entryOffset)
+    {
+        ByteBuffer entry = entries.duplicate();
+        entry.position(entryOffset).limit(entryOffset + entryLength - CRC_LENGTH);
+        crc.reset();
+        crc.update(entry);
+
+        return (int) crc.getValue() == entries.getInt(entryOffset + entryLength - CRC_LENGTH);
+    }
+
+    /**
+     * Helper method to get the mapped segment of the data file with the
+     * entry of a puzzle. The segments are mapped again if the data file has
+     * grown past them.
+     *
+     * @param puzzleNumber the number of the puzzle.
+     *
+     * @return the segment.
+     */
+    private MappedByteBuffer getSegment(long puzzleNumber)
+    {
+        if (puzzleNumber < 0 || puzzleNumber >= numOfPuzzles)
+        {
+            throw new IndexOutOfBoundsException("Puzzle number " + puzzleNumber);
+        }
+
+        int segmentNumber = (int) (puzzleNumber / recordsPerSegment);
+        int entryEnd = getEntryOffset(puzzleNumber) + entryLength;
+        MappedByteBuffer[] currentSegments = segments;
+        if (segmentNumber < currentSegments.length && currentSegments[segmentNumber].limit() >= entryEnd)
+        {
+            return currentSegments[segmentNumber];
+        }
+
+        try
+        {
+            mapSegments();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        return segments[segmentNumber];
+    }
+
+    /**
+     * Helper method to map the segments of the data file with the entries
+     * of all puzzles, and to publish them to the readers as a new array.
+     * The segments which already hold all their entries are kept, so only
+     * the last segment is mapped again when the data file has grown. Only
+     * one thread at a time maps.
+     *
+     * @throws IOException if a segment could not be mapped.
+     */
+    private void mapSegments() throws IOException
+    {
+        synchronized (segmentLock)
+        {
+            MappedByteBuffer[] oldSegments = segments;
+            int numOfSegments = (int) ((numOfPuzzles + recordsPerSegment - 1) / recordsPerSegment);
+            MappedByteBuffer[] newSegments = new MappedByteBuffer[numOfSegments];
+            boolean isChanged = numOfSegments != oldSegments.length;
+
+            for (int segmentNumber = 0; segmentNumber < numOfSegments; segmentNumber++)
+            {
+                long firstPuzzleNumber = (long) segmentNumber * recordsPerSegment;
+                long segmentLength = Math.min(recordsPerSegment, numOfPuzzles - firstPuzzleNumber) * entryLength;
+
+                if (segmentNumber < oldSegments.length && oldSegments[segmentNumber].limit() == segmentLength)
+                {
+                    newSegments[segmentNumber] = oldSegments[segmentNumber];
+                }
+                else
+                {
+                    newSegments[segmentNumber] = dataChannel.map(MapMode.READ_ONLY,
+                            HEADER_LENGTH + firstPuzzleNumber * entryLength, segmentLength);
+                    isChanged = true;
+                }
+            }
+
+            if (isChanged)
+            {
+                segments = newSegments;
+            }
+        }
+    }
+
+    /**
+     * Helper method to get the offset of the entry of a puzzle in its segment.
+     *
+     * @param puzzleNumber the number of the puzzle.
+     *
+     * @return the offset.
+     */
+    private int getEntryOffset(long puzzleNumber)
+    {
+        return (int) (puzzleNumber % recordsPerSegment) * entryLength;
+    }
+
+    /**
+     * Helper method to get the size of the index file.
+     *
+     * @param tableCapacity the number of slots of each hash table.
+     *
+     * @return the size in bytes.
+     */
+    private int getIndexSize(int tableCapacity)
+    {
+        return tablesOffset + 2 * tableCapacity * TABLE_ENTRY_LENGTH;
+    }
+
+    /**
+     * Helper method to get the group of a difficulty and a number of clues.
+     *
+     * @param difficulty the difficulty, or <code>null</code> if unrated.
+     * @param numOfClues the number of clues.
+     *
+     * @return the group.
+     */
+    private int getGroup(Difficulty difficulty, int numOfClues)
+    {
+        return getGroup(difficulty == null ? UNRATED_KIND : difficulty.ordinal() + 1, numOfClues);
+    }
+
+    /**
+     * Helper method to get the group of a difficulty and a number of clues.
+     *
+     * @param kind zero if unrated, otherwise one more than the ordinal of
+     *            the difficulty.
+     * @param numOfClues the number of clues.
+     *
+     * @return the group.
+     */
+    private int getGroup(int kind, int numOfClues)
+    {
+        return kind * (numOfCells + 1) + numOfClues;
+    }
+
+    /**
+     * Helper method to get the key of a puzzle of a group in the hash table
+     * of the groups.
+     *
+     * @param group the group.
+     * @param rank the rank of the puzzle in the group.
+     *
+     * @return the key.
+     */
+    private static long getGroupKey(int group, int rank)
+    {
+        return (long) group << Integer.SIZE | rank & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Helper method to close the files.
+     *
+     * @throws IOException if a file could not be closed.
+     */
+    private void closeChannels() throws IOException
+    {
+        try
+        {
+            unmapSegments();
+            dataChannel.close();
+        }
+        finally
+        {
+            closeIndex();
+        }
+    }
+
+    /**
+     * Helper method to unmap the index and close its file, if it is open.
+     *
+     * @throws IOException if the file could not be closed.
+     */
+    private void closeIndex() throws IOException
+    {
+        if (index != null)
+        {
+            unmap(index);
+            index = null;
+        }
+
+        if (indexChannel != null)
+        {
+            indexChannel.close();
+            indexChannel = null;
+        }
+    }
+
+    /**
+     * Helper method to unmap the segments of the data file.
+     */
+    private void unmapSegments()
+    {
+        synchronized (segmentLock)
+        {
+            MappedByteBuffer[] oldSegments = segments;
+            segments = new MappedByteBuffer[0];
+            for (MappedByteBuffer segment : oldSegments)
+            {
+                unmap(segment);
+            }
+        }
+    }
+
+    /**
+     * Helper method to unmap a buffer at once, instead of when it is
+     * collected. The buffer must not be used afterwards. The cleaner is
+     * reached through <code>sun.misc.Unsafe</code> from Java 9 and through
+     * the buffer on Java 8. If neither is available, the buffer is left to
+     * the garbage collector.
+     *
+     * @param buffer the buffer.
+     */
+    private static void unmap(MappedByteBuffer buffer)
+    {
+        try
+        {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        }
+        catch (NoSuchMethodException e)
+        {
+            try
+            {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null)
+                {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+            catch (ReflectiveOperationException | RuntimeException cleanerException)
+            {
+                // Left to the garbage collector
+            }
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            // Left to the garbage collector
+        }
+    }
+}
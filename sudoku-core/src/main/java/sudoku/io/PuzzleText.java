@@ -0,0 +1,134 @@
+package sudoku.io;
+
+/**
+ * The characters used for the numbers of a grid in the text format.
+ * An empty cell is a dot, the numbers one to nine are digits and the
+ * numbers ten to 25 are the letters A to P.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public final class PuzzleText
+{
+    private static final char EMPTY_CELL = '.';
+    private static final int NUM_OF_DIGITS = 9;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+
+    /**
+     * Constructor
+     *
+     * Not used, the class only has static methods.
+     */
+    private PuzzleText()
+    {
+    }
+
+    /**
+     * Returns the character of a number.
+     *
+     * @param number the number, or zero for an empty cell.
+     *
+     * @return the character.
+     */
+    public static char toChar(int number)
+    {
+        if (number == 0)
+        {
+            return EMPTY_CELL;
+        }
+        else if (number <= NUM_OF_DIGITS)
+        {
+            return (char) ('0' + number);
+        }
+        else
+        {
+            return (char) ('A' + number - NUM_OF_DIGITS - 1);
+        }
+    }
+
+    /**
+     * Returns the number of a character. A zero is read as an empty cell,
+     * as well as a dot.
+     *
+     * @param c the character.
+     *
+     * @return the number, or zero for an empty cell.
+     */
+    public static int toNumber(char c)
+    {
+        if (c == EMPTY_CELL || c == '0')
+        {
+            return 0;
+        }
+        else if (c >= '1' && c <= '9')
+        {
+            return c - '0';
+        }
+        else if (c >= 'A' && c <= 'P')
+        {
+            return c - 'A' + NUM_OF_DIGITS + 1;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Not a sudoku character: " + c);
+        }
+    }
+
+    /**
+     * Returns the text of a grid, row by row.
+     *
+     * @param grid the grid, where zero is an empty cell.
+     *
+     * @return the text, one character per cell.
+     */
+    public static String toText(int[][] grid)
+    {
+        StringBuilder sb = new StringBuilder(grid.length * grid.length);
+        for (int[] row : grid)
+        {
+            for (int number : row)
+            {
+                sb.append(toChar(number));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns the grid of a text, row by row. The size of the grid is given
+     * by the length of the text.
+     *
+     * @param text the text, one character per cell.
+     *
+     * @return the grid, where zero is an empty cell.
+     *
+     * @throws IllegalArgumentException if the length is not the number of
+     *             cells of a grid, or a character is not a number of the grid.
+     */
+    public static int[][] toGrid(CharSequence text)
+    {
+        int gridSize = (int) Math.round(Math.sqrt(text.length()));
+        int boxSideLength = (int) Math.round(Math.sqrt(gridSize));
+        if (gridSize * gridSize != text.length() || boxSideLength * boxSideLength != gridSize
+                || boxSideLength < MIN_BOX_SIDE_LENGTH || boxSideLength > MAX_BOX_SIDE_LENGTH)
+        {
+            throw new IllegalArgumentException("Not the length of a grid: " + text.length());
+        }
+
+        int[][] grid = new int[gridSize][gridSize];
+        for (int i = 0; i < text.length(); i++)
+        {
+            int number = toNumber(text.charAt(i));
+            if (number > gridSize)
+            {
+                throw new IllegalArgumentException("Number out of range: " + number);
+            }
+
+            grid[i / gridSize][i % gridSize] = number;
+        }
+
+        return grid;
+    }
+}
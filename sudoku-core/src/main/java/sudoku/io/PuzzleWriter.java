@@ -0,0 +1,25 @@
+package sudoku.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import sudoku.generator.SudokuPuzzle;
+
+/**
+ * A writer of puzzles to a file.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public interface PuzzleWriter extends Closeable
+{
+    /**
+     * Writes a puzzle. The puzzle may be kept in a buffer until more
+     * puzzles are written or the writer is closed.
+     *
+     * @param puzzle the puzzle.
+     *
+     * @throws IOException if the puzzle could not be written.
+     */
+    void write(SudokuPuzzle puzzle) throws IOException;
+}
@@ -0,0 +1,85 @@
+package sudoku.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import sudoku.generator.Difficulty;
+import sudoku.generator.PuzzleIds;
+import sudoku.generator.SudokuPuzzle;
+
+/**
+ * Appends puzzles of one size to a {@link PuzzleStore}. The ID of a puzzle
+ * is given by {@link PuzzleIds#getId(SudokuPuzzle)}, so the same puzzle has
+ * the same ID in every store, and puzzles could be appended to a store by
+ * several exports. A puzzle which is already in the store is skipped and
+ * counted, see {@link #getNumOfSkipped()}.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class StorePuzzleWriter implements PuzzleWriter
+{
+    private final PuzzleStore store;
+    private final Difficulty difficulty;
+    private long numOfSkipped;
+
+    /**
+     * Constructor
+     *
+     * Opens the store, or creates it if it does not exist.
+     *
+     * @param path the path of the data file of the store.
+     * @param boxSideLength the side length of a box in the puzzles.
+     * @param difficulty the difficulty of the puzzles, or <code>null</code> if
+     *            they are not rated.
+     *
+     * @throws IOException if the store could not be opened.
+     */
+    public StorePuzzleWriter(Path path, int boxSideLength, Difficulty difficulty) throws IOException
+    {
+        this.store = new PuzzleStore(path, boxSideLength);
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Appends a puzzle to the store, unless it is already in the store.
+     *
+     * @param puzzle the puzzle.
+     *
+     * @throws IOException if the puzzle could not be written.
+     */
+    @Override
+    public void write(SudokuPuzzle puzzle) throws IOException
+    {
+        long id = PuzzleIds.getId(puzzle);
+        if (store.findById(id) >= 0)
+        {
+            numOfSkipped++;
+            return;
+        }
+
+        store.append(id, puzzle, difficulty);
+    }
+
+    /**
+     * Returns the number of puzzles skipped since they were already in the
+     * store.
+     *
+     * @return the number of skipped puzzles.
+     */
+    public long getNumOfSkipped()
+    {
+        return numOfSkipped;
+    }
+
+    /**
+     * Syncs and closes the store.
+     *
+     * @throws IOException if the store could not be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        store.close();
+    }
+}
@@ -0,0 +1,64 @@
+package sudoku.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import sudoku.generator.SudokuPuzzle;
+
+/**
+ * Writes puzzles to a text file, one puzzle on each line.
+ *
+ * <p>
+ * A line holds the cells of the start grid row by row, a space and the
+ * cells of the solution row by row, so a 9 x 9 puzzle is two strings of
+ * 81 characters. See {@link PuzzleText} for the characters of the numbers.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class TextPuzzleWriter extends ChannelPuzzleWriter
+{
+    private static final int MAX_GRID_SIZE = 25;
+
+    /**
+     * Constructor
+     *
+     * Creates the file.
+     *
+     * @param path the path of the file.
+     *
+     * @throws IOException if the file could not be created.
+     */
+    public TextPuzzleWriter(Path path) throws IOException
+    {
+        super(path, 2 * MAX_GRID_SIZE * MAX_GRID_SIZE + 2);
+    }
+
+    @Override
+    protected void encode(SudokuPuzzle puzzle, ByteBuffer buffer)
+    {
+        int gridSize = puzzle.getGridSize();
+
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int col = 0; col < gridSize; col++)
+            {
+                buffer.put((byte) PuzzleText.toChar(puzzle.getStartNumber(row, col)));
+            }
+        }
+
+        buffer.put((byte) ' ');
+
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int col = 0; col < gridSize; col++)
+            {
+                buffer.put((byte) PuzzleText.toChar(puzzle.getSolutionNumber(row, col)));
+            }
+        }
+
+        buffer.put((byte) '\n');
+    }
+}
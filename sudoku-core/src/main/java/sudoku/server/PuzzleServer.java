@@ -0,0 +1,927 @@
+package sudoku.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import sudoku.generator.Difficulty;
+import sudoku.generator.GenerationMetrics;
+import sudoku.generator.GenerationMetricsSnapshot;
+import sudoku.generator.PuzzlePools;
+import sudoku.generator.SolutionEngine;
+import sudoku.generator.SolveResult;
+import sudoku.generator.SudokuPuzzle;
+import sudoku.generator.SudokuSolver;
+import sudoku.io.PuzzleText;
+
+/**
+ * Headless entry point, which serves puzzles as JSON over HTTP on
+ * localhost. The server uses the HTTP server of the JDK and has no other
+ * dependencies.
+ *
+ * <p>
+ * The endpoints take their parameters from the query string, or from the
+ * body as a flat JSON object or as a form. A grid is given as the text of
+ * {@link PuzzleText}, row by row.
+ * </p>
+ * <ul>
+ * <li><code>/generate?size=n&amp;difficulty=tier</code> takes a puzzle from
+ * the puzzle pools, see {@link PuzzlePools}. The box side length is
+ * {@value #DEFAULT_BOX_SIDE_LENGTH} and the tier EASY by default. The
+ * response has the size, the tier, the puzzle and the solution.</li>
+ * <li><code>/solve?puzzle=grid</code> solves a grid, see {@link SudokuSolver}.
+ * The response has the status and the solution if the grid is solved.</li>
+ * <li><code>/validate?puzzle=grid</code> checks a grid against the rules.
+ * The response tells if the grid is valid and complete, and lists the
+ * indexes of the cells in conflict.</li>
+ * <li><code>/metrics</code> returns a snapshot of the {@link GenerationMetrics},
+ * which are also registered as an MBean. The metrics are only recorded
+ * while they are enabled, see the <code>--metrics</code> option, and are
+ * zero otherwise.</li>
+ * </ul>
+ *
+ * <p>
+ * The requests are handled on virtual threads when the runtime has them,
+ * and otherwise on a pool with one thread per processor, whose queue
+ * makes the server stop accepting connections when it is full. The
+ * solving and generating is done by at most one request per processor at
+ * a time, and a request that comes when the maximum number of requests
+ * is in progress gets status 503 at once. Together with the limited size
+ * of a request body, this keeps the memory of the server bounded.
+ * </p>
+ *
+ * <p>
+ * The arguments are:
+ * </p>
+ * <ul>
+ * <li><code>--port n</code> the port, {@value #DEFAULT_PORT} by default.</li>
+ * <li><code>--engine name</code> the solution engine, BACKTRACKING by default.</li>
+ * <li><code>--max-requests n</code> the maximum number of requests in progress,
+ * {@value #DEFAULT_MAX_NUM_OF_REQUESTS} by default.</li>
+ * <li><code>--metrics true|false</code> record the generation metrics, true
+ * by default.</li>
+ * </ul>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzleServer implements AutoCloseable
+{
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_MAX_NUM_OF_REQUESTS = 10000;
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final int MIN_BOX_SIDE_LENGTH = 2;
+    private static final int MAX_BOX_SIDE_LENGTH = 5;
+    private static final double MEDIAN = 50;
+    private static final double P99 = 99;
+    private static final int POOL_CAPACITY = 64;
+    private static final int POOL_LOW_WATERMARK = 16;
+    private static final int NUM_OF_REFILL_THREADS = 1;
+    private static final int CONNECTION_BACKLOG = 1024;
+    private static final int MAX_BODY_LENGTH = 4096;
+    private static final int STATUS_OK = 200;
+    private static final int STATUS_BAD_REQUEST = 400;
+    private static final int STATUS_NOT_FOUND = 404;
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int STATUS_REQUEST_TOO_LARGE = 413;
+    private static final int STATUS_SERVICE_UNAVAILABLE = 503;
+    private static final String PARAMETER_SIZE = "size";
+    private static final String PARAMETER_DIFFICULTY = "difficulty";
+    private static final String PARAMETER_PUZZLE = "puzzle";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final PuzzlePools puzzlePools;
+    private final Semaphore requestPermits;
+    private final Semaphore workerPermits;
+    private final Queue<SudokuSolver>[] idleSolvers;
+
+    /**
+     * Constructor
+     *
+     * Instantiates a server on a port of localhost. The server does not
+     * handle requests until it is started.
+     *
+     * @param port the port, or zero for any free port.
+     * @param solutionEngine the engine of the solutions of the generated
+     *            puzzles.
+     * @param maxNumOfRequests the maximum number of requests in progress.
+     *
+     * @throws IOException if the server could not be bound to the port.
+     */
+    public PuzzleServer(int port, SolutionEngine solutionEngine, int maxNumOfRequests) throws IOException
+    {
+        if (maxNumOfRequests < 1)
+        {
+            throw new IllegalArgumentException("Maximum number of requests must be at least one: " + maxNumOfRequests);
+        }
+
+        int numOfProcessors = Runtime.getRuntime().availableProcessors();
+
+        puzzlePools = new PuzzlePools(solutionEngine, POOL_CAPACITY, POOL_LOW_WATERMARK, NUM_OF_REFILL_THREADS);
+        requestPermits = new Semaphore(maxNumOfRequests);
+        workerPermits = new Semaphore(numOfProcessors);
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Queue<SudokuSolver>[] solvers = new Queue[MAX_BOX_SIDE_LENGTH + 1];
+        for (int boxSideLength = 0; boxSideLength < solvers.length; boxSideLength++)
+        {
+            solvers[boxSideLength] = new ConcurrentLinkedQueue<SudokuSolver>();
+        }
+        idleSolvers = solvers;
+
+        executor = createExecutor(numOfProcessors, maxNumOfRequests);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECTION_BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/generate", new PuzzleHandler()
+        {
+            @Override
+            protected String handleRequest(Map<String, String> parameters)
+            {
+                return generate(parameters);
+            }
+        });
+        server.createContext("/solve", new PuzzleHandler()
+        {
+            @Override
+            protected String handleRequest(Map<String, String> parameters)
+            {
+                return solve(parameters);
+            }
+        });
+        server.createContext("/validate", new PuzzleHandler()
+        {
+            @Override
+            protected String handleRequest(Map<String, String> parameters)
+            {
+                return validate(parameters);
+            }
+        });
+        server.createContext("/metrics", new PuzzleHandler()
+        {
+            @Override
+            protected String handleRequest(Map<String, String> parameters)
+            {
+                return metrics();
+            }
+        });
+
+        GenerationMetrics.registerMBean();
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        int port = DEFAULT_PORT;
+        SolutionEngine solutionEngine = SolutionEngine.BACKTRACKING;
+        int maxNumOfRequests = DEFAULT_MAX_NUM_OF_REQUESTS;
+        boolean isMetricsEnabled = true;
+
+        for (int i = 0; i < args.length; i += 2)
+        {
+            if (i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+
+            String value = args[i + 1];
+            switch (args[i])
+            {
+            case "--port":
+                port = Integer.parseInt(value);
+                break;
+            case "--engine":
+                solutionEngine = SolutionEngine.valueOf(value);
+                break;
+            case "--max-requests":
+                maxNumOfRequests = Integer.parseInt(value);
+                break;
+            case "--metrics":
+                isMetricsEnabled = Boolean.parseBoolean(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        GenerationMetrics.setEnabled(isMetricsEnabled);
+        PuzzleServer puzzleServer = new PuzzleServer(port, solutionEngine, maxNumOfRequests);
+        puzzleServer.start();
+        System.out.println("Serving puzzles on http://localhost:" + puzzleServer.getPort() + "/");
+    }
+
+    /**
+     * Starts to handle requests.
+     */
+    public void start()
+    {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return the port.
+     */
+    public int getPort()
+    {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, its request threads and the refill threads of the
+     * puzzle pools.
+     */
+    @Override
+    public void close()
+    {
+        server.stop(0);
+        executor.shutdownNow();
+        puzzlePools.close();
+    }
+
+    /**
+     * Helper method to create the executor of the requests. Virtual threads
+     * are looked up by reflection, since they are not in all runtimes.
+     *
+     * @param numOfProcessors the number of processors.
+     * @param maxNumOfRequests the maximum number of requests in progress.
+     *
+     * @return the executor.
+     */
+    private static ExecutorService createExecutor(int numOfProcessors, int maxNumOfRequests)
+    {
+        try
+        {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            return new ThreadPoolExecutor(numOfProcessors, numOfProcessors, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(maxNumOfRequests), new RequestThreadFactory(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+    }
+
+    /**
+     * Helper method to take a generated puzzle.
+     *
+     * @param parameters the parameters of the request.
+     *
+     * @return the JSON of the puzzle.
+     */
+    private String generate(Map<String, String> parameters)
+    {
+        int boxSideLength = DEFAULT_BOX_SIDE_LENGTH;
+        if (parameters.containsKey(PARAMETER_SIZE))
+        {
+            boxSideLength = Integer.parseInt(parameters.get(PARAMETER_SIZE));
+        }
+
+        Difficulty difficulty = Difficulty.EASY;
+        if (parameters.containsKey(PARAMETER_DIFFICULTY))
+        {
+            difficulty = Difficulty.valueOf(parameters.get(PARAMETER_DIFFICULTY));
+        }
+
+        SudokuPuzzle puzzle;
+        workerPermits.acquireUninterruptibly();
+        try
+        {
+            puzzle = puzzlePools.take(boxSideLength, difficulty);
+        }
+        finally
+        {
+            workerPermits.release();
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"size\":").append(boxSideLength);
+        sb.append(",\"difficulty\":\"").append(difficulty.name()).append('"');
+        sb.append(",\"puzzle\":\"").append(PuzzleText.toText(puzzle.getStartGameGrid())).append('"');
+        sb.append(",\"solution\":\"").append(PuzzleText.toText(puzzle.getSolutionGrid())).append("\"}");
+
+        return sb.toString();
+    }
+
+    /**
+     * Helper method to solve a grid.
+     *
+     * @param parameters the parameters of the request.
+     *
+     * @return the JSON of the status and the solution.
+     */
+    private String solve(Map<String, String> parameters)
+    {
+        int[][] grid = readGrid(parameters);
+        int boxSideLength = (int) Math.round(Math.sqrt(grid.length));
+
+        SolveResult result;
+        workerPermits.acquireUninterruptibly();
+        try
+        {
+            SudokuSolver solver = idleSolvers[boxSideLength].poll();
+            if (solver == null)
+            {
+                solver = new SudokuSolver(boxSideLength);
+            }
+
+            result = solver.solve(grid);
+            idleSolvers[boxSideLength].offer(solver);
+        }
+        finally
+        {
+            workerPermits.release();
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"status\":\"").append(result.getStatus().name()).append('"');
+        if (result.isSolved())
+        {
+            sb.append(",\"solution\":\"").append(PuzzleText.toText(result.getSolution())).append('"');
+        }
+        sb.append('}');
+
+        return sb.toString();
+    }
+
+    /**
+     * Helper method to check a grid against the rules. A cell is in
+     * conflict if another cell in its row, column or box has the same
+     * number.
+     *
+     * @param parameters the parameters of the request.
+     *
+     * @return the JSON of the validity, the completeness and the conflicts.
+     */
+    private String validate(Map<String, String> parameters)
+    {
+        int[][] grid = readGrid(parameters);
+        int gridSize = grid.length;
+        int boxSideLength = (int) Math.round(Math.sqrt(gridSize));
+
+        StringBuilder conflicts = new StringBuilder();
+        boolean isComplete = true;
+        for (int row = 0; row < gridSize; row++)
+        {
+            for (int col = 0; col < gridSize; col++)
+            {
+                if (grid[row][col] == 0)
+                {
+                    isComplete = false;
+                }
+                else if (isInConflict(grid, boxSideLength, row, col))
+                {
+                    if (conflicts.length() > 0)
+                    {
+                        conflicts.append(',');
+                    }
+                    conflicts.append(row * gridSize + col);
+                }
+            }
+        }
+
+        boolean isValid = conflicts.length() == 0;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"valid\":").append(isValid);
+        sb.append(",\"complete\":").append(isValid && isComplete);
+        sb.append(",\"conflicts\":[").append(conflicts).append("]}");
+
+        return sb.toString();
+    }
+
+    /**
+     * Helper method to get the generation metrics. The latencies are given
+     * for the sizes with generated puzzles.
+     *
+     * @return the JSON of the metrics.
+     */
+    private static String metrics()
+    {
+        GenerationMetricsSnapshot snapshot = GenerationMetrics.snapshot();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"enabled\":").append(snapshot.isEnabled());
+        sb.append(",\"solutions\":").append(snapshot.getNumOfSolutions());
+        sb.append(",\"backtracks\":").append(snapshot.getNumOfBacktracks());
+        sb.append(",\"restarts\":").append(snapshot.getNumOfRestarts());
+        sb.append(",\"maxDeadEndDepth\":").append(snapshot.getMaxDeadEndDepth());
+        sb.append(",\"masks\":").append(snapshot.getNumOfMasks());
+        sb.append(",\"skippedFullBoxes\":").append(snapshot.getNumOfSkippedFullBoxes());
+        sb.append(",\"difficultyMasks\":").append(snapshot.getNumOfDifficultyMasks());
+        sb.append(",\"difficultyMaskAttempts\":").append(snapshot.getNumOfDifficultyMaskAttempts());
+        sb.append(",\"missedDifficulties\":").append(snapshot.getNumOfMissedDifficulties());
+        sb.append(",\"latencies\":[");
+
+        boolean isFirst = true;
+        for (int boxSideLength = MIN_BOX_SIDE_LENGTH; boxSideLength <= MAX_BOX_SIDE_LENGTH; boxSideLength++)
+        {
+            long numOfPuzzles = snapshot.getNumOfPuzzles(boxSideLength);
+            if (numOfPuzzles == 0)
+            {
+                continue;
+            }
+
+            if (!isFirst)
+            {
+                sb.append(',');
+            }
+            isFirst = false;
+
+            sb.append("{\"size\":").append(boxSideLength);
+            sb.append(",\"puzzles\":").append(numOfPuzzles);
+            sb.append(",\"meanNanos\":").append(snapshot.getMeanLatencyNanos(boxSideLength));
+            sb.append(",\"medianNanos\":").append(snapshot.getLatencyPercentileNanos(boxSideLength, MEDIAN));
+            sb.append(",\"p99Nanos\":").append(snapshot.getLatencyPercentileNanos(boxSideLength, P99));
+            sb.append(",\"maxNanos\":").append(snapshot.getMaxLatencyNanos(boxSideLength)).append('}');
+        }
+        sb.append("]}");
+
+        return sb.toString();
+    }
+
+    /**
+     * Helper method to check if the number of a cell is also in another
+     * cell of its row, column or box.
+     *
+     * @param grid the grid.
+     * @param boxSideLength the box side length of the grid.
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     *
+     * @return <code>true</code> if the number is in another cell.
+     *         <code>false</code> Otherwise false.
+     */
+    private static boolean isInConflict(int[][] grid, int boxSideLength, int row, int col)
+    {
+        int number = grid[row][col];
+        int boxStartRow = row - row % boxSideLength;
+        int boxStartCol = col - col % boxSideLength;
+
+        for (int i = 0; i < grid.length; i++)
+        {
+            if ((i != col && grid[row][i] == number) || (i != row && grid[i][col] == number))
+            {
+                return true;
+            }
+
+            int boxRow = boxStartRow + i / boxSideLength;
+            int boxCol = boxStartCol + i % boxSideLength;
+            if ((boxRow != row || boxCol != col) && grid[boxRow][boxCol] == number)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Helper method to read the grid of a request.
+     *
+     * @param parameters the parameters of the request.
+     *
+     * @return the grid.
+     */
+    private static int[][] readGrid(Map<String, String> parameters)
+    {
+        String text = parameters.get(PARAMETER_PUZZLE);
+        if (text == null)
+        {
+            throw new IllegalArgumentException("Missing parameter " + PARAMETER_PUZZLE);
+        }
+
+        return PuzzleText.toGrid(text.trim());
+    }
+
+    /**
+     * Helper method to read the parameters of a query string or a form.
+     *
+     * @param text the query string or form, may be <code>null</code>.
+     * @param parameters the map to put the parameters in.
+     */
+    private static void readForm(String text, Map<String, String> parameters)
+    {
+        if (text == null || text.isEmpty())
+        {
+            return;
+        }
+
+        try
+        {
+            for (String pair : text.split("&"))
+            {
+                int separator = pair.indexOf('=');
+                if (separator > 0)
+                {
+                    parameters.put(URLDecoder.decode(pair.substring(0, separator), "UTF-8"),
+                            URLDecoder.decode(pair.substring(separator + 1), "UTF-8"));
+                }
+            }
+        }
+        catch (UnsupportedEncodingException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Helper method to read the members of a flat JSON object, whose values
+     * are strings, numbers or literals.
+     *
+     * @param text the JSON object.
+     * @param parameters the map to put the members in.
+     */
+    private static void readJsonObject(String text, Map<String, String> parameters)
+    {
+        JsonReader reader = new JsonReader(text);
+        reader.expect('{');
+        if (reader.peek() == '}')
+        {
+            reader.expect('}');
+            return;
+        }
+
+        do
+        {
+            String name = reader.readString();
+            reader.expect(':');
+            parameters.put(name, reader.peek() == '"' ? reader.readString() : reader.readLiteral());
+        }
+        while (reader.skipIf(','));
+
+        reader.expect('}');
+    }
+
+    /**
+     * Helper method to write a response.
+     *
+     * @param exchange the exchange of the request.
+     * @param status the status code.
+     * @param json the JSON of the response.
+     *
+     * @throws IOException if the response could not be written.
+     */
+    private static void sendResponse(HttpExchange exchange, int status, String json) throws IOException
+    {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+
+        try (OutputStream out = exchange.getResponseBody())
+        {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Helper method to write an error response.
+     *
+     * @param exchange the exchange of the request.
+     * @param status the status code.
+     * @param message the message of the error.
+     *
+     * @throws IOException if the response could not be written.
+     */
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException
+    {
+        StringBuilder sb = new StringBuilder("{\"error\":\"");
+        for (int i = 0; i < message.length(); i++)
+        {
+            char c = message.charAt(i);
+            if (c == '"' || c == '\\')
+            {
+                sb.append('\\').append(c);
+            }
+            else if (c < ' ')
+            {
+                sb.append(String.format("\\u%04x", (int) c));
+            }
+            else
+            {
+                sb.append(c);
+            }
+        }
+        sb.append("\"}");
+
+        sendResponse(exchange, status, sb.toString());
+    }
+
+    /**
+     * The handler of an endpoint, which limits the number of requests in
+     * progress, reads the parameters and writes the response.
+     */
+    private abstract class PuzzleHandler implements HttpHandler
+    {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException
+        {
+            try
+            {
+                if (!requestPermits.tryAcquire())
+                {
+                    sendError(exchange, STATUS_SERVICE_UNAVAILABLE, "Too many requests");
+                    return;
+                }
+
+                try
+                {
+                    handleExchange(exchange);
+                }
+                finally
+                {
+                    requestPermits.release();
+                }
+            }
+            finally
+            {
+                exchange.close();
+            }
+        }
+
+        /**
+         * Helper method to handle an admitted request.
+         *
+         * @param exchange the exchange of the request.
+         *
+         * @throws IOException if the request could not be read or the
+         *             response could not be written.
+         */
+        private void handleExchange(HttpExchange exchange) throws IOException
+        {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"POST".equals(method))
+            {
+                sendError(exchange, STATUS_METHOD_NOT_ALLOWED, "Method not allowed: " + method);
+                return;
+            }
+
+            if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath()))
+            {
+                sendError(exchange, STATUS_NOT_FOUND, "Not found: " + exchange.getRequestURI().getPath());
+                return;
+            }
+
+            String body = readBody(exchange.getRequestBody());
+            if (body == null)
+            {
+                sendError(exchange, STATUS_REQUEST_TOO_LARGE, "Request body larger than " + MAX_BODY_LENGTH + " bytes");
+                return;
+            }
+
+            String json;
+            try
+            {
+                Map<String, String> parameters = new HashMap<String, String>();
+                readForm(exchange.getRequestURI().getRawQuery(), parameters);
+                if (body.startsWith("{"))
+                {
+                    readJsonObject(body, parameters);
+                }
+                else
+                {
+                    readForm(body, parameters);
+                }
+
+                json = handleRequest(parameters);
+            }
+            catch (IllegalArgumentException e)
+            {
+                sendError(exchange, STATUS_BAD_REQUEST, String.valueOf(e.getMessage()));
+                return;
+            }
+
+            sendResponse(exchange, STATUS_OK, json);
+        }
+
+        /**
+         * Helper method to read the body of a request, up to the maximum
+         * length.
+         *
+         * @param in the body.
+         *
+         * @return the trimmed body, or <code>null</code> if it is too large.
+         *
+         * @throws IOException if the body could not be read.
+         */
+        private String readBody(InputStream in) throws IOException
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[MAX_BODY_LENGTH];
+            int numOfBytes;
+            while ((numOfBytes = in.read(buffer)) >= 0)
+            {
+                out.write(buffer, 0, numOfBytes);
+                if (out.size() > MAX_BODY_LENGTH)
+                {
+                    return null;
+                }
+            }
+
+            return new String(out.toByteArray(), StandardCharsets.UTF_8).trim();
+        }
+
+        /**
+         * Handles the parameters of a request.
+         *
+         * @param parameters the parameters of the request.
+         *
+         * @return the JSON of the response.
+         */
+        protected abstract String handleRequest(Map<String, String> parameters);
+    }
+
+    /**
+     * Reads the tokens of a JSON text, as far as needed by a flat object.
+     */
+    private static final class JsonReader
+    {
+        private final String text;
+        private int position;
+
+        /**
+         * Constructor
+         *
+         * @param text the JSON text.
+         */
+        private JsonReader(String text)
+        {
+            this.text = text;
+        }
+
+        /**
+         * Returns the next character which is not white space, without
+         * reading it.
+         *
+         * @return the character.
+         */
+        private char peek()
+        {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position)))
+            {
+                position++;
+            }
+
+            if (position >= text.length())
+            {
+                throw new IllegalArgumentException("Unexpected end of JSON");
+            }
+
+            return text.charAt(position);
+        }
+
+        /**
+         * Reads the next character, which must be the given one.
+         *
+         * @param c the character.
+         */
+        private void expect(char c)
+        {
+            if (peek() != c)
+            {
+                throw new IllegalArgumentException("Expected '" + c + "' at position " + position + " of JSON");
+            }
+
+            position++;
+        }
+
+        /**
+         * Reads the next character if it is the given one.
+         *
+         * @param c the character.
+         *
+         * @return <code>true</code> if the character was read.
+         *         <code>false</code> Otherwise false.
+         */
+        private boolean skipIf(char c)
+        {
+            if (peek() == c)
+            {
+                position++;
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Reads a string.
+         *
+         * @return the string, with the escapes replaced.
+         */
+        private String readString()
+        {
+            expect('"');
+
+            StringBuilder sb = new StringBuilder();
+            while (position < text.length())
+            {
+                char c = text.charAt(position++);
+                if (c == '"')
+                {
+                    return sb.toString();
+                }
+                else if (c != '\\')
+                {
+                    sb.append(c);
+                }
+                else if (position < text.length())
+                {
+                    char escape = text.charAt(position++);
+                    switch (escape)
+                    {
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length())
+                        {
+                            throw new IllegalArgumentException("Unexpected end of JSON");
+                        }
+                        sb.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        position += 4;
+                        break;
+                    default:
+                        sb.append(escape);
+                    }
+                }
+            }
+
+            throw new IllegalArgumentException("Unexpected end of JSON");
+        }
+
+        /**
+         * Reads a number or a literal, such as <code>true</code>.
+         *
+         * @return the text of the number or literal.
+         */
+        private String readLiteral()
+        {
+            int start = position;
+            while (position < text.length() && text.charAt(position) != ',' && text.charAt(position) != '}'
+                    && !Character.isWhitespace(text.charAt(position)))
+            {
+                position++;
+            }
+
+            if (position == start)
+            {
+                throw new IllegalArgumentException("Expected a value at position " + position + " of JSON");
+            }
+
+            return text.substring(start, position);
+        }
+    }
+
+    /**
+     * Creates the daemon request threads, when there are no virtual threads.
+     */
+    private static final class RequestThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "puzzle-server-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package sudoku.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a {@link BatchSudokuSolver} gives the same results as a
+ * {@link SudokuSolver}, the status and the solution of each grid.
+ *
+ * <p>
+ * The grids are generated with a fixed seed: puzzles with a unique
+ * solution of each mask kind, puzzles with more than one solution where
+ * more numbers are hidden, puzzles which break the rules where a number is
+ * copied to a peer cell, full solution grids and empty grids. The kinds are
+ * shuffled together, so the grids of one batch end in different ways, and
+ * the last batch is not full.
+ * </p>
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class BatchSudokuSolverTest
+{
+    private static final long SEED = 42;
+    private static final int NUM_OF_EMPTY_GRIDS = 3;
+
+    @Test
+    public void solvesSmallGridsAsSolver()
+    {
+        checkSameResults(2, 200);
+    }
+
+    @Test
+    public void solvesStandardGridsAsSolver()
+    {
+        checkSameResults(3, 40);
+    }
+
+    /**
+     * Helper method to generate the grids of one size, solve them with both
+     * solvers and compare the results.
+     *
+     * @param boxSideLength the side length of a box in the grids.
+     * @param numOfPuzzlesPerKind the number of puzzles of each mask kind.
+     */
+    private static void checkSameResults(int boxSideLength, int numOfPuzzlesPerKind)
+    {
+        Random random = new Random(SEED + boxSideLength);
+        List<int[][]> grids = new ArrayList<int[][]>();
+        List<MaskGenerator> maskGenerators = new ArrayList<MaskGenerator>();
+        maskGenerators.add(new UniqueMaskGenerator(boxSideLength));
+        for (Difficulty difficulty : Difficulty.values())
+        {
+            maskGenerators.add(new DifficultyMaskGenerator(boxSideLength, difficulty));
+        }
+
+        for (MaskGenerator maskGenerator : maskGenerators)
+        {
+            SudokuGenerator generator = new SudokuGenerator(new SudokuSolutionGenerator(boxSideLength),
+                    maskGenerator);
+            for (int i = 0; i < numOfPuzzlesPerKind; i++)
+            {
+                SudokuPuzzle puzzle = generator.generatePuzzle(random);
+                grids.add(puzzle.getStartGameGrid());
+                grids.add(hideNumbers(puzzle.getStartGameGrid(), random));
+                grids.add(copyNumberToPeer(puzzle.getStartGameGrid(), random));
+                grids.add(puzzle.getSolutionGrid());
+            }
+        }
+
+        int gridSize = boxSideLength * boxSideLength;
+        for (int i = 0; i < NUM_OF_EMPTY_GRIDS; i++)
+        {
+            grids.add(new int[gridSize][gridSize]);
+        }
+
+        Collections.shuffle(grids, random);
+        if (grids.size() % BatchSudokuSolver.BATCH_SIZE == 0)
+        {
+            grids.remove(grids.size() - 1);
+        }
+
+        int[][][] gridArray = grids.toArray(new int[grids.size()][][]);
+        SolveResult[] batchResults = new BatchSudokuSolver(boxSideLength).solve(gridArray);
+        SudokuSolver solver = new SudokuSolver(boxSideLength);
+
+        for (int i = 0; i < gridArray.length; i++)
+        {
+            SolveResult result = solver.solve(gridArray[i]);
+            assertEquals(result.getStatus(), batchResults[i].getStatus(), "Status of grid " + i);
+            assertArrayEquals(result.getSolution(), batchResults[i].getSolution(), "Solution of grid " + i);
+        }
+    }
+
+    /**
+     * Helper method to hide a quarter of the start numbers of a grid, which
+     * usually gives the grid more than one solution.
+     *
+     * @param grid the grid, which is changed.
+     * @param random the random generator of the cells.
+     *
+     * @return the grid.
+     */
+    private static int[][] hideNumbers(int[][] grid, Random random)
+    {
+        int gridSize = grid.length;
+        for (int i = 0; i < gridSize * gridSize / 4; i++)
+        {
+            grid[random.nextInt(gridSize)][random.nextInt(gridSize)] = 0;
+        }
+
+        return grid;
+    }
+
+    /**
+     * Helper method to copy a start number of a grid to another cell of its
+     * row, so the grid breaks the rules.
+     *
+     * @param grid the grid, which is changed.
+     * @param random the random generator of the cells.
+     *
+     * @return the grid.
+     */
+    private static int[][] copyNumberToPeer(int[][] grid, Random random)
+    {
+        int gridSize = grid.length;
+        while (true)
+        {
+            int row = random.nextInt(gridSize);
+            int col = random.nextInt(gridSize);
+            int otherCol = random.nextInt(gridSize);
+            if (grid[row][col] != 0 && otherCol != col)
+            {
+                grid[row][otherCol] = grid[row][col];
+                return grid;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package sudoku.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a {@link PuzzleCanonicalizer} gives a puzzle and its
+ * transformed copies the same canonical form, and tells apart the grids
+ * which could not be turned into each other.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzleCanonicalizerTest
+{
+    private static final long SEED = 19;
+    private static final int NUM_OF_TRANSFORMS = 10;
+    private static final int NUM_OF_SMALL_SOLUTIONS = 288;
+    private static final int NUM_OF_SMALL_SOLUTION_FORMS = 2;
+
+    @Test
+    public void keepsSmallFormUnderTransforms()
+    {
+        checkSameFormUnderTransforms(2, 100);
+    }
+
+    @Test
+    public void keepsStandardFormUnderTransforms()
+    {
+        checkSameFormUnderTransforms(3, 2);
+    }
+
+    @Test
+    public void separatesSmallSolutions()
+    {
+        List<int[][]> solutions = new ArrayList<int[][]>();
+        addSolutions(new int[4][4], 0, solutions);
+        assertEquals(NUM_OF_SMALL_SOLUTIONS, solutions.size());
+
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer(2);
+        Set<Grid> forms = new HashSet<Grid>();
+        for (int[][] solution : solutions)
+        {
+            forms.add(canonicalizer.canonicalize(Grid.of(solution)));
+        }
+
+        assertEquals(NUM_OF_SMALL_SOLUTION_FORMS, forms.size());
+    }
+
+    /**
+     * Helper method to generate puzzles of one size and check that random
+     * transforms of each puzzle have the same canonical form and
+     * fingerprint as the puzzle, and that the form is its own form.
+     *
+     * @param boxSideLength the side length of a box in the puzzles.
+     * @param numOfPuzzles the number of puzzles.
+     */
+    private static void checkSameFormUnderTransforms(int boxSideLength, int numOfPuzzles)
+    {
+        Random random = new Random(SEED + boxSideLength);
+        SudokuGenerator generator = new SudokuGenerator(new SudokuSolutionGenerator(boxSideLength),
+                new UniqueMaskGenerator(boxSideLength));
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer(boxSideLength);
+
+        for (int i = 0; i < numOfPuzzles; i++)
+        {
+            SudokuPuzzle puzzle = generator.generatePuzzle(random);
+            Grid form = canonicalizer.canonicalize(puzzle.getStart());
+            long fingerprint = canonicalizer.canonicalFingerprint(puzzle);
+            assertEquals(form, canonicalizer.canonicalize(form), "Form of form of puzzle " + i);
+
+            for (int j = 0; j < NUM_OF_TRANSFORMS; j++)
+            {
+                SudokuPuzzle transformedPuzzle = SudokuTransform.random(boxSideLength, random).apply(puzzle);
+                assertEquals(form, canonicalizer.canonicalize(transformedPuzzle.getStart()),
+                        "Form of transform " + j + " of puzzle " + i);
+                assertEquals(fingerprint, canonicalizer.canonicalFingerprint(transformedPuzzle),
+                        "Fingerprint of transform " + j + " of puzzle " + i);
+            }
+        }
+    }
+
+    /**
+     * Helper method to add every 4 x 4 solution grid which completes the
+     * given cells, by filling the cells in order.
+     *
+     * @param grid the grid, filled up to the cell.
+     * @param cell the next cell to fill.
+     * @param solutions the list the solutions are added to.
+     */
+    private static void addSolutions(int[][] grid, int cell, List<int[][]> solutions)
+    {
+        if (cell == 16)
+        {
+            int[][] solution = new int[4][];
+            for (int row = 0; row < 4; row++)
+            {
+                solution[row] = grid[row].clone();
+            }
+
+            solutions.add(solution);
+            return;
+        }
+
+        int row = cell / 4;
+        int col = cell % 4;
+        for (int number = 1; number <= 4; number++)
+        {
+            if (isAllowed(grid, row, col, number))
+            {
+                grid[row][col] = number;
+                addSolutions(grid, cell + 1, solutions);
+                grid[row][col] = 0;
+            }
+        }
+    }
+
+    /**
+     * Helper method to check if a number could be placed in a cell of a
+     * 4 x 4 grid, that is if it is not in the row, column or box.
+     *
+     * @param grid the grid.
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * @param number the number.
+     *
+     * @return <code>true</code> if the number could be placed. Otherwise false.
+     */
+    private static boolean isAllowed(int[][] grid, int row, int col, int number)
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            if (grid[row][i] == number || grid[i][col] == number
+                    || grid[row / 2 * 2 + i / 2][col / 2 * 2 + i % 2] == number)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,139 @@
+package sudoku.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import sudoku.generator.Difficulty;
+import sudoku.generator.SudokuGenerator;
+import sudoku.generator.SudokuPuzzle;
+import sudoku.generator.SudokuSolutionGenerator;
+import sudoku.generator.UniqueMaskGenerator;
+
+/**
+ * Checks that a {@link PuzzleStore} keeps its puzzles when it is closed
+ * and opened again, and recovers the intact puzzles after a crash.
+ *
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class PuzzleStoreTest
+{
+    private static final int BOX_SIDE_LENGTH = 3;
+    private static final int NUM_OF_PUZZLES = 1500;
+    private static final int HEADER_LENGTH = 8;
+    private static final int DIRTY_OFFSET = 5;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void keepsPuzzlesWhenOpenedAgain() throws IOException
+    {
+        Path path = directory.resolve("puzzles.store");
+        List<SudokuPuzzle> puzzles = appendPuzzles(path);
+
+        try (PuzzleStore store = new PuzzleStore(path, BOX_SIDE_LENGTH))
+        {
+            assertEquals(NUM_OF_PUZZLES, store.size());
+            checkPuzzles(store, puzzles, NUM_OF_PUZZLES);
+        }
+    }
+
+    @Test
+    public void recoversIntactPuzzlesAfterCrash() throws IOException
+    {
+        Path path = directory.resolve("puzzles.store");
+        List<SudokuPuzzle> puzzles = appendPuzzles(path);
+        long entryLength = (Files.size(path) - HEADER_LENGTH) / NUM_OF_PUZZLES;
+        int firstTornPuzzle = 1200;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+        {
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), channel.size());
+            channel.write(ByteBuffer.wrap(new byte[] { (byte) 0xAB }),
+                    HEADER_LENGTH + firstTornPuzzle * entryLength + entryLength / 2);
+        }
+
+        try (FileChannel channel = FileChannel.open(directory.resolve("puzzles.store" + PuzzleStore.INDEX_SUFFIX),
+                StandardOpenOption.WRITE))
+        {
+            channel.write(ByteBuffer.wrap(new byte[] { 1 }), DIRTY_OFFSET);
+        }
+
+        try (PuzzleStore store = new PuzzleStore(path, BOX_SIDE_LENGTH))
+        {
+            assertEquals(firstTornPuzzle, store.size());
+            assertEquals(HEADER_LENGTH + firstTornPuzzle * entryLength, Files.size(path));
+            checkPuzzles(store, puzzles, firstTornPuzzle);
+            assertEquals(-1, store.findById(firstTornPuzzle));
+
+            store.append(firstTornPuzzle, puzzles.get(firstTornPuzzle), null);
+        }
+
+        Files.delete(directory.resolve("puzzles.store" + PuzzleStore.INDEX_SUFFIX));
+        try (PuzzleStore store = new PuzzleStore(path, BOX_SIDE_LENGTH))
+        {
+            assertEquals(firstTornPuzzle + 1, store.size());
+            checkPuzzles(store, puzzles, firstTornPuzzle + 1);
+        }
+    }
+
+    /**
+     * Helper method to create a store with generated puzzles, where the ID
+     * of a puzzle is its number.
+     *
+     * @param path the path of the store.
+     *
+     * @return the puzzles in the order they were appended.
+     *
+     * @throws IOException if the store could not be written.
+     */
+    private static List<SudokuPuzzle> appendPuzzles(Path path) throws IOException
+    {
+        SudokuGenerator generator = new SudokuGenerator(new SudokuSolutionGenerator(BOX_SIDE_LENGTH),
+                new UniqueMaskGenerator(BOX_SIDE_LENGTH));
+        Random random = new Random(7);
+        List<SudokuPuzzle> puzzles = new ArrayList<SudokuPuzzle>();
+
+        try (PuzzleStore store = new PuzzleStore(path, BOX_SIDE_LENGTH))
+        {
+            for (int id = 0; id < NUM_OF_PUZZLES; id++)
+            {
+                SudokuPuzzle puzzle = generator.generatePuzzle(random);
+                puzzles.add(puzzle);
+                store.append(id, puzzle, Difficulty.values()[id % Difficulty.values().length]);
+            }
+        }
+
+        return puzzles;
+    }
+
+    /**
+     * Helper method to check the first puzzles of a store, found by their
+     * numbers and by their IDs.
+     *
+     * @param store the store.
+     * @param puzzles the puzzles in the order they were appended.
+     * @param numOfPuzzles the number of puzzles to check.
+     */
+    private static void checkPuzzles(PuzzleStore store, List<SudokuPuzzle> puzzles, int numOfPuzzles)
+    {
+        for (int puzzleNumber = 0; puzzleNumber < numOfPuzzles; puzzleNumber++)
+        {
+            assertEquals(puzzles.get(puzzleNumber), store.getPuzzle(puzzleNumber));
+            assertEquals(puzzleNumber, store.findById(puzzleNumber));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package sudoku;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import sudoku.generator.Difficulty;
+import sudoku.generator.GenerationMetrics;
+import sudoku.generator.DifficultyMaskGenerator;
+import sudoku.generator.MaskGenerator;
+import sudoku.generator.PuzzlePool;
+import sudoku.generator.SolutionEngine;
+import sudoku.generator.SolutionGenerator;
+import sudoku.generator.SudokuGenerator;
+import sudoku.generator.UniqueMaskGenerator;
+import sudoku.io.BulkSolver;
+import sudoku.io.PuzzleExporter;
+import sudoku.server.PuzzleServer;
+import sudoku.ui.SudokuGUI;
+
+/**
+ * Program entry point. Generates a 4 x 4 sudoku with six numbers and
+ * 10 empty cells, which has one solution. The solution could be shown
+ * via the menu bar.
+ * 
+ * The box side length could be given as the first argument to generate
+ * a larger sudoku, for example 3 for a 9 x 9 sudoku. The solution engine
+ * could be given as the second argument, BACKTRACKING, DANCING_LINKS or
+ * TRANSFORM. A difficulty tier could be given as the third argument,
+ * EASY, MEDIUM, HARD or EXPERT, to generate puzzles of that tier instead
+ * of puzzles with the default number of start digits.
+ * 
+ * With <code>--export</code> as the first argument, puzzles are written
+ * to a file without starting the GUI, see {@link PuzzleExporter} for the
+ * rest of the arguments. With <code>--solve</code> as the first argument,
+ * a file of puzzles is solved, see {@link BulkSolver}. With <code>--serve</code>
+ * as the first argument, puzzles are served over HTTP, see
+ * {@link PuzzleServer}.
+ * 
+ * The generation metrics are registered as an MBean, see
+ * {@link GenerationMetrics}.
+ * 
+ * The numbers entered are checked as they are entered, and hints could
+ * be asked for via the menu bar.
+ * 
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ *
+ */
+public class Sudoku
+{
+    private static final int DEFAULT_BOX_SIDE_LENGTH = 2;
+    private static final SolutionEngine DEFAULT_SOLUTION_ENGINE = SolutionEngine.BACKTRACKING;
+    private static final String EXPORT_OPTION = "--export";
+    private static final String SOLVE_OPTION = "--solve";
+    private static final String SERVE_OPTION = "--serve";
+    private static final int POOL_CAPACITY = 8;
+    private static final int POOL_LOW_WATERMARK = 2;
+    private static final int NUM_OF_REFILL_THREADS = 1;
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length > 0 && EXPORT_OPTION.equals(args[0]))
+        {
+            PuzzleExporter.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        if (args.length > 0 && SOLVE_OPTION.equals(args[0]))
+        {
+            BulkSolver.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        if (args.length > 0 && SERVE_OPTION.equals(args[0]))
+        {
+            PuzzleServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        
+        int boxSideLength = DEFAULT_BOX_SIDE_LENGTH;
+        if (args.length > 0)
+        {
+            boxSideLength = Integer.parseInt(args[0]);
+        }
+        
+        SolutionEngine solutionEngine = DEFAULT_SOLUTION_ENGINE;
+        if (args.length > 1)
+        {
+            solutionEngine = SolutionEngine.valueOf(args[1]);
+        }
+        
+        MaskGenerator maskGenerator = new UniqueMaskGenerator(boxSideLength);
+        if (args.length > 2)
+        {
+            maskGenerator = new DifficultyMaskGenerator(boxSideLength, Difficulty.valueOf(args[2]));
+        }
+        
+        SolutionGenerator solutionGenerator = solutionEngine.createGenerator(boxSideLength);
+        SudokuGenerator sudokuGenerator = new SudokuGenerator(solutionGenerator, maskGenerator);
+        
+        GenerationMetrics.registerMBean();
+        PuzzlePool puzzlePool = new PuzzlePool(sudokuGenerator, POOL_CAPACITY, POOL_LOW_WATERMARK,
+                NUM_OF_REFILL_THREADS);
+        
+        new SudokuGUI(puzzlePool).setVisible(true);
+    }
+
+}
@@ -0,0 +1,436 @@
+package sudoku.ui;
+
+/**
+ * The numbers of a board being played, with the state needed to check
+ * each move in constant time.
+ * 
+ * For each row, column and box, the number of times each number occurs
+ * is counted, and a bitmask holds the numbers which occur at least once.
+ * A move only updates the counts of the three units of its cell, so a
+ * cell is in conflict if its number is counted more than once in one of
+ * its units, the valid numbers of an empty cell are the numbers missing
+ * from the masks of its units, and the board is complete when all cells
+ * are filled and no number is counted twice in a unit. None of these
+ * scan the board, so they are as fast on a 25 x 25 board as on a 4 x 4
+ * board.
+ * 
+ * The hints are found from the same masks, see {@link #findHint()}.
+ * 
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class BoardState
+{
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int numOfCells;
+    private final int allNumbersMask;
+    private final int[] numbers;
+    private final int[] rowCounts;
+    private final int[] colCounts;
+    private final int[] boxCounts;
+    private final int[] rowMasks;
+    private final int[] colMasks;
+    private final int[] boxMasks;
+    private int numOfFilledCells;
+    private int numOfRepeatedNumbers;
+
+    /**
+     * A number which could be entered in a cell, found by logic.
+     */
+    public static final class Hint
+    {
+        private final int cell;
+        private final int number;
+        private final boolean isOnlyNumberInCell;
+
+        /**
+         * Constructor
+         * 
+         * @param cell the cell.
+         * @param number the number.
+         * @param isOnlyNumberInCell <code>true</code> if the number is the
+         *            only valid number of the cell, <code>false</code> if
+         *            the cell is the only place for the number in a unit.
+         */
+        private Hint(int cell, int number, boolean isOnlyNumberInCell)
+        {
+            this.cell = cell;
+            this.number = number;
+            this.isOnlyNumberInCell = isOnlyNumberInCell;
+        }
+
+        /**
+         * Returns the cell of the hint.
+         * 
+         * @return the index of the cell, row by row.
+         */
+        public int getCell()
+        {
+            return cell;
+        }
+
+        /**
+         * Returns the number of the hint.
+         * 
+         * @return the number.
+         */
+        public int getNumber()
+        {
+            return number;
+        }
+
+        /**
+         * Checks if the number is the only valid number of the cell (naked
+         * single), or if the cell is the only place for the number in a
+         * row, column or box (hidden single).
+         * 
+         * @return <code>true</code> if the number is the only valid number
+         *         of the cell. <code>false</code> Otherwise false.
+         */
+        public boolean isOnlyNumberInCell()
+        {
+            return isOnlyNumberInCell;
+        }
+    }
+
+    /**
+     * Constructor
+     * Instantiates an empty board.
+     * 
+     * @param boxSideLength the side length of a box.
+     */
+    public BoardState(int boxSideLength)
+    {
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.numOfCells = gridSize * gridSize;
+        this.allNumbersMask = (1 << gridSize) - 1;
+        this.numbers = new int[numOfCells];
+        this.rowCounts = new int[gridSize * (gridSize + 1)];
+        this.colCounts = new int[gridSize * (gridSize + 1)];
+        this.boxCounts = new int[gridSize * (gridSize + 1)];
+        this.rowMasks = new int[gridSize];
+        this.colMasks = new int[gridSize];
+        this.boxMasks = new int[gridSize];
+    }
+
+    /**
+     * Returns the number in a cell.
+     * 
+     * @param cell the index of the cell, row by row.
+     * 
+     * @return the number, or zero if the cell is empty.
+     */
+    public int get(int cell)
+    {
+        return numbers[cell];
+    }
+
+    /**
+     * Sets the number in a cell and updates the counts of its row, column
+     * and box.
+     * 
+     * @param cell the index of the cell, row by row.
+     * @param number the number, or zero to empty the cell.
+     * 
+     * @return <code>true</code> if a number became or stopped being
+     *         repeated in one of the units of the cell, so other cells may
+     *         have changed conflict. <code>false</code> Otherwise false.
+     */
+    public boolean set(int cell, int number)
+    {
+        if (number < 0 || number > gridSize)
+        {
+            throw new IllegalArgumentException("Number must be between 0 and " + gridSize + ": " + number);
+        }
+
+        int oldNumber = numbers[cell];
+        if (oldNumber == number)
+        {
+            return false;
+        }
+
+        int row = cell / gridSize;
+        int col = cell % gridSize;
+        int box = getBox(row, col);
+        boolean isRepeatChanged = false;
+
+        if (oldNumber != 0)
+        {
+            isRepeatChanged |= removeNumber(rowCounts, rowMasks, row, oldNumber);
+            isRepeatChanged |= removeNumber(colCounts, colMasks, col, oldNumber);
+            isRepeatChanged |= removeNumber(boxCounts, boxMasks, box, oldNumber);
+            numOfFilledCells--;
+        }
+
+        if (number != 0)
+        {
+            isRepeatChanged |= addNumber(rowCounts, rowMasks, row, number);
+            isRepeatChanged |= addNumber(colCounts, colMasks, col, number);
+            isRepeatChanged |= addNumber(boxCounts, boxMasks, box, number);
+            numOfFilledCells++;
+        }
+
+        numbers[cell] = number;
+
+        return isRepeatChanged;
+    }
+
+    /**
+     * Empties all cells.
+     */
+    public void clear()
+    {
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            set(cell, 0);
+        }
+    }
+
+    /**
+     * Checks if the number in a cell is also in the row, column or box of
+     * the cell.
+     * 
+     * @param cell the index of the cell, row by row.
+     * 
+     * @return <code>true</code> if the number is in conflict. <code>false</code>
+     *         Otherwise false.
+     */
+    public boolean isConflict(int cell)
+    {
+        int number = numbers[cell];
+        if (number == 0)
+        {
+            return false;
+        }
+
+        int row = cell / gridSize;
+        int col = cell % gridSize;
+
+        return rowCounts[row * (gridSize + 1) + number] > 1 || colCounts[col * (gridSize + 1) + number] > 1
+                || boxCounts[getBox(row, col) * (gridSize + 1) + number] > 1;
+    }
+
+    /**
+     * Checks if any number is repeated in a row, column or box.
+     * 
+     * @return <code>true</code> if there is a conflict. <code>false</code>
+     *         Otherwise false.
+     */
+    public boolean hasConflicts()
+    {
+        return numOfRepeatedNumbers > 0;
+    }
+
+    /**
+     * Checks if all cells are filled without conflicts, which makes the
+     * board a solution.
+     * 
+     * @return <code>true</code> if the board is complete. <code>false</code>
+     *         Otherwise false.
+     */
+    public boolean isComplete()
+    {
+        return numOfFilledCells == numOfCells && numOfRepeatedNumbers == 0;
+    }
+
+    /**
+     * Returns the numbers which are not in the row, column or box of a
+     * cell.
+     * 
+     * @param cell the index of the cell, row by row.
+     * 
+     * @return the bitmask of the numbers, with bit <code>n - 1</code> for
+     *         number <code>n</code>.
+     */
+    public int getCandidates(int cell)
+    {
+        int row = cell / gridSize;
+        int col = cell % gridSize;
+
+        return allNumbersMask & ~(rowMasks[row] | colMasks[col] | boxMasks[getBox(row, col)]);
+    }
+
+    /**
+     * Finds a number which must be in an empty cell, given the numbers on
+     * the board. An empty cell with one valid number (naked single) is
+     * looked for first, and then a number with one valid cell in a row,
+     * column or box (hidden single). A hint is only as correct as the
+     * numbers on the board, so no hint is given while there are conflicts.
+     * 
+     * @return the hint, or <code>null</code> if none is found.
+     */
+    public Hint findHint()
+    {
+        if (hasConflicts())
+        {
+            return null;
+        }
+
+        for (int cell = 0; cell < numOfCells; cell++)
+        {
+            if (numbers[cell] == 0)
+            {
+                int candidates = getCandidates(cell);
+                if (Integer.bitCount(candidates) == 1)
+                {
+                    return new Hint(cell, Integer.numberOfTrailingZeros(candidates) + 1, true);
+                }
+            }
+        }
+
+        int[][] unitMasks = new int[][] { rowMasks, colMasks, boxMasks };
+        int[] unitCells = new int[gridSize];
+        for (int unit = 0; unit < gridSize; unit++)
+        {
+            for (int unitKind = 0; unitKind < unitMasks.length; unitKind++)
+            {
+                fillUnitCells(unitKind, unit, unitCells);
+                Hint hint = findHiddenSingle(unitCells, unitMasks[unitKind][unit]);
+                if (hint != null)
+                {
+                    return hint;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Helper method to find a number which is missing from a unit and
+     * valid in only one of its cells.
+     * 
+     * @param unitCells the cells of the unit.
+     * @param unitMask the numbers in the unit.
+     * 
+     * @return the hint, or <code>null</code> if none is found.
+     */
+    private Hint findHiddenSingle(int[] unitCells, int unitMask)
+    {
+        int seenOnce = 0;
+        int seenTwice = 0;
+        for (int cell : unitCells)
+        {
+            if (numbers[cell] == 0)
+            {
+                int candidates = getCandidates(cell);
+                seenTwice |= seenOnce & candidates;
+                seenOnce |= candidates;
+            }
+        }
+
+        int singles = seenOnce & ~seenTwice & ~unitMask;
+        if (singles == 0)
+        {
+            return null;
+        }
+
+        int bit = Integer.lowestOneBit(singles);
+        for (int cell : unitCells)
+        {
+            if (numbers[cell] == 0 && (getCandidates(cell) & bit) != 0)
+            {
+                return new Hint(cell, Integer.numberOfTrailingZeros(bit) + 1, false);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Helper method to fill an array with the cells of a row, column or box.
+     * 
+     * @param unitKind zero for a row, one for a column and two for a box.
+     * @param unit the row, column or box, boxes numbered row by row.
+     * @param unitCells the array to fill.
+     */
+    private void fillUnitCells(int unitKind, int unit, int[] unitCells)
+    {
+        int firstRow = unit / boxSideLength * boxSideLength;
+        int firstCol = unit % boxSideLength * boxSideLength;
+
+        for (int i = 0; i < gridSize; i++)
+        {
+            if (unitKind == 0)
+            {
+                unitCells[i] = unit * gridSize + i;
+            }
+            else if (unitKind == 1)
+            {
+                unitCells[i] = i * gridSize + unit;
+            }
+            else
+            {
+                unitCells[i] = (firstRow + i / boxSideLength) * gridSize + firstCol + i % boxSideLength;
+            }
+        }
+    }
+
+    /**
+     * Helper method to count a number once more in a unit.
+     * 
+     * @param counts the counts of the numbers in the units of one kind.
+     * @param masks the bitmasks of the numbers in the units of one kind.
+     * @param unit the unit.
+     * @param number the number.
+     * 
+     * @return <code>true</code> if the number became repeated in the unit.
+     *         <code>false</code> Otherwise false.
+     */
+    private boolean addNumber(int[] counts, int[] masks, int unit, int number)
+    {
+        int count = ++counts[unit * (gridSize + 1) + number];
+        masks[unit] |= 1 << (number - 1);
+
+        if (count == 2)
+        {
+            numOfRepeatedNumbers++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Helper method to count a number once less in a unit.
+     * 
+     * @param counts the counts of the numbers in the units of one kind.
+     * @param masks the bitmasks of the numbers in the units of one kind.
+     * @param unit the unit.
+     * @param number the number.
+     * 
+     * @return <code>true</code> if the number stopped being repeated in the
+     *         unit. <code>false</code> Otherwise false.
+     */
+    private boolean removeNumber(int[] counts, int[] masks, int unit, int number)
+    {
+        int count = --counts[unit * (gridSize + 1) + number];
+        if (count == 0)
+        {
+            masks[unit] &= ~(1 << (number - 1));
+        }
+
+        if (count == 1)
+        {
+            numOfRepeatedNumbers--;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Helper method to get the box of a cell.
+     * 
+     * @param row the row of the cell.
+     * @param col the column of the cell.
+     * 
+     * @return the box, numbered row by row.
+     */
+    private int getBox(int row, int col)
+    {
+        return row / boxSideLength * boxSideLength + col / boxSideLength;
+    }
+}
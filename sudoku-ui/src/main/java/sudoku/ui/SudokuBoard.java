@@ -0,0 +1,590 @@
+package sudoku.ui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JComponent;
+
+import sudoku.generator.Grid;
+
+/**
+ * The sudoku board, painted as one component.
+ * 
+ * The cells are painted in boxes according to the box side length, and
+ * the cells are scaled to the number of cells in a row. The number of
+ * each cell is drawn from a cache of glyph images, which are rendered
+ * once per number and style. When numbers are set, only the cells that
+ * changed are repainted, and only the cells inside the area to repaint
+ * are painted.
+ * 
+ * A cell is selected with the mouse or the arrow keys. A number is
+ * entered with the digit keys, where a second digit typed directly
+ * after the first gives a two-digit number if it fits the board. The
+ * number is erased with backspace, delete, space or zero. The numbers
+ * of the start grid could not be changed.
+ * 
+ * Each move is checked in constant time by a {@link BoardState}. The
+ * numbers in conflict with another number in their row, column or box are
+ * drawn in red, and only the row, column and box of a move are repainted
+ * when their conflicts change. When the board is complete, the property
+ * {@value #COMPLETE_PROPERTY} changes to true.
+ * 
+ * The grids are read cell by cell from the immutable {@link Grid}s of
+ * the puzzle, so they are not copied.
+ * 
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class SudokuBoard extends JComponent
+{
+    public static final String COMPLETE_PROPERTY = "complete";
+
+    private static final long serialVersionUID = 2405893047124413958L;
+    private static final int BOX_DISTANCE = 4;
+    private static final int MIN_BOARD_SIZE = 400;
+    private static final int CELL_SIZE = 32;
+    private static final int MAX_FONT_SIZE = 22;
+    private static final String FONT_NAME = "Arial";
+    private static final Color BOX_LINE_COLOR = Color.DARK_GRAY;
+    private static final Color CELL_LINE_COLOR = Color.LIGHT_GRAY;
+    private static final Color CELL_COLOR = Color.WHITE;
+    private static final Color SELECTED_CELL_COLOR = new Color(255, 245, 180);
+    private static final Color START_NUMBER_COLOR = Color.BLACK;
+    private static final Color PLAYER_NUMBER_COLOR = new Color(30, 80, 200);
+    private static final Color CONFLICT_NUMBER_COLOR = new Color(210, 30, 30);
+
+    private final int boxSideLength;
+    private final int gridSize;
+    private final int cellSize;
+    private final BoardState state;
+    private final boolean[] isStartNumber;
+    private BufferedImage[] startGlyphs;
+    private BufferedImage[] playerGlyphs;
+    private BufferedImage[] startConflictGlyphs;
+    private BufferedImage[] playerConflictGlyphs;
+    private int selectedCell = -1;
+    private boolean isTwoDigitEntryOpen;
+
+    /**
+     * Constructor
+     * Sets the size of the board from the box side length and adds
+     * the mouse and key listeners.
+     * 
+     * @param boxSideLength the side length of a box.
+     */
+    public SudokuBoard(int boxSideLength)
+    {
+        this.boxSideLength = boxSideLength;
+        this.gridSize = boxSideLength * boxSideLength;
+        this.cellSize = Math.max(MIN_BOARD_SIZE, gridSize * CELL_SIZE) / gridSize;
+        this.state = new BoardState(boxSideLength);
+        this.isStartNumber = new boolean[gridSize * gridSize];
+        
+        int boardSize = getCellPosition(gridSize);
+        setPreferredSize(new Dimension(boardSize, boardSize));
+        setFocusable(true);
+        setOpaque(true);
+        addListeners();
+    }
+    
+    /**
+     * Sets the start grid of a new game. The numbers in the grid are
+     * the start numbers, which could not be changed, and all other
+     * cells are emptied.
+     * 
+     * @param startGrid the grid, where zero is an empty cell.
+     */
+    public void setStartGrid(Grid startGrid)
+    {
+        for (int cell = 0; cell < isStartNumber.length; cell++)
+        {
+            int number = startGrid.get(cell);
+            
+            if (isStartNumber[cell] != (number != 0))
+            {
+                isStartNumber[cell] = number != 0;
+                repaintCell(cell);
+            }
+            setNumber(cell, number);
+        }
+        
+        isTwoDigitEntryOpen = false;
+    }
+    
+    /**
+     * Sets the numbers of all cells, for example to show the solution.
+     * The start numbers are kept as start numbers.
+     * 
+     * @param grid the grid, where zero is an empty cell.
+     */
+    public void setNumbers(Grid grid)
+    {
+        for (int cell = 0; cell < isStartNumber.length; cell++)
+        {
+            setNumber(cell, grid.get(cell));
+        }
+        
+        isTwoDigitEntryOpen = false;
+    }
+    
+    /**
+     * Returns the number in a cell.
+     * 
+     * @param row the row number.
+     * @param col the column number.
+     * 
+     * @return the number, or zero if the cell is empty.
+     */
+    public int getNumber(int row, int col)
+    {
+        return state.get(row * gridSize + col);
+    }
+    
+    /**
+     * Checks if all cells are filled without conflicts.
+     * 
+     * @return <code>true</code> if the board is complete. <code>false</code>
+     *         Otherwise false.
+     */
+    public boolean isComplete()
+    {
+        return state.isComplete();
+    }
+    
+    /**
+     * Enters a number which must be in an empty cell and selects the cell.
+     * A number found by logic from the numbers on the board is used if it
+     * agrees with the solution, see {@link BoardState#findHint()}. Otherwise
+     * the number of the solution is entered in the empty cell with the
+     * fewest valid numbers.
+     * 
+     * @param solution the solution of the puzzle.
+     * 
+     * @return <code>true</code> if a number was entered. <code>false</code>
+     *         if the board has conflicts or no empty cell.
+     */
+    public boolean showHint(Grid solution)
+    {
+        if (state.hasConflicts())
+        {
+            return false;
+        }
+        
+        int cell = -1;
+        int number = 0;
+        BoardState.Hint hint = state.findHint();
+        if (hint != null && solution.get(hint.getCell()) == hint.getNumber())
+        {
+            cell = hint.getCell();
+            number = hint.getNumber();
+        }
+        else
+        {
+            int fewestCandidates = Integer.MAX_VALUE;
+            for (int emptyCell = 0; emptyCell < isStartNumber.length; emptyCell++)
+            {
+                if (state.get(emptyCell) == 0)
+                {
+                    int numOfCandidates = Integer.bitCount(state.getCandidates(emptyCell));
+                    if (numOfCandidates < fewestCandidates)
+                    {
+                        cell = emptyCell;
+                        number = solution.get(emptyCell);
+                        fewestCandidates = numOfCandidates;
+                    }
+                }
+            }
+        }
+        
+        if (cell < 0)
+        {
+            return false;
+        }
+        
+        selectCell(cell);
+        setNumber(cell, number);
+        
+        return true;
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g)
+    {
+        if (startGlyphs == null)
+        {
+            createGlyphs();
+        }
+        
+        Rectangle clip = g.getClipBounds();
+        if (clip == null)
+        {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        
+        g.setColor(BOX_LINE_COLOR);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        
+        int firstRow = getLineAt(clip.y);
+        int lastRow = getLineAt(clip.y + clip.height - 1);
+        int firstCol = getLineAt(clip.x);
+        int lastCol = getLineAt(clip.x + clip.width - 1);
+        
+        for (int row = firstRow; row <= lastRow; row++)
+        {
+            for (int col = firstCol; col <= lastCol; col++)
+            {
+                paintCell(g, row, col);
+            }
+        }
+    }
+    
+    /**
+     * Helper method to add the mouse listener, which selects the
+     * clicked cell, and the key listener, which moves the selection
+     * and enters numbers.
+     */
+    private void addListeners()
+    {
+        addMouseListener(new MouseAdapter()
+        {
+            @Override
+            public void mousePressed(MouseEvent e)
+            {
+                requestFocusInWindow();
+                int row = getLineAt(e.getY());
+                int col = getLineAt(e.getX());
+                selectCell(row * gridSize + col);
+            }
+        });
+        
+        addKeyListener(new KeyAdapter()
+        {
+            @Override
+            public void keyPressed(KeyEvent e)
+            {
+                handleKeyPressed(e);
+            }
+            
+            @Override
+            public void keyTyped(KeyEvent e)
+            {
+                handleKeyTyped(e.getKeyChar());
+            }
+        });
+    }
+    
+    /**
+     * Helper method to move the selection with the arrow keys and to
+     * erase the number in the selected cell.
+     * 
+     * @param e the key event.
+     */
+    private void handleKeyPressed(KeyEvent e)
+    {
+        if (selectedCell < 0)
+        {
+            return;
+        }
+        
+        int row = selectedCell / gridSize;
+        int col = selectedCell % gridSize;
+        
+        switch (e.getKeyCode())
+        {
+        case KeyEvent.VK_UP:
+            row = (row + gridSize - 1) % gridSize;
+            break;
+        case KeyEvent.VK_DOWN:
+            row = (row + 1) % gridSize;
+            break;
+        case KeyEvent.VK_LEFT:
+            col = (col + gridSize - 1) % gridSize;
+            break;
+        case KeyEvent.VK_RIGHT:
+            col = (col + 1) % gridSize;
+            break;
+        case KeyEvent.VK_BACK_SPACE:
+        case KeyEvent.VK_DELETE:
+        case KeyEvent.VK_SPACE:
+            enterNumber(0);
+            return;
+        default:
+            return;
+        }
+        
+        selectCell(row * gridSize + col);
+    }
+    
+    /**
+     * Helper method to enter a digit in the selected cell. A digit typed
+     * directly after another digit in the same cell is added to it, if
+     * the number fits the board.
+     * 
+     * @param key the typed character.
+     */
+    private void handleKeyTyped(char key)
+    {
+        if (selectedCell < 0 || key < '0' || key > '9')
+        {
+            return;
+        }
+        
+        int digit = key - '0';
+        int number = digit;
+        int selectedNumber = state.get(selectedCell);
+        if (isTwoDigitEntryOpen && selectedNumber * 10 + digit <= gridSize)
+        {
+            number = selectedNumber * 10 + digit;
+        }
+        
+        enterNumber(number);
+        isTwoDigitEntryOpen = number != 0 && number * 10 <= gridSize;
+    }
+    
+    /**
+     * Helper method to set a number in the selected cell, if it is not
+     * a start number.
+     * 
+     * @param number the number, or zero to erase the number.
+     */
+    private void enterNumber(int number)
+    {
+        isTwoDigitEntryOpen = false;
+        if (!isStartNumber[selectedCell])
+        {
+            setNumber(selectedCell, number);
+        }
+    }
+    
+    /**
+     * Helper method to select a cell and repaint the cells which
+     * changed selection.
+     * 
+     * @param cell the cell to select.
+     */
+    private void selectCell(int cell)
+    {
+        if (cell == selectedCell)
+        {
+            return;
+        }
+        
+        if (selectedCell >= 0)
+        {
+            repaintCell(selectedCell);
+        }
+        
+        selectedCell = cell;
+        isTwoDigitEntryOpen = false;
+        repaintCell(cell);
+    }
+    
+    /**
+     * Helper method to set a number in a cell and repaint the cell
+     * if the number changed. The row, column and box of the cell are
+     * repainted if the conflicts in them changed, and the complete
+     * property is updated.
+     * 
+     * @param cell the cell.
+     * @param number the number, or zero to empty the cell.
+     */
+    private void setNumber(int cell, int number)
+    {
+        if (state.get(cell) == number)
+        {
+            return;
+        }
+        
+        boolean wasComplete = state.isComplete();
+        if (state.set(cell, number))
+        {
+            repaintUnits(cell);
+        }
+        else
+        {
+            repaintCell(cell);
+        }
+        
+        firePropertyChange(COMPLETE_PROPERTY, wasComplete, state.isComplete());
+    }
+    
+    /**
+     * Helper method to paint a cell with its background and number.
+     * 
+     * @param g the graphics to paint with.
+     * @param row the row number.
+     * @param col the column number.
+     */
+    private void paintCell(Graphics g, int row, int col)
+    {
+        int cell = row * gridSize + col;
+        int x = getCellPosition(col);
+        int y = getCellPosition(row);
+        
+        g.setColor(cell == selectedCell ? SELECTED_CELL_COLOR : CELL_COLOR);
+        g.fillRect(x, y, cellSize, cellSize);
+        g.setColor(CELL_LINE_COLOR);
+        g.drawRect(x, y, cellSize - 1, cellSize - 1);
+        
+        int number = state.get(cell);
+        if (number != 0)
+        {
+            BufferedImage[] glyphs;
+            if (state.isConflict(cell))
+            {
+                glyphs = isStartNumber[cell] ? startConflictGlyphs : playerConflictGlyphs;
+            }
+            else
+            {
+                glyphs = isStartNumber[cell] ? startGlyphs : playerGlyphs;
+            }
+            g.drawImage(glyphs[number], x, y, null);
+        }
+    }
+    
+    /**
+     * Helper method to repaint the area of a cell.
+     * 
+     * @param cell the cell.
+     */
+    private void repaintCell(int cell)
+    {
+        repaint(getCellPosition(cell % gridSize), getCellPosition(cell / gridSize), cellSize, cellSize);
+    }
+    
+    /**
+     * Helper method to repaint the row, column and box of a cell.
+     * 
+     * @param cell the cell.
+     */
+    private void repaintUnits(int cell)
+    {
+        int row = cell / gridSize;
+        int col = cell % gridSize;
+        int firstBoxRow = row / boxSideLength * boxSideLength;
+        int firstBoxCol = col / boxSideLength * boxSideLength;
+        int boardSize = getCellPosition(gridSize);
+        int boxSize = getCellPosition(boxSideLength) - BOX_DISTANCE;
+        
+        repaint(0, getCellPosition(row), boardSize, cellSize);
+        repaint(getCellPosition(col), 0, cellSize, boardSize);
+        repaint(getCellPosition(firstBoxCol), getCellPosition(firstBoxRow), boxSize, boxSize);
+    }
+    
+    /**
+     * Helper method to get the position in pixels of a cell in a row or
+     * column. There is a gap between the boxes and around the board.
+     * 
+     * @param line the row or column number. The grid side length gives
+     *             the size of the board.
+     * 
+     * @return the position of the cell.
+     */
+    private int getCellPosition(int line)
+    {
+        return BOX_DISTANCE + line * cellSize + (line / boxSideLength) * BOX_DISTANCE;
+    }
+    
+    /**
+     * Helper method to get the row or column of a position in pixels.
+     * A position in a gap or outside the board gives the nearest row or
+     * column.
+     * 
+     * @param position the position.
+     * 
+     * @return the row or column number.
+     */
+    private int getLineAt(int position)
+    {
+        int boxSize = boxSideLength * cellSize + BOX_DISTANCE;
+        int box = Math.max(0, Math.min(boxSideLength - 1, (position - BOX_DISTANCE) / boxSize));
+        int lineInBox = (position - BOX_DISTANCE - box * boxSize) / cellSize;
+        
+        return box * boxSideLength + Math.max(0, Math.min(boxSideLength - 1, lineInBox));
+    }
+    
+    /**
+     * Helper method to render the glyph images of all numbers, for the
+     * start numbers and the numbers entered by the player, and for both
+     * in conflict. The font size is scaled down for grids with many cells
+     * in a row.
+     */
+    private void createGlyphs()
+    {
+        int fontSize = Math.min(MAX_FONT_SIZE, cellSize / 2);
+        Font startFont = new Font(FONT_NAME, Font.BOLD, fontSize);
+        Font playerFont = new Font(FONT_NAME, Font.PLAIN, fontSize);
+        startGlyphs = createGlyphs(startFont, START_NUMBER_COLOR);
+        playerGlyphs = createGlyphs(playerFont, PLAYER_NUMBER_COLOR);
+        startConflictGlyphs = createGlyphs(startFont, CONFLICT_NUMBER_COLOR);
+        playerConflictGlyphs = createGlyphs(playerFont, CONFLICT_NUMBER_COLOR);
+    }
+    
+    /**
+     * Helper method to render the glyph images of all numbers in one style.
+     * Each image has the size of a cell with the number centered.
+     * 
+     * @param font the font.
+     * @param color the color.
+     * 
+     * @return the images, indexed by number.
+     */
+    private BufferedImage[] createGlyphs(Font font, Color color)
+    {
+        BufferedImage[] glyphs = new BufferedImage[gridSize + 1];
+        
+        for (int number = 1; number <= gridSize; number++)
+        {
+            BufferedImage glyph = createGlyphImage();
+            Graphics2D g = glyph.createGraphics();
+            try
+            {
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g.setFont(font);
+                g.setColor(color);
+                
+                String text = Integer.toString(number);
+                FontMetrics metrics = g.getFontMetrics();
+                int x = (cellSize - metrics.stringWidth(text)) / 2;
+                int y = (cellSize - metrics.getHeight()) / 2 + metrics.getAscent();
+                g.drawString(text, x, y);
+            }
+            finally
+            {
+                g.dispose();
+            }
+            
+            glyphs[number] = glyph;
+        }
+        
+        return glyphs;
+    }
+    
+    /**
+     * Helper method to create a transparent image with the size of a cell,
+     * compatible with the screen if the board is shown.
+     * 
+     * @return the image.
+     */
+    private BufferedImage createGlyphImage()
+    {
+        if (getGraphicsConfiguration() != null)
+        {
+            return getGraphicsConfiguration().createCompatibleImage(cellSize, cellSize, Transparency.TRANSLUCENT);
+        }
+        
+        return new BufferedImage(cellSize, cellSize, BufferedImage.TYPE_INT_ARGB);
+    }
+}
@@ -0,0 +1,226 @@
+package sudoku.ui;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JFrame;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
+
+import sudoku.generator.PuzzlePool;
+import sudoku.generator.SudokuPuzzle;
+
+/**
+ * The sudoku GUI for the sudoku generator.
+ * 
+ * The board is a {@link SudokuBoard}, which is divided in boxes according
+ * to the box side length of the puzzles, and the cells and the window are
+ * scaled to the number of cells in a row.
+ * 
+ * The puzzles are taken from a puzzle pool in a background thread, so
+ * the GUI does not freeze while a puzzle is generated.
+ * 
+ * The moves are checked by the board as they are entered. A hint could
+ * be asked for via the menu bar, and a message is shown when the puzzle
+ * is solved without showing the solution.
+ * 
+ * @author Gunnar Eriksson
+ * @version 2026-10-16
+ */
+public class SudokuGUI extends JFrame
+{
+    private static final long serialVersionUID = -6998622348653738821L;
+    private static final String SUDOKU_GUI_TITLE = "Sudoku";
+    private static final String GAME_MENU_TITLE = "Game Menu";
+    private static final String MENU_ITEM_NEW_GAME = "New Game";
+    private static final String MENU_ITEM_HINT = "Get Hint";
+    private static final String MENU_ITEM_SOLUTION = "Get Solution";
+    private static final String SOLVED_MESSAGE = "The sudoku is solved!";
+    
+    private PuzzlePool puzzlePool;
+    private final int boxSideLength;
+    private SudokuPuzzle puzzle;
+    private boolean isSolutionShown;
+    
+    private SudokuBoard board;
+    
+    private JMenuItem newGameMenuItem, gameHintMenuItem, gameSolutionMenuItem;
+    
+    /**
+     * Constructor
+     * Sets the object reference to the puzzle pool,
+     * the title, initializes the GUI and add the listeners
+     * to the menu items.
+     * 
+     * @param puzzlePool the pool to take the puzzles from.
+     */
+    public SudokuGUI(PuzzlePool puzzlePool)
+    {
+        this.puzzlePool = puzzlePool;
+        this.boxSideLength = puzzlePool.getBoxSideLength();
+        setTitle(SUDOKU_GUI_TITLE);
+        initializeGUI();
+        addMenuItemListeners();
+        
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+    }
+
+    /**
+     * Helper method to initialize the GUI. Creates the
+     * menu bar and the sudoku board.
+     */
+    private void initializeGUI()
+    {
+        JMenuBar menuBar = createMenuBar();
+        setJMenuBar(menuBar);
+        board = new SudokuBoard(boxSideLength);
+        
+        add(board);
+        this.pack();
+        
+        setResizable(false);
+    }
+
+    /**
+     * Helper method to create the menu bar with the menu bar items.
+     * 
+     * @return the menu bar with the menu items.
+     */
+    private JMenuBar createMenuBar()
+    {
+        JMenuBar menuBar = new JMenuBar();
+        
+        JMenu gameMenu = new JMenu(GAME_MENU_TITLE);
+        createGameMenuItems(gameMenu);
+        menuBar.add(gameMenu);
+        
+        return menuBar;
+    }
+
+    /**
+     * Helper method to create the menu items in the menu bar.
+     * 
+     * @param gameMenu the menu in the menu bar.
+     */
+    private void createGameMenuItems(JMenu gameMenu)
+    {
+        newGameMenuItem = new JMenuItem(MENU_ITEM_NEW_GAME);
+        gameMenu.add(newGameMenuItem);
+        
+        gameHintMenuItem = new JMenuItem(MENU_ITEM_HINT);
+        gameMenu.add(gameHintMenuItem);
+        
+        gameSolutionMenuItem = new JMenuItem(MENU_ITEM_SOLUTION);
+        gameMenu.add(gameSolutionMenuItem);
+    }
+    
+    /**
+     * Helper method to add action listeners to the menu items in the
+     * menu bar, and the listener for a solved board.
+     */
+    private void addMenuItemListeners()
+    {
+        // The new game menu item to get a sudoku game board
+        // with the difficulty of the mask generator.
+        newGameMenuItem.addActionListener(new ActionListener()
+        {
+            
+            @Override
+            public void actionPerformed(ActionEvent e)
+            {
+                startNewGame();
+            }
+        });
+        
+        gameSolutionMenuItem.addActionListener(new ActionListener()
+        {
+            // Game solution menu item to show the solution of the
+            // game.
+            @Override
+            public void actionPerformed(ActionEvent e)
+            {
+                if (puzzle != null)
+                {
+                    isSolutionShown = true;
+                    board.setNumbers(puzzle.getSolution());
+                }
+            }
+        });
+        
+        gameHintMenuItem.addActionListener(new ActionListener()
+        {
+            // Game hint menu item to enter one number of the
+            // solution.
+            @Override
+            public void actionPerformed(ActionEvent e)
+            {
+                if (puzzle != null)
+                {
+                    board.showHint(puzzle.getSolution());
+                    board.requestFocusInWindow();
+                }
+            }
+        });
+        
+        board.addPropertyChangeListener(SudokuBoard.COMPLETE_PROPERTY, new PropertyChangeListener()
+        {
+            @Override
+            public void propertyChange(PropertyChangeEvent e)
+            {
+                if (Boolean.TRUE.equals(e.getNewValue()) && !isSolutionShown)
+                {
+                    JOptionPane.showMessageDialog(SudokuGUI.this, SOLVED_MESSAGE);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Helper method to take a puzzle from the pool in a background thread
+     * and show it when it is ready. The new game menu item is disabled
+     * until then.
+     */
+    private void startNewGame()
+    {
+        newGameMenuItem.setEnabled(false);
+        
+        new SwingWorker<SudokuPuzzle, Void>()
+        {
+            @Override
+            protected SudokuPuzzle doInBackground()
+            {
+                return puzzlePool.take();
+            }
+            
+            @Override
+            protected void done()
+            {
+                try
+                {
+                    puzzle = get();
+                    isSolutionShown = false;
+                    board.setStartGrid(puzzle.getStart());
+                    board.requestFocusInWindow();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                catch (ExecutionException e)
+                {
+                    throw new IllegalStateException("Could not generate a puzzle", e.getCause());
+                }
+                finally
+                {
+                    newGameMenuItem.setEnabled(true);
+                }
+            }
+        }.execute();
+    }
+}